@@ -50,6 +50,7 @@ import com.hazelcast.map.MapService;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
 import com.hazelcast.nio.serialization.SerializationServiceBuilder;
 import com.hazelcast.partition.strategy.DefaultPartitioningStrategy;
 import com.hazelcast.queue.QueueService;
@@ -75,7 +76,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * When the connected cluster member dies, client will
  * automatically switch to another live member.
  */
-public final class HazelcastClient implements HazelcastInstance {
+public final class HazelcastClient implements HazelcastInstance, SerializationServiceSupport {
 
     private final static AtomicInteger CLIENT_ID = new AtomicInteger();
     private final static ConcurrentMap<Integer, HazelcastClientProxy> CLIENTS = new ConcurrentHashMap<Integer, HazelcastClientProxy>(5);
@@ -22,6 +22,7 @@ import com.hazelcast.core.*;
 import com.hazelcast.instance.TerminatedLifecycleService;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
 import com.hazelcast.transaction.TransactionContext;
 import com.hazelcast.transaction.TransactionException;
 import com.hazelcast.transaction.TransactionOptions;
@@ -33,7 +34,7 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * @author mdogan 5/16/13
  */
-public final class HazelcastClientProxy implements HazelcastInstance {
+public final class HazelcastClientProxy implements HazelcastInstance, SerializationServiceSupport {
 
     volatile HazelcastClient client;
 
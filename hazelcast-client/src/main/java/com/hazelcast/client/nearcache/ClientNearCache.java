@@ -22,7 +22,9 @@ import com.hazelcast.client.spi.ListenerSupport;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.logging.Logger;
-import com.hazelcast.map.client.MapAddEntryListenerRequest;
+import com.hazelcast.map.client.MapAddNearCacheEntryListenerRequest;
+import com.hazelcast.map.client.PortableInvalidationEvent;
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.replicatedmap.client.ClientReplicatedMapAddEntryListenerRequest;
 import com.hazelcast.spi.Callback;
@@ -31,7 +33,7 @@ import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.util.Map;
-import java.util.TreeSet;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
@@ -58,6 +60,7 @@ public class ClientNearCache<K> {
     final AtomicBoolean canCleanUp;
     final AtomicBoolean canEvict;
     final ConcurrentMap<K, CacheRecord<K>> cache;
+    final NearCacheStatsImpl stats;
     ListenerSupport listenerSupport = null;
     public static final Object NULL_OBJECT = new Object();
 
@@ -72,6 +75,7 @@ public class ClientNearCache<K> {
         invalidateOnChange = nearCacheConfig.isInvalidateOnChange();
         evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
         cache = new ConcurrentHashMap<K, CacheRecord<K>>();
+        stats = new NearCacheStatsImpl();
         canCleanUp = new AtomicBoolean(true);
         canEvict = new AtomicBoolean(true);
         lastCleanup = Clock.currentTimeMillis();
@@ -85,10 +89,12 @@ public class ClientNearCache<K> {
             Object request;
             EventHandler handler;
             if (cacheType == ClientNearCacheType.Map) {
-                request = new MapAddEntryListenerRequest(mapName, false);
-                handler = new EventHandler<PortableEntryEvent>() {
-                    public void handle(PortableEntryEvent event) {
-                        cache.remove(event.getKey());
+                request = new MapAddNearCacheEntryListenerRequest(mapName);
+                handler = new EventHandler<PortableInvalidationEvent>() {
+                    public void handle(PortableInvalidationEvent event) {
+                        for (Data key : event.getKeys()) {
+                            cache.remove(key);
+                        }
                     }
                 };
             } else if (cacheType == ClientNearCacheType.ReplicatedMap) {
@@ -120,12 +126,13 @@ public class ClientNearCache<K> {
 
     public void put(K key, Object object) {
         fireTtlCleanup();
-        if (evictionPolicy == EvictionPolicy.NONE && cache.size() >= maxSize) {
+        if (cache.size() >= maxSize) {
+            // the cache never grows past maxSize; the value is cached again on a later read
+            if (evictionPolicy != EvictionPolicy.NONE) {
+                fireEvictCache();
+            }
             return;
         }
-        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
-            fireEvictCache();
-        }
         Object value;
         if (object == null){
             value = NULL_OBJECT;
@@ -141,14 +148,7 @@ public class ClientNearCache<K> {
                 context.getExecutionService().execute(new Runnable() {
                     public void run() {
                         try {
-                            TreeSet<CacheRecord<K>> records = new TreeSet<CacheRecord<K>>(cache.values());
-                            int evictSize = cache.size() * evictionPercentage / 100;
-                            int i=0;
-                            for (CacheRecord<K> record : records) {
-                                cache.remove(record.key);
-                                if (++i > evictSize)
-                                    break;
-                            }
+                            evict(Math.max(1, cache.size() * evictionPercentage / 100));
                         } finally {
                             canEvict.set(true);
                         }
@@ -162,6 +162,28 @@ public class ClientNearCache<K> {
         }
     }
 
+    /**
+     * Removes the evictSize records with the lowest rank in a single pass, keeping only the
+     * current candidates instead of sorting a copy of the whole cache.
+     */
+    private void evict(int evictSize) {
+        PriorityQueue<EvictionCandidate> candidates = new PriorityQueue<EvictionCandidate>(evictSize);
+        for (CacheRecord<K> record : cache.values()) {
+            long rank = record.evictionRank();
+            if (candidates.size() < evictSize) {
+                candidates.add(new EvictionCandidate(record, rank));
+            } else if (rank < candidates.peek().rank) {
+                candidates.poll();
+                candidates.add(new EvictionCandidate(record, rank));
+            }
+        }
+        for (EvictionCandidate candidate : candidates) {
+            if (cache.remove(candidate.record.key, candidate.record)) {
+                stats.incrementEvictions();
+            }
+        }
+    }
+
     private void fireTtlCleanup() {
         if (Clock.currentTimeMillis() < (lastCleanup + cleanupInterval))
             return;
@@ -197,17 +219,30 @@ public class ClientNearCache<K> {
             record.access();
             if (record.expired()) {
                 cache.remove(key);
+                stats.incrementMisses();
                 return null;
             }
+            stats.incrementHits();
             if (record.value.equals(NULL_OBJECT)){
                 return NULL_OBJECT;
             }
             return inMemoryFormat.equals(InMemoryFormat.BINARY) ? context.getSerializationService().toObject((Data)record.value) : record.value;
         } else {
+            stats.incrementMisses();
             return null;
         }
     }
 
+    public NearCacheStatsImpl getNearCacheStats() {
+        long ownedEntryMemoryCost = 0;
+        for (CacheRecord<K> record : cache.values()) {
+            ownedEntryMemoryCost += record.cost;
+        }
+        stats.setOwnedEntryCount(cache.size());
+        stats.setOwnedEntryMemoryCost(ownedEntryMemoryCost);
+        return stats;
+    }
+
     public void destroy() {
         if (listenerSupport != null){
             listenerSupport.stop();
@@ -216,12 +251,13 @@ public class ClientNearCache<K> {
     }
 
 
-    class CacheRecord<K> implements Comparable<CacheRecord> {
+    class CacheRecord<K> {
         final K key;
         final Object value;
         volatile long lastAccessTime;
         final long creationTime;
         final AtomicInteger hit;
+        final long cost;
 
         CacheRecord(K key, Object value) {
             this.key = key;
@@ -230,6 +266,8 @@ public class ClientNearCache<K> {
             this.lastAccessTime = time;
             this.creationTime = time;
             this.hit = new AtomicInteger(0);
+            this.cost = (key instanceof Data ? ((Data) key).getHeapCost() : 0)
+                    + (value instanceof Data ? ((Data) value).getHeapCost() : 0);
         }
 
         void access() {
@@ -242,20 +280,23 @@ public class ClientNearCache<K> {
             return (maxIdleMillis > 0 && time > lastAccessTime + maxIdleMillis) || (timeToLiveMillis > 0 && time > creationTime + timeToLiveMillis);
         }
 
-        public int compareTo(CacheRecord o) {
-            if (EvictionPolicy.LRU.equals(evictionPolicy))
-                return ((Long) this.lastAccessTime).compareTo((o.lastAccessTime));
-            else if (EvictionPolicy.LFU.equals(evictionPolicy))
-                return ((Integer) this.hit.get()).compareTo((o.hit.get()));
+        long evictionRank() {
+            return EvictionPolicy.LFU.equals(evictionPolicy) ? hit.get() : lastAccessTime;
+        }
+    }
 
-            return 0;
+    class EvictionCandidate implements Comparable<EvictionCandidate> {
+        final CacheRecord<K> record;
+        final long rank;
+
+        EvictionCandidate(CacheRecord<K> record, long rank) {
+            this.record = record;
+            this.rank = rank;
         }
 
-        public boolean equals(Object o){
-            if(o instanceof CacheRecord){
-                return this.compareTo((CacheRecord)o)==0;
-            }
-            return false;
+        // reversed, so the head of the queue is the candidate most worth keeping
+        public int compareTo(EvictionCandidate o) {
+            return rank > o.rank ? -1 : (rank == o.rank ? 0 : 1);
         }
     }
 }
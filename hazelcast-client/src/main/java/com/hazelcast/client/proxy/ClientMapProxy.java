@@ -25,6 +25,7 @@ import com.hazelcast.core.*;
 import com.hazelcast.map.*;
 import com.hazelcast.map.client.*;
 import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
@@ -545,7 +546,13 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
 
     @Override
     public LocalMapStats getLocalMapStats() {
-        throw new UnsupportedOperationException("Locality is ambiguous for client!!!");
+        // a client owns no entries, only the statistics of its own near cache are reported
+        initNearCache();
+        LocalMapStatsImpl localMapStats = new LocalMapStatsImpl();
+        if (nearCache != null) {
+            localMapStats.setNearCacheStats(nearCache.getNearCacheStats());
+        }
+        return localMapStats;
     }
 
     @Override
@@ -24,6 +24,10 @@ import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.MultiMap;
 import com.hazelcast.monitor.LocalMultiMapStats;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapValueIterator;
+import com.hazelcast.multimap.operations.EntrySetResponse;
+import com.hazelcast.multimap.operations.MultiMapResponse;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.impl.PortableCollection;
@@ -39,6 +43,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class ClientMultiMapProxy<K, V> extends ClientProxy implements MultiMap<K, V> {
 
+    private static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
+    private static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
+
     private final String name;
 
     public ClientMultiMapProxy(String serviceName, String name) {
@@ -214,6 +221,66 @@ public class ClientMultiMapProxy<K, V> extends ClientProxy implements MultiMap<K
         invoke(request, keyData);
     }
 
+    public void putAll(Map<? extends K, ? extends Collection<? extends V>> entries) {
+        Map<Data, Collection<Data>> dataEntries = new HashMap<Data, Collection<Data>>(entries.size());
+        for (Map.Entry<? extends K, ? extends Collection<? extends V>> entry : entries.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new NullPointerException(NULL_KEY_IS_NOT_ALLOWED);
+            }
+            Collection<? extends V> values = entry.getValue();
+            if (values == null) {
+                throw new NullPointerException(NULL_VALUE_IS_NOT_ALLOWED);
+            }
+            Collection<Data> dataValues = new ArrayList<Data>(values.size());
+            for (V value : values) {
+                if (value == null) {
+                    throw new NullPointerException(NULL_VALUE_IS_NOT_ALLOWED);
+                }
+                dataValues.add(getSerializationService().toData(value));
+            }
+            dataEntries.put(getSerializationService().toData(entry.getKey()), dataValues);
+        }
+        PutAllRequest request = new PutAllRequest(name, dataEntries);
+        invoke(request);
+    }
+
+    public Map<K, Collection<V>> getAll(Set<K> keys) {
+        Set<Data> keySet = new HashSet<Data>(keys.size());
+        for (K key : keys) {
+            if (key == null) {
+                throw new NullPointerException(NULL_KEY_IS_NOT_ALLOWED);
+            }
+            keySet.add(getSerializationService().toData(key));
+        }
+        MultiGetRequest request = new MultiGetRequest(name, keySet);
+        EntrySetResponse response = invoke(request);
+        Map<K, Collection<V>> result = new HashMap<K, Collection<V>>();
+        for (Map.Entry<Data, Collection<Data>> entry : response.getDataMap().entrySet()) {
+            Collection<V> values = new ArrayList<V>(entry.getValue().size());
+            for (Data value : entry.getValue()) {
+                values.add((V) getSerializationService().toObject(value));
+            }
+            result.put((K) getSerializationService().toObject(entry.getKey()), values);
+        }
+        return result;
+    }
+
+    public Iterator<V> valueIterator(K key, int pageSize) {
+        final Data keyData = getSerializationService().toData(key);
+        return new MultiMapValueIterator<V>(pageSize) {
+            protected Collection<MultiMapRecord> fetchPage(long lastRecordId, int offset, int pageSize) {
+                GetPageRequest request = new GetPageRequest(name, keyData, lastRecordId, offset, pageSize);
+                MultiMapResponse response = invoke(request, keyData);
+                Collection<MultiMapRecord> records = response.getCollection();
+                return records != null ? records : Collections.<MultiMapRecord>emptyList();
+            }
+
+            protected V toObject(Object value) {
+                return (V) getSerializationService().toObject((Data) value);
+            }
+        };
+    }
+
     public LocalMultiMapStats getLocalMultiMapStats() {
         throw new UnsupportedOperationException("Locality is ambiguous for client!!!");
     }
@@ -23,6 +23,8 @@ import com.hazelcast.config.ListenerConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.*;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.After;
@@ -37,6 +39,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.core.LifecycleEvent.LifecycleState;
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
 import static org.junit.Assert.*;
 
 /**
@@ -170,6 +173,47 @@ public class ClientIssueTest {
 
     }
 
+    @Test
+    public void testNearCacheInvalidationAndStats() {
+        final HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+
+        final ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addNearCacheConfig("map*", new NearCacheConfig().setMaxSize(100).setEvictionPolicy("LRU"));
+        final HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+
+        final IMap<String, String> memberMap = hz.getMap("map1");
+        final IMap<String, String> clientMap = client.getMap("map1");
+        for (int i = 0; i < 200; i++) {
+            memberMap.put("key" + i, "value" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            clientMap.get("key" + i);
+            clientMap.get("key" + i);
+        }
+        NearCacheStats stats = clientMap.getLocalMapStats().getNearCacheStats();
+        assertEquals(50, stats.getHits());
+        assertEquals(50, stats.getMisses());
+        assertEquals(50, stats.getOwnedEntryCount());
+
+        memberMap.put("key0", "updated");
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertEquals("updated", clientMap.get("key0"));
+            }
+        });
+
+        for (int i = 0; i < 200; i++) {
+            clientMap.get("key" + i);
+        }
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                NearCacheStats stats = clientMap.getLocalMapStats().getNearCacheStats();
+                assertTrue(stats.getEvictions() > 0);
+                assertTrue(stats.getOwnedEntryCount() <= 100);
+            }
+        });
+    }
+
     @Test
     public void testGetDistributedObjectsIssue678() {
         final HazelcastInstance hz = Hazelcast.newHazelcastInstance();
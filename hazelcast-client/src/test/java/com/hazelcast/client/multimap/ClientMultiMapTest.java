@@ -28,7 +28,13 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -101,6 +107,29 @@ public class ClientMultiMapTest {
         assertEquals("value3", mm.get("key1").iterator().next());
     }
 
+    @Test
+    public void testPutAllAndGetAll() {
+        Map<String, Collection<String>> entries = new HashMap<String, Collection<String>>();
+        for (int i = 0; i < 100; i++) {
+            entries.put("key" + i, Arrays.asList("value" + i, "other" + i));
+        }
+        mm.putAll(entries);
+        assertEquals(200, mm.size());
+
+        Set<String> keys = new HashSet<String>(entries.keySet());
+        keys.add("none");
+        Map<String, Collection<String>> result = mm.getAll(keys);
+        assertEquals(100, result.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(new HashSet<String>(entries.get("key" + i)), new HashSet<String>(result.get("key" + i)));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutAllNullValue() {
+        mm.putAll(Collections.singletonMap("key", Arrays.asList("value", null)));
+    }
+
     @Test
     public void testKeySetEntrySetAndValues() {
         assertTrue(mm.put("key1", "value1"));
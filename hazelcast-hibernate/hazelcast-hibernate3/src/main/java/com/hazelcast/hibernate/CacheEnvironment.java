@@ -50,6 +50,8 @@ public final class CacheEnvironment {
 
     public static final String EXPLICIT_VERSION_CHECK = "hibernate.cache.hazelcast.explicit_version_check";
 
+    public static final String INVALIDATION_BATCH_WINDOW = "hibernate.cache.hazelcast.invalidation_batch_window";
+
     public static String getConfigFilePath(Properties props) {
         String configResourcePath = PropertiesHelper.getString(CacheEnvironment.CONFIG_FILE_PATH_LEGACY, props, null);
         if (StringHelper.isEmpty(configResourcePath)) {
@@ -89,4 +91,13 @@ public final class CacheEnvironment {
     public static boolean isExplicitVersionCheckEnabled(Properties props) {
         return PropertiesHelper.getBoolean(CacheEnvironment.EXPLICIT_VERSION_CHECK, props, false);
     }
+
+    public static int getInvalidationBatchWindowInMillis(Properties props) {
+        int window = 0;
+        try {
+            window = PropertiesHelper.getInt(INVALIDATION_BATCH_WINDOW, props, 0);
+        } catch (Exception ignored) {
+        }
+        return Math.max(window, 0);
+    }
 }
@@ -16,34 +16,48 @@
 
 package com.hazelcast.hibernate.distributed;
 
-import com.hazelcast.core.EntryView;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
 import com.hazelcast.hibernate.CacheEnvironment;
-import com.hazelcast.hibernate.HazelcastTimestamper;
 import com.hazelcast.hibernate.RegionCache;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.UuidUtil;
 import org.hibernate.cache.CacheDataDescription;
 import org.hibernate.cache.access.SoftLock;
 import org.hibernate.cache.entry.CacheEntry;
 
+import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
+ * Versioned updates and soft locks are done by entry processors on the partition owner,
+ * so a cache write costs a single call and no distributed lock is held.
+ *
  * @author mdogan 11/9/12
  */
 public class IMapRegionCache implements RegionCache {
 
+    private static final String EXECUTOR_NAME = "hz:hibernate";
+
+    // total time getSizeInMemory waits for the members to report their memory cost
+    private static final long MEMORY_COST_TIMEOUT_MILLIS = 5000;
+
     private final String name;
     private final HazelcastInstance hazelcastInstance;
     private final IMap<Object, Object> map;
     private final Comparator versionComparator;
+    // the comparator shipped to the partition owner, null if it is not serializable
+    private final Comparator serializableVersionComparator;
     private final int lockTimeout;
-    private final long tryLockAndGetTimeout;
     private final boolean explicitVersionCheckEnabled;
     private final ILogger logger;
 
@@ -52,16 +66,16 @@ public class IMapRegionCache implements RegionCache {
         this.name = name;
         this.hazelcastInstance = hazelcastInstance;
         this.versionComparator = metadata != null && metadata.isVersioned() ? metadata.getVersionComparator() : null;
+        this.serializableVersionComparator = versionComparator instanceof Serializable ? versionComparator : null;
         this.map = hazelcastInstance.getMap(this.name);
         lockTimeout = CacheEnvironment.getLockTimeoutInMillis(props);
-        final long maxOperationTimeout = HazelcastTimestamper.getMaxOperationTimeout(hazelcastInstance);
-        tryLockAndGetTimeout = Math.min(maxOperationTimeout, 500);
         explicitVersionCheckEnabled = CacheEnvironment.isExplicitVersionCheckEnabled(props);
         logger = createLogger(name, hazelcastInstance);
     }
 
     public Object get(final Object key) {
-        return map.get(key);
+        final Object value = map.get(key);
+        return value instanceof SoftLockMarker ? null : value;
     }
 
     public boolean put(final Object key, final Object value, final Object currentVersion) {
@@ -74,37 +88,35 @@ public class IMapRegionCache implements RegionCache {
             logger.warning("Cache lock could not be acquired!");
             return false;
         }
+        boolean checkEntryVersion = false;
         if (versionComparator != null && currentVersion != null) {
             if (explicitVersionCheckEnabled && value instanceof CacheEntry) {
-                final CacheEntry currentEntry = (CacheEntry) value;
-                try {
-                    if (map.tryLock(key, tryLockAndGetTimeout, TimeUnit.MILLISECONDS)) {
-                        try {
-                            final CacheEntry previousEntry = (CacheEntry) map.get(key);
-                            if (previousEntry == null ||
-                                versionComparator.compare(currentEntry.getVersion(), previousEntry.getVersion()) > 0) {
-                                map.set(key, value);
-                                return true;
-                            } else {
-                                return false;
-                            }
-                        } finally {
-                            map.unlock(key);
-                        }
-                    } else {
-                        return false;
-                    }
-                } catch (InterruptedException e) {
-                    return false;
-                }
-            } else if (previousVersion == null || versionComparator.compare(currentVersion, previousVersion) > 0) {
-                map.set(key, value);
+                checkEntryVersion = true;
+            } else if (previousVersion != null && versionComparator.compare(currentVersion, previousVersion) <= 0) {
+                return false;
+            }
+        }
+        final SoftLockMarker marker = lock instanceof SoftLockMarker ? (SoftLockMarker) lock : null;
+        final UpdateEntryProcessor processor = new UpdateEntryProcessor(value,
+                marker != null ? marker.getLockId() : null, checkEntryVersion, serializableVersionComparator);
+        final boolean updated = update(key, value, processor);
+        if (updated && marker != null) {
+            // the update replaced the marker, nothing is left to unlock
+            marker.markReleased();
+        }
+        return updated;
+    }
+
+    private boolean update(final Object key, final Object value, final UpdateEntryProcessor processor) {
+        while (true) {
+            final Object result = map.executeOnKey(key, processor);
+            if (result != null) {
+                return Boolean.TRUE.equals(result);
+            }
+            // no entry, put it directly so that it is backed up
+            if (map.putIfAbsent(key, value) == null) {
                 return true;
             }
-            return false;
-        } else {
-            map.set(key, value);
-            return true;
         }
     }
 
@@ -113,16 +125,27 @@ public class IMapRegionCache implements RegionCache {
     }
 
     public SoftLock tryLock(final Object key, final Object version) {
-        try {
-            return map.tryLock(key, lockTimeout, TimeUnit.MILLISECONDS) ? LOCK_SUCCESS : LOCK_FAILURE;
-        } catch (InterruptedException e) {
-            return LOCK_FAILURE;
+        final String lockId = UuidUtil.buildRandomUuidString();
+        final LockEntryProcessor processor = new LockEntryProcessor(lockId, lockTimeout);
+        while (true) {
+            final Object marker = map.executeOnKey(key, processor);
+            if (!Boolean.FALSE.equals(marker)) {
+                return marker instanceof SoftLockMarker ? (SoftLock) marker : LOCK_FAILURE;
+            }
+            // no entry, put the marker directly so that it is backed up
+            final SoftLockMarker newMarker = new SoftLockMarker(lockId, Clock.currentTimeMillis() + lockTimeout, null);
+            if (map.putIfAbsent(key, newMarker) == null) {
+                return newMarker;
+            }
         }
     }
 
     public void unlock(final Object key, SoftLock lock) {
-        if (lock == LOCK_SUCCESS) {
-            map.unlock(key);
+        if (lock instanceof SoftLockMarker) {
+            final SoftLockMarker marker = (SoftLockMarker) lock;
+            if (!marker.isReleased()) {
+                map.executeOnKey(key, new UnlockEntryProcessor(marker.getLockId()));
+            }
         }
     }
 
@@ -144,14 +167,27 @@ public class IMapRegionCache implements RegionCache {
     }
 
     public long getSizeInMemory() {
-        long size = 0;
-        for (final Object key : map.keySet()) {
-            final EntryView entry = map.getEntryView(key);
-            if (entry != null) {
-                size += entry.getCost();
+        try {
+            final IExecutorService executor = hazelcastInstance.getExecutorService(EXECUTOR_NAME);
+            final Map<Member, Future<Long>> costs = executor.submitToAllMembers(new LocalMapMemoryCostTask(name));
+            final long deadline = Clock.currentTimeMillis() + MEMORY_COST_TIMEOUT_MILLIS;
+            long size = 0;
+            for (final Map.Entry<Member, Future<Long>> cost : costs.entrySet()) {
+                final long remaining = Math.max(0, deadline - Clock.currentTimeMillis());
+                try {
+                    size += cost.getValue().get(remaining, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // a slow member must not block the caller, its share is left out
+                    logger.warning("Timed out collecting memory cost of region " + name + " from " + cost.getKey());
+                }
             }
+            return size;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warning("Could not collect memory cost of region " + name, e);
         }
-        return size;
+        return -1;
     }
 
     public Map asMap() {
@@ -166,7 +202,5 @@ public class IMapRegionCache implements RegionCache {
         }
     }
 
-    private static final SoftLock LOCK_SUCCESS = new SoftLock() {};
-
     private static final SoftLock LOCK_FAILURE = new SoftLock() {};
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.hibernate.cache.access.SoftLock;
+
+import java.io.IOException;
+
+/**
+ * Stored in place of a cache entry while it is soft locked, and handed to Hibernate as the {@link SoftLock}.
+ * Reads miss and writes of other lock holders are rejected until it is released or expires.
+ */
+public class SoftLockMarker implements SoftLock, DataSerializable {
+
+    private String lockId;
+    private long expiryTime;
+    // version of the cache entry the marker replaced, updates of the lock holder are checked against it
+    private Object version;
+
+    // set on the lock holder's side once its update has replaced the marker
+    private transient volatile boolean released;
+
+    public SoftLockMarker() {
+    }
+
+    public SoftLockMarker(final String lockId, final long expiryTime, final Object version) {
+        this.lockId = lockId;
+        this.expiryTime = expiryTime;
+        this.version = version;
+    }
+
+    public String getLockId() {
+        return lockId;
+    }
+
+    public Object getVersion() {
+        return version;
+    }
+
+    public boolean isExpired(final long now) {
+        return expiryTime <= now;
+    }
+
+    /**
+     * @return true if the entry is locked by another lock holder than the given one
+     */
+    public boolean isLockedByOther(final String lockId, final long now) {
+        return !isExpired(now) && !this.lockId.equals(lockId);
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    void markReleased() {
+        released = true;
+    }
+
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeUTF(lockId);
+        out.writeLong(expiryTime);
+        out.writeObject(version);
+    }
+
+    public void readData(final ObjectDataInput in) throws IOException {
+        lockId = in.readUTF();
+        expiryTime = in.readLong();
+        version = in.readObject();
+    }
+
+    @Override
+    public String toString() {
+        return "SoftLockMarker{lockId=" + lockId + ", expiryTime=" + expiryTime + '}';
+    }
+}
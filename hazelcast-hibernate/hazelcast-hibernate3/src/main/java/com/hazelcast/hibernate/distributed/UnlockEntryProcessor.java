@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Removes the {@link SoftLockMarker} of a lock holder whose update did not replace it,
+ * on the partition owner and its backups.
+ */
+public class UnlockEntryProcessor implements EntryProcessor<Object, Object>, EntryBackupProcessor<Object, Object>,
+        DataSerializable {
+
+    private String lockId;
+
+    private transient boolean removed;
+
+    public UnlockEntryProcessor() {
+    }
+
+    public UnlockEntryProcessor(final String lockId) {
+        this.lockId = lockId;
+    }
+
+    public Object process(final Map.Entry<Object, Object> entry) {
+        removed = removeMarker(entry);
+        return removed;
+    }
+
+    public EntryBackupProcessor<Object, Object> getBackupProcessor() {
+        return removed ? this : null;
+    }
+
+    public void processBackup(final Map.Entry<Object, Object> entry) {
+        removeMarker(entry);
+    }
+
+    private boolean removeMarker(final Map.Entry<Object, Object> entry) {
+        final Object value = entry.getValue();
+        if (value instanceof SoftLockMarker && lockId.equals(((SoftLockMarker) value).getLockId())) {
+            entry.setValue(null);
+            return true;
+        }
+        return false;
+    }
+
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeUTF(lockId);
+    }
+
+    public void readData(final ObjectDataInput in) throws IOException {
+        lockId = in.readUTF();
+    }
+}
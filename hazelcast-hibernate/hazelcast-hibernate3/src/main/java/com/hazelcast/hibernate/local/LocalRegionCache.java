@@ -42,15 +42,26 @@ public class LocalRegionCache implements RegionCache {
     protected final ConcurrentMap<Object, Value> cache;
     protected final Comparator versionComparator;
     protected MapConfig config;
+    private final ConcurrentMap<Object, Invalidation> pendingInvalidations;
 
     public LocalRegionCache(final String name, final HazelcastInstance hazelcastInstance,
                             final CacheDataDescription metadata) {
+        this(name, hazelcastInstance, metadata, false);
+    }
+
+    /**
+     * @param batchInvalidations when true, invalidations are queued per key and published
+     *                           as one {@link InvalidationBatch} by {@link #flushInvalidations()}
+     */
+    public LocalRegionCache(final String name, final HazelcastInstance hazelcastInstance,
+                            final CacheDataDescription metadata, final boolean batchInvalidations) {
         try {
             config = hazelcastInstance != null ? hazelcastInstance.getConfig().findMapConfig(name) : null;
         } catch (UnsupportedOperationException ignored) {
         }
         versionComparator = metadata != null && metadata.isVersioned() ? metadata.getVersionComparator() : null;
         cache = new ConcurrentHashMap<Object, Value>();
+        pendingInvalidations = batchInvalidations ? new ConcurrentHashMap<Object, Invalidation>() : null;
 
         messageListener = createMessageListener();
         if (hazelcastInstance != null) {
@@ -86,7 +97,7 @@ public class LocalRegionCache implements RegionCache {
             }
         }
         if (topic != null) {
-            topic.publish(createMessage(key, value, currentVersion));
+            publish(createMessage(key, value, currentVersion));
         }
         cache.put(key, new Value(currentVersion, value, lock, Clock.currentTimeMillis()));
         return true;
@@ -96,31 +107,66 @@ public class LocalRegionCache implements RegionCache {
         return new Invalidation(key, currentVersion);
     }
 
+    private void publish(final Object message) {
+        if (pendingInvalidations != null && message instanceof Invalidation) {
+            final Invalidation invalidation = (Invalidation) message;
+            pendingInvalidations.put(invalidation.getKey(), invalidation);
+        } else {
+            topic.publish(message);
+        }
+    }
+
+    void flushInvalidations() {
+        if (pendingInvalidations == null || pendingInvalidations.isEmpty()) {
+            return;
+        }
+        final List<Invalidation> invalidations = new ArrayList<Invalidation>(pendingInvalidations.size());
+        for (final Entry<Object, Invalidation> entry : pendingInvalidations.entrySet()) {
+            // a newer invalidation of the same key stays queued for the next flush
+            if (pendingInvalidations.remove(entry.getKey(), entry.getValue())) {
+                invalidations.add(entry.getValue());
+            }
+        }
+        if (!invalidations.isEmpty()) {
+            topic.publish(new InvalidationBatch(invalidations));
+        }
+    }
+
     protected MessageListener<Object> createMessageListener() {
         return new MessageListener<Object>() {
             public void onMessage(final Message<Object> message) {
-                final Invalidation invalidation = (Invalidation) message.getMessageObject();
-                if (versionComparator != null) {
-                    final Value value = cache.get(invalidation.getKey());
-                    if (value != null) {
-                        Object currentVersion = value.getVersion();
-                        Object newVersion = invalidation.getVersion();
-                        if (versionComparator.compare(newVersion, currentVersion) > 0) {
-                            cache.remove(invalidation.getKey(), value);
-                        }
+                final Object messageObject = message.getMessageObject();
+                if (messageObject instanceof InvalidationBatch) {
+                    for (Invalidation invalidation : ((InvalidationBatch) messageObject).getInvalidations()) {
+                        invalidate(invalidation);
                     }
                 } else {
-                    cache.remove(invalidation.getKey());
+                    invalidate((Invalidation) messageObject);
                 }
             }
         };
     }
 
+    private void invalidate(final Invalidation invalidation) {
+        if (versionComparator != null) {
+            final Value value = cache.get(invalidation.getKey());
+            if (value != null) {
+                Object currentVersion = value.getVersion();
+                Object newVersion = invalidation.getVersion();
+                if (versionComparator.compare(newVersion, currentVersion) > 0) {
+                    cache.remove(invalidation.getKey(), value);
+                }
+            }
+        } else {
+            cache.remove(invalidation.getKey());
+        }
+    }
+
     public boolean remove(final Object key) {
         final Value value = cache.remove(key);
         if (value != null) {
             if (topic != null) {
-                topic.publish(createMessage(key, null, value.getVersion()));
+                publish(createMessage(key, null, value.getVersion()));
             }
             return true;
         }
@@ -171,7 +217,8 @@ public class LocalRegionCache implements RegionCache {
     }
 
     public long getSizeInMemory() {
-        return 0;
+        // values are kept as plain objects, their footprint is unknown
+        return -1;
     }
 
     public Map asMap() {
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.local;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.hibernate.HibernateTestSupport;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.hibernate.cache.CacheDataDescription;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
+import static org.junit.Assert.*;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class LocalRegionCacheTest extends HibernateTestSupport {
+
+    @Test
+    public void testInvalidationsAreBatchedPerKey() throws InterruptedException {
+        final HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(new Config());
+        final LocalRegionCache cache1 = new LocalRegionCache("testInvalidationsAreBatchedPerKey", hz1, null, true);
+        final LocalRegionCache cache2 = new LocalRegionCache("testInvalidationsAreBatchedPerKey", hz2, null, true);
+        final BlockingQueue<Object> messages = listen(hz2, "testInvalidationsAreBatchedPerKey");
+        cache2.put("key1", "value", null);
+        cache2.put("key2", "value", null);
+
+        assertTrue(cache1.update("key1", "value1", null, null, null));
+        assertTrue(cache1.update("key1", "value2", null, null, null));
+        assertTrue(cache1.remove("key1"));
+        assertTrue(cache1.update("key2", "value1", null, null, null));
+        assertNull(messages.poll(1, TimeUnit.SECONDS));
+        assertTrue(cache2.contains("key1"));
+
+        cache1.flushInvalidations();
+        final Object message = messages.poll(30, TimeUnit.SECONDS);
+        assertTrue(message instanceof InvalidationBatch);
+        assertEquals(2, ((InvalidationBatch) message).getInvalidations().size());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertFalse(cache2.contains("key1"));
+                assertFalse(cache2.contains("key2"));
+            }
+        });
+
+        cache1.flushInvalidations();
+        assertNull(messages.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testVersionedBatchOnlyRemovesOlderValues() {
+        final HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(new Config());
+        final LocalRegionCache cache = new LocalRegionCache("testVersionedBatchOnlyRemovesOlderValues", hz2,
+                new VersionedDataDescription(), true);
+        cache.put("key1", "value", 5);
+        cache.put("key2", "value", 5);
+
+        hz1.getTopic("testVersionedBatchOnlyRemovesOlderValues").publish(new InvalidationBatch(Arrays.asList(
+                new Invalidation("key1", 3), new Invalidation("key2", 7))));
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertFalse(cache.contains("key2"));
+            }
+        });
+        assertEquals("value", cache.get("key1"));
+    }
+
+    @Test
+    public void testCleanupServiceFlushesInvalidations() {
+        final HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(new Config());
+        final LocalRegionCache cache1 = new LocalRegionCache("testCleanupServiceFlushesInvalidations", hz1, null, true);
+        final LocalRegionCache cache2 = new LocalRegionCache("testCleanupServiceFlushesInvalidations", hz2, null, true);
+        final CleanupService periodic = new CleanupService("testCleanupServiceFlushesInvalidations", 100);
+        final CleanupService onStop = new CleanupService("testCleanupServiceFlushesInvalidations", 60 * 60 * 1000);
+        try {
+            periodic.registerCache(cache1);
+            cache2.put("key1", "value", null);
+            cache1.update("key1", "value1", null, null, null);
+            assertTrueEventually(new AssertTask() {
+                @Override
+                public void run() {
+                    assertFalse(cache2.contains("key1"));
+                }
+            });
+            periodic.stop();
+
+            onStop.registerCache(cache1);
+            cache2.put("key2", "value", null);
+            cache1.update("key2", "value1", null, null, null);
+            onStop.stop();
+            assertTrueEventually(new AssertTask() {
+                @Override
+                public void run() {
+                    assertFalse(cache2.contains("key2"));
+                }
+            });
+        } finally {
+            periodic.stop();
+            onStop.stop();
+        }
+    }
+
+    private static BlockingQueue<Object> listen(final HazelcastInstance instance, final String name) {
+        final BlockingQueue<Object> messages = new LinkedBlockingQueue<Object>();
+        instance.getTopic(name).addMessageListener(new MessageListener<Object>() {
+            public void onMessage(final Message<Object> message) {
+                messages.offer(message.getMessageObject());
+            }
+        });
+        return messages;
+    }
+
+    private static class VersionedDataDescription implements CacheDataDescription {
+
+        public boolean isMutable() {
+            return true;
+        }
+
+        public boolean isVersioned() {
+            return true;
+        }
+
+        public Comparator getVersionComparator() {
+            return new IntegerComparator();
+        }
+    }
+
+    private static class IntegerComparator implements Comparator<Integer>, Serializable {
+
+        public int compare(final Integer o1, final Integer o2) {
+            return o1.compareTo(o2);
+        }
+    }
+}
@@ -48,6 +48,8 @@ public final class CacheEnvironment {
 
     public static final String EXPLICIT_VERSION_CHECK = "hibernate.cache.hazelcast.explicit_version_check";
 
+    public static final String INVALIDATION_BATCH_WINDOW = "hibernate.cache.hazelcast.invalidation_batch_window";
+
     private CacheEnvironment() {
     }
 
@@ -90,4 +92,13 @@ public final class CacheEnvironment {
     public static boolean isExplicitVersionCheckEnabled(Properties props) {
         return ConfigurationHelper.getBoolean(CacheEnvironment.EXPLICIT_VERSION_CHECK, props, false);
     }
+
+    public static int getInvalidationBatchWindowInMillis(Properties props) {
+        int window = 0;
+        try {
+            window = ConfigurationHelper.getInt(INVALIDATION_BATCH_WINDOW, props, 0);
+        } catch (Exception ignored) {
+        }
+        return Math.max(window, 0);
+    }
 }
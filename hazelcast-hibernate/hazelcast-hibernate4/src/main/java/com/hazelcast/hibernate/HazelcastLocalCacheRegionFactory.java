@@ -32,6 +32,7 @@ import java.util.Properties;
 public class HazelcastLocalCacheRegionFactory extends AbstractHazelcastCacheRegionFactory implements RegionFactory {
 
     private CleanupService cleanupService;
+    private boolean batchInvalidations;
 
     public HazelcastLocalCacheRegionFactory() {
     }
@@ -47,7 +48,8 @@ public class HazelcastLocalCacheRegionFactory extends AbstractHazelcastCacheRegi
     public CollectionRegion buildCollectionRegion(final String regionName, final Properties properties,
                                                   final CacheDataDescription metadata) throws CacheException {
         final HazelcastCollectionRegion<LocalRegionCache> region = new HazelcastCollectionRegion<LocalRegionCache>(instance,
-                regionName, properties, metadata, new LocalRegionCache(regionName, instance, metadata));
+                regionName, properties, metadata,
+                new LocalRegionCache(regionName, instance, metadata, batchInvalidations));
         cleanupService.registerCache(region.getCache());
         return region;
     }
@@ -55,7 +57,8 @@ public class HazelcastLocalCacheRegionFactory extends AbstractHazelcastCacheRegi
     public EntityRegion buildEntityRegion(final String regionName, final Properties properties,
                                           final CacheDataDescription metadata) throws CacheException {
         final HazelcastEntityRegion<LocalRegionCache> region = new HazelcastEntityRegion<LocalRegionCache>(instance,
-                regionName, properties, metadata, new LocalRegionCache(regionName, instance, metadata));
+                regionName, properties, metadata,
+                new LocalRegionCache(regionName, instance, metadata, batchInvalidations));
         cleanupService.registerCache(region.getCache());
         return region;
     }
@@ -69,7 +72,9 @@ public class HazelcastLocalCacheRegionFactory extends AbstractHazelcastCacheRegi
     @Override
     public void start(final Settings settings, final Properties properties) throws CacheException {
         super.start(settings, properties);
-        cleanupService = new CleanupService(instance.getName());
+        final int invalidationBatchWindow = CacheEnvironment.getInvalidationBatchWindowInMillis(properties);
+        batchInvalidations = invalidationBatchWindow > 0;
+        cleanupService = new CleanupService(instance.getName(), invalidationBatchWindow);
     }
 
     @Override
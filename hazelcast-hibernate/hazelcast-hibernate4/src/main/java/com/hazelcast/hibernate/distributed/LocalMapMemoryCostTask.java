@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Returns the memory cost of the entries a member owns for a region map,
+ * read from the member's {@link com.hazelcast.monitor.LocalMapStats}.
+ */
+public class LocalMapMemoryCostTask implements Callable<Long>, HazelcastInstanceAware, DataSerializable {
+
+    private String name;
+    private transient HazelcastInstance hazelcastInstance;
+
+    public LocalMapMemoryCostTask() {
+    }
+
+    public LocalMapMemoryCostTask(final String name) {
+        this.name = name;
+    }
+
+    public Long call() throws Exception {
+        return hazelcastInstance.getMap(name).getLocalMapStats().getOwnedEntryMemoryCost();
+    }
+
+    public void setHazelcastInstance(final HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+    }
+
+    public void readData(final ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+    }
+}
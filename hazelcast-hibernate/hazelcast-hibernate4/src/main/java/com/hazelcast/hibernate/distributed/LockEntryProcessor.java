@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.util.Clock;
+import org.hibernate.cache.spi.entry.CacheEntry;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Soft locks a cache entry on the partition owner by replacing it with a {@link SoftLockMarker}.
+ * Returns the marker, or null if another lock holder's marker has not expired yet.
+ * Returns {@link Boolean#FALSE} if there is no entry. A missing entry is not created here since entries
+ * created by an entry processor get no backups, the caller puts the marker instead.
+ */
+public class LockEntryProcessor implements EntryProcessor<Object, Object>, EntryBackupProcessor<Object, Object>,
+        DataSerializable {
+
+    private String lockId;
+    private long timeout;
+    // the marker the owner stored, replicated as is so backups expire it at the same time
+    private SoftLockMarker marker;
+
+    public LockEntryProcessor() {
+    }
+
+    public LockEntryProcessor(final String lockId, final long timeout) {
+        this.lockId = lockId;
+        this.timeout = timeout;
+    }
+
+    public Object process(final Map.Entry<Object, Object> entry) {
+        final Object value = entry.getValue();
+        if (value == null) {
+            return Boolean.FALSE;
+        }
+        final Object version;
+        if (value instanceof SoftLockMarker) {
+            final SoftLockMarker currentMarker = (SoftLockMarker) value;
+            if (currentMarker.isLockedByOther(lockId, Clock.currentTimeMillis())) {
+                return null;
+            }
+            version = currentMarker.getVersion();
+        } else {
+            version = value instanceof CacheEntry ? ((CacheEntry) value).getVersion() : null;
+        }
+        marker = new SoftLockMarker(lockId, Clock.currentTimeMillis() + timeout, version);
+        entry.setValue(marker);
+        return marker;
+    }
+
+    public EntryBackupProcessor<Object, Object> getBackupProcessor() {
+        return marker != null ? this : null;
+    }
+
+    public void processBackup(final Map.Entry<Object, Object> entry) {
+        entry.setValue(marker);
+    }
+
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeUTF(lockId);
+        out.writeLong(timeout);
+        out.writeObject(marker);
+    }
+
+    public void readData(final ObjectDataInput in) throws IOException {
+        lockId = in.readUTF();
+        timeout = in.readLong();
+        marker = in.readObject();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.util.Clock;
+import org.hibernate.cache.spi.entry.CacheEntry;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Puts a cache entry on the partition owner unless it is soft locked by another lock holder, or,
+ * if the entry version is checked, the cached entry has the same or a newer version.
+ * Returns {@link Boolean#TRUE} if the entry is put, or null if there is no entry. A missing entry is not
+ * created here since entries created by an entry processor get no backups, the caller puts it instead.
+ */
+public class UpdateEntryProcessor implements EntryProcessor<Object, Object>, EntryBackupProcessor<Object, Object>,
+        DataSerializable {
+
+    private Object value;
+    private String lockId;
+    private boolean checkEntryVersion;
+    // null if the region's comparator is not serializable, versions are compared by their natural ordering then
+    private Comparator versionComparator;
+
+    private transient boolean updated;
+
+    public UpdateEntryProcessor() {
+    }
+
+    public UpdateEntryProcessor(final Object value, final String lockId, final boolean checkEntryVersion,
+                                final Comparator versionComparator) {
+        this.value = value;
+        this.lockId = lockId;
+        this.checkEntryVersion = checkEntryVersion;
+        this.versionComparator = versionComparator;
+    }
+
+    public Object process(final Map.Entry<Object, Object> entry) {
+        final Object currentValue = entry.getValue();
+        if (currentValue == null) {
+            return null;
+        }
+        final Object currentVersion;
+        if (currentValue instanceof SoftLockMarker) {
+            final SoftLockMarker marker = (SoftLockMarker) currentValue;
+            if (marker.isLockedByOther(lockId, Clock.currentTimeMillis())) {
+                return Boolean.FALSE;
+            }
+            currentVersion = marker.getVersion();
+        } else {
+            currentVersion = currentValue instanceof CacheEntry ? ((CacheEntry) currentValue).getVersion() : null;
+        }
+        if (checkEntryVersion && !isNewer(((CacheEntry) value).getVersion(), currentVersion)) {
+            return Boolean.FALSE;
+        }
+        entry.setValue(value);
+        updated = true;
+        return Boolean.TRUE;
+    }
+
+    private boolean isNewer(final Object version, final Object currentVersion) {
+        if (currentVersion == null) {
+            return true;
+        }
+        if (versionComparator != null) {
+            return versionComparator.compare(version, currentVersion) > 0;
+        }
+        return version instanceof Comparable && ((Comparable) version).compareTo(currentVersion) > 0;
+    }
+
+    public EntryBackupProcessor<Object, Object> getBackupProcessor() {
+        return updated ? this : null;
+    }
+
+    public void processBackup(final Map.Entry<Object, Object> entry) {
+        entry.setValue(value);
+    }
+
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeObject(value);
+        out.writeUTF(lockId);
+        out.writeBoolean(checkEntryVersion);
+        out.writeObject(versionComparator);
+    }
+
+    public void readData(final ObjectDataInput in) throws IOException {
+        value = in.readObject();
+        lockId = in.readUTF();
+        checkEntryVersion = in.readBoolean();
+        versionComparator = in.readObject();
+    }
+}
@@ -19,6 +19,8 @@ package com.hazelcast.hibernate.local;
 
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -31,22 +33,45 @@ public final class CleanupService {
 
     private final String name;
     private final ScheduledExecutorService executor;
+    private final int invalidationBatchWindow;
+    private final List<LocalRegionCache> caches = new CopyOnWriteArrayList<LocalRegionCache>();
 
     public CleanupService(final String name) {
+        this(name, 0);
+    }
+
+    /**
+     * @param invalidationBatchWindow period in milliseconds at which batched invalidations
+     *                                of registered caches are published, 0 disables flushing
+     */
+    public CleanupService(final String name, final int invalidationBatchWindow) {
         this.name = name;
+        this.invalidationBatchWindow = invalidationBatchWindow;
         executor = Executors.newSingleThreadScheduledExecutor(new CleanupThreadFactory());
     }
 
     public void registerCache(final LocalRegionCache cache) {
+        caches.add(cache);
         executor.scheduleWithFixedDelay(new Runnable() {
             public void run() {
                 cache.cleanup();
             }
         }, 60, 60, TimeUnit.SECONDS);
+        if (invalidationBatchWindow > 0) {
+            executor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    cache.flushInvalidations();
+                }
+            }, invalidationBatchWindow, invalidationBatchWindow, TimeUnit.MILLISECONDS);
+        }
     }
 
     public void stop() {
         executor.shutdownNow();
+        for (LocalRegionCache cache : caches) {
+            cache.flushInvalidations();
+        }
+        caches.clear();
     }
 
     private class CleanupThreadFactory implements ThreadFactory {
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.local;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidations of a region coalesced over a batch window and published as a single message.
+ */
+public class InvalidationBatch implements DataSerializable {
+
+    private List<Invalidation> invalidations;
+
+    public InvalidationBatch() {
+    }
+
+    public InvalidationBatch(final Collection<Invalidation> invalidations) {
+        this.invalidations = new ArrayList<Invalidation>(invalidations);
+    }
+
+    public List<Invalidation> getInvalidations() {
+        return invalidations;
+    }
+
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeInt(invalidations.size());
+        for (Invalidation invalidation : invalidations) {
+            out.writeObject(invalidation.getKey());
+            out.writeObject(invalidation.getVersion());
+        }
+    }
+
+    public void readData(final ObjectDataInput in) throws IOException {
+        final int size = in.readInt();
+        invalidations = new ArrayList<Invalidation>(size);
+        for (int i = 0; i < size; i++) {
+            final Object key = in.readObject();
+            final Object version = in.readObject();
+            invalidations.add(new Invalidation(key, version));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidationBatch{size=" + invalidations.size() + '}';
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Member;
+import com.hazelcast.hibernate.HibernateTestSupport;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class IMapRegionCacheTest extends HibernateTestSupport {
+
+    @Test
+    public void testUnlockRemovesSoftLockFromBackup() {
+        final HazelcastInstance owner = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz = Hazelcast.newHazelcastInstance(new Config());
+        final String key = keyOwnedBy(owner);
+        final IMapRegionCache cache = new IMapRegionCache("testUnlockRemovesSoftLockFromBackup", hz,
+                new Properties(), null);
+        assertTrue(cache.put(key, "value", null));
+
+        final SoftLock lock = cache.tryLock(key, null);
+        assertTrue(lock instanceof SoftLockMarker);
+        assertNull(cache.get(key));
+        assertFalse(cache.tryLock(key, null) instanceof SoftLockMarker);
+        cache.unlock(key, lock);
+        assertFalse(cache.contains(key));
+
+        owner.getLifecycleService().shutdown();
+        assertFalse(cache.contains(key));
+        assertTrue(cache.tryLock(key, null) instanceof SoftLockMarker);
+    }
+
+    @Test
+    public void testSoftLockOfMissingEntrySurvivesFailover() {
+        final HazelcastInstance owner = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz = Hazelcast.newHazelcastInstance(new Config());
+        final String key = keyOwnedBy(owner);
+        final IMapRegionCache cache = new IMapRegionCache("testSoftLockOfMissingEntrySurvivesFailover", hz,
+                new Properties(), null);
+
+        final SoftLock lock = cache.tryLock(key, null);
+        assertTrue(lock instanceof SoftLockMarker);
+        owner.getLifecycleService().shutdown();
+        assertFalse(cache.tryLock(key, null) instanceof SoftLockMarker);
+        assertFalse(cache.put(key, "value", null));
+        assertTrue(cache.update(key, "value", null, null, lock));
+        assertEquals("value", cache.get(key));
+    }
+
+    @Test
+    public void testVersionedUpdate() {
+        final HazelcastInstance owner = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz = Hazelcast.newHazelcastInstance(new Config());
+        final String key = keyOwnedBy(owner);
+        final IMapRegionCache cache = new IMapRegionCache("testVersionedUpdate", hz,
+                new Properties(), new VersionedDataDescription());
+        assertTrue(cache.put(key, "v1", 1));
+        assertTrue(cache.update(key, "v2", 2, 1, null));
+        assertFalse(cache.update(key, "stale", 1, 2, null));
+        assertEquals("v2", cache.get(key));
+
+        final SoftLock lock = cache.tryLock(key, 2);
+        assertTrue(lock instanceof SoftLockMarker);
+        assertFalse(cache.update(key, "other", 3, 2, null));
+        assertTrue(cache.update(key, "v3", 3, 2, lock));
+        assertTrue(((SoftLockMarker) lock).isReleased());
+        cache.unlock(key, lock);
+        assertEquals("v3", cache.get(key));
+
+        owner.getLifecycleService().shutdown();
+        assertEquals("v3", cache.get(key));
+    }
+
+    @Test
+    public void testSizeInMemorySumsOwnedEntryCost() {
+        final HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(new Config());
+        final HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(new Config());
+        final IMapRegionCache cache = new IMapRegionCache("testSizeInMemorySumsOwnedEntryCost", hz1,
+                new Properties(), null);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cache.put("key" + i, "value" + i, null));
+        }
+        final long cost1 = hz1.getMap("testSizeInMemorySumsOwnedEntryCost").getLocalMapStats().getOwnedEntryMemoryCost();
+        final long cost2 = hz2.getMap("testSizeInMemorySumsOwnedEntryCost").getLocalMapStats().getOwnedEntryMemoryCost();
+        assertTrue(cost1 > 0);
+        assertTrue(cost2 > 0);
+        assertEquals(cost1 + cost2, cache.getSizeInMemory());
+    }
+
+    private static String keyOwnedBy(final HazelcastInstance instance) {
+        final Member member = instance.getCluster().getLocalMember();
+        for (int i = 0; ; i++) {
+            final String key = "key" + i;
+            if (member.equals(instance.getPartitionService().getPartition(key).getOwner())) {
+                return key;
+            }
+        }
+    }
+
+    private static class VersionedDataDescription implements CacheDataDescription {
+
+        public boolean isMutable() {
+            return true;
+        }
+
+        public boolean isVersioned() {
+            return true;
+        }
+
+        public Comparator getVersionComparator() {
+            return new IntegerComparator();
+        }
+    }
+
+    private static class IntegerComparator implements Comparator<Integer>, Serializable {
+
+        public int compare(final Integer o1, final Integer o2) {
+            return o1.compareTo(o2);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicate;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Matches session states last written by another web filter instance.
+ * Used as an entry listener filter so a node is not notified of its own updates,
+ * which works the same for member and client instances.
+ */
+public class ForeignWriterPredicate implements Predicate<String, Object>, DataSerializable {
+
+    private String writer;
+
+    // Serialization Constructor
+    public ForeignWriterPredicate() {
+    }
+
+    public ForeignWriterPredicate(String writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean apply(Map.Entry<String, Object> mapEntry) {
+        Object value = mapEntry.getValue();
+        return !(value instanceof SessionState) || !writer.equals(((SessionState) value).getWriter());
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(writer);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        writer = in.readUTF();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+
+/**
+ * Reads a single attribute of a {@link SessionState} without transferring the whole session.
+ */
+public class GetAttributeEntryProcessor extends AbstractEntryProcessor<String, SessionState> implements DataSerializable {
+
+    private String attributeName;
+
+    // Serialization Constructor
+    public GetAttributeEntryProcessor() {
+        super(false);
+    }
+
+    public GetAttributeEntryProcessor(String attributeName) {
+        super(false);
+        this.attributeName = attributeName;
+    }
+
+    @Override
+    public Object process(Entry<String, SessionState> entry) {
+        SessionState sessionState = entry.getValue();
+        if (sessionState == null) {
+            return null;
+        }
+        // returned in serialized form, deserialized by the caller
+        return sessionState.getAttributes().get(attributeName);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributeName);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attributeName = in.readUTF();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+
+/**
+ * Returns the {@link SessionState} only when its version differs from the version the caller holds,
+ * <tt>null</tt> otherwise. A missing session is returned as an empty state.
+ */
+public class GetSessionStateEntryProcessor extends AbstractEntryProcessor<String, SessionState> implements DataSerializable {
+
+    private long knownVersion;
+
+    // Serialization Constructor
+    public GetSessionStateEntryProcessor() {
+        super(false);
+    }
+
+    public GetSessionStateEntryProcessor(long knownVersion) {
+        super(false);
+        this.knownVersion = knownVersion;
+    }
+
+    @Override
+    public Object process(Entry<String, SessionState> entry) {
+        SessionState sessionState = entry.getValue();
+        long version = sessionState != null ? sessionState.getVersion() : 0;
+        if (version == knownVersion) {
+            return null;
+        }
+        return sessionState != null ? sessionState : new SessionState();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(knownVersion);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        knownVersion = in.readLong();
+    }
+}
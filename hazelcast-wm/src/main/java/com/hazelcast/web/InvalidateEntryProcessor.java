@@ -24,6 +24,12 @@ import com.hazelcast.nio.serialization.DataSerializable;
 import java.io.IOException;
 import java.util.Map.Entry;
 
+/**
+ * Removed the attribute entries of a session stored with one map entry per attribute.
+ *
+ * @deprecated sessions are stored as a single {@link SessionState} entry and invalidated with a delete
+ */
+@Deprecated
 public class InvalidateEntryProcessor extends AbstractEntryProcessor<String, Object> implements DataSerializable {
     private String sessionId;
     
@@ -24,6 +24,12 @@ import com.hazelcast.query.Predicate;
 import java.io.IOException;
 import java.util.Map.Entry;
 
+/**
+ * Selects the attribute entries of a session stored with one map entry per attribute.
+ *
+ * @deprecated sessions are stored as a single {@link SessionState} entry, read it with a get
+ */
+@Deprecated
 public class SessionAttributePredicate implements Predicate, DataSerializable {
     private String sessionId;
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Cluster side state of a web session, stored as a single map entry keyed by the session id.
+ * Attribute values are kept in serialized form so members never need the web application classes.
+ */
+public class SessionState implements DataSerializable {
+
+    private final Map<String, Data> attributes = new HashMap<String, Data>(1);
+
+    private long version;
+
+    private String writer;
+
+    public Map<String, Data> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Incremented by one on every update, lets web nodes detect a stale local copy.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Id of the web filter instance that applied the last update.
+     */
+    public String getWriter() {
+        return writer;
+    }
+
+    public void setWriter(String writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Applies changed attributes, a <tt>null</tt> value removes the attribute.
+     */
+    public void setAttributes(Map<String, Data> changes) {
+        version++;
+        for (Entry<String, Data> entry : changes.entrySet()) {
+            if (entry.getValue() == null) {
+                attributes.remove(entry.getKey());
+            } else {
+                attributes.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(version);
+        out.writeUTF(writer);
+        out.writeInt(attributes.size());
+        for (Entry<String, Data> entry : attributes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        version = in.readLong();
+        writer = in.readUTF();
+        int attCount = in.readInt();
+        for (int i = 0; i < attCount; i++) {
+            attributes.put(in.readUTF(), IOUtil.readData(in));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SessionState{version=" + version + ", writer=" + writer + ", attributes=" + attributes.keySet() + '}';
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Applies the changed attributes of a session to its {@link SessionState}.
+ * Records the writing web filter instance and returns the new version of the state, or <tt>null</tt>
+ * when the session is not in the cluster. The caller creates a missing state with putIfAbsent.
+ */
+public class SessionUpdateEntryProcessor extends AbstractEntryProcessor<String, SessionState> implements DataSerializable {
+
+    private String writer;
+
+    private Map<String, Data> attributes;
+
+    // Serialization Constructor
+    public SessionUpdateEntryProcessor() {
+        super(true);
+    }
+
+    public SessionUpdateEntryProcessor(String writer, Map<String, Data> attributes) {
+        this.writer = writer;
+        this.attributes = attributes;
+    }
+
+    public SessionUpdateEntryProcessor(String writer, String name, Data value) {
+        this.writer = writer;
+        this.attributes = new HashMap<String, Data>(1);
+        this.attributes.put(name, value);
+    }
+
+    @Override
+    public Object process(Entry<String, SessionState> entry) {
+        SessionState sessionState = entry.getValue();
+        if (sessionState == null) {
+            // not created here, entries created by an entry processor get no backups
+            return null;
+        }
+        sessionState.setAttributes(attributes);
+        sessionState.setWriter(writer);
+        entry.setValue(sessionState);
+        return sessionState.getVersion();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(writer);
+        out.writeInt(attributes.size());
+        for (Entry<String, Data> entry : attributes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            IOUtil.writeNullableData(out, entry.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        writer = in.readUTF();
+        int attCount = in.readInt();
+        attributes = new HashMap<String, Data>(attCount);
+        for (int i = 0; i < attCount; i++) {
+            attributes.put(in.readUTF(), IOUtil.readNullableData(in));
+        }
+    }
+}
@@ -24,6 +24,9 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
 import com.hazelcast.util.UuidUtil;
 
 import javax.servlet.Filter;
@@ -42,7 +45,9 @@ import javax.servlet.http.HttpServletResponseWrapper;
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionContext;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -60,12 +65,14 @@ public class WebFilter implements Filter {
 
     private static final ILogger logger = Logger.getLogger(WebFilter.class);
 
-    private static final LocalCacheEntry NULL_ENTRY = new LocalCacheEntry();
-
     private static final String HAZELCAST_REQUEST = "*hazelcast-request";
 
     private static final String HAZELCAST_SESSION_COOKIE_NAME = "hazelcast.sessionId";
 
+    /**
+     * @deprecated sessions are stored as a single {@link SessionState} entry, attributes no longer have keys of their own
+     */
+    @Deprecated
     static final String HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR = "::hz::";
 
     private static final ConcurrentMap<String, String> mapOriginalSessions = new ConcurrentHashMap<String, String>(1000);
@@ -74,6 +81,8 @@ public class WebFilter implements Filter {
 
     private HazelcastInstance hazelcastInstance;
 
+    private SerializationService serializationService;
+
     private String clusterMapName = "none";
 
     private String sessionCookieName = HAZELCAST_SESSION_COOKIE_NAME;
@@ -90,6 +99,9 @@ public class WebFilter implements Filter {
 
     private boolean deferredWrite = false;
 
+    // stamped into every session state this filter writes, so it can ignore its own update events
+    private final String writerId = UuidUtil.buildRandomUuidString();
+
     private Properties properties;
 
     protected ServletContext servletContext;
@@ -153,26 +165,37 @@ public class WebFilter implements Filter {
         if (deferredWriteParam != null) {
             deferredWrite = Boolean.parseBoolean(deferredWriteParam);
         }
-        if (!stickySession) {
-            getClusterMap().addEntryListener(new EntryListener<String, Object>() {
-                public void entryAdded(EntryEvent<String, Object> entryEvent) {
-                }
+        // sessions cached on this node are dropped when removed by any node
+        getClusterMap().addEntryListener(new EntryListener<String, Object>() {
+            public void entryAdded(EntryEvent<String, Object> entryEvent) {
+            }
 
-                public void entryRemoved(EntryEvent<String, Object> entryEvent) {
-                    if (entryEvent.getMember() == null || // client events has no owner member
-                            !entryEvent.getMember().localMember()) {
-                        removeSessionLocally(entryEvent.getKey());
-                    }
-                }
+            public void entryRemoved(EntryEvent<String, Object> entryEvent) {
+                removeSessionLocally(entryEvent.getKey());
+            }
 
-                public void entryUpdated(EntryEvent<String, Object> entryEvent) {
-                }
+            public void entryUpdated(EntryEvent<String, Object> entryEvent) {
+            }
 
-                public void entryEvicted(EntryEvent<String, Object> entryEvent) {
-                    entryRemoved(entryEvent);
-                }
-            }, false);
-        }
+            public void entryEvicted(EntryEvent<String, Object> entryEvent) {
+                entryRemoved(entryEvent);
+            }
+        }, false);
+        // and marked stale when updated by another node, own updates are filtered out on the members
+        getClusterMap().addEntryListener(new EntryListener<String, Object>() {
+            public void entryAdded(EntryEvent<String, Object> entryEvent) {
+            }
+
+            public void entryRemoved(EntryEvent<String, Object> entryEvent) {
+            }
+
+            public void entryUpdated(EntryEvent<String, Object> entryEvent) {
+                markSessionStale(entryEvent.getKey());
+            }
+
+            public void entryEvicted(EntryEvent<String, Object> entryEvent) {
+            }
+        }, new ForeignWriterPredicate(writerId), false);
 
         if(logger.isLoggable(Level.FINEST)){
             logger.finest("sticky:" + stickySession + ", shutdown-on-destroy: " + shutdownOnDestroy
@@ -189,6 +212,7 @@ public class WebFilter implements Filter {
         setProperty(USE_CLIENT);
         setProperty(CLIENT_CONFIG_LOCATION);
         hazelcastInstance = getInstance(properties);
+        serializationService = ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
     }
 
     private void setProperty(String propertyName) {
@@ -198,6 +222,13 @@ public class WebFilter implements Filter {
         }
     }
 
+    private void markSessionStale(String sessionId) {
+        HazelcastHttpSession hazelSession = mapSessions.get(sessionId);
+        if (hazelSession != null) {
+            hazelSession.reload = true;
+        }
+    }
+
     private void removeSessionLocally(String sessionId) {
         HazelcastHttpSession hazelSession = mapSessions.remove(sessionId);
         if (hazelSession != null) {
@@ -219,17 +250,15 @@ public class WebFilter implements Filter {
         }
     }
 
-       private String extractAttributeKey(String key) {
-        return key.substring(key.indexOf(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR) + HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR.length());
-    }
-
-    private HazelcastHttpSession createNewSession(RequestWrapper requestWrapper, String existingSessionId) {
+    private HazelcastHttpSession createNewSession(RequestWrapper requestWrapper, String existingSessionId,
+                                                  SessionState existingSessionState) {
         String id = existingSessionId != null ? existingSessionId : generateSessionId();
         if (requestWrapper.getOriginalSession(false) != null) {
             logger.finest("Original session exists!!!");
         }
         HttpSession originalSession = requestWrapper.getOriginalSession(true);
-        HazelcastHttpSession hazelcastSession = new HazelcastHttpSession(WebFilter.this, id, originalSession, deferredWrite);
+        HazelcastHttpSession hazelcastSession = new HazelcastHttpSession(WebFilter.this, id, originalSession, deferredWrite,
+                stickySession);
         mapSessions.put(hazelcastSession.getId(), hazelcastSession);
         String oldHazelcastSessionId = mapOriginalSessions.put(originalSession.getId(), hazelcastSession.getId());
         if (oldHazelcastSessionId != null) {
@@ -242,36 +271,16 @@ public class WebFilter implements Filter {
             logger.finest(mapSessions.size() + " is sessions.size and originalSessions.size: " + mapOriginalSessions.size());
         }
         addSessionCookie(requestWrapper, id);
-        if (deferredWrite) {
-            loadHazelcastSession(hazelcastSession);
+        if (hazelcastSession.localCache != null && existingSessionState != null) {
+            hazelcastSession.loadSessionState(existingSessionState);
         }
         return hazelcastSession;
     }
 
-    private void loadHazelcastSession(HazelcastHttpSession hazelcastSession) {
-        Set<Entry<String, Object>> entrySet = getClusterMap().entrySet(new SessionAttributePredicate(hazelcastSession.getId()));
-        Map<String, LocalCacheEntry> cache = hazelcastSession.localCache;
-        for (Entry<String, Object> entry : entrySet) {
-            String attributeKey = extractAttributeKey(entry.getKey());
-            LocalCacheEntry cacheEntry = cache.get(attributeKey);
-            if (cacheEntry == null) {
-                cacheEntry = new LocalCacheEntry();
-                cache.put(attributeKey, cacheEntry);
-            }
-            if(logger.isFinestEnabled()){
-                logger.finest("Storing " + attributeKey + " on session " + hazelcastSession.getId());
-            }
-            cacheEntry.value = entry.getValue();
-            cacheEntry.dirty = false;
-        }
-    }
-
     private void prepareReloadingSession(HazelcastHttpSession hazelcastSession) {
-        if (deferredWrite && hazelcastSession != null) {
-            Map<String, LocalCacheEntry> cache = hazelcastSession.localCache;
-            for (LocalCacheEntry cacheEntry : cache.values()) {
-                cacheEntry.reload = true;
-            }
+        // sticky sessions are only reloaded after an entry listener marked them stale
+        if (deferredWrite && !stickySession && hazelcastSession != null) {
+            hazelcastSession.reload = true;
         }
     }
 
@@ -292,9 +301,7 @@ public class WebFilter implements Filter {
             if(logger.isFinestEnabled()){
                 logger.finest("Destroying cluster session: " + session.getId() + " => Ignore-timeout: true");
             }
-            IMap<String, Object> clusterMap = getClusterMap();
-            clusterMap.delete(session.getId());
-            clusterMap.executeOnEntries(new InvalidateEntryProcessor(session.getId()));
+            getClusterMap().delete(session.getId());
         }
     }
 
@@ -391,15 +398,15 @@ public class WebFilter implements Filter {
             if (requestedSessionId != null) {
                 hazelcastSession = getSessionWithId(requestedSessionId);
                 if (hazelcastSession == null) {
-                    final Boolean existing = (Boolean) getClusterMap().get(requestedSessionId);
-                    if (existing != null && existing) {
+                    final SessionState existing = (SessionState) getClusterMap().get(requestedSessionId);
+                    if (existing != null) {
                         // we already have the session in the cluster loading it...
-                        hazelcastSession = createNewSession(RequestWrapper.this, requestedSessionId);
+                        hazelcastSession = createNewSession(RequestWrapper.this, requestedSessionId, existing);
                     }
                 }
             }
             if (hazelcastSession == null && create) {
-                hazelcastSession = createNewSession(RequestWrapper.this, null);
+                hazelcastSession = createNewSession(RequestWrapper.this, null, null);
             }
             if (deferredWrite) {
                 prepareReloadingSession(hazelcastSession);
@@ -416,12 +423,23 @@ public class WebFilter implements Filter {
     }
 
     private static class LocalCacheEntry {
-        private Object value;
+        private Object value; // deserialized lazily from data
+        private Data data; // serialized form last known to be in the cluster
         volatile boolean dirty = false;
-        volatile boolean reload = false;
         boolean removed = false; // does not need to be volatile - it's piggybacked on dirty!
     }
 
+    /**
+     * Values of these types cannot change without a call to setAttribute,
+     * so they are never re-serialized to look for in-place modifications.
+     */
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Double || value instanceof Float
+                || value instanceof Short || value instanceof Byte || value instanceof Character
+                || value instanceof Enum;
+    }
+
     private class HazelcastHttpSession implements HttpSession {
         private final Map<String, LocalCacheEntry> localCache;
 
@@ -429,38 +447,39 @@ public class WebFilter implements Filter {
 
         volatile boolean valid = true;
 
+        volatile boolean reload = false;
+
+        // version of the cluster state the local cache reflects
+        volatile long version = 0;
+
         final String id;
 
         final HttpSession originalSession;
 
         final WebFilter webFilter;
 
-        public HazelcastHttpSession(WebFilter webFilter, final String sessionId, HttpSession originalSession, boolean deferredWrite) {
+        public HazelcastHttpSession(WebFilter webFilter, final String sessionId, HttpSession originalSession,
+                                    boolean deferredWrite, boolean stickySession) {
             this.webFilter = webFilter;
             this.id = sessionId;
             this.originalSession = originalSession;
             this.deferredWrite = deferredWrite;
-            this.localCache = deferredWrite ? new ConcurrentHashMap<String, LocalCacheEntry>() : null;
+            this.localCache = deferredWrite || stickySession ? new ConcurrentHashMap<String, LocalCacheEntry>() : null;
         }
 
         public Object getAttribute(final String name) {
-            IMap<String, Object> clusterMap = getClusterMap();
-            if (deferredWrite) {
+            if (localCache != null) {
+                reloadSessionState();
                 LocalCacheEntry cacheEntry = localCache.get(name);
-                if (cacheEntry == null || cacheEntry.reload) {
-                    Object value = clusterMap.get(buildAttributeName(name));
-                    if (value == null) {
-                        cacheEntry = NULL_ENTRY;
-                    } else {
-                        cacheEntry = new LocalCacheEntry();
-                        cacheEntry.value = value;
-                        cacheEntry.reload = false;
-                    }
-                    localCache.put(name, NULL_ENTRY);
+                if (cacheEntry == null || cacheEntry.removed) {
+                    return null;
+                }
+                if (cacheEntry.value == null && cacheEntry.data != null) {
+                    cacheEntry.value = serializationService.toObject(cacheEntry.data);
                 }
-                return cacheEntry != NULL_ENTRY ? cacheEntry.value : null;
+                return cacheEntry.value;
             }
-            return clusterMap.get(buildAttributeName(name));
+            return getClusterMap().executeOnKey(id, new GetAttributeEntryProcessor(name));
         }
 
         public Enumeration<String> getAttributeNames() {
@@ -525,7 +544,11 @@ public class WebFilter implements Filter {
                     entry.dirty = true;
                 }
             } else {
-                getClusterMap().delete(buildAttributeName(name));
+                long newVersion = writeChanges(Collections.<String, Data>singletonMap(name, null));
+                if (localCache != null) {
+                    localCache.remove(name);
+                    updateVersion(newVersion);
+                }
             }
         }
 
@@ -543,9 +566,18 @@ public class WebFilter implements Filter {
                     localCache.put(name, entry);
                 }
                 entry.value = value;
+                entry.removed = false;
                 entry.dirty = true;
             } else {
-                getClusterMap().put(buildAttributeName(name), value);
+                Data data = serializationService.toData(value);
+                long newVersion = writeChanges(Collections.singletonMap(name, data));
+                if (localCache != null) {
+                    LocalCacheEntry entry = new LocalCacheEntry();
+                    entry.value = value;
+                    entry.data = data;
+                    localCache.put(name, entry);
+                    updateVersion(newVersion);
+                }
             }
         }
 
@@ -558,7 +590,8 @@ public class WebFilter implements Filter {
                 return false;
             }
             for (Entry<String, LocalCacheEntry> entry : localCache.entrySet()) {
-                if (entry.getValue().dirty) {
+                LocalCacheEntry cacheEntry = entry.getValue();
+                if (cacheEntry.dirty || (cacheEntry.value != null && !isImmutable(cacheEntry.value))) {
                     return true;
                 }
             }
@@ -589,37 +622,129 @@ public class WebFilter implements Filter {
             return valid;
         }
 
-        private String buildAttributeName(String name) {
-            return id + HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR + name;
+        private void reloadSessionState() {
+            if (reload) {
+                reload = false;
+                // the state is only transferred when its version differs from the cached one
+                SessionState sessionState = (SessionState) getClusterMap()
+                        .executeOnKey(id, new GetSessionStateEntryProcessor(version));
+                if (sessionState != null) {
+                    loadSessionState(sessionState);
+                }
+            }
         }
 
-        private void sessionDeferredWrite() {
-            IMap<String, Object> clusterMap = getClusterMap();
-            if (deferredWrite) {
-                Iterator<Entry<String, LocalCacheEntry>> iterator = localCache.entrySet().iterator();
-                while(iterator.hasNext()) {
-                    Entry<String, LocalCacheEntry> entry = iterator.next();
-                    if (entry.getValue().dirty) {
-                        LocalCacheEntry cacheEntry = entry.getValue();
-                        if (cacheEntry.removed) {
-                            clusterMap.delete(buildAttributeName(entry.getKey()));
-                            iterator.remove();
-                        } else {
-                            clusterMap.put(buildAttributeName(entry.getKey()), cacheEntry.value);
-                            cacheEntry.dirty = false;
-                        }
+        /**
+         * Records the version written by this node. When another node updated the session in between,
+         * the cached version is kept so the local cache is reloaded on next access.
+         */
+        private void updateVersion(long newVersion) {
+            if (newVersion == version + 1) {
+                version = newVersion;
+            } else {
+                reload = true;
+            }
+        }
+
+        /**
+         * Replaces the clean local attributes with the cluster state, local changes not yet written are kept.
+         */
+        private void loadSessionState(SessionState sessionState) {
+            Map<String, Data> attributes = sessionState != null
+                    ? sessionState.getAttributes() : Collections.<String, Data>emptyMap();
+            Iterator<Entry<String, LocalCacheEntry>> iterator = localCache.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<String, LocalCacheEntry> entry = iterator.next();
+                LocalCacheEntry cacheEntry = entry.getValue();
+                if (cacheEntry.dirty) {
+                    continue;
+                }
+                Data data = attributes.get(entry.getKey());
+                if (data == null) {
+                    iterator.remove();
+                } else if (!data.equals(cacheEntry.data)) {
+                    cacheEntry.data = data;
+                    cacheEntry.value = null;
+                }
+            }
+            for (Entry<String, Data> attribute : attributes.entrySet()) {
+                if (!localCache.containsKey(attribute.getKey())) {
+                    LocalCacheEntry cacheEntry = new LocalCacheEntry();
+                    cacheEntry.data = attribute.getValue();
+                    localCache.put(attribute.getKey(), cacheEntry);
+                }
+            }
+            version = sessionState != null ? sessionState.getVersion() : 0;
+        }
+
+        /**
+         * Collects the attributes to write back, a <tt>null</tt> value marks a removed attribute.
+         * Mutable values are compared to their last written form and only sent when they differ.
+         */
+        private Map<String, Data> collectChanges() {
+            Map<String, Data> changes = new HashMap<String, Data>();
+            Iterator<Entry<String, LocalCacheEntry>> iterator = localCache.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<String, LocalCacheEntry> entry = iterator.next();
+                LocalCacheEntry cacheEntry = entry.getValue();
+                if (cacheEntry.dirty) {
+                    if (cacheEntry.removed) {
+                        changes.put(entry.getKey(), null);
+                        iterator.remove();
+                    } else {
+                        cacheEntry.data = serializationService.toData(cacheEntry.value);
+                        changes.put(entry.getKey(), cacheEntry.data);
+                        cacheEntry.dirty = false;
+                    }
+                } else if (cacheEntry.value != null && !isImmutable(cacheEntry.value)) {
+                    Data data = serializationService.toData(cacheEntry.value);
+                    if (!data.equals(cacheEntry.data)) {
+                        cacheEntry.data = data;
+                        changes.put(entry.getKey(), data);
                     }
                 }
             }
-            if (!clusterMap.containsKey(id)) {
-                clusterMap.put(id, Boolean.TRUE);
+            return changes;
+        }
+
+        private void sessionDeferredWrite() {
+            Map<String, Data> changes = deferredWrite ? collectChanges() : Collections.<String, Data>emptyMap();
+            if (!changes.isEmpty() || !getClusterMap().containsKey(id)) {
+                long newVersion = writeChanges(changes);
+                if (localCache != null) {
+                    updateVersion(newVersion);
+                }
+            }
+        }
+
+        /**
+         * Applies the changes to the cluster state of the session and returns its new version.
+         * A missing state is created with putIfAbsent, so that its backups are created as well.
+         */
+        private long writeChanges(Map<String, Data> changes) {
+            IMap<String, Object> clusterMap = getClusterMap();
+            SessionUpdateEntryProcessor entryProcessor = new SessionUpdateEntryProcessor(writerId, changes);
+            while (true) {
+                Long newVersion = (Long) clusterMap.executeOnKey(id, entryProcessor);
+                if (newVersion != null) {
+                    return newVersion;
+                }
+                SessionState sessionState = new SessionState();
+                sessionState.setAttributes(changes);
+                sessionState.setWriter(writerId);
+                if (clusterMap.putIfAbsent(id, sessionState) == null) {
+                    return sessionState.getVersion();
+                }
             }
         }
 
         private Set<String> selectKeys() {
-            if (!deferredWrite) {
-                return getClusterMap().keySet(new SessionAttributePredicate(id));
+            if (localCache == null) {
+                SessionState sessionState = (SessionState) getClusterMap().get(id);
+                return sessionState != null
+                        ? new HashSet<String>(sessionState.getAttributes().keySet()) : new HashSet<String>();
             }
+            reloadSessionState();
             Set<String> keys = new HashSet<String>();
             Iterator<Entry<String, LocalCacheEntry>> iterator = localCache.entrySet().iterator();
             while (iterator.hasNext()) {
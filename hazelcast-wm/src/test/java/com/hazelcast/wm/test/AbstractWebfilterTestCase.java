@@ -20,9 +20,12 @@ import com.hazelcast.config.FileSystemXmlConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.TestEnvironment;
 import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.web.SessionState;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.CookieStore;
@@ -70,8 +73,6 @@ public abstract class AbstractWebfilterTestCase {
         System.setProperty("hazelcast.multicast.group", "224." + g1 + "." + g2 + "." + g3);
     }
 
-    protected static final String HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR = "::hz::";
-    
     protected String serverXml1;
     protected String serverXml2;
     
@@ -114,12 +115,16 @@ public abstract class AbstractWebfilterTestCase {
 
     protected String findHazelcastSessionId(IMap<String, Object> map) {
         for (Entry<String, Object> entry : map.entrySet()) {
-            if (!entry.getKey().contains(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR)) {
-                return entry.getKey();
-            }
+            return entry.getKey();
         }
         return null;
     }
+
+    protected Object getSessionAttribute(IMap<String, Object> map, String sessionId, String name) {
+        SessionState sessionState = (SessionState) map.get(sessionId);
+        Data data = sessionState != null ? sessionState.getAttributes().get(name) : null;
+        return ((SerializationServiceSupport) hz).getSerializationService().toObject(data);
+    }
     
     protected String executeRequest(String context, int serverPort, CookieStore cookieStore) throws Exception {
         HttpClient client = HttpClientBuilder.create().setDefaultCookieStore(cookieStore).build();
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wm.test;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.web.SessionState;
+import com.hazelcast.web.SessionUpdateEntryProcessor;
+import org.apache.http.client.CookieStore;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+@Category(QuickTest.class)
+public class WebfilterStickySessionTestCase extends AbstractWebfilterTestCase {
+
+    @Parameters(name = "Executing: {0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][] { //
+                new Object[] { "node - sticky", "node1-node-sticky.xml", "node2-node-sticky.xml" }, //
+                        new Object[] { "client - sticky", "node1-client-sticky.xml", "node2-client-sticky.xml" } //
+                });
+    }
+
+    public WebfilterStickySessionTestCase(String name, String serverXml1, String serverXml2) {
+        this.serverXml1 = serverXml1;
+        this.serverXml2 = serverXml2;
+    }
+
+    @Test(timeout = 60000)
+    public void testOwnWritesAreVersioned() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+
+        CookieStore cookieStore = new BasicCookieStore();
+        executeRequest("write", serverPort1, cookieStore);
+
+        String sessionId = findHazelcastSessionId(map);
+        long version = ((SessionState) map.get(sessionId)).getVersion();
+
+        String value = executeRequest("update", serverPort1, cookieStore);
+        assertEquals("true", value);
+
+        assertTrue(((SessionState) map.get(sessionId)).getVersion() > version);
+        assertEquals("value-updated", getSessionAttribute(map, sessionId, "key"));
+
+        value = executeRequest("read", serverPort1, cookieStore);
+        assertEquals("value-updated", value);
+    }
+
+    @Test(timeout = 60000)
+    public void testRemoteUpdateReloadsLocalCache() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+
+        final CookieStore cookieStore = new BasicCookieStore();
+        executeRequest("write", serverPort1, cookieStore);
+
+        String value = executeRequest("read", serverPort1, cookieStore);
+        assertEquals("value", value);
+
+        String sessionId = findHazelcastSessionId(map);
+        map.executeOnKey(sessionId, new SessionUpdateEntryProcessor("another-writer", "key",
+                ((SerializationServiceSupport) hz).getSerializationService().toData("value-remote")));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals("value-remote", executeRequestUnchecked("read", serverPort1, cookieStore));
+            }
+        });
+
+        value = executeRequest("update", serverPort1, cookieStore);
+        assertEquals("true", value);
+
+        value = executeRequest("read", serverPort1, cookieStore);
+        assertEquals("value-updated", value);
+        assertEquals("value-updated", getSessionAttribute(map, sessionId, "key"));
+    }
+
+    @Test(timeout = 60000)
+    public void testRemoteRemovalInvalidatesLocalCache() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+
+        final CookieStore cookieStore = new BasicCookieStore();
+        executeRequest("write", serverPort1, cookieStore);
+
+        String value = executeRequest("read", serverPort1, cookieStore);
+        assertEquals("value", value);
+
+        map.delete(findHazelcastSessionId(map));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals("null", executeRequestUnchecked("read", serverPort1, cookieStore));
+            }
+        });
+    }
+
+    @Test(timeout = 60000)
+    public void testInvalidateRemovesSession() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+
+        CookieStore cookieStore = new BasicCookieStore();
+        executeRequest("write", serverPort1, cookieStore);
+        assertEquals(1, map.size());
+
+        String value = executeRequest("invalidate", serverPort1, cookieStore);
+        assertEquals("true", value);
+        assertEquals(0, map.size());
+
+        value = executeRequest("read", serverPort1, cookieStore);
+        assertEquals("null", value);
+    }
+
+    private String executeRequestUnchecked(String context, int serverPort, CookieStore cookieStore) {
+        try {
+            return executeRequest(context, serverPort, cookieStore);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
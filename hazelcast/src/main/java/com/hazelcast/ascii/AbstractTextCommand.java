@@ -66,6 +66,11 @@ public abstract class AbstractTextCommand implements TextCommand {
         return true;
     }
 
+    @Override
+    public boolean isResponseComplete() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return "AbstractTextCommand[" + type + "]{" +
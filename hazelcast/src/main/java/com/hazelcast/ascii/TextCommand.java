@@ -35,4 +35,9 @@ public interface TextCommand extends TextCommandConstants, SocketWritable, Socke
 
     boolean shouldReply();
 
+    /**
+     * @return false while a streamed response still has parts to come
+     */
+    boolean isResponseComplete();
+
 }
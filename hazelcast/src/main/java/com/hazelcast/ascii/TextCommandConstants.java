@@ -28,6 +28,7 @@ public interface TextCommandConstants {
     final static byte[] TOUCHED = new String("TOUCHED\r\n").getBytes();
     final static byte[] NOT_STORED = new String("NOT_STORED\r\n").getBytes();
     final static byte[] NOT_FOUND = new String("NOT_FOUND\r\n").getBytes();
+    final static byte[] EXISTS = new String("EXISTS\r\n").getBytes();
     final static byte[] RETURN_END = new String("\r\nEND\r\n").getBytes();
     final static byte[] END = new String("END\r\n").getBytes();
     final static byte[] ERROR = new String("ERROR").getBytes();
@@ -54,6 +55,8 @@ public interface TextCommandConstants {
         TOUCH((byte) 16),
         INCREMENT((byte) 17),
         DECREMENT((byte) 18),
+        MULTI_GET((byte) 19),
+        CAS((byte) 20),
         HTTP_GET((byte) 30),
         HTTP_POST((byte) 31),
         HTTP_PUT((byte) 32),
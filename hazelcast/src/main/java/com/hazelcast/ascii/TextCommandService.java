@@ -17,8 +17,13 @@
 package com.hazelcast.ascii;
 
 import com.hazelcast.ascii.memcache.Stats;
+import com.hazelcast.core.CompletableFuture;
 import com.hazelcast.instance.Node;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
 public interface TextCommandService {
 
     boolean offer(String queueName, Object value);
@@ -27,6 +32,8 @@ public interface TextCommandService {
 
     Object poll(String queueName);
 
+    int drainTo(String queueName, Collection<Object> items, int maxItems);
+
     void processRequest(TextCommand command);
 
     void sendResponse(TextCommand textCommand);
@@ -35,6 +42,26 @@ public interface TextCommandService {
 
     byte[] getByteArray(String mapName, String key);
 
+    Map<String, Object> getAll(String mapName, Set<String> keys);
+
+    Set<Object> keySet(String mapName);
+
+    void putAll(String mapName, Map<String, ?> entries);
+
+    CompletableFuture<Object> getAsync(String mapName, String key);
+
+    CompletableFuture<Object> putAsync(String mapName, String key, Object value, int ttlSeconds);
+
+    CompletableFuture<Object> deleteAsync(String mapName, String key);
+
+    CompletableFuture<Object> getEntryViewAsync(String mapName, String key);
+
+    CompletableFuture<Object> casAsync(String mapName, String key, Object value, int ttlSeconds, long version);
+
+    CompletableFuture<Object> incrementAsync(String mapName, String key, String entryKey, boolean decrement, long delta);
+
+    CompletableFuture<Object> touchAsync(String mapName, String key, int ttlSeconds);
+
     Object put(String mapName, String key, Object value);
 
     Object put(String mapName, String key, Object value, int ttlSeconds);
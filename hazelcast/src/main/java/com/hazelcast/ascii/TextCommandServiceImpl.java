@@ -21,18 +21,31 @@ import com.hazelcast.ascii.rest.HttpDeleteCommandProcessor;
 import com.hazelcast.ascii.rest.HttpGetCommandProcessor;
 import com.hazelcast.ascii.rest.HttpPostCommandProcessor;
 import com.hazelcast.ascii.rest.RestValue;
+import com.hazelcast.core.CompletableFuture;
+import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.IQueue;
 import com.hazelcast.instance.Node;
-import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.nio.ascii.SocketTextWriter;
+import com.hazelcast.map.MapService;
+import com.hazelcast.map.operation.GetEntryViewOperation;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.util.Clock;
-
-import java.nio.ByteBuffer;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import com.hazelcast.util.executor.CompletableFutureTask;
+import com.hazelcast.util.executor.DelegatingFuture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -41,6 +54,7 @@ import static com.hazelcast.ascii.TextCommandConstants.TextCommandType.*;
 public class TextCommandServiceImpl implements TextCommandService, TextCommandConstants {
     private final Node node;
     private final TextCommandProcessor[] textCommandProcessors = new TextCommandProcessor[100];
+    private final boolean[] nonBlockingCommands = new boolean[100];
     private final HazelcastInstance hazelcast;
     private final AtomicLong sets = new AtomicLong();
     private final AtomicLong touches = new AtomicLong();
@@ -54,8 +68,9 @@ public class TextCommandServiceImpl implements TextCommandService, TextCommandCo
     private final AtomicLong decrementMisses = new AtomicLong();
     private final long startTime = Clock.currentTimeMillis();
     private final ILogger logger;
-    private volatile ResponseThreadRunnable responseThreadRunnable;
     private volatile boolean running = true;
+    // map proxies of the commands dispatched on the reader threads, see #invokeOnMap
+    private final ConcurrentMap<String, MapProxyLoader> mapProxyLoaders = new ConcurrentHashMap<String, MapProxyLoader>();
 
     public TextCommandServiceImpl(Node node) {
         this.node = node;
@@ -63,11 +78,13 @@ public class TextCommandServiceImpl implements TextCommandService, TextCommandCo
         this.logger = node.getLogger(this.getClass().getName());
         textCommandProcessors[GET.getValue()] = new GetCommandProcessor(this, true);
         textCommandProcessors[PARTIAL_GET.getValue()] = new GetCommandProcessor(this, false);
+        textCommandProcessors[GETS.getValue()] = new GetCommandProcessor(this, false);
         textCommandProcessors[SET.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[APPEND.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[PREPEND.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[ADD.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[REPLACE.getValue()] = new SetCommandProcessor(this);
+        textCommandProcessors[CAS.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[GET_END.getValue()] = new NoOpCommandProcessor(this);
         textCommandProcessors[DELETE.getValue()] = new DeleteCommandProcessor(this);
         textCommandProcessors[QUIT.getValue()] = new SimpleCommandProcessor(this);
@@ -84,6 +101,17 @@ public class TextCommandServiceImpl implements TextCommandService, TextCommandCo
         textCommandProcessors[HTTP_PUT.getValue()] = new HttpPostCommandProcessor(this);
         textCommandProcessors[HTTP_DELETE.getValue()] = new HttpDeleteCommandProcessor(this);
         textCommandProcessors[NO_OP.getValue()] = new NoOpCommandProcessor(this);
+        textCommandProcessors[MULTI_GET.getValue()] = new MultiGetCommandProcessor(this);
+        nonBlockingCommands[GET.getValue()] = true;
+        nonBlockingCommands[PARTIAL_GET.getValue()] = true;
+        nonBlockingCommands[SET.getValue()] = true;
+        nonBlockingCommands[DELETE.getValue()] = true;
+        nonBlockingCommands[GETS.getValue()] = true;
+        nonBlockingCommands[CAS.getValue()] = true;
+        nonBlockingCommands[TOUCH.getValue()] = true;
+        nonBlockingCommands[INCREMENT.getValue()] = true;
+        nonBlockingCommands[DECREMENT.getValue()] = true;
+        nonBlockingCommands[NO_OP.getValue()] = true;
     }
 
     public Node getNode() {
@@ -154,15 +182,16 @@ public class TextCommandServiceImpl implements TextCommandService, TextCommandCo
         return touches.incrementAndGet();
     }
 
+    /**
+     * Commands backed by async map operations are dispatched on the calling reader thread,
+     * so operations of a pipelining connection reach the partitions in request order.
+     * Their map proxies are resolved off the reader thread, see {@link #invokeOnMap(String, AsyncMapCall)}.
+     * Commands that still block are handed to the "hz:text" executor.
+     */
     public void processRequest(TextCommand command) {
-        if (responseThreadRunnable == null) {
-            synchronized (this) {
-                if (responseThreadRunnable == null) {
-                    responseThreadRunnable = new ResponseThreadRunnable();
-                    Thread thread = new Thread(node.threadGroup, responseThreadRunnable, node.getThreadNamePrefix("ascii.service.response"));
-                    thread.start();
-                }
-            }
+        if (nonBlockingCommands[command.getType().getValue()]) {
+            new CommandExecutor(command).run();
+            return;
         }
         node.nodeEngine.getExecutionService().execute("hz:text", new CommandExecutor(command));
     }
@@ -179,6 +208,110 @@ public class TextCommandServiceImpl implements TextCommandService, TextCommandCo
         }
     }
 
+    public Map<String, Object> getAll(String mapName, Set<String> keys) {
+        final IMap<String, Object> map = hazelcast.getMap(mapName);
+        return map.getAll(keys);
+    }
+
+    public Set<Object> keySet(String mapName) {
+        final IMap<Object, Object> map = hazelcast.getMap(mapName);
+        return map.keySet();
+    }
+
+    public void putAll(String mapName, Map<String, ?> entries) {
+        final IMap<String, Object> map = hazelcast.getMap(mapName);
+        map.putAll(entries);
+    }
+
+    public CompletableFuture<Object> getAsync(String mapName, final String key) {
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return (CompletableFuture<Object>) map.getAsync(key);
+            }
+        });
+    }
+
+    public CompletableFuture<Object> putAsync(String mapName, final String key, final Object value, final int ttlSeconds) {
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return (CompletableFuture<Object>) map.putAsync(key, value, ttlSeconds, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    public CompletableFuture<Object> deleteAsync(String mapName, final String key) {
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return (CompletableFuture<Object>) map.removeAsync(key);
+            }
+        });
+    }
+
+    public CompletableFuture<Object> getEntryViewAsync(final String mapName, String key) {
+        final Data dataKey = node.getSerializationService().toData(key);
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return invokeOnKey(new GetEntryViewOperation(mapName, dataKey), dataKey);
+            }
+        });
+    }
+
+    public CompletableFuture<Object> casAsync(final String mapName, String key, Object value, final int ttlSeconds,
+                                              final long version) {
+        final Data dataKey = node.getSerializationService().toData(key);
+        final Data dataValue = node.getSerializationService().toData(value);
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return invokeOnKey(new MemcacheCasOperation(mapName, dataKey, dataValue, ttlSeconds * 1000L, version), dataKey);
+            }
+        });
+    }
+
+    public CompletableFuture<Object> incrementAsync(final String mapName, String key, final String entryKey,
+                                                    final boolean decrement, final long delta) {
+        final Data dataKey = node.getSerializationService().toData(key);
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return invokeOnKey(new MemcacheIncrementOperation(mapName, dataKey, entryKey, decrement, delta), dataKey);
+            }
+        });
+    }
+
+    public CompletableFuture<Object> touchAsync(final String mapName, String key, final int ttlSeconds) {
+        final Data dataKey = node.getSerializationService().toData(key);
+        return invokeOnMap(mapName, new AsyncMapCall() {
+            public CompletableFuture<Object> call(IMap<Object, Object> map) {
+                return invokeOnKey(new MemcacheTouchOperation(mapName, dataKey, ttlSeconds * 1000L), dataKey);
+            }
+        });
+    }
+
+    /**
+     * Makes the call on the calling thread once the proxy of the map is resolved. Creating a proxy and the first
+     * partition owner lookup may block, so until then calls are queued and the "hz:text" executor resolves the
+     * proxy and makes the queued calls in order, waiting for each one.
+     */
+    private CompletableFuture<Object> invokeOnMap(String mapName, AsyncMapCall call) {
+        MapProxyLoader loader = mapProxyLoaders.get(mapName);
+        if (loader == null) {
+            final MapProxyLoader newLoader = new MapProxyLoader(mapName);
+            loader = mapProxyLoaders.putIfAbsent(mapName, newLoader);
+            if (loader == null) {
+                loader = newLoader;
+                node.nodeEngine.getExecutionService().execute("hz:text", newLoader);
+            }
+        }
+        return loader.invoke(call);
+    }
+
+    private CompletableFuture<Object> invokeOnKey(Operation operation, Data dataKey) {
+        final NodeEngineImpl nodeEngine = node.nodeEngine;
+        final int partitionId = nodeEngine.getPartitionService().getPartitionId(dataKey);
+        final CompletableFuture future = nodeEngine.getOperationService()
+                .invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
+        return new DelegatingFuture<Object>(future, nodeEngine.getSerializationService());
+    }
+
     public byte[] getByteArray(String mapName, String key) {
         Object value = hazelcast.getMap(mapName).get(key);
         byte[] result = null;
@@ -246,83 +379,110 @@ public class TextCommandServiceImpl implements TextCommandService, TextCommandCo
         return hazelcast.getQueue(queueName).poll();
     }
 
+    public int drainTo(String queueName, Collection<Object> items, int maxItems) {
+        final IQueue<Object> queue = hazelcast.getQueue(queueName);
+        return queue.drainTo(items, maxItems);
+    }
+
+    /**
+     * Hands the response straight to the connection's writer, which restores request
+     * order. Safe to call from any thread, including async operation callbacks.
+     */
     public void sendResponse(TextCommand textCommand) {
         if (!textCommand.shouldReply() || textCommand.getRequestId() == -1) {
             throw new RuntimeException("Shouldn't reply " + textCommand);
         }
-        responseThreadRunnable.sendResponse(textCommand);
+        if (running) {
+            textCommand.getSocketTextWriter().enqueue(textCommand);
+        }
     }
 
     public void stop() {
-        final ResponseThreadRunnable rtr = responseThreadRunnable;
-        if (rtr != null) {
-            rtr.stop();
-        }
+        running = false;
     }
 
-    class CommandExecutor implements Runnable {
-        final TextCommand command;
+    private interface AsyncMapCall {
+        CompletableFuture<Object> call(IMap<Object, Object> map);
+    }
 
-        CommandExecutor(TextCommand command) {
-            this.command = command;
+    private final class MapProxyLoader implements Runnable {
+        private final String mapName;
+        // set once the queued calls are made, calls are made directly from then on
+        private volatile IMap<Object, Object> readyMap;
+        private IMap<Object, Object> map;
+        // calls made before the proxy is resolved, guarded by this
+        private List<CompletableFutureTask<Object>> pendingCalls = new ArrayList<CompletableFutureTask<Object>>();
+        private boolean done;
+
+        MapProxyLoader(String mapName) {
+            this.mapName = mapName;
+        }
+
+        CompletableFuture<Object> invoke(final AsyncMapCall call) {
+            final IMap<Object, Object> ready = readyMap;
+            if (ready != null) {
+                return call.call(ready);
+            }
+            final CompletableFutureTask<Object> task = new CompletableFutureTask<Object>(new Callable<Object>() {
+                public Object call() throws Exception {
+                    if (map == null) {
+                        throw new HazelcastException("Could not create the proxy of map " + mapName);
+                    }
+                    return call.call(map).get();
+                }
+            }, node.nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR));
+            synchronized (this) {
+                if (!done) {
+                    pendingCalls.add(task);
+                    return task;
+                }
+            }
+            if (map != null) {
+                return call.call(map);
+            }
+            // the proxy could not be created, fails the task without blocking
+            task.run();
+            return task;
         }
 
         public void run() {
             try {
-                TextCommandType type = command.getType();
-                textCommandProcessors[type.getValue()].handle(command);
+                map = hazelcast.getMap(mapName);
             } catch (Throwable e) {
-                logger.warning(e);
+                logger.warning("Could not create the proxy of map " + mapName, e);
+                mapProxyLoaders.remove(mapName, this);
+            }
+            for (; ; ) {
+                final List<CompletableFutureTask<Object>> calls;
+                synchronized (this) {
+                    if (pendingCalls.isEmpty()) {
+                        done = true;
+                        readyMap = map;
+                        return;
+                    }
+                    calls = pendingCalls;
+                    pendingCalls = new ArrayList<CompletableFutureTask<Object>>();
+                }
+                for (CompletableFutureTask<Object> call : calls) {
+                    call.run();
+                }
             }
         }
     }
 
-    private class ResponseThreadRunnable implements Runnable {
-        private final BlockingQueue<TextCommand> blockingQueue = new ArrayBlockingQueue<TextCommand>(200);
-        private final Object stopObject = new Object();
+    class CommandExecutor implements Runnable {
+        final TextCommand command;
 
-        public void sendResponse(TextCommand textCommand) {
-            blockingQueue.offer(textCommand);
+        CommandExecutor(TextCommand command) {
+            this.command = command;
         }
 
         public void run() {
-            while (running) {
-                try {
-                    TextCommand textCommand = blockingQueue.take();
-                    if (TextCommandConstants.TextCommandType.STOP == textCommand.getType()) {
-                        synchronized (stopObject) {
-                            stopObject.notify();
-                        }
-                    } else {
-                        SocketTextWriter socketTextWriter = textCommand.getSocketTextWriter();
-                        socketTextWriter.enqueue(textCommand);
-                    }
-                } catch (InterruptedException e) {
-                    return;
-                } catch (OutOfMemoryError e) {
-                    OutOfMemoryErrorDispatcher.onOutOfMemory(e);
-                    throw e;
-                }
-            }
-        }
-
-        void stop() {
-            running = false;
-            synchronized (stopObject) {
-                try {
-                    blockingQueue.offer(new AbstractTextCommand(TextCommandConstants.TextCommandType.STOP) {
-                        public boolean readFrom(ByteBuffer cb) {
-                            return true;
-                        }
-
-                        public boolean writeTo(ByteBuffer bb) {
-                            return true;
-                        }
-                    });
-                    //noinspection WaitNotInLoop
-                    stopObject.wait(1000);
-                } catch (Exception ignored) {
-                }
+            try {
+                TextCommandType type = command.getType();
+                textCommandProcessors[type.getValue()].handle(command);
+            } catch (Throwable e) {
+                logger.warning(e);
             }
         }
     }
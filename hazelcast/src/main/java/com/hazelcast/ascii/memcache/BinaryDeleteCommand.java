@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.ascii.memcache.MemcacheBinaryProtocol.*;
+
+/**
+ * A binary protocol delete or deleteq request.
+ */
+public class BinaryDeleteCommand extends DeleteCommand {
+    private final byte opcode;
+    private final int opaque;
+
+    public BinaryDeleteCommand(String key, byte opcode, int opaque) {
+        super(key, 0, MemcacheBinaryProtocol.isQuiet(opcode));
+        this.opcode = opcode;
+        this.opaque = opaque;
+        this.response = ByteBuffer.wrap(MemcacheBinaryProtocol.response(opcode, opaque, SUCCESS));
+    }
+
+    @Override
+    public void setResponse(byte[] value) {
+        final short status = value == DELETED ? SUCCESS : KEY_NOT_FOUND;
+        response = ByteBuffer.wrap(MemcacheBinaryProtocol.response(opcode, opaque, status));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.nio.IOUtil;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.ascii.memcache.MemcacheBinaryProtocol.*;
+
+/**
+ * A binary protocol get, getq, getk or getkq request.
+ */
+public class BinaryGetCommand extends GetCommand {
+    private final byte opcode;
+    private final int opaque;
+    private final byte[] rawKey;
+    private ByteBuffer response;
+
+    public BinaryGetCommand(String key, byte opcode, int opaque, byte[] rawKey) {
+        super(TextCommandType.GET, key);
+        this.opcode = opcode;
+        this.opaque = opaque;
+        this.rawKey = rawKey;
+    }
+
+    /**
+     * Binary get responses always carry the cas unique. Quiet gets are batched into a
+     * multi-get, which reads without versions and answers with a zero cas.
+     */
+    @Override
+    public boolean isCasRequired() {
+        return true;
+    }
+
+    public boolean isQuiet() {
+        return MemcacheBinaryProtocol.isQuiet(opcode);
+    }
+
+    /**
+     * @return the response frame for the given entry, or {@code null} for a miss of a quiet get
+     */
+    byte[] toResponse(MemcacheEntry entry) {
+        final boolean withKey = opcode == GETK || opcode == GETKQ;
+        if (entry == null) {
+            if (isQuiet()) {
+                return null;
+            }
+            return MemcacheBinaryProtocol.response(opcode, opaque, KEY_NOT_FOUND, null, withKey ? rawKey : null,
+                    "Not found".getBytes());
+        }
+        final byte[] flags = ByteBuffer.allocate(4).putInt(entry.getFlag()).array();
+        return MemcacheBinaryProtocol.response(opcode, opaque, SUCCESS, cas, flags, withKey ? rawKey : null, entry.getValue());
+    }
+
+    @Override
+    public void setValue(MemcacheEntry entry, boolean singleGet) {
+        final byte[] bytes = toResponse(entry);
+        response = ByteBuffer.wrap(bytes == null ? new byte[0] : bytes);
+    }
+
+    @Override
+    public boolean writeTo(ByteBuffer bb) {
+        IOUtil.copyToHeapBuffer(response, bb);
+        return !response.hasRemaining();
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryGetCommand{" +
+                "opcode=" + opcode +
+                ", opaque=" + opaque +
+                "} " + super.toString();
+    }
+}
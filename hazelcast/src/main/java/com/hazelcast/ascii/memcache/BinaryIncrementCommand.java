@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.ascii.memcache.MemcacheBinaryProtocol.*;
+
+/**
+ * A binary protocol increment or decrement request and their quiet variants.
+ */
+public class BinaryIncrementCommand extends IncrementCommand {
+    private final byte opcode;
+    private final int opaque;
+
+    public BinaryIncrementCommand(TextCommandType type, String key, long value, byte opcode, int opaque) {
+        super(type, key, value, MemcacheBinaryProtocol.isQuiet(opcode));
+        this.opcode = opcode;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Translates the text reply, either NOT_FOUND or the new value as decimal digits.
+     */
+    @Override
+    public void setResponse(byte[] value) {
+        if (value == NOT_FOUND) {
+            response = ByteBuffer.wrap(MemcacheBinaryProtocol.response(opcode, opaque, KEY_NOT_FOUND));
+        } else {
+            final long result = Long.parseLong(new String(value).trim());
+            final byte[] bytes = ByteBuffer.allocate(8).putLong(result).array();
+            response = ByteBuffer.wrap(MemcacheBinaryProtocol.response(opcode, opaque, SUCCESS, null, null, bytes));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A run of pipelined binary gets, typically getq/getkq requests terminated by a
+ * non-quiet get, served as a single multi-get.
+ */
+public class BinaryMultiGetCommand extends MultiGetCommand {
+    private final List<BinaryGetCommand> gets;
+
+    public BinaryMultiGetCommand(List<BinaryGetCommand> gets) {
+        super(keysOf(gets));
+        this.gets = gets;
+    }
+
+    private static List<String> keysOf(List<BinaryGetCommand> gets) {
+        final List<String> keys = new ArrayList<String>(gets.size());
+        for (BinaryGetCommand get : gets) {
+            keys.add(get.getKey());
+        }
+        return keys;
+    }
+
+    @Override
+    public void setValues(MemcacheEntry[] entries) {
+        final byte[][] responses = new byte[entries.length][];
+        int size = 0;
+        for (int i = 0; i < entries.length; i++) {
+            responses[i] = gets.get(i).toResponse(entries[i]);
+            if (responses[i] != null) {
+                size += responses[i].length;
+            }
+        }
+        response = ByteBuffer.allocate(size);
+        for (byte[] bytes : responses) {
+            if (bytes != null) {
+                response.put(bytes);
+            }
+        }
+        response.flip();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.ascii.memcache.MemcacheBinaryProtocol.*;
+
+/**
+ * A binary protocol set, add, replace, append or prepend request and their quiet variants.
+ * A set or replace carrying a cas unique is served as a text protocol cas.
+ */
+public class BinarySetCommand extends SetCommand {
+    private final byte opcode;
+    private final int opaque;
+
+    public BinarySetCommand(TextCommandType type, String key, int flag, int expiration, int valueLen,
+                            long cas, byte opcode, int opaque) {
+        super(type, key, flag, expiration, valueLen, MemcacheBinaryProtocol.isQuiet(opcode), cas);
+        this.opcode = opcode;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Binary values are length prefixed, there is no line terminator to consume.
+     */
+    @Override
+    public boolean readFrom(ByteBuffer cb) {
+        copy(cb);
+        if (!bbValue.hasRemaining()) {
+            bbValue.flip();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void setResponse(byte[] value) {
+        short status = SUCCESS;
+        if (value == EXISTS) {
+            status = KEY_EXISTS;
+        } else if (value == NOT_FOUND) {
+            status = KEY_NOT_FOUND;
+        } else if (value != STORED) {
+            if (type == TextCommandType.ADD) {
+                status = KEY_EXISTS;
+            } else if (type == TextCommandType.REPLACE) {
+                status = KEY_NOT_FOUND;
+            } else {
+                status = MemcacheBinaryProtocol.NOT_STORED;
+            }
+        }
+        response = ByteBuffer.wrap(MemcacheBinaryProtocol.response(opcode, opaque, status));
+    }
+}
@@ -17,6 +17,8 @@
 package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -25,11 +27,14 @@ import static java.lang.String.format;
 
 public class DeleteCommandProcessor extends MemcacheCommandProcessor<DeleteCommand> {
 
+    private final ILogger logger;
+
     public DeleteCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
+        logger = textCommandService.getNode().getLogger(this.getClass().getName());
     }
 
-    public void handle(DeleteCommand command) {
+    public void handle(final DeleteCommand command) {
         String key;
         try {
             key = URLDecoder.decode(command.getKey(), "UTF-8");
@@ -43,18 +48,36 @@ public class DeleteCommandProcessor extends MemcacheCommandProcessor<DeleteComma
             key = key.substring(index + 1);
         }
         if (key.equals("")) {
-            textCommandService.deleteAll(mapName);
-        } else {
-            final Object oldValue = textCommandService.delete(mapName, key);
-            if (oldValue == null) {
-                textCommandService.incrementDeleteMissCount();
+            final String name = mapName;
+            textCommandService.getNode().nodeEngine.getExecutionService().execute("hz:text", new Runnable() {
+                public void run() {
+                    textCommandService.deleteAll(name);
+                    sendResponse(command);
+                }
+            });
+            return;
+        }
+        textCommandService.deleteAsync(mapName, key).andThen(new ExecutionCallback<Object>() {
+            public void onResponse(Object oldValue) {
+                if (oldValue == null) {
+                    textCommandService.incrementDeleteMissCount();
+                    command.setResponse(NOT_FOUND);
+                } else {
+                    textCommandService.incrementDeleteHitCount(1);
+                    command.setResponse(DELETED);
+                }
+                sendResponse(command);
+            }
+
+            public void onFailure(Throwable t) {
+                logger.warning(t);
                 command.setResponse(NOT_FOUND);
-            } else {
-                textCommandService.incrementDeleteHitCount(1);
-                command.setResponse(DELETED);
+                sendResponse(command);
             }
-        }
+        });
+    }
 
+    private void sendResponse(DeleteCommand command) {
         if (command.shouldReply()) {
             textCommandService.sendResponse(command);
         }
@@ -25,6 +25,7 @@ public class GetCommand extends AbstractTextCommand {
     final String key;
     ByteBuffer value;
     ByteBuffer lastOne;
+    long cas;
 
     public GetCommand(TextCommandType type, String key) {
         super(type);
@@ -43,11 +44,32 @@ public class GetCommand extends AbstractTextCommand {
         return true;
     }
 
+    /**
+     * @return whether the entry has to be read along with its cas unique
+     */
+    public boolean isCasRequired() {
+        return type == TextCommandType.GETS;
+    }
+
+    public void setCas(long cas) {
+        this.cas = cas;
+    }
+
     public void setValue(MemcacheEntry entry, boolean singleGet) {
-        if (entry != null) value = entry.toNewBuffer();
+        if (entry != null) {
+            value = isCasRequired() ? toBufferWithCas(entry) : entry.toNewBuffer();
+        }
         lastOne = (singleGet) ? ByteBuffer.wrap(END) : null;
     }
 
+    private ByteBuffer toBufferWithCas(MemcacheEntry entry) {
+        final byte[] line = ("VALUE " + key + " " + entry.getFlag() + " " + entry.getValue().length + " " + cas).getBytes();
+        final ByteBuffer buffer = ByteBuffer.allocate(line.length + entry.getValue().length + 2 * RETURN.length);
+        buffer.put(line).put(RETURN).put(entry.getValue()).put(RETURN);
+        buffer.flip();
+        return buffer;
+    }
+
     public boolean writeTo(ByteBuffer bb) {
         if (value != null) {
             IOUtil.copyToHeapBuffer(value, bb);
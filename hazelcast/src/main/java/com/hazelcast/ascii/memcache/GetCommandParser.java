@@ -20,6 +20,8 @@ import com.hazelcast.ascii.CommandParser;
 import com.hazelcast.ascii.TextCommand;
 import com.hazelcast.nio.ascii.SocketTextReader;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 public class GetCommandParser implements CommandParser {
@@ -31,11 +33,11 @@ public class GetCommandParser implements CommandParser {
             socketTextReader.publishRequest(r);
         } else {
             StringTokenizer st = new StringTokenizer(key);
+            List<String> keys = new ArrayList<String>(st.countTokens());
             while (st.hasMoreTokens()) {
-                PartialGetCommand r = new PartialGetCommand(st.nextToken());
-                socketTextReader.publishRequest(r);
+                keys.add(st.nextToken());
             }
-            socketTextReader.publishRequest(new EndCommand());
+            socketTextReader.publishRequest(new MultiGetCommand(keys));
         }
         return null;
     }
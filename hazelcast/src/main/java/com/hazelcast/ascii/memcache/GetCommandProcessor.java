@@ -17,8 +17,11 @@
 package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -34,7 +37,7 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
         logger = textCommandService.getNode().getLogger(this.getClass().getName());
     }
 
-    public void handle(GetCommand getCommand) {
+    public void handle(final GetCommand getCommand) {
         String key = null;
         try {
             key = URLDecoder.decode(getCommand.getKey(), "UTF-8");
@@ -47,22 +50,46 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
             mapName = MapNamePreceder + key.substring(0, index);
             key = key.substring(index + 1);
         }
-        Object value = textCommandService.get(mapName, key);
-        MemcacheEntry entry = null;
-        if (value != null) {
-            if (value instanceof MemcacheEntry) {
-                entry = (MemcacheEntry) value;
-            } else if (value instanceof byte[]) {
-                entry = new MemcacheEntry(getCommand.getKey(), ((byte[]) value), 0);
-            } else if (value instanceof String) {
-                entry = new MemcacheEntry(getCommand.getKey(), ((String) value).getBytes(), 0);
-            } else {
-                try {
-                    entry = new MemcacheEntry(getCommand.getKey(), textCommandService.toByteArray(value), 0);
-                } catch (Exception e) {
-                    logger.warning(e);
+        if (getCommand.isCasRequired()) {
+            textCommandService.getEntryViewAsync(mapName, key).andThen(new ExecutionCallback<Object>() {
+                public void onResponse(Object response) {
+                    final EntryView entryView = (EntryView) response;
+                    Object value = null;
+                    if (entryView != null) {
+                        value = entryView.getValue();
+                        if (value instanceof Data) {
+                            value = textCommandService.getNode().getSerializationService().toObject((Data) value);
+                        }
+                        getCommand.setCas(toCas(entryView.getVersion()));
+                    }
+                    sendValue(getCommand, value);
+                }
+
+                public void onFailure(Throwable t) {
+                    logger.warning(t);
+                    handleRejection(getCommand);
                 }
+            });
+            return;
+        }
+        textCommandService.getAsync(mapName, key).andThen(new ExecutionCallback<Object>() {
+            public void onResponse(Object value) {
+                sendValue(getCommand, value);
+            }
+
+            public void onFailure(Throwable t) {
+                logger.warning(t);
+                handleRejection(getCommand);
             }
+        });
+    }
+
+    private void sendValue(GetCommand getCommand, Object value) {
+        MemcacheEntry entry = null;
+        try {
+            entry = toEntry(getCommand.getKey(), value);
+        } catch (Exception e) {
+            logger.warning(e);
         }
         if (entry != null) {
             textCommandService.incrementGetHitCount();
@@ -28,11 +28,11 @@ import java.nio.ByteBuffer;
 public class IncrementCommand extends AbstractTextCommand {
 
     String key;
-    int value;
+    long value;
     boolean noreply;
     ByteBuffer response = null;
 
-    public IncrementCommand(TextCommandType type, String key, int value, boolean noReply) {
+    public IncrementCommand(TextCommandType type, String key, long value, boolean noReply) {
         super(type);
         this.key = key;
         this.value = value;
@@ -58,7 +58,7 @@ public class IncrementCommand extends AbstractTextCommand {
         return key;
     }
 
-    public int getValue() {
+    public long getValue() {
         return value;
     }
 
@@ -17,10 +17,10 @@
 package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandServiceImpl;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.util.ByteUtil;
-import com.hazelcast.util.ExceptionUtil;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -39,7 +39,7 @@ public class IncrementCommandProcessor extends MemcacheCommandProcessor<Incremen
         logger = textCommandService.getNode().getLogger(this.getClass().getName());
     }
 
-    public void handle(IncrementCommand incrementCommand) {
+    public void handle(final IncrementCommand incrementCommand) {
         String key = null;
         try {
             key = URLDecoder.decode(incrementCommand.getKey(), "UTF-8");
@@ -52,58 +52,35 @@ public class IncrementCommandProcessor extends MemcacheCommandProcessor<Incremen
             mapName = MapNamePreceder + key.substring(0, index);
             key = key.substring(index + 1);
         }
-        try {
-            textCommandService.lock(mapName, key);
-        } catch (Exception e) {
-            incrementCommand.setResponse(NOT_FOUND);
-            if (incrementCommand.shouldReply()) {
-                textCommandService.sendResponse(incrementCommand);
-            }
-            return;
-        }
-        Object value = textCommandService.get(mapName, key);
-        MemcacheEntry entry = null;
-        if (value != null) {
-            if (value instanceof MemcacheEntry) {
-                entry = (MemcacheEntry) value;
-            } else if (value instanceof byte[]) {
-                entry = new MemcacheEntry(incrementCommand.getKey(), (byte[]) value, 0);
-            } else if (value instanceof String) {
-                entry = new MemcacheEntry(incrementCommand.getKey(), ((String) value).getBytes(), 0);
-            } else {
-                try {
-                    entry = new MemcacheEntry(incrementCommand.getKey(), textCommandService.toByteArray(value), 0);
-                } catch (Exception e) {
-                    throw ExceptionUtil.rethrow(e);
-                }
-            }
-            final byte[] value1 = entry.getValue();
-            final long current = (value1 == null || value1.length == 0) ? 0 : byteArrayToLong(value1);
-            long result = -1;
-            if (incrementCommand.getType() == TextCommandType.INCREMENT) {
-                result = current + incrementCommand.getValue();
-                result = 0 > result ? Long.MAX_VALUE : result;
-                textCommandService.incrementIncHitCount();
-            } else if (incrementCommand.getType() == TextCommandType.DECREMENT) {
-                result = current - incrementCommand.getValue();
-                result = 0 > result ? 0 : result;
-                textCommandService.incrementDecrHitCount();
-            }
-            incrementCommand.setResponse(ByteUtil.concatenate(String.valueOf(result).getBytes(), RETURN));
-            MemcacheEntry newValue = new MemcacheEntry(key, longToByteArray(result), entry.getFlag());
-            textCommandService.put(mapName, key, newValue);
-        } else {
-            if (incrementCommand.getType() == TextCommandType.INCREMENT)
-                textCommandService.incrementIncMissCount();
-            else
-                textCommandService.incrementDecrMissCount();
-            incrementCommand.setResponse(NOT_FOUND);
-        }
-        textCommandService.unlock(mapName, key);
+        final boolean decrement = incrementCommand.getType() == TextCommandType.DECREMENT;
+        textCommandService.incrementAsync(mapName, key, incrementCommand.getKey(), decrement, incrementCommand.getValue())
+                .andThen(new ExecutionCallback<Object>() {
+                    public void onResponse(Object result) {
+                        if (result == null) {
+                            if (decrement) {
+                                textCommandService.incrementDecrMissCount();
+                            } else {
+                                textCommandService.incrementIncMissCount();
+                            }
+                            incrementCommand.setResponse(NOT_FOUND);
+                        } else {
+                            if (decrement) {
+                                textCommandService.incrementDecrHitCount();
+                            } else {
+                                textCommandService.incrementIncHitCount();
+                            }
+                            incrementCommand.setResponse(ByteUtil.concatenate(String.valueOf(result).getBytes(), RETURN));
+                        }
+                        if (incrementCommand.shouldReply()) {
+                            textCommandService.sendResponse(incrementCommand);
+                        }
+                    }
 
-        if (incrementCommand.shouldReply()) {
-            textCommandService.sendResponse(incrementCommand);
-        }
+                    public void onFailure(Throwable t) {
+                        logger.warning(t);
+                        handleRejection(incrementCommand);
+                    }
+                });
     }
 
     public void handleRejection(IncrementCommand incrementCommand) {
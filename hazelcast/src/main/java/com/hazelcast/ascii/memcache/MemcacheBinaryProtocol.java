@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Constants and response framing of the memcache binary protocol.
+ * Every request and response starts with a 24 byte header, followed by extras, key and value.
+ */
+public final class MemcacheBinaryProtocol {
+
+    public static final int HEADER_SIZE = 24;
+
+    public static final byte REQUEST_MAGIC = (byte) 0x80;
+    public static final byte RESPONSE_MAGIC = (byte) 0x81;
+
+    public static final byte GET = 0x00;
+    public static final byte SET = 0x01;
+    public static final byte ADD = 0x02;
+    public static final byte REPLACE = 0x03;
+    public static final byte DELETE = 0x04;
+    public static final byte INCREMENT = 0x05;
+    public static final byte DECREMENT = 0x06;
+    public static final byte QUIT = 0x07;
+    public static final byte GETQ = 0x09;
+    public static final byte NOOP = 0x0a;
+    public static final byte VERSION = 0x0b;
+    public static final byte GETK = 0x0c;
+    public static final byte GETKQ = 0x0d;
+    public static final byte APPEND = 0x0e;
+    public static final byte PREPEND = 0x0f;
+    public static final byte SETQ = 0x11;
+    public static final byte ADDQ = 0x12;
+    public static final byte REPLACEQ = 0x13;
+    public static final byte DELETEQ = 0x14;
+    public static final byte INCREMENTQ = 0x15;
+    public static final byte DECREMENTQ = 0x16;
+    public static final byte QUITQ = 0x17;
+    public static final byte APPENDQ = 0x19;
+    public static final byte PREPENDQ = 0x1a;
+    public static final byte TOUCH = 0x1c;
+
+    public static final short SUCCESS = 0x0000;
+    public static final short KEY_NOT_FOUND = 0x0001;
+    public static final short KEY_EXISTS = 0x0002;
+    public static final short INVALID_ARGUMENTS = 0x0004;
+    public static final short NOT_STORED = 0x0005;
+    public static final short UNKNOWN_COMMAND = 0x0081;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] VERSION_STRING = "Hazelcast".getBytes();
+
+    private MemcacheBinaryProtocol() {
+    }
+
+    public static boolean isQuiet(byte opcode) {
+        switch (opcode) {
+            case GETQ:
+            case GETKQ:
+            case SETQ:
+            case ADDQ:
+            case REPLACEQ:
+            case DELETEQ:
+            case INCREMENTQ:
+            case DECREMENTQ:
+            case QUITQ:
+            case APPENDQ:
+            case PREPENDQ:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public static byte[] response(byte opcode, int opaque, short status, byte[] extras, byte[] key, byte[] value) {
+        return response(opcode, opaque, status, 0, extras, key, value);
+    }
+
+    public static byte[] response(byte opcode, int opaque, short status, long cas, byte[] extras, byte[] key, byte[] value) {
+        extras = extras == null ? EMPTY : extras;
+        key = key == null ? EMPTY : key;
+        value = value == null ? EMPTY : value;
+        final ByteBuffer bb = ByteBuffer.allocate(HEADER_SIZE + extras.length + key.length + value.length);
+        bb.put(RESPONSE_MAGIC);
+        bb.put(opcode);
+        bb.putShort((short) key.length);
+        bb.put((byte) extras.length);
+        bb.put((byte) 0);
+        bb.putShort(status);
+        bb.putInt(extras.length + key.length + value.length);
+        bb.putInt(opaque);
+        bb.putLong(cas);
+        bb.put(extras);
+        bb.put(key);
+        bb.put(value);
+        return bb.array();
+    }
+
+    public static byte[] response(byte opcode, int opaque, short status) {
+        if (status == SUCCESS) {
+            return response(opcode, opaque, status, null, null, null);
+        }
+        return response(opcode, opaque, status, null, null, statusMessage(status).getBytes());
+    }
+
+    public static byte[] versionResponse(int opaque) {
+        return response(VERSION, opaque, SUCCESS, null, null, VERSION_STRING);
+    }
+
+    private static String statusMessage(short status) {
+        switch (status) {
+            case KEY_NOT_FOUND:
+                return "Not found";
+            case KEY_EXISTS:
+                return "Data exists for key";
+            case INVALID_ARGUMENTS:
+                return "Invalid arguments";
+            case NOT_STORED:
+                return "Not stored";
+            case UNKNOWN_COMMAND:
+                return "Unknown command";
+            default:
+                return "Error";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.map.operation.BasePutOperation;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+
+/**
+ * Memcache cas: stores the value only if the record version still matches the one
+ * the client read. Responds {@code true} if stored, {@code false} if the record was
+ * modified in between and {@code null} if it does not exist.
+ */
+public class MemcacheCasOperation extends BasePutOperation {
+
+    private long expectedVersion;
+    private transient Boolean stored;
+
+    public MemcacheCasOperation(String name, Data dataKey, Data value, long ttl, long expectedVersion) {
+        super(name, dataKey, value, ttl);
+        this.expectedVersion = expectedVersion;
+    }
+
+    public MemcacheCasOperation() {
+    }
+
+    public void run() {
+        final Record record = recordStore.getRecord(dataKey);
+        if (record == null) {
+            return;
+        }
+        if (record.getVersion() != expectedVersion) {
+            stored = Boolean.FALSE;
+            return;
+        }
+        dataOldValue = mapService.toData(record.getValue());
+        recordStore.put(dataKey, dataValue, ttl);
+        stored = Boolean.TRUE;
+    }
+
+    @Override
+    public void afterRun() {
+        if (Boolean.TRUE.equals(stored)) {
+            super.afterRun();
+        }
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return Boolean.TRUE.equals(stored);
+    }
+
+    @Override
+    public Object getResponse() {
+        return stored;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(expectedVersion);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        expectedVersion = in.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return "MemcacheCasOperation{" + name + "}";
+    }
+}
@@ -30,7 +30,10 @@ public abstract class MemcacheCommandProcessor<T> extends AbstractTextCommandPro
     public static final String DefaultMapName = "hz_memcache_default";
 
     public static byte[] longToByteArray(long v) {
-        int len = (int) (v / 256) + 1;
+        int len = 1;
+        for (long rest = v / 256; rest > 0; rest /= 256) {
+            len++;
+        }
         final byte[] bytes = new byte[len];
         for (int i = len - 1; i >= 0; i--) {
             final long t = v % 256;
@@ -40,9 +43,9 @@ public abstract class MemcacheCommandProcessor<T> extends AbstractTextCommandPro
         return bytes;
     }
 
-    public static int byteArrayToLong(byte[] v) {
+    public static long byteArrayToLong(byte[] v) {
         if (v.length > 8) return -1;
-        int r = 0;
+        long r = 0;
         for (int i = 0; i < v.length; i++) {
             int t = (int) v[i];
             t = t >= 0 ? t : t + 256;
@@ -51,7 +54,36 @@ public abstract class MemcacheCommandProcessor<T> extends AbstractTextCommandPro
         return r;
     }
 
+    /**
+     * Cas uniques are derived from the record version, shifted by one since
+     * the binary protocol reserves zero for "no cas".
+     */
+    public static long toCas(long version) {
+        return version + 1;
+    }
+
+    public static long toVersion(long cas) {
+        return cas - 1;
+    }
+
     protected MemcacheCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
     }
+
+    /**
+     * Wraps a value read from a memcache map into the entry format served to clients.
+     * Values put by non-memcache clients are converted to their byte form.
+     */
+    protected MemcacheEntry toEntry(String key, Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof MemcacheEntry) {
+            return (MemcacheEntry) value;
+        } else if (value instanceof byte[]) {
+            return new MemcacheEntry(key, (byte[]) value, 0);
+        } else if (value instanceof String) {
+            return new MemcacheEntry(key, ((String) value).getBytes(), 0);
+        }
+        return new MemcacheEntry(key, textCommandService.toByteArray(value), 0);
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.map.operation.BasePutOperation;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+
+/**
+ * Memcache incr/decr applied to the record in place on the partition thread,
+ * replacing the lock, get, put and unlock round trips.
+ */
+public class MemcacheIncrementOperation extends BasePutOperation {
+
+    private String entryKey;
+    private boolean decrement;
+    private long delta;
+    private transient Long result;
+
+    public MemcacheIncrementOperation(String name, Data dataKey, String entryKey, boolean decrement, long delta) {
+        super(name, dataKey, null);
+        this.entryKey = entryKey;
+        this.decrement = decrement;
+        this.delta = delta;
+    }
+
+    public MemcacheIncrementOperation() {
+    }
+
+    public void run() {
+        final Record record = recordStore.getRecord(dataKey);
+        if (record == null) {
+            return;
+        }
+        final Object value = mapService.toObject(record.getValue());
+        final byte[] bytes;
+        int flag = 0;
+        if (value instanceof MemcacheEntry) {
+            bytes = ((MemcacheEntry) value).getValue();
+            flag = ((MemcacheEntry) value).getFlag();
+        } else if (value instanceof byte[]) {
+            bytes = (byte[]) value;
+        } else if (value instanceof String) {
+            bytes = ((String) value).getBytes();
+        } else {
+            bytes = mapService.toData(value).getBuffer();
+        }
+        final long current = (bytes == null || bytes.length == 0) ? 0 : MemcacheCommandProcessor.byteArrayToLong(bytes);
+        long newValue;
+        if (decrement) {
+            newValue = current - delta;
+            newValue = 0 > newValue ? 0 : newValue;
+        } else {
+            newValue = current + delta;
+            newValue = 0 > newValue ? Long.MAX_VALUE : newValue;
+        }
+        dataOldValue = mapService.toData(record.getValue());
+        dataValue = mapService.toData(new MemcacheEntry(entryKey, MemcacheCommandProcessor.longToByteArray(newValue), flag));
+        recordStore.put(dataKey, dataValue, -1);
+        result = newValue;
+    }
+
+    @Override
+    public void afterRun() {
+        if (result != null) {
+            super.afterRun();
+        }
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return result != null;
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(entryKey);
+        out.writeBoolean(decrement);
+        out.writeLong(delta);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        entryKey = in.readUTF();
+        decrement = in.readBoolean();
+        delta = in.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return "MemcacheIncrementOperation{" + name + "}";
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.map.operation.KeyBasedMapOperation;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.BackupOperation;
+
+/**
+ * Backup of {@link MemcacheTouchOperation}, reschedules the expiration of
+ * the backup record and leaves its value and version untouched.
+ */
+public class MemcacheTouchBackupOperation extends KeyBasedMapOperation implements BackupOperation {
+
+    public MemcacheTouchBackupOperation(String name, Data dataKey, long ttl) {
+        super(name, dataKey, ttl);
+    }
+
+    public MemcacheTouchBackupOperation() {
+    }
+
+    public void run() {
+        final Record record = recordStore.getRecord(dataKey);
+        if (record == null) {
+            return;
+        }
+        if (ttl > 0) {
+            mapService.scheduleTtlEviction(name, record, ttl);
+        } else {
+            mapContainer.getTtlEvictionScheduler().cancel(dataKey);
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public String toString() {
+        return "MemcacheTouchBackupOperation{" + name + "}";
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.map.operation.BasePutOperation;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+
+/**
+ * Memcache touch: reschedules the expiration of an existing record without
+ * rewriting its value.
+ */
+public class MemcacheTouchOperation extends BasePutOperation {
+
+    private transient boolean touched;
+
+    public MemcacheTouchOperation(String name, Data dataKey, long ttl) {
+        super(name, dataKey, null, ttl);
+    }
+
+    public MemcacheTouchOperation() {
+    }
+
+    public void run() {
+        final Record record = recordStore.getRecord(dataKey);
+        if (record == null) {
+            return;
+        }
+        if (ttl > 0) {
+            mapService.scheduleTtlEviction(name, record, ttl);
+        } else {
+            mapContainer.getTtlEvictionScheduler().cancel(dataKey);
+        }
+        touched = true;
+    }
+
+    /**
+     * The value is unchanged, so there are no events to publish or near caches to invalidate.
+     */
+    @Override
+    public void afterRun() {
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return touched;
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new MemcacheTouchBackupOperation(name, dataKey, ttl);
+    }
+
+    @Override
+    public Object getResponse() {
+        return touched;
+    }
+
+    @Override
+    public String toString() {
+        return "MemcacheTouchOperation{" + name + "}";
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.ascii.AbstractTextCommand;
+import com.hazelcast.nio.IOUtil;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * A get of several keys, answered with a single {@code getAll} per map
+ * instead of one lookup per key.
+ */
+public class MultiGetCommand extends AbstractTextCommand {
+    final List<String> keys;
+    ByteBuffer response;
+
+    public MultiGetCommand(List<String> keys) {
+        super(TextCommandType.MULTI_GET);
+        this.keys = keys;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public boolean readFrom(ByteBuffer cb) {
+        return true;
+    }
+
+    /**
+     * @param entries the entries found for {@link #getKeys()}, in the same order; {@code null} for a miss
+     */
+    public void setValues(MemcacheEntry[] entries) {
+        int size = END.length;
+        for (MemcacheEntry entry : entries) {
+            if (entry != null) {
+                size += entry.getBytes().length;
+            }
+        }
+        response = ByteBuffer.allocate(size);
+        for (MemcacheEntry entry : entries) {
+            if (entry != null) {
+                response.put(entry.getBytes());
+            }
+        }
+        response.put(END);
+        response.flip();
+    }
+
+    public boolean writeTo(ByteBuffer bb) {
+        IOUtil.copyToHeapBuffer(response, bb);
+        return !response.hasRemaining();
+    }
+
+    @Override
+    public String toString() {
+        return "MultiGetCommand{" +
+                "keys=" + keys +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.logging.ILogger;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MultiGetCommandProcessor extends MemcacheCommandProcessor<MultiGetCommand> {
+
+    private final ILogger logger;
+
+    public MultiGetCommandProcessor(TextCommandService textCommandService) {
+        super(textCommandService);
+        logger = textCommandService.getNode().getLogger(this.getClass().getName());
+    }
+
+    public void handle(MultiGetCommand command) {
+        final List<String> keys = command.getKeys();
+        final int size = keys.size();
+        final String[] mapNames = new String[size];
+        final String[] mapKeys = new String[size];
+        final Map<String, Set<String>> keysByMap = new HashMap<String, Set<String>>();
+        for (int i = 0; i < size; i++) {
+            String key;
+            try {
+                key = URLDecoder.decode(keys.get(i), "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                throw new HazelcastException(e);
+            }
+            String mapName = DefaultMapName;
+            int index = key.indexOf(':');
+            if (index != -1) {
+                mapName = MapNamePreceder + key.substring(0, index);
+                key = key.substring(index + 1);
+            }
+            mapNames[i] = mapName;
+            mapKeys[i] = key;
+            Set<String> mapKeySet = keysByMap.get(mapName);
+            if (mapKeySet == null) {
+                mapKeySet = new HashSet<String>();
+                keysByMap.put(mapName, mapKeySet);
+            }
+            mapKeySet.add(key);
+        }
+        final Map<String, Map<String, Object>> values = new HashMap<String, Map<String, Object>>(keysByMap.size());
+        for (Map.Entry<String, Set<String>> entry : keysByMap.entrySet()) {
+            values.put(entry.getKey(), textCommandService.getAll(entry.getKey(), entry.getValue()));
+        }
+        final MemcacheEntry[] entries = new MemcacheEntry[size];
+        for (int i = 0; i < size; i++) {
+            final Object value = values.get(mapNames[i]).get(mapKeys[i]);
+            try {
+                entries[i] = toEntry(keys.get(i), value);
+            } catch (Exception e) {
+                logger.warning(e);
+            }
+            if (entries[i] != null) {
+                textCommandService.incrementGetHitCount();
+            } else {
+                textCommandService.incrementGetMissCount();
+            }
+        }
+        command.setValues(entries);
+        textCommandService.sendResponse(command);
+    }
+
+    public void handleRejection(MultiGetCommand command) {
+        command.setValues(new MemcacheEntry[command.getKeys().size()]);
+        textCommandService.sendResponse(command);
+    }
+}
@@ -27,11 +27,17 @@ public class SetCommand extends AbstractTextCommand {
     private final int expiration;
     private final int valueLen;
     private final boolean noreply;
-    private final ByteBuffer bbValue;
+    private final long cas;
+    final ByteBuffer bbValue;
     ByteBuffer response = null;
 
     public SetCommand(TextCommandType type, String key, int flag, int expiration, int valueLen, boolean noreply) {
+        this(type, key, flag, expiration, valueLen, noreply, 0);
+    }
+
+    public SetCommand(TextCommandType type, String key, int flag, int expiration, int valueLen, boolean noreply, long cas) {
         super(type);
+        this.cas = cas;
         this.key = key;
         this.flag = flag;
         this.expiration = expiration;
@@ -100,6 +106,10 @@ public class SetCommand extends AbstractTextCommand {
         return flag;
     }
 
+    public long getCas() {
+        return cas;
+    }
+
     @Override
     public String toString() {
         return "SetCommand [" + type + "]{" +
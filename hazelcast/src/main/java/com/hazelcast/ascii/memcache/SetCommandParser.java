@@ -58,9 +58,17 @@ public class SetCommandParser extends TypeAwareCommandParser {
         } else {
             return new ErrorCommand(ERROR_CLIENT);
         }
+        long cas = 0;
+        if (type == TextCommandConstants.TextCommandType.CAS) {
+            if (st.hasMoreTokens()) {
+                cas = Long.parseLong(st.nextToken());
+            } else {
+                return new ErrorCommand(ERROR_CLIENT);
+            }
+        }
         if (st.hasMoreTokens()) {
             noReply = "noreply".equals(st.nextToken());
         }
-        return new SetCommand(type, key, flag, expiration, valueLen, noReply);
+        return new SetCommand(type, key, flag, expiration, valueLen, noReply, cas);
     }
 }
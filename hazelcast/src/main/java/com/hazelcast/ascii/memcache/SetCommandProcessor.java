@@ -17,6 +17,7 @@
 package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.util.ByteUtil;
@@ -45,6 +46,9 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
      * "replace" means "store this data, but only if the server *does*
      * already hold data for this key".
      * <p/>
+     * "cas" means "store this data, but only if no one else has updated
+     * since I last fetched it".
+     * <p/>
      * <p/>
      * After sending the command line and the data block the client awaits
      * the reply, which may be:
@@ -56,7 +60,7 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
      * condition for an "add" or a "replace" command wasn't met, or that the
      * item is in a delete queue (see the "delete" command below).
      */
-    public void handle(SetCommand setCommand) {
+    public void handle(final SetCommand setCommand) {
         String key = null;
         try {
             key = URLDecoder.decode(setCommand.getKey(), "UTF-8");
@@ -73,8 +77,40 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
         int ttl = textCommandService.getAdjustedTTLSeconds(setCommand.getExpiration());
         textCommandService.incrementSetCount();
         if (SET == setCommand.getType()) {
-            textCommandService.put(mapName, key, value, ttl);
-            setCommand.setResponse(STORED);
+            textCommandService.putAsync(mapName, key, value, ttl).andThen(new ExecutionCallback<Object>() {
+                public void onResponse(Object response) {
+                    setCommand.setResponse(STORED);
+                    if (setCommand.shouldReply()) {
+                        textCommandService.sendResponse(setCommand);
+                    }
+                }
+
+                public void onFailure(Throwable t) {
+                    logger.warning(t);
+                    handleRejection(setCommand);
+                }
+            });
+            return;
+        } else if (CAS == setCommand.getType()) {
+            textCommandService.casAsync(mapName, key, value, ttl, toVersion(setCommand.getCas()))
+                    .andThen(new ExecutionCallback<Object>() {
+                        public void onResponse(Object stored) {
+                            if (stored == null) {
+                                setCommand.setResponse(NOT_FOUND);
+                            } else {
+                                setCommand.setResponse(((Boolean) stored) ? STORED : EXISTS);
+                            }
+                            if (setCommand.shouldReply()) {
+                                textCommandService.sendResponse(setCommand);
+                            }
+                        }
+
+                        public void onFailure(Throwable t) {
+                            logger.warning(t);
+                            handleRejection(setCommand);
+                        }
+                    });
+            return;
         } else if (ADD == setCommand.getType()) {
             boolean added = (textCommandService.putIfAbsent(mapName, key, value, ttl) == null);
             if (added) {
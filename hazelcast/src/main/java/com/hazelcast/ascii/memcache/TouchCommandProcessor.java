@@ -17,6 +17,7 @@
 package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandServiceImpl;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 
@@ -37,7 +38,7 @@ public class TouchCommandProcessor extends MemcacheCommandProcessor<TouchCommand
         logger = textCommandService.getNode().getLogger(this.getClass().getName());
     }
 
-    public void handle(TouchCommand touchCommand) {
+    public void handle(final TouchCommand touchCommand) {
         String key = null;
         try {
             key = URLDecoder.decode(touchCommand.getKey(), "UTF-8");
@@ -51,28 +52,20 @@ public class TouchCommandProcessor extends MemcacheCommandProcessor<TouchCommand
             key = key.substring(index + 1);
         }
         int ttl = textCommandService.getAdjustedTTLSeconds(touchCommand.getExpiration());
-        try {
-            textCommandService.lock(mapName, key);
-        } catch (Exception e) {
-            touchCommand.setResponse(NOT_STORED);
-            if (touchCommand.shouldReply()) {
-                textCommandService.sendResponse(touchCommand);
+        textCommandService.touchAsync(mapName, key, ttl).andThen(new ExecutionCallback<Object>() {
+            public void onResponse(Object touched) {
+                textCommandService.incrementTouchCount();
+                touchCommand.setResponse(Boolean.TRUE.equals(touched) ? TOUCHED : NOT_STORED);
+                if (touchCommand.shouldReply()) {
+                    textCommandService.sendResponse(touchCommand);
+                }
             }
-            return;
-        }
-        final Object value = textCommandService.get(mapName, key);
-        textCommandService.incrementTouchCount();
-        if (value != null) {
-            textCommandService.put(mapName, key, value, ttl);
-            touchCommand.setResponse(TOUCHED);
-        } else {
-            touchCommand.setResponse(NOT_STORED);
-        }
-        textCommandService.unlock(mapName, key);
 
-        if (touchCommand.shouldReply()) {
-            textCommandService.sendResponse(touchCommand);
-        }
+            public void onFailure(Throwable t) {
+                logger.warning(t);
+                handleRejection(touchCommand);
+            }
+        });
     }
 
     public void handleRejection(TouchCommand request) {
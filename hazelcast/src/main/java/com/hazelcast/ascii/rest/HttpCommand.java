@@ -20,6 +20,9 @@ import com.hazelcast.ascii.AbstractTextCommand;
 import com.hazelcast.nio.IOUtil;
 
 import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class HttpCommand extends AbstractTextCommand {
     public static final String HEADER_CONTENT_TYPE = "content-type: ";
@@ -27,19 +30,31 @@ public abstract class HttpCommand extends AbstractTextCommand {
     public static final String HEADER_CHUNKED = "transfer-encoding: chunked";
     public static final String HEADER_EXPECT_100 = "expect: 100";
 
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes();
+
     protected final String uri;
     protected ByteBuffer response;
 
+    private final Queue<ByteBuffer> chunks = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicBoolean chunksRequested = new AtomicBoolean(false);
+    private ByteBuffer currentChunk;
+    private ByteBuffer lastChunk;
+    private ChunkProducer producer;
+    private volatile boolean chunked = false;
+    private volatile boolean lastChunkAdded = false;
+    private volatile boolean bodyWritten = false;
+
     public static final byte[] RES_200 = "HTTP/1.1 200 OK\r\n".getBytes();
     public static final byte[] RES_400 = "HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n".getBytes();
-    public static final byte[] RES_403 = "HTTP/1.1 403 Forbidden\r\n\r\n".getBytes();
-    public static final byte[] RES_404 = "HTTP/1.1 404 Not Found\r\n\r\n".getBytes();
+    public static final byte[] RES_403 = "HTTP/1.1 403 Forbidden\r\nContent-Length: 0\r\n\r\n".getBytes();
+    public static final byte[] RES_404 = "HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n".getBytes();
     public static final byte[] RES_100 = "HTTP/1.1 100 Continue\r\n\r\n".getBytes();
     public static final byte[] RES_204 = "HTTP/1.1 204 No Content\r\nContent-Length: 0\r\n\r\n".getBytes();
     public static final byte[] RES_503 = "HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n".getBytes();
     public static final byte[] RES_500 = "HTTP/1.1 500 Internal Server Error\r\nContent-Length: 0\r\n\r\n".getBytes();
     public static final byte[] CONTENT_TYPE = "Content-Type: ".getBytes();
     public static final byte[] CONTENT_LENGTH = "Content-Length: ".getBytes();
+    public static final byte[] TRANSFER_ENCODING_CHUNKED = "Transfer-Encoding: chunked".getBytes();
     public static final byte[] CONTENT_TYPE_PLAIN_TEXT = "text/plain".getBytes();
     public static final byte[] CONTENT_TYPE_BINARY = "application/binary".getBytes();
 
@@ -97,7 +112,6 @@ public abstract class HttpCommand extends AbstractTextCommand {
         size += RETURN.length;
         size += RETURN.length;
         size += valueSize;
-        size += RETURN.length;
         this.response = ByteBuffer.allocate(size);
         response.put(RES_200);
         if (contentType != null) {
@@ -112,13 +126,132 @@ public abstract class HttpCommand extends AbstractTextCommand {
         if (value != null) {
             response.put(value);
         }
+        response.flip();
+    }
+
+    /**
+     * Produces the body of a chunked response batch by batch. The writer asks for the next
+     * batch only once everything queued before is written, so a slow reader holds back the
+     * producer instead of blocking a thread.
+     */
+    public interface ChunkProducer {
+
+        /**
+         * Called on the I/O thread when all queued chunks are written. The producer adds the
+         * next chunks, or ends the response, from another thread and hands the command to the
+         * writer again.
+         */
+        void requestChunks(HttpCommand command);
+
+        /**
+         * Called when the connection closes before the whole body is written.
+         */
+        void abort();
+    }
+
+    /**
+     * Starts a response with chunked transfer encoding. The head goes out once the command
+     * is handed to the writer; every later {@link #addChunk(byte[], int, int)} is sent by
+     * handing the command to the writer again, and later responses on the connection are
+     * held back until {@link #endChunkedResponse()}.
+     *
+     * @param contentType content type of the whole body, may be null
+     */
+    public void startChunkedResponse(byte[] contentType) {
+        int size = RES_200.length + TRANSFER_ENCODING_CHUNKED.length + 2 * RETURN.length;
+        if (contentType != null) {
+            size += CONTENT_TYPE.length + contentType.length + RETURN.length;
+        }
+        this.response = ByteBuffer.allocate(size);
+        response.put(RES_200);
+        if (contentType != null) {
+            response.put(CONTENT_TYPE);
+            response.put(contentType);
+            response.put(RETURN);
+        }
+        response.put(TRANSFER_ENCODING_CHUNKED);
+        response.put(RETURN);
         response.put(RETURN);
         response.flip();
+        chunked = true;
+    }
+
+    /**
+     * Starts a chunked response whose body is produced on demand of the writer.
+     */
+    public void startChunkedResponse(byte[] contentType, ChunkProducer producer) {
+        this.producer = producer;
+        startChunkedResponse(contentType);
+    }
+
+    public void addChunk(byte[] data) {
+        addChunk(data, 0, data.length);
+    }
+
+    /**
+     * Queues a slice of {@code data} as one chunk without copying it.
+     */
+    public void addChunk(byte[] data, int offset, int length) {
+        if (length == 0) {
+            // an empty chunk would end the body
+            return;
+        }
+        chunksRequested.set(false);
+        chunks.offer(ByteBuffer.wrap((Integer.toHexString(length) + "\r\n").getBytes()));
+        chunks.offer(ByteBuffer.wrap(data, offset, length));
+        chunks.offer(ByteBuffer.wrap(RETURN));
+    }
+
+    public void endChunkedResponse() {
+        chunksRequested.set(false);
+        lastChunk = ByteBuffer.wrap(LAST_CHUNK);
+        chunks.offer(lastChunk);
+        lastChunkAdded = true;
+    }
+
+    /**
+     * Called when the connection is closed, lets the producer of an unfinished body clean up.
+     */
+    public void abortResponse() {
+        if (producer != null && !bodyWritten) {
+            producer.abort();
+        }
+    }
+
+    public boolean isBodyWritten() {
+        return !chunked || bodyWritten;
+    }
+
+    @Override
+    public boolean isResponseComplete() {
+        return !chunked || lastChunkAdded;
     }
 
     public boolean writeTo(ByteBuffer bb) {
         IOUtil.copyToHeapBuffer(response, bb);
-        return !response.hasRemaining();
+        if (response.hasRemaining()) {
+            return false;
+        }
+        if (!chunked) {
+            return true;
+        }
+        for (; ; ) {
+            if (currentChunk == null && (currentChunk = chunks.poll()) == null) {
+                // everything queued so far is written, the command is handed over again for more
+                if (producer != null && !lastChunkAdded && chunksRequested.compareAndSet(false, true)) {
+                    producer.requestChunks(this);
+                }
+                return true;
+            }
+            IOUtil.copyToHeapBuffer(currentChunk, bb);
+            if (currentChunk.hasRemaining()) {
+                return false;
+            }
+            if (currentChunk == lastChunk) {
+                bodyWritten = true;
+            }
+            currentChunk = null;
+        }
     }
 
     @Override
@@ -29,4 +29,16 @@ public abstract class HttpCommandProcessor<T> extends AbstractTextCommandProcess
     protected HttpCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
     }
+
+    protected RestValue toRestValue(Object value) {
+        if (value instanceof RestValue) {
+            return (RestValue) value;
+        } else if (value instanceof byte[]) {
+            return new RestValue((byte[]) value, HttpCommand.CONTENT_TYPE_BINARY);
+        } else if (value instanceof String) {
+            return new RestValue(((String) value).getBytes(), HttpCommand.CONTENT_TYPE_PLAIN_TEXT);
+        } else {
+            return new RestValue(textCommandService.toByteArray(value), HttpCommand.CONTENT_TYPE_BINARY);
+        }
+    }
 }
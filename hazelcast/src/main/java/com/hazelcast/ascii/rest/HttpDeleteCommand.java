@@ -19,7 +19,8 @@ package com.hazelcast.ascii.rest;
 import java.nio.ByteBuffer;
 
 public class HttpDeleteCommand extends HttpCommand {
-    boolean nextLine = false;
+    // the request line, including its line break, is consumed by the reader
+    boolean nextLine = true;
 
     public HttpDeleteCommand(String uri) {
         super(TextCommandType.HTTP_DELETE, uri);
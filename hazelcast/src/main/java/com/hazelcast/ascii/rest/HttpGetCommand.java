@@ -19,7 +19,8 @@ package com.hazelcast.ascii.rest;
 import java.nio.ByteBuffer;
 
 public class HttpGetCommand extends HttpCommand {
-    boolean nextLine = false;
+    // the request line, including its line break, is consumed by the reader
+    boolean nextLine = true;
 
     public HttpGetCommand(String uri) {
         super(TextCommandType.HTTP_GET, uri);
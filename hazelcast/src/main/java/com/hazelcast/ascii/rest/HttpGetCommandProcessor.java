@@ -20,8 +20,23 @@ import com.hazelcast.ascii.TextCommandService;
 import com.hazelcast.instance.Node;
 import com.hazelcast.nio.ConnectionManager;
 
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.concurrent.RejectedExecutionException;
+
 public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand> {
 
+    private static final int BULK_BATCH_SIZE = 100;
+    private static final int CHUNKED_VALUE_THRESHOLD = 1 << 16;
+
     public HttpGetCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
     }
@@ -30,12 +45,20 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
         String uri = command.getURI();
         if (uri.startsWith(URI_MAPS)) {
             int indexEnd = uri.indexOf('/', URI_MAPS.length());
+            if (indexEnd == -1) {
+                handleMapBulkGet(command, uri.substring(URI_MAPS.length()));
+                return;
+            }
             String mapName = uri.substring(URI_MAPS.length(), indexEnd);
             String key = uri.substring(indexEnd + 1);
             Object value = textCommandService.get(mapName, key);
             prepareResponse(command, value);
         } else if (uri.startsWith(URI_QUEUES)) {
             int indexEnd = uri.indexOf('/', URI_QUEUES.length());
+            if (indexEnd == -1) {
+                handleQueueDrain(command, uri.substring(URI_QUEUES.length()));
+                return;
+            }
             String queueName = uri.substring(URI_QUEUES.length(), indexEnd);
             String secondStr = (uri.length() > (indexEnd + 1)) ? uri.substring(indexEnd + 1) : null;
             int seconds = (secondStr == null) ? 0 : Integer.parseInt(secondStr);
@@ -68,17 +91,228 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
     private void prepareResponse(HttpGetCommand command, Object value) {
         if (value == null) {
             command.send204();
+            return;
+        }
+        RestValue restValue = toRestValue(value);
+        byte[] data = restValue.getValue();
+        if (data != null && data.length > CHUNKED_VALUE_THRESHOLD) {
+            // sent as slices of the stored array instead of being copied into one response buffer
+            command.startChunkedResponse(restValue.getContentType());
+            for (int offset = 0; offset < data.length; offset += CHUNKED_VALUE_THRESHOLD) {
+                command.addChunk(data, offset, Math.min(CHUNKED_VALUE_THRESHOLD, data.length - offset));
+            }
+            command.endChunkedResponse();
+        } else {
+            command.setResponse(restValue.getContentType(), data);
+        }
+    }
+
+    /**
+     * GET /hazelcast/rest/maps/{name}?keys=k1,k2 streams the given entries, and
+     * GET /hazelcast/rest/maps/{name} the whole map, as {@link RestBulkCodec} frames read
+     * with one getAll per batch. Keys are URL-encoded; missing keys are left out.
+     */
+    private void handleMapBulkGet(HttpGetCommand command, String nameAndQuery) {
+        int queryStart = nameAndQuery.indexOf('?');
+        String mapName = (queryStart == -1) ? nameAndQuery : nameAndQuery.substring(0, queryStart);
+        String keysParam = getParameter(nameAndQuery, queryStart, "keys");
+        Collection<String> keys;
+        if (keysParam == null) {
+            keys = new ArrayList<String>();
+            for (Object key : textCommandService.keySet(mapName)) {
+                if (key instanceof String) {
+                    keys.add((String) key);
+                }
+            }
         } else {
-            if (value instanceof byte[]) {
-                command.setResponse(HttpCommand.CONTENT_TYPE_BINARY, (byte[]) value);
-            } else if (value instanceof RestValue) {
-                RestValue restValue = (RestValue) value;
-                command.setResponse(restValue.getContentType(), restValue.getValue());
-            } else if (value instanceof String) {
-                command.setResponse(HttpCommand.CONTENT_TYPE_PLAIN_TEXT, ((String) value).getBytes());
-            } else {
-                command.setResponse(HttpCommand.CONTENT_TYPE_BINARY, textCommandService.toByteArray(value));
+            keys = new LinkedHashSet<String>();
+            try {
+                StringTokenizer st = new StringTokenizer(keysParam, ",");
+                while (st.hasMoreTokens()) {
+                    keys.add(RestBulkCodec.decode(st.nextToken()));
+                }
+            } catch (IllegalArgumentException e) {
+                command.send400();
+                textCommandService.sendResponse(command);
+                return;
+            }
+        }
+        command.startChunkedResponse(RestBulkCodec.CONTENT_TYPE_BULK, new MapBulkGetProducer(command, mapName, keys));
+        textCommandService.sendResponse(command);
+    }
+
+    /**
+     * GET /hazelcast/rest/queues/{name}?max=n removes up to n items (all queued items when
+     * max is not given) and streams them as {@link RestBulkCodec} ITEM frames. Items not yet
+     * written when the connection closes are offered back to the queue.
+     */
+    private void handleQueueDrain(HttpGetCommand command, String nameAndQuery) {
+        int queryStart = nameAndQuery.indexOf('?');
+        String queueName = (queryStart == -1) ? nameAndQuery : nameAndQuery.substring(0, queryStart);
+        String maxParam = getParameter(nameAndQuery, queryStart, "max");
+        int remaining;
+        try {
+            remaining = (maxParam == null) ? Integer.MAX_VALUE : Integer.parseInt(maxParam);
+        } catch (NumberFormatException e) {
+            command.send400();
+            textCommandService.sendResponse(command);
+            return;
+        }
+        command.startChunkedResponse(RestBulkCodec.CONTENT_TYPE_BULK, new QueueDrainProducer(command, queueName, remaining));
+        textCommandService.sendResponse(command);
+    }
+
+    /**
+     * Reads the next batch on a text executor thread each time the writer has written the
+     * previous one.
+     */
+    private abstract class BulkProducer implements HttpCommand.ChunkProducer, Runnable {
+
+        final HttpGetCommand command;
+
+        BulkProducer(HttpGetCommand command) {
+            this.command = command;
+        }
+
+        public void requestChunks(HttpCommand command) {
+            try {
+                execute(this);
+            } catch (RejectedExecutionException e) {
+                command.getSocketTextReader().closeConnection();
+            }
+        }
+
+        public void run() {
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                boolean more;
+                do {
+                    more = writeBatch(out);
+                } while (more && out.size() == 0);
+                if (out.size() > 0) {
+                    command.addChunk(out.toByteArray());
+                }
+                if (!more) {
+                    command.endChunkedResponse();
+                }
+            } catch (RuntimeException e) {
+                // the status line is already out, a truncated body is signalled by closing the connection
+                command.getSocketTextReader().closeConnection();
+                return;
+            }
+            textCommandService.sendResponse(command);
+        }
+
+        /**
+         * @return false if this was the last batch
+         */
+        abstract boolean writeBatch(ByteArrayOutputStream out);
+
+        public void abort() {
+        }
+    }
+
+    private class MapBulkGetProducer extends BulkProducer {
+
+        private final String mapName;
+        private final Iterator<String> keys;
+
+        MapBulkGetProducer(HttpGetCommand command, String mapName, Collection<String> keys) {
+            super(command);
+            this.mapName = mapName;
+            this.keys = keys.iterator();
+        }
+
+        boolean writeBatch(ByteArrayOutputStream out) {
+            Set<String> batch = new HashSet<String>();
+            while (batch.size() < BULK_BATCH_SIZE && keys.hasNext()) {
+                batch.add(keys.next());
+            }
+            if (!batch.isEmpty()) {
+                for (Map.Entry<String, Object> entry : textCommandService.getAll(mapName, batch).entrySet()) {
+                    RestBulkCodec.writeEntry(out, entry.getKey(), toRestValue(entry.getValue()));
+                }
+            }
+            return keys.hasNext();
+        }
+    }
+
+    private class QueueDrainProducer extends BulkProducer {
+
+        private final String queueName;
+        // removed from the queue but not known to be written yet
+        private final List<Object> unwritten = new ArrayList<Object>(BULK_BATCH_SIZE);
+        private volatile boolean aborted;
+        private int remaining;
+
+        QueueDrainProducer(HttpGetCommand command, String queueName, int remaining) {
+            super(command);
+            this.queueName = queueName;
+            this.remaining = remaining;
+        }
+
+        synchronized boolean writeBatch(ByteArrayOutputStream out) {
+            if (aborted) {
+                return false;
+            }
+            // the writer only asks for more once the previous batch is written
+            unwritten.clear();
+            if (remaining <= 0) {
+                return false;
+            }
+            int drained = textCommandService.drainTo(queueName, unwritten, Math.min(remaining, BULK_BATCH_SIZE));
+            remaining -= drained;
+            for (Object item : unwritten) {
+                RestBulkCodec.writeItem(out, toRestValue(item));
+            }
+            return drained > 0 && remaining > 0;
+        }
+
+        public void abort() {
+            aborted = true;
+            // may be called on the I/O thread, offering blocks
+            try {
+                execute(new Runnable() {
+                    public void run() {
+                        offerBack();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                offerBack();
+            }
+        }
+
+        private synchronized void offerBack() {
+            int lost = 0;
+            for (Object item : unwritten) {
+                if (!textCommandService.offer(queueName, item)) {
+                    lost++;
+                }
+            }
+            unwritten.clear();
+            if (lost > 0) {
+                textCommandService.getNode().getLogger(HttpGetCommandProcessor.class)
+                        .warning(lost + " items drained from queue " + queueName
+                                + " could not be offered back after the connection closed");
+            }
+        }
+    }
+
+    private void execute(Runnable task) {
+        textCommandService.getNode().nodeEngine.getExecutionService().execute("hz:text", task);
+    }
+
+    private static String getParameter(String uri, int queryStart, String name) {
+        if (queryStart == -1) {
+            return null;
+        }
+        StringTokenizer st = new StringTokenizer(uri.substring(queryStart + 1), "&");
+        while (st.hasMoreTokens()) {
+            String parameter = st.nextToken();
+            if (parameter.startsWith(name + "=")) {
+                return parameter.substring(name.length() + 1);
             }
         }
+        return null;
     }
 }
@@ -25,12 +25,15 @@ import java.nio.ByteBuffer;
 public class HttpPostCommand extends HttpCommand {
 
     private ByteBuffer data = null;
-    boolean nextLine = false;
+    // the request line, including its line break, is consumed by the reader
+    boolean nextLine = true;
     boolean readyToReadData = false;
     private ByteBuffer line = ByteBuffer.allocate(500);
     private String contentType = null;
     private final SocketTextReader socketTextRequestReader;
     private boolean chunked = false;
+    private int chunkRemaining = 0;
+    private boolean lastChunkRead = false;
 
     public HttpPostCommand(SocketTextReader socketTextRequestReader, String uri) {
         super(TextCommandType.HTTP_POST, uri);
@@ -71,25 +74,8 @@ public class HttpPostCommand extends HttpCommand {
 
     public boolean doActualRead(ByteBuffer cb) {
         if (readyToReadData) {
-            if (chunked && (data == null || !data.hasRemaining())) {
-                boolean hasLine = readLine(cb);
-                String lineStr = null;
-                if (hasLine) {
-                    lineStr = toStringAndClear(line).trim();
-                }
-                if (hasLine) {
-                    int dataSize = lineStr.length() == 0 ? 0 : Integer.parseInt(lineStr, 16); // hex string
-                    if (dataSize == 0) {
-                        return true;
-                    }
-                    if (data != null) {
-                        ByteBuffer newData = ByteBuffer.allocate(data.capacity() + dataSize);
-                        newData.put(data.array());
-                        data = newData;
-                    } else {
-                        data = ByteBuffer.allocate(dataSize);
-                    }
-                }
+            if (chunked) {
+                return readChunks(cb);
             }
             IOUtil.copyToHeapBuffer(cb, data);
         }
@@ -100,6 +86,10 @@ public class HttpPostCommand extends HttpCommand {
                 processLine(toStringAndClear(line).toLowerCase());
                 if (nextLine) {
                     readyToReadData = true;
+                    if (!chunked && data == null) {
+                        // neither content-length nor chunked: the request has no body
+                        data = ByteBuffer.allocate(0);
+                    }
                 }
                 nextLine = true;
             } else if (c != '\r') {
@@ -110,6 +100,60 @@ public class HttpPostCommand extends HttpCommand {
         return !chunked && ((data != null) && !data.hasRemaining());
     }
 
+    /**
+     * Reads chunk size lines, chunk data and the closing CRLF of each chunk, then the
+     * trailer after the last chunk, so a pipelined request behind it starts cleanly.
+     */
+    private boolean readChunks(ByteBuffer cb) {
+        while (cb.hasRemaining()) {
+            if (chunkRemaining > 0) {
+                int n = Math.min(chunkRemaining, cb.remaining());
+                int limit = cb.limit();
+                cb.limit(cb.position() + n);
+                data.put(cb);
+                cb.limit(limit);
+                chunkRemaining -= n;
+            } else if (readLine(cb)) {
+                String lineStr = toStringAndClear(line).trim();
+                if (lastChunkRead) {
+                    if (lineStr.length() == 0) {
+                        trimData();
+                        return true;
+                    }
+                } else if (lineStr.length() > 0) {
+                    int extension = lineStr.indexOf(';');
+                    if (extension != -1) {
+                        lineStr = lineStr.substring(0, extension).trim();
+                    }
+                    chunkRemaining = Integer.parseInt(lineStr, 16);
+                    lastChunkRead = chunkRemaining == 0;
+                    ensureCapacity(chunkRemaining);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void ensureCapacity(int size) {
+        if (data == null) {
+            data = ByteBuffer.allocate(size);
+        } else if (data.remaining() < size) {
+            ByteBuffer newData = ByteBuffer.allocate(Math.max(data.capacity() * 2, data.position() + size));
+            data.flip();
+            newData.put(data);
+            data = newData;
+        }
+    }
+
+    private void trimData() {
+        if (data.hasRemaining()) {
+            ByteBuffer trimmed = ByteBuffer.allocate(data.position());
+            data.flip();
+            trimmed.put(data);
+            data = trimmed;
+        }
+    }
+
     String toStringAndClear(ByteBuffer bb) {
         if (bb == null) return "";
         String result = null;
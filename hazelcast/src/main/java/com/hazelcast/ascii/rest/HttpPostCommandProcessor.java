@@ -20,6 +20,7 @@ import com.hazelcast.ascii.TextCommandService;
 import com.hazelcast.management.ManagementCenterService;
 
 import java.net.URLDecoder;
+import java.util.Map;
 
 public class HttpPostCommandProcessor extends HttpCommandProcessor<HttpPostCommand> {
 
@@ -34,10 +35,18 @@ public class HttpPostCommandProcessor extends HttpCommandProcessor<HttpPostComma
             String uri = command.getURI();
             if (uri.startsWith(URI_MAPS)) {
                 int indexEnd = uri.indexOf('/', URI_MAPS.length());
-                String mapName = uri.substring(URI_MAPS.length(), indexEnd);
-                String key = uri.substring(indexEnd + 1);
-                byte[] data = command.getData();
-                textCommandService.put(mapName, key, new RestValue(data, command.getContentType()), 0);
+                if (indexEnd == -1) {
+                    // bulk put of a body of RestBulkCodec frames
+                    String mapName = uri.substring(URI_MAPS.length());
+                    byte[] data = command.getData();
+                    Map<String, RestValue> entries = RestBulkCodec.readEntries(data == null ? new byte[0] : data);
+                    textCommandService.putAll(mapName, entries);
+                } else {
+                    String mapName = uri.substring(URI_MAPS.length(), indexEnd);
+                    String key = uri.substring(indexEnd + 1);
+                    byte[] data = command.getData();
+                    textCommandService.put(mapName, key, new RestValue(data, command.getContentType()), 0);
+                }
                 command.setResponse(HttpCommand.RES_204);
             } else if (uri.startsWith(URI_MANCENTER_CHANGE_URL)) {
                 if (textCommandService.getNode().getGroupProperties().MC_URL_CHANGE_ENABLED.getBoolean()) {
@@ -91,6 +100,8 @@ public class HttpPostCommandProcessor extends HttpCommandProcessor<HttpPostComma
             } else {
                 command.setResponse(HttpCommand.RES_400);
             }
+        } catch (IllegalArgumentException e) {
+            command.setResponse(HttpCommand.RES_400);
         } catch (Exception e) {
             command.setResponse(HttpCommand.RES_500);
         }
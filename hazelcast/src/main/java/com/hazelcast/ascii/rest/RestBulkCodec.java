@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Body format of the bulk REST endpoints. Every map entry is framed as
+ * <pre>
+ * VALUE &lt;url-encoded key&gt; &lt;length&gt; [&lt;content-type&gt;]\r\n
+ * &lt;length bytes&gt;\r\n
+ * </pre>
+ * and every queue item the same way with the {@code ITEM} keyword and no key, so any
+ * client can split a body without knowing the value encoding.
+ */
+public final class RestBulkCodec {
+
+    public static final byte[] CONTENT_TYPE_BULK = "application/x-hazelcast-bulk".getBytes();
+
+    private static final String VALUE = "VALUE";
+    private static final String ITEM = "ITEM";
+    private static final byte[] RETURN = "\r\n".getBytes();
+    private static final byte[] EMPTY = new byte[0];
+
+    private RestBulkCodec() {
+    }
+
+    public static void writeEntry(ByteArrayOutputStream out, String key, RestValue value) {
+        writeFrame(out, VALUE + " " + encode(key), value);
+    }
+
+    public static void writeItem(ByteArrayOutputStream out, RestValue value) {
+        writeFrame(out, ITEM, value);
+    }
+
+    private static void writeFrame(ByteArrayOutputStream out, String prefix, RestValue value) {
+        final byte[] data = value.getValue() == null ? EMPTY : value.getValue();
+        final StringBuilder header = new StringBuilder(prefix).append(' ').append(data.length);
+        if (value.getContentType() != null) {
+            header.append(' ').append(new String(value.getContentType()));
+        }
+        final byte[] headerBytes = header.append("\r\n").toString().getBytes();
+        out.write(headerBytes, 0, headerBytes.length);
+        out.write(data, 0, data.length);
+        out.write(RETURN, 0, RETURN.length);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body is not a sequence of VALUE frames
+     */
+    public static Map<String, RestValue> readEntries(byte[] body) {
+        final Map<String, RestValue> entries = new LinkedHashMap<String, RestValue>();
+        int position = 0;
+        while (position < body.length) {
+            final int lineEnd = indexOf(body, (byte) '\n', position);
+            if (lineEnd == -1) {
+                throw new IllegalArgumentException("Unterminated frame header at " + position);
+            }
+            final String header = new String(body, position, lineEnd - position).trim();
+            position = lineEnd + 1;
+            if (header.length() == 0) {
+                continue;
+            }
+            final String[] tokens = header.split(" ", 4);
+            if (tokens.length < 3 || !VALUE.equals(tokens[0])) {
+                throw new IllegalArgumentException("Invalid frame header: " + header);
+            }
+            final int length;
+            try {
+                length = Integer.parseInt(tokens[2]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid frame length: " + header);
+            }
+            if (length < 0 || position + length > body.length) {
+                throw new IllegalArgumentException("Truncated frame: " + header);
+            }
+            final byte[] value = Arrays.copyOfRange(body, position, position + length);
+            final byte[] contentType = tokens.length == 4 ? tokens[3].getBytes() : null;
+            entries.put(decode(tokens[1]), new RestValue(value, contentType));
+            position += length;
+        }
+        return entries;
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static String encode(String key) {
+        try {
+            return URLEncoder.encode(key, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String decode(String key) {
+        try {
+            return URLDecoder.decode(key, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.cluster;
 
 import com.hazelcast.core.*;
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.LifecycleServiceImpl;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
@@ -63,7 +64,9 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
 
     private final long maxWaitSecondsBeforeJoin;
 
-    private final long maxNoHeartbeatMillis;
+    private final long heartbeatIntervalMillis;
+
+    private final FailureDetector failureDetector;
 
     private final long maxNoMasterConfirmationMillis;
 
@@ -100,7 +103,8 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
         setMembers(thisMember);
         waitMillisBeforeJoin = node.groupProperties.WAIT_SECONDS_BEFORE_JOIN.getInteger() * 1000L;
         maxWaitSecondsBeforeJoin = node.groupProperties.MAX_WAIT_SECONDS_BEFORE_JOIN.getInteger();
-        maxNoHeartbeatMillis = node.groupProperties.MAX_NO_HEARTBEAT_SECONDS.getInteger() * 1000L;
+        heartbeatIntervalMillis = getHeartbeatIntervalMillis(node);
+        failureDetector = createFailureDetector(node, heartbeatIntervalMillis);
         maxNoMasterConfirmationMillis = node.groupProperties.MAX_NO_MASTER_CONFIRMATION_SECONDS.getInteger() * 1000L;
         icmpEnabled = node.groupProperties.ICMP_ENABLED.getBoolean();
         icmpTtl = node.groupProperties.ICMP_TTL.getInteger();
@@ -108,6 +112,32 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
         node.connectionManager.addConnectionListener(this);
     }
 
+    private static long getHeartbeatIntervalMillis(Node node) {
+        final long heartbeatIntervalMillis = node.groupProperties.HEARTBEAT_INTERVAL_MILLIS.getLong();
+        if (heartbeatIntervalMillis > 0) {
+            return heartbeatIntervalMillis;
+        }
+        final long heartbeatIntervalSeconds = node.groupProperties.HEARTBEAT_INTERVAL_SECONDS.getInteger();
+        return heartbeatIntervalSeconds <= 0 ? 1000 : heartbeatIntervalSeconds * 1000;
+    }
+
+    private static FailureDetector createFailureDetector(Node node, long heartbeatIntervalMillis) {
+        final GroupProperties groupProperties = node.groupProperties;
+        final String type = groupProperties.HEARTBEAT_FAILURE_DETECTOR_TYPE.getString();
+        if ("phi-accrual".equals(type)) {
+            return new PhiAccrualFailureDetector(
+                    Double.parseDouble(groupProperties.HEARTBEAT_PHI_ACCRUAL_THRESHOLD.getString()),
+                    groupProperties.HEARTBEAT_PHI_ACCRUAL_SAMPLE_SIZE.getInteger(),
+                    Double.parseDouble(groupProperties.HEARTBEAT_PHI_ACCRUAL_MIN_STD_DEV_MILLIS.getString()),
+                    groupProperties.HEARTBEAT_PHI_ACCRUAL_ACCEPTABLE_PAUSE_MILLIS.getLong(),
+                    heartbeatIntervalMillis);
+        }
+        if (!"deadline".equals(type)) {
+            throw new IllegalArgumentException("Unknown failure detector type: " + type);
+        }
+        return new DeadlineFailureDetector(groupProperties.MAX_NO_HEARTBEAT_SECONDS.getInteger() * 1000L);
+    }
+
     @Override
     public void init(final NodeEngine nodeEngine, Properties properties) {
         long mergeFirstRunDelay = node.getGroupProperties().MERGE_FIRST_RUN_DELAY_SECONDS.getLong() * 1000;
@@ -118,13 +148,11 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
         nodeEngine.getExecutionService().scheduleWithFixedDelay(new SplitBrainHandler(node),
                 mergeFirstRunDelay, mergeNextRunDelay, TimeUnit.MILLISECONDS);
 
-        long heartbeatInterval = node.groupProperties.HEARTBEAT_INTERVAL_SECONDS.getInteger();
-        heartbeatInterval = heartbeatInterval <= 0 ? 1 : heartbeatInterval;
         nodeEngine.getExecutionService().scheduleWithFixedDelay(new Runnable() {
             public void run() {
                 heartBeater();
             }
-        }, heartbeatInterval, heartbeatInterval, TimeUnit.SECONDS);
+        }, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
 
         long masterConfirmationInterval = node.groupProperties.MASTER_CONFIRMATION_INTERVAL_SECONDS.getInteger();
         masterConfirmationInterval = masterConfirmationInterval <= 0 ? 1 : masterConfirmationInterval;
@@ -196,18 +224,18 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
                     try {
                         Connection conn = node.connectionManager.getOrConnect(address);
                         if (conn != null && conn.live()) {
-                            if ((now - memberImpl.getLastRead()) >= (maxNoHeartbeatMillis)) {
+                            if (!failureDetector.isAlive(memberImpl, now)) {
                                 if (deadAddresses == null) {
                                     deadAddresses = new ArrayList<Address>();
                                 }
-                                logger.warning("Added " + address + " to list of dead addresses because of timeout since last read");
+                                logger.warning("Added " + address + " to list of dead addresses because of heartbeat timeout"
+                                        + ", suspicion level: " + failureDetector.suspicionLevel(memberImpl, now));
                                 deadAddresses.add(address);
                             } else if ((now - memberImpl.getLastRead()) >= 5000 && (now - memberImpl.getLastPing()) >= 5000) {
                                 ping(memberImpl);
                             }
-                            if ((now - memberImpl.getLastWrite()) > 500) {
-                                sendHeartbeat(address);
-                            }
+                            // failure detectors other than deadline only count heartbeats, not other packets
+                            sendHeartbeat(address);
                             Long lastConfirmation = masterConfirmationTimes.get(memberImpl);
                             if (lastConfirmation == null ||
                                     (now - lastConfirmation > maxNoMasterConfirmationMillis)) {
@@ -243,8 +271,9 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
                 MemberImpl masterMember = getMember(masterAddress);
                 boolean removed = false;
                 if (masterMember != null) {
-                    if ((now - masterMember.getLastRead()) >= (maxNoHeartbeatMillis)) {
-                        logger.warning("Master node has timed out its heartbeat and will be removed");
+                    if (!failureDetector.isAlive(masterMember, now)) {
+                        logger.warning("Master node has timed out its heartbeat and will be removed"
+                                + ", suspicion level: " + failureDetector.suspicionLevel(masterMember, now));
                         removeAddress(masterAddress);
                         removed = true;
                     } else if ((now - masterMember.getLastRead()) >= 5000 && (now - masterMember.getLastPing()) >= 5000) {
@@ -256,8 +285,9 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
                 }
             }
             for (MemberImpl member : members) {
-                if (!member.localMember()) {
-                    Address address = member.getAddress();
+                Address address = member.getAddress();
+                // the master already got its heartbeat above
+                if (!member.localMember() && !address.equals(masterAddress)) {
                     Connection conn = node.connectionManager.getOrConnect(address);
                     if (conn != null) {
                         sendHeartbeat(address);
@@ -271,6 +301,17 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
         }
     }
 
+    FailureDetector getFailureDetector() {
+        return failureDetector;
+    }
+
+    void heartbeatReceived(Address sender) {
+        final MemberImpl member = getMember(sender);
+        if (member != null) {
+            failureDetector.heartbeat(member, Clock.currentTimeMillis());
+        }
+    }
+
     private void ping(final MemberImpl memberImpl) {
         memberImpl.didPing();
         if (!icmpEnabled) return;
@@ -835,6 +876,7 @@ public final class ClusterServiceImpl implements ClusterService, ConnectionListe
                 Map<Address, MemberImpl> newMembers = new LinkedHashMap<Address, MemberImpl>(members);  // ! ORDERED !
                 newMembers.remove(deadMember.getAddress());
                 masterConfirmationTimes.remove(deadMember);
+                failureDetector.remove(deadMember);
                 setMembersRef(newMembers);
                 node.getPartitionService().memberRemoved(deadMember); // sync call
                 nodeEngine.onMemberLeft(deadMember);                  // sync call
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cluster;
+
+import com.hazelcast.instance.MemberImpl;
+
+/**
+ * Suspects a member when nothing has been read from it for a fixed period.
+ * <p/>
+ * Any packet read from the member counts as a heartbeat, see {@link MemberImpl#didRead()}.
+ * The suspicion level is the time elapsed since the last read in milliseconds.
+ */
+public final class DeadlineFailureDetector implements FailureDetector {
+
+    private final long maxNoHeartbeatMillis;
+
+    public DeadlineFailureDetector(long maxNoHeartbeatMillis) {
+        this.maxNoHeartbeatMillis = maxNoHeartbeatMillis;
+    }
+
+    public void heartbeat(MemberImpl member, long timestamp) {
+        // already recorded as last read time of member
+    }
+
+    public boolean isAlive(MemberImpl member, long timestamp) {
+        return timestamp - member.getLastRead() < maxNoHeartbeatMillis;
+    }
+
+    public double suspicionLevel(MemberImpl member, long timestamp) {
+        return timestamp - member.getLastRead();
+    }
+
+    public void remove(MemberImpl member) {
+    }
+}
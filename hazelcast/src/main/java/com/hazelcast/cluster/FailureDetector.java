@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cluster;
+
+import com.hazelcast.instance.MemberImpl;
+
+/**
+ * Decides whether a member is alive, based on the heartbeats received from it.
+ * <p/>
+ * Used by {@link ClusterServiceImpl} to find members to be removed from the cluster.
+ * The type of the detector is selected with {@link com.hazelcast.instance.GroupProperties#PROP_HEARTBEAT_FAILURE_DETECTOR_TYPE}.
+ */
+public interface FailureDetector {
+
+    /**
+     * Records a heartbeat received from the member.
+     *
+     * @param member    the member sending the heartbeat
+     * @param timestamp the time the heartbeat is received
+     */
+    void heartbeat(MemberImpl member, long timestamp);
+
+    /**
+     * Returns true if the member is considered alive at the given time.
+     */
+    boolean isAlive(MemberImpl member, long timestamp);
+
+    /**
+     * Returns how suspicious the member is at the given time, higher values meaning more suspicious.
+     * The scale depends on the detector.
+     */
+    double suspicionLevel(MemberImpl member, long timestamp);
+
+    /**
+     * Discards the heartbeat history of a removed member.
+     */
+    void remove(MemberImpl member);
+}
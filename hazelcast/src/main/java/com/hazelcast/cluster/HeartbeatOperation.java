@@ -16,6 +16,7 @@
 
 package com.hazelcast.cluster;
 
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 
 /**
@@ -26,7 +27,11 @@ public final class HeartbeatOperation extends AbstractClusterOperation
 
     @Override
     public void run() {
-        // do nothing ...
+        final Address caller = getCallerAddress();
+        if (caller != null) {
+            final ClusterServiceImpl clusterService = getService();
+            clusterService.heartbeatReceived(caller);
+        }
     }
 
     @Override
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cluster;
+
+import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.nio.Address;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Phi accrual failure detector, as described in <i>The Phi Accrual Failure Detector</i>
+ * by Hayashibara et al.
+ * <p/>
+ * Instead of a fixed timeout, the detector keeps the recent heartbeat inter-arrival times of each member
+ * and computes <tt>phi = -log10(P(a heartbeat arrives later than now))</tt>, assuming normally distributed
+ * inter-arrival times. A member is suspected once phi reaches the threshold; a threshold of 8 means
+ * a chance of about 10<sup>-8</sup> that the member is wrongly suspected. The expected interval is
+ * extended by an acceptable pause, to tolerate GC pauses and bursts of network delay.
+ * <p/>
+ * Only {@link HeartbeatOperation}s are recorded, so heartbeats should be sent at a regular interval.
+ * A member is tracked from its first heartbeat or first liveness check, whichever comes first; the history
+ * is seeded with the expected heartbeat interval until actual samples arrive.
+ */
+public final class PhiAccrualFailureDetector implements FailureDetector {
+
+    private final ConcurrentMap<Address, HeartbeatHistory> histories = new ConcurrentHashMap<Address, HeartbeatHistory>();
+    private final double threshold;
+    private final int maxSampleSize;
+    private final double minStdDeviationMillis;
+    private final long acceptableHeartbeatPauseMillis;
+    private final long heartbeatIntervalMillis;
+
+    /**
+     * @param threshold                      phi value at and above which a member is suspected
+     * @param maxSampleSize                  number of inter-arrival times kept per member
+     * @param minStdDeviationMillis          lower bound of the standard deviation, avoids suspecting members
+     *                                       after slight deviations of very regular heartbeats
+     * @param acceptableHeartbeatPauseMillis extra time added to the mean inter-arrival time
+     * @param heartbeatIntervalMillis        expected heartbeat interval, seeds the history of new members
+     */
+    public PhiAccrualFailureDetector(double threshold, int maxSampleSize, double minStdDeviationMillis,
+                                     long acceptableHeartbeatPauseMillis, long heartbeatIntervalMillis) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive! -> " + threshold);
+        }
+        if (maxSampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive! -> " + maxSampleSize);
+        }
+        if (minStdDeviationMillis <= 0) {
+            throw new IllegalArgumentException("Minimum standard deviation must be positive! -> " + minStdDeviationMillis);
+        }
+        if (heartbeatIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Heartbeat interval must be positive! -> " + heartbeatIntervalMillis);
+        }
+        this.threshold = threshold;
+        this.maxSampleSize = maxSampleSize;
+        this.minStdDeviationMillis = minStdDeviationMillis;
+        this.acceptableHeartbeatPauseMillis = Math.max(acceptableHeartbeatPauseMillis, 0);
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    public void heartbeat(MemberImpl member, long timestamp) {
+        final HeartbeatHistory history = histories.get(member.getAddress());
+        if (history == null) {
+            getOrCreateHistory(member, timestamp);
+        } else {
+            history.add(timestamp);
+        }
+    }
+
+    public boolean isAlive(MemberImpl member, long timestamp) {
+        return suspicionLevel(member, timestamp) < threshold;
+    }
+
+    public double suspicionLevel(MemberImpl member, long timestamp) {
+        final HeartbeatHistory history = getOrCreateHistory(member, timestamp);
+        return history.phi(timestamp);
+    }
+
+    public void remove(MemberImpl member) {
+        histories.remove(member.getAddress());
+    }
+
+    /**
+     * Number of heartbeats recorded for the member since it is tracked, 0 if it is not tracked.
+     */
+    int heartbeatCount(Address address) {
+        final HeartbeatHistory history = histories.get(address);
+        return history != null ? history.heartbeatCount() : 0;
+    }
+
+    /**
+     * Mean of the inter-arrival times kept for the member, including the seeded ones, -1 if it is not tracked.
+     */
+    double meanIntervalMillis(Address address) {
+        final HeartbeatHistory history = histories.get(address);
+        return history != null ? history.mean() : -1;
+    }
+
+    private HeartbeatHistory getOrCreateHistory(MemberImpl member, long timestamp) {
+        final Address address = member.getAddress();
+        HeartbeatHistory history = histories.get(address);
+        if (history == null) {
+            final HeartbeatHistory newHistory = new HeartbeatHistory(timestamp);
+            history = histories.putIfAbsent(address, newHistory);
+            if (history == null) {
+                history = newHistory;
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Probability of a heartbeat arriving later than <tt>timeDiff</tt>, expressed as phi, using a logistic
+     * approximation of the cumulative normal distribution.
+     */
+    static double phi(long timeDiff, double mean, double stdDeviation) {
+        final double y = (timeDiff - mean) / stdDeviation;
+        final double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (timeDiff > mean) {
+            return -Math.log10(e / (1.0 + e));
+        } else {
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+
+    private final class HeartbeatHistory {
+
+        private final long[] intervals = new long[maxSampleSize];
+        private int index;
+        private int size;
+        private long intervalSum;
+        private long squaredIntervalSum;
+        private long lastTimestamp;
+        private int heartbeatCount;
+
+        private HeartbeatHistory(long timestamp) {
+            lastTimestamp = timestamp;
+            // seed with two samples around the expected interval, both dropped once enough samples arrive
+            final long deviation = heartbeatIntervalMillis / 4;
+            addInterval(heartbeatIntervalMillis - deviation);
+            addInterval(heartbeatIntervalMillis + deviation);
+        }
+
+        synchronized void add(long timestamp) {
+            final long interval = timestamp - lastTimestamp;
+            if (interval < 0) {
+                return;
+            }
+            lastTimestamp = timestamp;
+            heartbeatCount++;
+            addInterval(interval);
+        }
+
+        private void addInterval(long interval) {
+            if (size == intervals.length) {
+                final long oldest = intervals[index];
+                intervalSum -= oldest;
+                squaredIntervalSum -= oldest * oldest;
+            } else {
+                size++;
+            }
+            intervals[index] = interval;
+            index = (index + 1) % intervals.length;
+            intervalSum += interval;
+            squaredIntervalSum += interval * interval;
+        }
+
+        synchronized int heartbeatCount() {
+            return heartbeatCount;
+        }
+
+        synchronized double mean() {
+            return (double) intervalSum / size;
+        }
+
+        synchronized double phi(long timestamp) {
+            final double mean = mean();
+            final double variance = (double) squaredIntervalSum / size - mean * mean;
+            final double stdDeviation = Math.max(Math.sqrt(Math.max(variance, 0)), minStdDeviationMillis);
+            return PhiAccrualFailureDetector.phi(timestamp - lastTimestamp, mean + acceptableHeartbeatPauseMillis,
+                    stdDeviation);
+        }
+    }
+}
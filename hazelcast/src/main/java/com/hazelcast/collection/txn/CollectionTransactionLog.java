@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.transaction.impl.KeyAwareTransactionLog;
+import com.hazelcast.transaction.impl.PartitionAwareTransactionLog;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.io.IOException;
@@ -29,7 +30,7 @@ import java.util.concurrent.Future;
 /**
  * @ali 9/3/13
  */
-public class CollectionTransactionLog implements KeyAwareTransactionLog {
+public class CollectionTransactionLog implements KeyAwareTransactionLog, PartitionAwareTransactionLog {
 
     private long itemId;
     private String name;
@@ -57,35 +58,54 @@ public class CollectionTransactionLog implements KeyAwareTransactionLog {
 
     @Override
     public Future prepare(NodeEngine nodeEngine) {
-        boolean removeOperation = op instanceof CollectionTxnRemoveOperation;
-        CollectionPrepareOperation operation = new CollectionPrepareOperation(name, itemId, transactionId, removeOperation);
-        try {
-            return nodeEngine.getOperationService().invokeOnPartition(serviceName, operation, partitionId);
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
-        }
+        return invoke(nodeEngine, createPrepareOperation());
     }
 
     @Override
     public Future commit(NodeEngine nodeEngine) {
-        try {
-            return nodeEngine.getOperationService().invokeOnPartition(serviceName, op, partitionId);
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
-        }
+        return invoke(nodeEngine, createCommitOperation());
     }
 
     @Override
     public Future rollback(NodeEngine nodeEngine) {
-        boolean removeOperation = op instanceof CollectionTxnRemoveOperation;
-        CollectionRollbackOperation operation = new CollectionRollbackOperation(name, itemId, removeOperation);
+        return invoke(nodeEngine, createRollbackOperation());
+    }
+
+    private Future invoke(NodeEngine nodeEngine, Operation operation) {
         try {
-            return nodeEngine.getOperationService().invokeOnPartition(serviceName,operation,partitionId);
+            return nodeEngine.getOperationService().invokeOnPartition(serviceName, operation, partitionId);
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
         }
     }
 
+    @Override
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    @Override
+    public int getPartitionId(NodeEngine nodeEngine) {
+        return partitionId;
+    }
+
+    @Override
+    public Operation createPrepareOperation() {
+        boolean removeOperation = op instanceof CollectionTxnRemoveOperation;
+        return new CollectionPrepareOperation(name, itemId, transactionId, removeOperation);
+    }
+
+    @Override
+    public Operation createCommitOperation() {
+        return op;
+    }
+
+    @Override
+    public Operation createRollbackOperation() {
+        boolean removeOperation = op instanceof CollectionTxnRemoveOperation;
+        return new CollectionRollbackOperation(name, itemId, removeOperation);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeLong(itemId);
@@ -41,6 +41,10 @@ final class LockResourceImpl implements DataSerializable, LockResource {
 
     private transient LockStoreImpl lockStore;
 
+    // whether an eviction is pending in this member's scheduler; the lease alone can't tell,
+    // a reentrant lock without lease drops the expiration time but not the scheduled eviction
+    private transient boolean evictionScheduled;
+
     public LockResourceImpl() {
     }
 
@@ -107,8 +111,13 @@ final class LockResourceImpl implements DataSerializable, LockResource {
                 expirationTime = Long.MAX_VALUE;
             } else {
                 lockStore.scheduleEviction(key, leaseTime);
+                evictionScheduled = true;
+                return;
             }
         }
+        if (evictionScheduled) {
+            cancelEviction();
+        }
     }
 
     boolean unlock(String owner, int threadId) {
@@ -216,11 +225,14 @@ final class LockResourceImpl implements DataSerializable, LockResource {
         owner = null;
         expirationTime = 0;
         acquireTime = -1L;
+        // always cancelled, an eviction may have been scheduled for a replica which was replaced
+        // by a migrated or promoted one; cheap when no lease was ever used in this namespace
         cancelEviction();
     }
 
     void cancelEviction() {
         lockStore.cancelEviction(key);
+        evictionScheduled = false;
     }
 
     boolean isRemovable() {
@@ -326,6 +338,8 @@ final class LockResourceImpl implements DataSerializable, LockResource {
         expirationTime = in.readLong();
         acquireTime = in.readLong();
         transactional = in.readBoolean();
+        // the eviction of a leased lock may be pending in this member's scheduler already
+        evictionScheduled = expirationTime < Long.MAX_VALUE;
 
         int len = in.readInt();
         if (len > 0) {
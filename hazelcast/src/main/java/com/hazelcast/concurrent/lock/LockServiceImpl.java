@@ -130,8 +130,11 @@ public final class LockServiceImpl implements ManagedService, RemoteService, Mem
     }
 
     void cancelEviction(ObjectNamespace namespace, Data key) {
-        EntryTaskScheduler scheduler = ConcurrencyUtil.getOrPutSynchronized(evictionProcessors, namespace, evictionProcessors, schedulerConstructor);
-        scheduler.cancel(key);
+        // nothing can be scheduled if the scheduler of the namespace has not been created yet
+        EntryTaskScheduler scheduler = evictionProcessors.get(namespace);
+        if (scheduler != null) {
+            scheduler.cancel(key);
+        }
     }
 
     public LockStoreContainer getLockContainer(int partitionId) {
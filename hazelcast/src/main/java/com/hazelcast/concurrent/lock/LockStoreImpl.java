@@ -37,7 +37,8 @@ final class LockStoreImpl implements DataSerializable, LockStore {
         }
     };
 
-    private final ConcurrentMap<Data, LockResourceImpl> locks = new ConcurrentHashMap<Data, LockResourceImpl>();
+    // only the partition thread mutates the lock table, a single segment keeps it compact
+    private final ConcurrentMap<Data, LockResourceImpl> locks = new ConcurrentHashMap<Data, LockResourceImpl>(16, 0.75f, 1);
     private ObjectNamespace namespace;
     private int backupCount;
     private int asyncBackupCount;
@@ -113,14 +114,11 @@ final class LockStoreImpl implements DataSerializable, LockStore {
     @Override
     public boolean unlock(Data key, String caller, int threadId) {
         final LockResourceImpl lock = locks.get(key);
-        boolean result = false;
-        if (lock == null)
-            return result;
-        if (lock.canAcquireLock(caller, threadId)) {
-            if (lock.unlock(caller, threadId)) {
-                result = true;
-            }
+        if (lock == null) {
+            return false;
         }
+        final boolean result = lock.unlock(caller, threadId);
+        // free the entry as soon as it is released, tables of short lived locks on distinct keys stay small
         if (lock.isRemovable()) {
             locks.remove(key);
         }
@@ -136,7 +134,6 @@ final class LockStoreImpl implements DataSerializable, LockStore {
             lock.clear();
             if (lock.isRemovable()) {
                 locks.remove(key);
-                lock.cancelEviction();
             }
             return true;
         }
@@ -56,11 +56,13 @@ public class UnlockOperation extends BaseLockOperation implements Notifier, Back
 
     @Override
     public void afterRun() throws Exception {
-        final AwaitOperation awaitResponse = getLockStore().pollExpiredAwaitOp(key);
+        final LockStoreImpl lockStore = getLockStore();
+        final AwaitOperation awaitResponse = lockStore.pollExpiredAwaitOp(key);
         if (awaitResponse != null) {
             getNodeEngine().getOperationService().runOperation(awaitResponse);
         }
-        shouldNotify = awaitResponse == null;
+        // a reentrant unlock keeps the lock held, no waiter can proceed yet
+        shouldNotify = awaitResponse == null && !lockStore.isLocked(key);
     }
 
     @Override
@@ -197,6 +197,9 @@ public class ConfigXmlGenerator {
             xml.append("<executor-service name=\"").append(ex.getName()).append("\">");
             xml.append("<pool-size>").append(ex.getPoolSize()).append("</pool-size>");
             xml.append("<queue-capacity>").append(ex.getQueueCapacity()).append("</queue-capacity>");
+            xml.append("<load-balancing-enabled>").append(ex.isLoadBalancingEnabled()).append("</load-balancing-enabled>");
+            xml.append("<partition-thread-execution-enabled>").append(ex.isPartitionThreadExecutionEnabled())
+                    .append("</partition-thread-execution-enabled>");
             xml.append("</executor-service>");
         }
         final Collection<QueueConfig> qCfgs = config.getQueueConfigs().values();
@@ -229,6 +232,7 @@ public class ConfigXmlGenerator {
             xml.append("<eviction-percentage>").append(m.getEvictionPercentage()).append("</eviction-percentage>");
             xml.append("<merge-policy>").append(m.getMergePolicy()).append("</merge-policy>");
             xml.append("<read-backup-data>").append(m.isReadBackupData()).append("</read-backup-data>");
+            xml.append("<read-replica-policy>").append(m.getReadReplicaPolicy()).append("</read-replica-policy>");
             xml.append("<statistics-enabled>").append(m.isStatisticsEnabled()).append("</statistics-enabled>");
             if (m.getMapStoreConfig() != null) {
                 final MapStoreConfig s = m.getMapStoreConfig();
@@ -323,6 +327,7 @@ public class ConfigXmlGenerator {
         for (TopicConfig t : tCfgs) {
             xml.append("<topic name=\"").append(t.getName()).append("\">");
             xml.append("<global-ordering-enabled>").append(t.isGlobalOrderingEnabled()).append("</global-ordering-enabled>");
+            xml.append("<publisher-ordering-enabled>").append(t.isPublisherOrderingEnabled()).append("</publisher-ordering-enabled>");
             if (!t.getMessageListenerConfigs().isEmpty()) {
                 xml.append("<message-listeners>");
                 for (ListenerConfig lc : t.getMessageListenerConfigs()) {
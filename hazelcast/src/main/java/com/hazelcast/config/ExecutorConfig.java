@@ -20,6 +20,8 @@ public class ExecutorConfig {
 
     public final static int DEFAULT_POOL_SIZE = 8;
     public final static int DEFAULT_QUEUE_CAPACITY = Integer.MAX_VALUE;
+    public final static boolean DEFAULT_LOAD_BALANCING_ENABLED = false;
+    public final static boolean DEFAULT_PARTITION_THREAD_EXECUTION_ENABLED = false;
 
     private String name = "default";
 
@@ -29,6 +31,10 @@ public class ExecutorConfig {
 
     private boolean statisticsEnabled = true;
 
+    private boolean loadBalancingEnabled = DEFAULT_LOAD_BALANCING_ENABLED;
+
+    private boolean partitionThreadExecutionEnabled = DEFAULT_PARTITION_THREAD_EXECUTION_ENABLED;
+
     private ExecutorConfigReadOnly readOnly;
 
     public ExecutorConfig() {
@@ -48,6 +54,8 @@ public class ExecutorConfig {
         this.poolSize = config.poolSize;
         this.queueCapacity = config.queueCapacity;
         this.statisticsEnabled = config.statisticsEnabled;
+        this.loadBalancingEnabled = config.loadBalancingEnabled;
+        this.partitionThreadExecutionEnabled = config.partitionThreadExecutionEnabled;
     }
 
     public ExecutorConfigReadOnly getAsReadOnly() {
@@ -102,6 +110,38 @@ public class ExecutorConfig {
         return this;
     }
 
+    public boolean isLoadBalancingEnabled() {
+        return loadBalancingEnabled;
+    }
+
+    /**
+     * When enabled, tasks without a partition key are sent to the member with the fewest
+     * outstanding tasks instead of a random partition owner, using the queue sizes members report
+     * back with each task batch, and <tt>invokeAll</tt> sends one batch of tasks per member.
+     *
+     * @param loadBalancingEnabled true to route tasks to the least loaded member
+     */
+    public ExecutorConfig setLoadBalancingEnabled(boolean loadBalancingEnabled) {
+        this.loadBalancingEnabled = loadBalancingEnabled;
+        return this;
+    }
+
+    public boolean isPartitionThreadExecutionEnabled() {
+        return partitionThreadExecutionEnabled;
+    }
+
+    /**
+     * When enabled, tasks submitted to a key owner or implementing {@link com.hazelcast.core.PartitionAware}
+     * run directly on the thread of the owning partition, so they read the partition's local data without
+     * another hop. Such tasks block all other operations of the partition while running, so they should be short.
+     *
+     * @param partitionThreadExecutionEnabled true to run key owned tasks on the partition thread
+     */
+    public ExecutorConfig setPartitionThreadExecutionEnabled(boolean partitionThreadExecutionEnabled) {
+        this.partitionThreadExecutionEnabled = partitionThreadExecutionEnabled;
+        return this;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -109,6 +149,8 @@ public class ExecutorConfig {
         sb.append("{name='").append(name).append('\'');
         sb.append(", poolSize=").append(poolSize);
         sb.append(", queueCapacity=").append(queueCapacity);
+        sb.append(", loadBalancingEnabled=").append(loadBalancingEnabled);
+        sb.append(", partitionThreadExecutionEnabled=").append(partitionThreadExecutionEnabled);
         sb.append('}');
         return sb.toString();
     }
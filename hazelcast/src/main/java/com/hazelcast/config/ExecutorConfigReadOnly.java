@@ -40,4 +40,12 @@ public class ExecutorConfigReadOnly extends ExecutorConfig {
     public ExecutorConfig setStatisticsEnabled(boolean statisticsEnabled) {
         throw new UnsupportedOperationException("This config is read-only executor: " + getName());
     }
+
+    public ExecutorConfig setLoadBalancingEnabled(boolean loadBalancingEnabled) {
+        throw new UnsupportedOperationException("This config is read-only executor: " + getName());
+    }
+
+    public ExecutorConfig setPartitionThreadExecutionEnabled(boolean partitionThreadExecutionEnabled) {
+        throw new UnsupportedOperationException("This config is read-only executor: " + getName());
+    }
 }
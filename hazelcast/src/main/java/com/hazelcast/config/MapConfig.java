@@ -39,6 +39,7 @@ public class MapConfig {
     public final static EvictionPolicy DEFAULT_EVICTION_POLICY = EvictionPolicy.NONE;
     public final static String DEFAULT_MAP_MERGE_POLICY = PutIfAbsentMapMergePolicy.class.getName();
     public final static InMemoryFormat DEFAULT_IN_MEMORY_FORMAT = InMemoryFormat.BINARY;
+    public final static ReadReplicaPolicy DEFAULT_READ_REPLICA_POLICY = ReadReplicaPolicy.OWNER;
 
     private String name = null;
 
@@ -62,6 +63,8 @@ public class MapConfig {
 
     private boolean readBackupData = false;
 
+    private ReadReplicaPolicy readReplicaPolicy = DEFAULT_READ_REPLICA_POLICY;
+
     private boolean optimizeQueries = false;
 
     private String mergePolicy = DEFAULT_MAP_MERGE_POLICY;
@@ -84,6 +87,28 @@ public class MapConfig {
         LRU, LFU, NONE
     }
 
+    /**
+     * Replicas of a partition that gets of remote callers are sent to.
+     */
+    public enum ReadReplicaPolicy {
+        /**
+         * Gets are sent to the partition owner.
+         */
+        OWNER,
+        /**
+         * Gets are spread over the partition owner and the sync backups. A get sees the completed
+         * updates of the caller, a miss on a backup is read again from the owner.
+         * Used only if all sync backups are acknowledged before an update completes, see
+         * {@link com.hazelcast.instance.GroupProperties#PROP_OPERATION_BACKUP_ACK_COUNT}.
+         */
+        READ_YOUR_WRITES,
+        /**
+         * Gets are spread over the partition owner and all backups, including async backups.
+         * A get may miss updates which are not replicated to the backup yet.
+         */
+        EVENTUAL
+    }
+
     public MapConfig(String name) {
         this.name = name;
     }
@@ -104,6 +129,7 @@ public class MapConfig {
         this.mapStoreConfig = config.mapStoreConfig != null ? new MapStoreConfig(config.mapStoreConfig) : null;
         this.nearCacheConfig = config.nearCacheConfig != null ? new NearCacheConfig(config.nearCacheConfig) : null;
         this.readBackupData = config.readBackupData;
+        this.readReplicaPolicy = config.readReplicaPolicy;
         this.optimizeQueries = config.optimizeQueries;
         this.statisticsEnabled = config.statisticsEnabled;
         this.mergePolicy = config.mergePolicy;
@@ -367,6 +393,27 @@ public class MapConfig {
         return this;
     }
 
+    /**
+     * @return replicas of a partition that gets are sent to
+     */
+    public ReadReplicaPolicy getReadReplicaPolicy() {
+        return readReplicaPolicy;
+    }
+
+    /**
+     * Sets the replicas of a partition that gets are sent to. Unlike {@link #setReadBackupData(boolean)}, which lets
+     * a member read its local backups, this spreads the gets of all callers over the owner and the backups.
+     * Maps with a map store, a max idle time or LRU/LFU eviction always read from the owner, since their
+     * records track the accesses made on the owner.
+     *
+     * @param readReplicaPolicy replicas that gets are sent to
+     * @throws IllegalArgumentException if readReplicaPolicy is null.
+     */
+    public MapConfig setReadReplicaPolicy(ReadReplicaPolicy readReplicaPolicy) {
+        this.readReplicaPolicy = isNotNull(readReplicaPolicy, "readReplicaPolicy");
+        return this;
+    }
+
     public WanReplicationRef getWanReplicationRef() {
         return wanReplicationRef;
     }
@@ -446,7 +493,8 @@ public class MapConfig {
                         (Math.min(maxSizeConfig.getSize(), other.maxSizeConfig.getSize()) == 0
                                 && Math.max(maxSizeConfig.getSize(), other.maxSizeConfig.getSize()) == Integer.MAX_VALUE)) &&
                 this.timeToLiveSeconds == other.timeToLiveSeconds &&
-                this.readBackupData == other.readBackupData;
+                this.readBackupData == other.readBackupData &&
+                this.readReplicaPolicy == other.readReplicaPolicy;
     }
 
     @Override
@@ -477,6 +525,7 @@ public class MapConfig {
                 .hashCode());
         result = prime * result + this.timeToLiveSeconds;
         result = prime * result + (this.readBackupData ? 1231 : 1237);
+        result = prime * result + this.readReplicaPolicy.hashCode();
         return result;
     }
 
@@ -498,6 +547,7 @@ public class MapConfig {
                         this.maxSizeConfig.getSize() == other.maxSizeConfig.getSize() &&
                         this.timeToLiveSeconds == other.timeToLiveSeconds &&
                         this.readBackupData == other.readBackupData &&
+                        this.readReplicaPolicy == other.readReplicaPolicy &&
                         (this.mergePolicy != null ? this.mergePolicy.equals(other.mergePolicy) : other.mergePolicy == null) &&
                         (this.inMemoryFormat != null ? this.inMemoryFormat.equals(other.inMemoryFormat) : other.inMemoryFormat == null) &&
                         (this.evictionPolicy != null ? this.evictionPolicy.equals(other.evictionPolicy)
@@ -522,6 +572,7 @@ public class MapConfig {
         sb.append(", evictionPercentage=").append(evictionPercentage);
         sb.append(", maxSizeConfig=").append(maxSizeConfig);
         sb.append(", readBackupData=").append(readBackupData);
+        sb.append(", readReplicaPolicy=").append(readReplicaPolicy);
         sb.append(", nearCacheConfig=").append(nearCacheConfig);
         sb.append(", mapStoreConfig=").append(mapStoreConfig);
         sb.append(", mergePolicyConfig='").append(mergePolicy).append('\'');
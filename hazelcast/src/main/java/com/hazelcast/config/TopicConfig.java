@@ -29,8 +29,11 @@ public class TopicConfig {
 
     public final static boolean DEFAULT_GLOBAL_ORDERING_ENABLED = false;
 
+    public final static boolean DEFAULT_PUBLISHER_ORDERING_ENABLED = false;
+
     private String name;
     private boolean globalOrderingEnabled = DEFAULT_GLOBAL_ORDERING_ENABLED;
+    private boolean publisherOrderingEnabled = DEFAULT_PUBLISHER_ORDERING_ENABLED;
     private boolean statisticsEnabled = true;
     private List<ListenerConfig> listenerConfigs;
     private TopicConfigReadOnly readOnly;
@@ -50,6 +53,7 @@ public class TopicConfig {
         isNotNull(config,"config");
         this.name = config.name;
         this.globalOrderingEnabled = config.globalOrderingEnabled;
+        this.publisherOrderingEnabled = config.publisherOrderingEnabled;
         this.listenerConfigs = new ArrayList<ListenerConfig>(config.getMessageListenerConfigs());
     }
 
@@ -96,6 +100,28 @@ public class TopicConfig {
         return this;
     }
 
+    /**
+     * Checks if per-publisher ordering is enabled.
+     * <p/>
+     * When enabled, messages are sequenced by the publishing member and re-ordered by the receivers,
+     * so messages of a single publisher are delivered in publish order while messages of different publishers
+     * are dispatched concurrently. Ignored if global ordering is enabled.
+     *
+     * @return true if per-publisher ordering is enabled, false otherwise.
+     */
+    public boolean isPublisherOrderingEnabled() {
+        return publisherOrderingEnabled;
+    }
+
+    /**
+     * @param publisherOrderingEnabled the publisherOrderingEnabled to set
+     * @return the updated TopicConfig
+     */
+    public TopicConfig setPublisherOrderingEnabled(boolean publisherOrderingEnabled) {
+        this.publisherOrderingEnabled = publisherOrderingEnabled;
+        return this;
+    }
+
     public TopicConfig addMessageListenerConfig(ListenerConfig listenerConfig) {
         getMessageListenerConfigs().add(listenerConfig);
         return this;
@@ -134,6 +160,7 @@ public class TopicConfig {
 
     public int hashCode() {
         return (globalOrderingEnabled ? 1231 : 1237) +
+                7 * (publisherOrderingEnabled ? 1231 : 1237) +
                 31 * (name != null ? name.hashCode() : 0);
     }
 
@@ -145,10 +172,12 @@ public class TopicConfig {
         TopicConfig other = (TopicConfig) obj;
         return
                 (this.name != null ? this.name.equals(other.name) : other.name == null) &&
-                        this.globalOrderingEnabled == other.globalOrderingEnabled;
+                        this.globalOrderingEnabled == other.globalOrderingEnabled &&
+                        this.publisherOrderingEnabled == other.publisherOrderingEnabled;
     }
 
     public String toString() {
-        return "TopicConfig [name=" + name + ", globalOrderingEnabled=" + globalOrderingEnabled + "]";
+        return "TopicConfig [name=" + name + ", globalOrderingEnabled=" + globalOrderingEnabled
+                + ", publisherOrderingEnabled=" + publisherOrderingEnabled + "]";
     }
 }
@@ -884,6 +884,8 @@ public class XmlConfigBuilder extends AbstractXmlConfigHelper implements ConfigB
                 mapConfig.setMergePolicy(value);
             } else if ("read-backup-data".equals(nodeName)) {
                 mapConfig.setReadBackupData(checkTrue(value));
+            } else if ("read-replica-policy".equals(nodeName)) {
+                mapConfig.setReadReplicaPolicy(MapConfig.ReadReplicaPolicy.valueOf(upperCaseInternal(value)));
             } else if ("statistics-enabled".equals(nodeName)) {
                 mapConfig.setStatisticsEnabled(checkTrue(value));
             } else if ("wan-replication-ref".equals(nodeName)) {
@@ -1005,6 +1007,8 @@ public class XmlConfigBuilder extends AbstractXmlConfigHelper implements ConfigB
             final String nodeName = cleanNodeName(n.getNodeName());
             if (nodeName.equals("global-ordering-enabled")) {
                 tConfig.setGlobalOrderingEnabled(checkTrue(getTextContent(n)));
+            } else if (nodeName.equals("publisher-ordering-enabled")) {
+                tConfig.setPublisherOrderingEnabled(checkTrue(getTextContent(n)));
             } else if ("message-listeners".equals(nodeName)) {
                 for (org.w3c.dom.Node listenerNode : new IterableNodeList(n.getChildNodes())) {
                     if ("message-listener".equals(cleanNodeName(listenerNode))) {
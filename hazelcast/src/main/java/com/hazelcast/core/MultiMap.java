@@ -19,6 +19,7 @@ package com.hazelcast.core;
 import com.hazelcast.monitor.LocalMultiMapStats;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -245,6 +246,58 @@ public interface MultiMap<K, V> extends BaseMultiMap<K, V>, DistributedObject {
      */
     int valueCount(K key);
 
+    /**
+     * Stores all the given key-value pairs in the multimap, sending a single operation per partition
+     * instead of one per value.
+     * <p/>
+     * Like {@link #put(Object, Object)}, a value is not added again if the value collection type is SET
+     * and the value already exists. Key locks are not waited on.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * <p>
+     * This method uses <tt>hashCode</tt> and <tt>equals</tt> of binary form of
+     * the <tt>key</tt>, not the actual implementations of <tt>hashCode</tt> and <tt>equals</tt>
+     * defined in <tt>key</tt>'s class.
+     * </p>
+     *
+     * @param entries keys and the values to be added for them
+     * @throws NullPointerException if a key, a value collection or a value is null
+     */
+    void putAll(Map<? extends K, ? extends Collection<? extends V>> entries);
+
+    /**
+     * Returns the values of all the given keys, reading each partition once.
+     * Keys that have no values are not included in the returned map.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * <p>
+     * The returned map and collections are <b>NOT</b> backed by the multimap,
+     * so changes to the multimap are <b>NOT</b> reflected in them, and vice-versa.
+     * </p>
+     *
+     * @param keys keys to get
+     * @return map of key to its value collection
+     * @throws NullPointerException if a key is null
+     */
+    Map<K, Collection<V>> getAll(Set<K> keys);
+
+    /**
+     * Returns an iterator over the values of the given key which fetches the values
+     * <tt>pageSize</tt> at a time, so keys with huge value collections can be traversed
+     * without transferring all the values in a single response.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * <p>
+     * The iterator is not backed by the multimap and does not support <tt>remove</tt>.
+     * Values added or removed while iterating may or may not be returned.
+     * </p>
+     *
+     * @param key      the key whose values are to be iterated
+     * @param pageSize maximum number of values fetched at once
+     * @return iterator over the values of the key
+     */
+    Iterator<V> valueIterator(K key, int pageSize);
+
     /**
      * Adds a local entry listener for this multimap. Added listener will be only
      * listening for the events (add/remove/update) of the locally owned entries.
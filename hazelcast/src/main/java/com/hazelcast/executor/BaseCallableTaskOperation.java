@@ -21,6 +21,7 @@ import com.hazelcast.instance.HazelcastInstanceImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.SerializationServiceImpl;
+import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 
 import java.io.IOException;
@@ -46,16 +47,20 @@ abstract class BaseCallableTaskOperation extends Operation {
 
     @Override
     public final void beforeRun() throws Exception {
-        HazelcastInstanceImpl hazelcastInstance = (HazelcastInstanceImpl) getNodeEngine().getHazelcastInstance();
+        callable = initialize(getNodeEngine(), callable);
+    }
+
+    static Callable initialize(NodeEngine nodeEngine, Callable callable) {
+        HazelcastInstanceImpl hazelcastInstance = (HazelcastInstanceImpl) nodeEngine.getHazelcastInstance();
         SerializationServiceImpl serializationService = (SerializationServiceImpl) hazelcastInstance.getSerializationService();
         ManagedContext managedContext = serializationService.getManagedContext();
 
         if (callable instanceof RunnableAdapter) {
             RunnableAdapter adapter = (RunnableAdapter) callable;
             adapter.setRunnable((Runnable) managedContext.initialize(adapter.getRunnable()));
-        } else {
-            callable = (Callable) managedContext.initialize(callable);
+            return adapter;
         }
+        return (Callable) managedContext.initialize(callable);
     }
 
     @Override
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.executor;
+
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Submits many tasks to the executor of a member with a single operation.
+ * The response is a {@link TaskBatchResponse} sent when all the tasks are done.
+ */
+public final class CallableTaskBatchOperation extends Operation implements IdentifiedDataSerializable {
+
+    private String name;
+    private List<Callable> callables;
+
+    public CallableTaskBatchOperation() {
+    }
+
+    public CallableTaskBatchOperation(String name, List<Callable> callables) {
+        this.name = name;
+        this.callables = callables;
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+        for (int i = 0; i < callables.size(); i++) {
+            callables.set(i, BaseCallableTaskOperation.initialize(getNodeEngine(), callables.get(i)));
+        }
+    }
+
+    @Override
+    public void run() throws Exception {
+        DistributedExecutorService service = getService();
+        service.executeBatch(name, callables, getResponseHandler());
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public Object getResponse() {
+        return null;
+    }
+
+    @Override
+    public ExceptionAction onException(Throwable throwable) {
+        if (throwable instanceof MemberLeftException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onException(throwable);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(callables.size());
+        for (Callable callable : callables) {
+            out.writeObject(callable);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        int size = in.readInt();
+        callables = new ArrayList<Callable>(size);
+        for (int i = 0; i < size; i++) {
+            callables.add((Callable) in.readObject());
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.CALLABLE_TASK_BATCH;
+    }
+}
@@ -18,21 +18,25 @@ package com.hazelcast.executor;
 
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.impl.LocalExecutorStatsImpl;
+import com.hazelcast.nio.Address;
 import com.hazelcast.spi.*;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
+import com.hazelcast.util.executor.ManagedExecutorService;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author mdogan 1/18/13
  */
-public class DistributedExecutorService implements ManagedService, RemoteService {
+public class DistributedExecutorService implements ManagedService, RemoteService, MembershipAwareService {
 
     public static final String SERVICE_NAME = "hz:impl:executorService";
 
@@ -46,6 +50,12 @@ public class DistributedExecutorService implements ManagedService, RemoteService
             return new LocalExecutorStatsImpl();
         }
     };
+    private final ConcurrentMap<String, LeastLoadedMemberSelector> memberSelectors = new ConcurrentHashMap<String, LeastLoadedMemberSelector>();
+    private final ConstructorFunction<String, LeastLoadedMemberSelector> memberSelectorConstructorFunction = new ConstructorFunction<String, LeastLoadedMemberSelector>() {
+        public LeastLoadedMemberSelector createNew(String key) {
+            return new LeastLoadedMemberSelector();
+        }
+    };
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
@@ -58,6 +68,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         shutdownExecutors.clear();
         submittedTasks.clear();
         statsMap.clear();
+        memberSelectors.clear();
     }
 
     @Override
@@ -65,6 +76,23 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         reset();
     }
 
+    @Override
+    public void memberAdded(MembershipServiceEvent event) {
+        resetMemberLoad(event);
+    }
+
+    @Override
+    public void memberRemoved(MembershipServiceEvent event) {
+        resetMemberLoad(event);
+    }
+
+    private void resetMemberLoad(MembershipServiceEvent event) {
+        final Address address = event.getMember().getAddress();
+        for (LeastLoadedMemberSelector selector : memberSelectors.values()) {
+            selector.memberChanged(address);
+        }
+    }
+
     public void execute(String name, String uuid, final Callable callable, final ResponseHandler responseHandler) {
         startPending(name);
         final CallableProcessor processor = new CallableProcessor(name, uuid, callable, responseHandler);
@@ -82,6 +110,36 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         }
     }
 
+    /**
+     * Executes all the callables on the named executor and sends a single {@link TaskBatchResponse}
+     * when the last one is done.
+     */
+    public void executeBatch(String name, List<Callable> callables, ResponseHandler responseHandler) {
+        final TaskBatch batch = new TaskBatch(name, callables.size(), responseHandler);
+        for (int i = 0; i < callables.size(); i++) {
+            execute(name, null, callables.get(i), batch.responseHandlerFor(i));
+        }
+    }
+
+    /**
+     * Runs the callable in the calling partition thread.
+     */
+    public Object executeOnPartitionThread(String name, Callable callable) throws Exception {
+        startPending(name);
+        startExecution(name, 0);
+        final long start = Clock.currentTimeMillis();
+        try {
+            return callable.call();
+        } finally {
+            finishExecution(name, Clock.currentTimeMillis() - start);
+        }
+    }
+
+    private int getQueueSize(String name) {
+        final ManagedExecutorService executor = executionService.getExecutor(name);
+        return executor != null ? executor.queueSize() : 0;
+    }
+
     public boolean cancel(String uuid, boolean interrupt) {
         final CallableProcessor processor = submittedTasks.remove(uuid);
         if (processor != null && processor.cancel(interrupt)) {
@@ -109,9 +167,14 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     @Override
     public void destroyDistributedObject(String name) {
         shutdownExecutors.remove(name);
+        memberSelectors.remove(name);
         executionService.shutdownExecutor(name);
     }
 
+    LeastLoadedMemberSelector getMemberSelector(String name) {
+        return ConcurrencyUtil.getOrPutIfAbsent(memberSelectors, name, memberSelectorConstructorFunction);
+    }
+
     LocalExecutorStatsImpl getLocalExecutorStats(String name) {
         return ConcurrencyUtil.getOrPutIfAbsent(statsMap, name, localExecutorStatsConstructorFunction);
     }
@@ -178,6 +241,39 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         }
     }
 
+    private class TaskBatch {
+        final String name;
+        final Object[] results;
+        final AtomicInteger remaining;
+        final ResponseHandler responseHandler;
+
+        TaskBatch(String name, int size, ResponseHandler responseHandler) {
+            this.name = name;
+            this.results = new Object[size];
+            this.remaining = new AtomicInteger(size);
+            this.responseHandler = responseHandler;
+            if (size == 0) {
+                responseHandler.sendResponse(new TaskBatchResponse(results, getQueueSize(name)));
+            }
+        }
+
+        ResponseHandler responseHandlerFor(final int index) {
+            return new ResponseHandler() {
+                public void sendResponse(Object obj) {
+                    results[index] = obj;
+                    // the decrement publishes the result to the thread completing the batch
+                    if (remaining.decrementAndGet() == 0) {
+                        responseHandler.sendResponse(new TaskBatchResponse(results, getQueueSize(name)));
+                    }
+                }
+
+                public boolean isLocal() {
+                    return responseHandler.isLocal();
+                }
+            };
+        }
+    }
+
     private ILogger getLogger() {
         return nodeEngine.getLogger(DistributedExecutorService.class.getName());
     }
@@ -34,6 +34,9 @@ public class ExecutorDataSerializerHook implements DataSerializerHook {
     static final int CALLABLE_TASK = 0;
     static final int MEMBER_CALLABLE_TASK = 1;
     static final int RUNNABLE_ADAPTER = 2;
+    static final int PARTITION_CALLABLE_TASK = 3;
+    static final int CALLABLE_TASK_BATCH = 4;
+    static final int TASK_BATCH_RESPONSE = 5;
 
     public static final int TARGET_CALLABLE_REQUEST = 6;
     public static final int LOCAL_TARGET_CALLABLE_REQUEST = 7;
@@ -55,6 +58,12 @@ public class ExecutorDataSerializerHook implements DataSerializerHook {
                         return new MemberCallableTaskOperation();
                     case RUNNABLE_ADAPTER:
                         return new RunnableAdapter();
+                    case PARTITION_CALLABLE_TASK:
+                        return new PartitionCallableTaskOperation();
+                    case CALLABLE_TASK_BATCH:
+                        return new CallableTaskBatchOperation();
+                    case TASK_BATCH_RESPONSE:
+                        return new TaskBatchResponse();
                     case TARGET_CALLABLE_REQUEST:
                         return new TargetCallableRequest();
                     case LOCAL_TARGET_CALLABLE_REQUEST:
@@ -18,6 +18,7 @@ package com.hazelcast.executor;
 
 import com.hazelcast.core.*;
 import com.hazelcast.core.CompletableFuture;
+import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.monitor.LocalExecutorStats;
 import com.hazelcast.nio.Address;
@@ -42,16 +43,25 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedExecutorService> implements IExecutorService {
 
+    static final int MAX_BATCH_SIZE = 100;
+
     private final String name;
     private final Random random = new Random();
     private final int partitionCount;
     private final AtomicInteger consecutiveSubmits = new AtomicInteger();
     private volatile long lastSubmitTime = 0L;
+    private final boolean loadBalancingEnabled;
+    private final boolean partitionThreadExecutionEnabled;
+    private final LeastLoadedMemberSelector memberSelector;
 
     public ExecutorServiceProxy(String name, NodeEngine nodeEngine, DistributedExecutorService service) {
         super(nodeEngine, service);
         this.name = name;
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        final ExecutorConfig config = nodeEngine.getConfig().findExecutorConfig(name);
+        this.loadBalancingEnabled = config.isLoadBalancingEnabled();
+        this.partitionThreadExecutionEnabled = config.isPartitionThreadExecutionEnabled();
+        this.memberSelector = service.getMemberSelector(name);
     }
 
     @Override
@@ -110,7 +120,8 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
         // Make sure this variable is declared as com.hazelcast.core.CompletableFuture
         // because Java8 has a CompletableFuture, too.
         final com.hazelcast.core.CompletableFuture future = nodeEngine.getOperationService().invokeOnPartition(
-                DistributedExecutorService.SERVICE_NAME, new CallableTaskOperation(name, uuid, callable), partitionId);
+                DistributedExecutorService.SERVICE_NAME, createTaskOperation(uuid, callable, task instanceof PartitionAware),
+                partitionId);
         final boolean sync = checkSync();
         if (sync) {
             try {
@@ -124,11 +135,25 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
 
     @Override
     public <T> Future<T> submit(Callable<T> task) {
+        if (isLoadBalanced(task)) {
+            return submitToLeastLoadedMember(task);
+        }
         final int partitionId = getTaskPartitionId(task);
-        return submitToPartitionOwner(task, partitionId, false);
+        return submitToPartitionOwner(task, partitionId, false, task instanceof PartitionAware);
+    }
+
+    private boolean isLoadBalanced(Callable task) {
+        return loadBalancingEnabled && !(task instanceof PartitionAware);
     }
 
-    private <T> Future<T> submitToPartitionOwner(Callable<T> task, int partitionId, boolean preventSync) {
+    private Operation createTaskOperation(String uuid, Callable task, boolean keyOwned) {
+        if (keyOwned && partitionThreadExecutionEnabled) {
+            return new PartitionCallableTaskOperation(name, task);
+        }
+        return new CallableTaskOperation(name, uuid, task);
+    }
+
+    private <T> Future<T> submitToPartitionOwner(Callable<T> task, int partitionId, boolean preventSync, boolean keyOwned) {
         if (task == null) throw new NullPointerException();
         if (isShutdown()) {
             throw new RejectedExecutionException(getRejectionMessage());
@@ -138,7 +163,7 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
 
         final boolean sync = !preventSync && checkSync();
         final CompletableFuture future = nodeEngine.getOperationService().invokeOnPartition(
-                DistributedExecutorService.SERVICE_NAME, new CallableTaskOperation(name, uuid, task), partitionId);
+                DistributedExecutorService.SERVICE_NAME, createTaskOperation(uuid, task, keyOwned), partitionId);
         if (sync) {
             Object response;
             try {
@@ -178,22 +203,44 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
     @Override
     public <T> Future<T> submitToKeyOwner(Callable<T> task, Object key) {
         final NodeEngine nodeEngine = getNodeEngine();
-        return submitToPartitionOwner(task, nodeEngine.getPartitionService().getPartitionId(key), false);
+        return submitToPartitionOwner(task, nodeEngine.getPartitionService().getPartitionId(key), false, true);
     }
 
     @Override
     public <T> Future<T> submitToMember(Callable<T> task, Member member) {
+        return submitToTarget(task, ((MemberImpl) member).getAddress(), false);
+    }
+
+    private <T> Future<T> submitToLeastLoadedMember(Callable<T> task) {
+        final Address target = memberSelector.select(getNodeEngine().getClusterService().getMemberList());
+        return submitToTarget(task, target, true);
+    }
+
+    private <T> Future<T> submitToTarget(Callable<T> task, final Address target, boolean trackLoad) {
         if (task == null) throw new NullPointerException();
         if (isShutdown()) {
             throw new RejectedExecutionException(getRejectionMessage());
         }
         final NodeEngine nodeEngine = getNodeEngine();
         final String uuid = UuidUtil.buildRandomUuidString();
-        final Address target = ((MemberImpl) member).getAddress();
 
         final boolean sync = checkSync();
+        if (trackLoad) {
+            memberSelector.tasksSent(target, 1);
+        }
         final InternalCompletableFuture future = nodeEngine.getOperationService().invokeOnTarget(
                 DistributedExecutorService.SERVICE_NAME, new MemberCallableTaskOperation(name, uuid, task), target);
+        if (trackLoad) {
+            future.andThen(new ExecutionCallback() {
+                public void onResponse(Object response) {
+                    memberSelector.tasksCompleted(target, 1);
+                }
+
+                public void onFailure(Throwable t) {
+                    memberSelector.tasksCompleted(target, 1);
+                }
+            });
+        }
         if (sync) {
             Object response;
             try {
@@ -251,26 +298,49 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
         submitToAllMembers(callable, callback);
     }
 
-    private <T> void submitToPartitionOwner(Callable<T> task, ExecutionCallback<T> callback, int partitionId) {
+    private <T> void submitToPartitionOwner(Callable<T> task, ExecutionCallback<T> callback, int partitionId,
+                                            boolean keyOwned) {
         if (isShutdown()) {
             throw new RejectedExecutionException(getRejectionMessage());
         }
         final NodeEngine nodeEngine = getNodeEngine();
-        CallableTaskOperation op = new CallableTaskOperation(name, null, task);
+        Operation op = createTaskOperation(null, task, keyOwned);
         nodeEngine.getOperationService().createInvocationBuilder(DistributedExecutorService.SERVICE_NAME,
                 op, partitionId).setCallback(new ExecutionCallbackAdapter(callback)).invoke();
     }
 
     @Override
     public <T> void submit(Callable<T> task, ExecutionCallback<T> callback) {
+        if (isLoadBalanced(task)) {
+            submitToLeastLoadedMember(task, callback);
+            return;
+        }
         final int partitionId = getTaskPartitionId(task);
-        submitToPartitionOwner(task, callback, partitionId);
+        submitToPartitionOwner(task, callback, partitionId, task instanceof PartitionAware);
     }
 
     @Override
     public <T> void submitToKeyOwner(Callable<T> task, Object key, ExecutionCallback<T> callback) {
         final NodeEngine nodeEngine = getNodeEngine();
-        submitToPartitionOwner(task, callback, nodeEngine.getPartitionService().getPartitionId(key));
+        submitToPartitionOwner(task, callback, nodeEngine.getPartitionService().getPartitionId(key), true);
+    }
+
+    private <T> void submitToLeastLoadedMember(Callable<T> task, ExecutionCallback<T> callback) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException(getRejectionMessage());
+        }
+        final NodeEngine nodeEngine = getNodeEngine();
+        final Address target = memberSelector.select(nodeEngine.getClusterService().getMemberList());
+        final ExecutionCallbackAdapter adapter = new ExecutionCallbackAdapter(callback);
+        memberSelector.tasksSent(target, 1);
+        MemberCallableTaskOperation op = new MemberCallableTaskOperation(name, null, task);
+        nodeEngine.getOperationService().createInvocationBuilder(DistributedExecutorService.SERVICE_NAME, op, target)
+                .setCallback(new Callback<Object>() {
+                    public void notify(Object response) {
+                        memberSelector.tasksCompleted(target, 1);
+                        adapter.notify(response);
+                    }
+                }).invoke();
     }
 
     public <T> void submitToMember(Callable<T> task, Member member, ExecutionCallback<T> callback) {
@@ -308,6 +378,9 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
 
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        if (loadBalancingEnabled) {
+            return invokeAllInBatches(tasks);
+        }
         final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
         final List<Future<T>> result = new ArrayList<Future<T>>(tasks.size());
         for (Callable<T> task : tasks) {
@@ -341,7 +414,7 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
             for (Callable<T> task : tasks) {
                 long start = System.nanoTime();
                 int partitionId = getTaskPartitionId(task);
-                futures.add(submitToPartitionOwner(task, partitionId, true));
+                futures.add(submitToPartitionOwner(task, partitionId, true, task instanceof PartitionAware));
                 timeoutNanos -= System.nanoTime() - start;
                 if (timeoutNanos <= 0L) {
                     for (int i = 0, size = futures.size(); i < size; i++) {
@@ -391,6 +464,99 @@ public class ExecutorServiceProxy extends AbstractDistributedObject<DistributedE
         }
     }
 
+    /**
+     * Tasks with a partition key go to their partition owners one by one, the rest are assigned
+     * to the least loaded members and sent with a single operation per member and batch.
+     */
+    private <T> List<Future<T>> invokeAllInBatches(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        if (isShutdown()) {
+            throw new RejectedExecutionException(getRejectionMessage());
+        }
+        final NodeEngine nodeEngine = getNodeEngine();
+        final Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
+        final Object[] values = new Object[tasks.size()];
+        final Map<Integer, Future<T>> partitionFutures = new HashMap<Integer, Future<T>>();
+        final Map<Address, List<Integer>> indexesPerMember = new HashMap<Address, List<Integer>>();
+        final Map<Address, List<Callable>> tasksPerMember = new HashMap<Address, List<Callable>>();
+        int index = 0;
+        for (Callable<T> task : tasks) {
+            if (task == null) throw new NullPointerException();
+            if (task instanceof PartitionAware) {
+                partitionFutures.put(index++, submitToPartitionOwner(task, getTaskPartitionId(task), true, true));
+                continue;
+            }
+            final Address target = memberSelector.select(members);
+            memberSelector.tasksSent(target, 1);
+            List<Integer> indexes = indexesPerMember.get(target);
+            if (indexes == null) {
+                indexes = new ArrayList<Integer>();
+                indexesPerMember.put(target, indexes);
+                tasksPerMember.put(target, new ArrayList<Callable>());
+            }
+            indexes.add(index++);
+            tasksPerMember.get(target).add(task);
+        }
+
+        final List<TaskBatch> batches = new ArrayList<TaskBatch>();
+        for (Map.Entry<Address, List<Callable>> entry : tasksPerMember.entrySet()) {
+            final Address target = entry.getKey();
+            final List<Callable> memberTasks = entry.getValue();
+            final List<Integer> indexes = indexesPerMember.get(target);
+            for (int from = 0; from < memberTasks.size(); from += MAX_BATCH_SIZE) {
+                final int to = Math.min(from + MAX_BATCH_SIZE, memberTasks.size());
+                final CallableTaskBatchOperation op = new CallableTaskBatchOperation(name,
+                        new ArrayList<Callable>(memberTasks.subList(from, to)));
+                final Future future = nodeEngine.getOperationService()
+                        .invokeOnTarget(DistributedExecutorService.SERVICE_NAME, op, target);
+                batches.add(new TaskBatch(target, indexes.subList(from, to), future));
+            }
+        }
+
+        for (TaskBatch batch : batches) {
+            try {
+                final TaskBatchResponse response = nodeEngine.toObject(batch.future.get());
+                memberSelector.queueSizeReported(batch.target, response.getQueueSize());
+                final Object[] results = response.getResults();
+                for (int i = 0; i < results.length; i++) {
+                    values[batch.indexes.get(i)] = results[i];
+                }
+            } catch (ExecutionException e) {
+                for (Integer i : batch.indexes) {
+                    values[i] = e;
+                }
+            } finally {
+                memberSelector.tasksCompleted(batch.target, batch.indexes.size());
+            }
+        }
+        for (Map.Entry<Integer, Future<T>> entry : partitionFutures.entrySet()) {
+            Object value;
+            try {
+                value = entry.getValue().get();
+            } catch (ExecutionException e) {
+                value = e;
+            }
+            values[entry.getKey()] = value;
+        }
+
+        final List<Future<T>> result = new ArrayList<Future<T>>(values.length);
+        for (Object value : values) {
+            result.add(new CompletedFuture<T>(nodeEngine.getSerializationService(), value, getAsyncExecutor()));
+        }
+        return result;
+    }
+
+    private static final class TaskBatch {
+        final Address target;
+        final List<Integer> indexes;
+        final Future future;
+
+        TaskBatch(Address target, List<Integer> indexes, Future future) {
+            this.target = target;
+            this.indexes = indexes;
+            this.future = future;
+        }
+    }
+
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
         throw new UnsupportedOperationException();
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.executor;
+
+import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.ConcurrencyUtil;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the member with the lowest estimated load for load balanced executors.
+ * <p/>
+ * The load of a member is the larger of the number of tasks this proxy has sent to it which are
+ * not completed yet and the executor queue size the member last reported with a task batch.
+ * Reported queue sizes expire after {@link #QUEUE_SIZE_EXPIRY_MILLIS}. The load of a member is
+ * reset by {@link DistributedExecutorService} whenever it joins or leaves the cluster.
+ */
+final class LeastLoadedMemberSelector {
+
+    static final long QUEUE_SIZE_EXPIRY_MILLIS = 1000;
+
+    private final ConcurrentMap<Address, MemberLoad> loads = new ConcurrentHashMap<Address, MemberLoad>();
+
+    private final ConstructorFunction<Address, MemberLoad> loadConstructor = new ConstructorFunction<Address, MemberLoad>() {
+        public MemberLoad createNew(Address address) {
+            return new MemberLoad();
+        }
+    };
+
+    private final Random random = new Random();
+
+    Address select(Collection<MemberImpl> members) {
+        final long now = Clock.currentTimeMillis();
+        Address selected = null;
+        int selectedLoad = Integer.MAX_VALUE;
+        int ties = 0;
+        for (MemberImpl member : members) {
+            final Address address = member.getAddress();
+            final int load = getLoad(address).estimate(now);
+            if (load < selectedLoad) {
+                selected = address;
+                selectedLoad = load;
+                ties = 1;
+            } else if (load == selectedLoad && random.nextInt(++ties) == 0) {
+                // spread among equally loaded members
+                selected = address;
+            }
+        }
+        return selected;
+    }
+
+    void tasksSent(Address address, int count) {
+        getLoad(address).inFlight.addAndGet(count);
+    }
+
+    void tasksCompleted(Address address, int count) {
+        final MemberLoad load = loads.get(address);
+        if (load != null) {
+            load.inFlight.addAndGet(-count);
+        }
+    }
+
+    void queueSizeReported(Address address, int queueSize) {
+        final MemberLoad load = loads.get(address);
+        if (load == null) {
+            return;
+        }
+        load.reportTime = Clock.currentTimeMillis();
+        load.queueSize = queueSize;
+    }
+
+    private MemberLoad getLoad(Address address) {
+        return ConcurrencyUtil.getOrPutIfAbsent(loads, address, loadConstructor);
+    }
+
+    /**
+     * Forgets the load of a member which joined or left, so that neither a left member nor a new
+     * member reusing its address keeps the tasks sent to the old one.
+     */
+    void memberChanged(Address address) {
+        loads.remove(address);
+    }
+
+    private static final class MemberLoad {
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile int queueSize;
+        volatile long reportTime;
+
+        int estimate(long now) {
+            final int sent = inFlight.get();
+            if (now - reportTime > QUEUE_SIZE_EXPIRY_MILLIS) {
+                return sent;
+            }
+            return Math.max(sent, queueSize);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.executor;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs a key owned task directly on the thread of the owning partition instead of handing it
+ * to the executor's pool, so the task reads the partition's data without another hop.
+ *
+ * @see com.hazelcast.config.ExecutorConfig#setPartitionThreadExecutionEnabled(boolean)
+ */
+public final class PartitionCallableTaskOperation extends Operation
+        implements PartitionAwareOperation, IdentifiedDataSerializable {
+
+    private String name;
+    private Callable callable;
+    private transient Object response;
+
+    public PartitionCallableTaskOperation() {
+    }
+
+    public PartitionCallableTaskOperation(String name, Callable callable) {
+        this.name = name;
+        this.callable = callable;
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+        callable = BaseCallableTaskOperation.initialize(getNodeEngine(), callable);
+    }
+
+    @Override
+    public void run() throws Exception {
+        DistributedExecutorService service = getService();
+        response = service.executeOnPartitionThread(name, callable);
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return true;
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeObject(callable);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        callable = in.readObject();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.PARTITION_CALLABLE_TASK;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.executor;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * Results of a {@link CallableTaskBatchOperation} in task order, failed tasks have their exception as result.
+ * Carries the executor's queue size on the executing member as load feedback for the submitter.
+ */
+public final class TaskBatchResponse implements IdentifiedDataSerializable {
+
+    private Object[] results;
+    private int queueSize;
+
+    public TaskBatchResponse() {
+    }
+
+    public TaskBatchResponse(Object[] results, int queueSize) {
+        this.results = results;
+        this.queueSize = queueSize;
+    }
+
+    public Object[] getResults() {
+        return results;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(queueSize);
+        out.writeInt(results.length);
+        for (Object result : results) {
+            out.writeObject(result);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        queueSize = in.readInt();
+        results = new Object[in.readInt()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = in.readObject();
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.TASK_BATCH_RESPONSE;
+    }
+}
@@ -36,9 +36,15 @@ public class GroupProperties {
     public static final String PROP_MEMCACHE_ENABLED = "hazelcast.memcache.enabled";
     public static final String PROP_REST_ENABLED = "hazelcast.rest.enabled";
     public static final String PROP_MAP_LOAD_CHUNK_SIZE = "hazelcast.map.load.chunk.size";
+    public static final String PROP_REPLICATED_MAP_REPLICATION_BATCH_SIZE = "hazelcast.replicated.map.replication.batch.size";
+    public static final String PROP_MAP_INVALIDATION_BATCH_ENABLED = "hazelcast.map.invalidation.batch.enabled";
+    public static final String PROP_MAP_INVALIDATION_BATCH_SIZE = "hazelcast.map.invalidation.batch.size";
+    public static final String PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS = "hazelcast.map.invalidation.batch.frequency.millis";
     public static final String PROP_MERGE_FIRST_RUN_DELAY_SECONDS = "hazelcast.merge.first.run.delay.seconds";
     public static final String PROP_MERGE_NEXT_RUN_DELAY_SECONDS = "hazelcast.merge.next.run.delay.seconds";
     public static final String PROP_OPERATION_CALL_TIMEOUT_MILLIS = "hazelcast.operation.call.timeout.millis";
+    public static final String PROP_OPERATION_BACKUP_TIMEOUT_MILLIS = "hazelcast.operation.backup.timeout.millis";
+    public static final String PROP_OPERATION_BACKUP_ACK_COUNT = "hazelcast.operation.backup.ack.count";
     public static final String PROP_SOCKET_BIND_ANY = "hazelcast.socket.bind.any";
     public static final String PROP_SOCKET_SERVER_BIND_ANY = "hazelcast.socket.server.bind.any";
     public static final String PROP_SOCKET_CLIENT_BIND_ANY = "hazelcast.socket.client.bind.any";
@@ -54,7 +60,13 @@ public class GroupProperties {
     public static final String PROP_MAX_JOIN_SECONDS = "hazelcast.max.join.seconds";
     public static final String PROP_MAX_JOIN_MERGE_TARGET_SECONDS = "hazelcast.max.join.merge.target.seconds";
     public static final String PROP_HEARTBEAT_INTERVAL_SECONDS = "hazelcast.heartbeat.interval.seconds";
+    public static final String PROP_HEARTBEAT_INTERVAL_MILLIS = "hazelcast.heartbeat.interval.millis";
     public static final String PROP_MAX_NO_HEARTBEAT_SECONDS = "hazelcast.max.no.heartbeat.seconds";
+    public static final String PROP_HEARTBEAT_FAILURE_DETECTOR_TYPE = "hazelcast.heartbeat.failuredetector.type";
+    public static final String PROP_HEARTBEAT_PHI_ACCRUAL_THRESHOLD = "hazelcast.heartbeat.phiaccrual.failuredetector.threshold";
+    public static final String PROP_HEARTBEAT_PHI_ACCRUAL_SAMPLE_SIZE = "hazelcast.heartbeat.phiaccrual.failuredetector.sample.size";
+    public static final String PROP_HEARTBEAT_PHI_ACCRUAL_MIN_STD_DEV_MILLIS = "hazelcast.heartbeat.phiaccrual.failuredetector.min.std.dev.millis";
+    public static final String PROP_HEARTBEAT_PHI_ACCRUAL_ACCEPTABLE_PAUSE_MILLIS = "hazelcast.heartbeat.phiaccrual.failuredetector.acceptable.pause.millis";
     public static final String PROP_MAX_NO_MASTER_CONFIRMATION_SECONDS = "hazelcast.max.no.master.confirmation.seconds";
     public static final String PROP_MASTER_CONFIRMATION_INTERVAL_SECONDS = "hazelcast.master.confirmation.interval.seconds";
     public static final String PROP_MEMBER_LIST_PUBLISH_INTERVAL_SECONDS = "hazelcast.member.list.publish.interval.seconds";
@@ -74,6 +86,12 @@ public class GroupProperties {
     public static final String PROP_PARTITION_MIGRATION_INTERVAL = "hazelcast.partition.migration.interval";
     public static final String PROP_PARTITION_MIGRATION_TIMEOUT = "hazelcast.partition.migration.timeout";
     public static final String PROP_PARTITION_MIGRATION_ZIP_ENABLED = "hazelcast.partition.migration.zip.enabled";
+    public static final String PROP_PARTITION_MIGRATION_CHUNK_SIZE = "hazelcast.partition.migration.chunk.size";
+    public static final String PROP_PARTITION_MAX_PARALLEL_MIGRATIONS = "hazelcast.partition.max.parallel.migrations";
+    public static final String PROP_PARTITION_MAX_PARALLEL_MIGRATIONS_PER_MEMBER = "hazelcast.partition.max.parallel.migrations.per.member";
+    public static final String PROP_PARTITION_MIGRATION_MAX_BANDWIDTH = "hazelcast.partition.migration.max.bandwidth";
+    public static final String PROP_PARTITION_REPLICA_SYNC_DIGEST_RANGES = "hazelcast.partition.replica.sync.digest.ranges";
+    public static final String PROP_PARTITION_REPLICA_CHANGE_LOG_SIZE = "hazelcast.partition.replica.change.log.size";
     public static final String PROP_PARTITION_TABLE_SEND_INTERVAL = "hazelcast.partition.table.send.interval";
     public static final String PROP_PARTITIONING_STRATEGY_CLASS = "hazelcast.partitioning.strategy.class";
     public static final String PROP_GRACEFUL_SHUTDOWN_MAX_WAIT = "hazelcast.graceful.shutdown.max.wait";
@@ -118,12 +136,44 @@ public class GroupProperties {
 
     public final GroupProperty MAP_LOAD_CHUNK_SIZE;
 
+    /**
+     * Maximum number of replicated map updates sent in a single replication message. A batch is sent
+     * early when it reaches this size, otherwise after the replication delay of the map.
+     */
+    public final GroupProperty REPLICATED_MAP_REPLICATION_BATCH_SIZE;
+
+    /**
+     * Whether near cache invalidations sent to clients are collected into batches. When disabled
+     * every changed key is sent to the client in its own invalidation event.
+     */
+    public final GroupProperty MAP_INVALIDATION_BATCH_ENABLED;
+
+    /**
+     * Maximum number of keys in a single near cache invalidation event. A batch is sent early when
+     * it reaches this size, otherwise after the batch frequency.
+     */
+    public final GroupProperty MAP_INVALIDATION_BATCH_SIZE;
+
+    public final GroupProperty MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS;
+
     public final GroupProperty MERGE_FIRST_RUN_DELAY_SECONDS;
 
     public final GroupProperty MERGE_NEXT_RUN_DELAY_SECONDS;
 
     public final GroupProperty OPERATION_CALL_TIMEOUT_MILLIS;
 
+    /**
+     * Time an invocation waits for the acknowledgements of its sync backups. When it passes, the response
+     * is returned if the owner of the partition is still a member, otherwise the invocation is retried.
+     */
+    public final GroupProperty OPERATION_BACKUP_TIMEOUT_MILLIS;
+
+    /**
+     * Number of sync backup acknowledgements an invocation waits for before returning, the remaining sync
+     * backups are still sent but not waited for. Negative means all sync backups are waited for.
+     */
+    public final GroupProperty OPERATION_BACKUP_ACK_COUNT;
+
     public final GroupProperty SOCKET_SERVER_BIND_ANY;
 
     public final GroupProperty SOCKET_CLIENT_BIND_ANY;
@@ -154,6 +204,39 @@ public class GroupProperties {
 
     public final GroupProperty HEARTBEAT_INTERVAL_SECONDS;
 
+    /**
+     * Heartbeat interval in milliseconds, allows sub-second heartbeats.
+     * Overrides {@link #HEARTBEAT_INTERVAL_SECONDS} when positive.
+     */
+    public final GroupProperty HEARTBEAT_INTERVAL_MILLIS;
+
+    /**
+     * Failure detector deciding when a member is dead, either <tt>deadline</tt> (default), which suspects a member
+     * when nothing is read from it for {@link #MAX_NO_HEARTBEAT_SECONDS}, or <tt>phi-accrual</tt>, which adapts to
+     * the observed heartbeat inter-arrival times.
+     */
+    public final GroupProperty HEARTBEAT_FAILURE_DETECTOR_TYPE;
+
+    /**
+     * Phi value at and above which the phi accrual failure detector suspects a member.
+     */
+    public final GroupProperty HEARTBEAT_PHI_ACCRUAL_THRESHOLD;
+
+    /**
+     * Number of heartbeat inter-arrival times kept per member by the phi accrual failure detector.
+     */
+    public final GroupProperty HEARTBEAT_PHI_ACCRUAL_SAMPLE_SIZE;
+
+    /**
+     * Minimum standard deviation of heartbeat inter-arrival times used by the phi accrual failure detector.
+     */
+    public final GroupProperty HEARTBEAT_PHI_ACCRUAL_MIN_STD_DEV_MILLIS;
+
+    /**
+     * Pause tolerated on top of the mean heartbeat interval by the phi accrual failure detector, e.g. for GC pauses.
+     */
+    public final GroupProperty HEARTBEAT_PHI_ACCRUAL_ACCEPTABLE_PAUSE_MILLIS;
+
     public final GroupProperty MASTER_CONFIRMATION_INTERVAL_SECONDS;
 
     public final GroupProperty MAX_NO_MASTER_CONFIRMATION_SECONDS;
@@ -192,6 +275,32 @@ public class GroupProperties {
 
     public final GroupProperty PARTITION_MIGRATION_ZIP_ENABLED;
 
+    public final GroupProperty PARTITION_MIGRATION_CHUNK_SIZE;
+
+    /**
+     * Maximum number of migrations the master runs at the same time, 1 (default) runs them one by one.
+     */
+    public final GroupProperty PARTITION_MAX_PARALLEL_MIGRATIONS;
+
+    public final GroupProperty PARTITION_MAX_PARALLEL_MIGRATIONS_PER_MEMBER;
+
+    /**
+     * Maximum number of kilobytes per second a member sends as migration source, 0 for no limit.
+     */
+    public final GroupProperty PARTITION_MIGRATION_MAX_BANDWIDTH;
+
+    /**
+     * Number of key ranges compared by digest during a replica sync, only differing ranges are copied.
+     * 0 disables digests, so a replica sync always copies the whole partition.
+     */
+    public final GroupProperty PARTITION_REPLICA_SYNC_DIGEST_RANGES;
+
+    /**
+     * Number of changed keys a partition owner remembers, so a backup replica which falls behind
+     * copies only the keys changed since its replica version. 0 disables the change log.
+     */
+    public final GroupProperty PARTITION_REPLICA_CHANGE_LOG_SIZE;
+
     public final GroupProperty PARTITION_TABLE_SEND_INTERVAL;
 
     public final GroupProperty PARTITIONING_STRATEGY_CLASS;
@@ -229,9 +338,15 @@ public class GroupProperties {
         MEMCACHE_ENABLED = new GroupProperty(config, PROP_MEMCACHE_ENABLED, "true");
         REST_ENABLED = new GroupProperty(config, PROP_REST_ENABLED, "true");
         MAP_LOAD_CHUNK_SIZE = new GroupProperty(config, PROP_MAP_LOAD_CHUNK_SIZE, "1000");
+        REPLICATED_MAP_REPLICATION_BATCH_SIZE = new GroupProperty(config, PROP_REPLICATED_MAP_REPLICATION_BATCH_SIZE, "1000");
+        MAP_INVALIDATION_BATCH_ENABLED = new GroupProperty(config, PROP_MAP_INVALIDATION_BATCH_ENABLED, "false");
+        MAP_INVALIDATION_BATCH_SIZE = new GroupProperty(config, PROP_MAP_INVALIDATION_BATCH_SIZE, "100");
+        MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS = new GroupProperty(config, PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS, "100");
         MERGE_FIRST_RUN_DELAY_SECONDS = new GroupProperty(config, PROP_MERGE_FIRST_RUN_DELAY_SECONDS, "300");
         MERGE_NEXT_RUN_DELAY_SECONDS = new GroupProperty(config, PROP_MERGE_NEXT_RUN_DELAY_SECONDS, "120");
         OPERATION_CALL_TIMEOUT_MILLIS = new GroupProperty(config, PROP_OPERATION_CALL_TIMEOUT_MILLIS, "60000");
+        OPERATION_BACKUP_TIMEOUT_MILLIS = new GroupProperty(config, PROP_OPERATION_BACKUP_TIMEOUT_MILLIS, "5000");
+        OPERATION_BACKUP_ACK_COUNT = new GroupProperty(config, PROP_OPERATION_BACKUP_ACK_COUNT, "-1");
         final GroupProperty SOCKET_BIND_ANY = new GroupProperty(config, PROP_SOCKET_BIND_ANY, "true");
         SOCKET_SERVER_BIND_ANY = new GroupProperty(config, PROP_SOCKET_SERVER_BIND_ANY, SOCKET_BIND_ANY);
         SOCKET_CLIENT_BIND_ANY = new GroupProperty(config, PROP_SOCKET_CLIENT_BIND_ANY, SOCKET_BIND_ANY);
@@ -247,7 +362,13 @@ public class GroupProperties {
         MAX_JOIN_SECONDS = new GroupProperty(config, PROP_MAX_JOIN_SECONDS, "300");
         MAX_JOIN_MERGE_TARGET_SECONDS = new GroupProperty(config, PROP_MAX_JOIN_MERGE_TARGET_SECONDS, "20");
         HEARTBEAT_INTERVAL_SECONDS = new GroupProperty(config, PROP_HEARTBEAT_INTERVAL_SECONDS, "1");
+        HEARTBEAT_INTERVAL_MILLIS = new GroupProperty(config, PROP_HEARTBEAT_INTERVAL_MILLIS, "0");
         MAX_NO_HEARTBEAT_SECONDS = new GroupProperty(config, PROP_MAX_NO_HEARTBEAT_SECONDS, "300");
+        HEARTBEAT_FAILURE_DETECTOR_TYPE = new GroupProperty(config, PROP_HEARTBEAT_FAILURE_DETECTOR_TYPE, "deadline");
+        HEARTBEAT_PHI_ACCRUAL_THRESHOLD = new GroupProperty(config, PROP_HEARTBEAT_PHI_ACCRUAL_THRESHOLD, "10");
+        HEARTBEAT_PHI_ACCRUAL_SAMPLE_SIZE = new GroupProperty(config, PROP_HEARTBEAT_PHI_ACCRUAL_SAMPLE_SIZE, "200");
+        HEARTBEAT_PHI_ACCRUAL_MIN_STD_DEV_MILLIS = new GroupProperty(config, PROP_HEARTBEAT_PHI_ACCRUAL_MIN_STD_DEV_MILLIS, "100");
+        HEARTBEAT_PHI_ACCRUAL_ACCEPTABLE_PAUSE_MILLIS = new GroupProperty(config, PROP_HEARTBEAT_PHI_ACCRUAL_ACCEPTABLE_PAUSE_MILLIS, "1000");
         MASTER_CONFIRMATION_INTERVAL_SECONDS = new GroupProperty(config, PROP_MASTER_CONFIRMATION_INTERVAL_SECONDS, "30");
         MAX_NO_MASTER_CONFIRMATION_SECONDS = new GroupProperty(config, PROP_MAX_NO_MASTER_CONFIRMATION_SECONDS, "300");
         MEMBER_LIST_PUBLISH_INTERVAL_SECONDS = new GroupProperty(config, PROP_MEMBER_LIST_PUBLISH_INTERVAL_SECONDS, "300");
@@ -267,6 +388,12 @@ public class GroupProperties {
         PARTITION_MIGRATION_INTERVAL = new GroupProperty(config, PROP_PARTITION_MIGRATION_INTERVAL, "0");
         PARTITION_MIGRATION_TIMEOUT = new GroupProperty(config, PROP_PARTITION_MIGRATION_TIMEOUT, "300");
         PARTITION_MIGRATION_ZIP_ENABLED = new GroupProperty(config, PROP_PARTITION_MIGRATION_ZIP_ENABLED, "true");
+        PARTITION_MIGRATION_CHUNK_SIZE = new GroupProperty(config, PROP_PARTITION_MIGRATION_CHUNK_SIZE, "1000");
+        PARTITION_MAX_PARALLEL_MIGRATIONS = new GroupProperty(config, PROP_PARTITION_MAX_PARALLEL_MIGRATIONS, "1");
+        PARTITION_MAX_PARALLEL_MIGRATIONS_PER_MEMBER = new GroupProperty(config, PROP_PARTITION_MAX_PARALLEL_MIGRATIONS_PER_MEMBER, "2");
+        PARTITION_MIGRATION_MAX_BANDWIDTH = new GroupProperty(config, PROP_PARTITION_MIGRATION_MAX_BANDWIDTH, "0");
+        PARTITION_REPLICA_SYNC_DIGEST_RANGES = new GroupProperty(config, PROP_PARTITION_REPLICA_SYNC_DIGEST_RANGES, "256");
+        PARTITION_REPLICA_CHANGE_LOG_SIZE = new GroupProperty(config, PROP_PARTITION_REPLICA_CHANGE_LOG_SIZE, "256");
         PARTITION_TABLE_SEND_INTERVAL = new GroupProperty(config, PROP_PARTITION_TABLE_SEND_INTERVAL, "15");
         PARTITIONING_STRATEGY_CLASS = new GroupProperty(config, PROP_PARTITIONING_STRATEGY_CLASS, "");
         GRACEFUL_SHUTDOWN_MAX_WAIT = new GroupProperty(config, PROP_GRACEFUL_SHUTDOWN_MAX_WAIT, "600");
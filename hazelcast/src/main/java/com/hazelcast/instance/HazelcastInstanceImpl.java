@@ -35,6 +35,7 @@ import com.hazelcast.logging.LoggingService;
 import com.hazelcast.management.ThreadMonitoringService;
 import com.hazelcast.map.MapService;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
 import com.hazelcast.queue.QueueService;
 import com.hazelcast.replicatedmap.ReplicatedMapService;
 import com.hazelcast.spi.ProxyService;
@@ -59,7 +60,7 @@ import static com.hazelcast.core.LifecycleEvent.LifecycleState.STARTING;
 
 @SuppressWarnings("unchecked")
 @PrivateApi
-public final class HazelcastInstanceImpl implements HazelcastInstance {
+public final class HazelcastInstanceImpl implements HazelcastInstance, SerializationServiceSupport {
 
     public final Node node;
 
@@ -20,6 +20,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.core.*;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceSupport;
 import com.hazelcast.transaction.TransactionContext;
 import com.hazelcast.transaction.TransactionException;
 import com.hazelcast.transaction.TransactionOptions;
@@ -31,7 +32,7 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * @author mdogan 1/31/13
  */
-public final class HazelcastInstanceProxy implements HazelcastInstance {
+public final class HazelcastInstanceProxy implements HazelcastInstance, SerializationServiceSupport {
 
     volatile HazelcastInstanceImpl original;
     private final String name;
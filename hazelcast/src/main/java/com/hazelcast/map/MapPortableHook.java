@@ -69,6 +69,8 @@ public class MapPortableHook implements PortableHook {
     public static final int TXN_REQUEST_WITH_SQL_QUERY = 42;
     public static final int EXECUTE_WITH_PREDICATE = 43;
     public static final int EXECUTE_ON_KEYS = 44;
+    public static final int ADD_NEAR_CACHE_ENTRY_LISTENER = 45;
+    public static final int INVALIDATION_EVENT = 46;
 
     public int getFactoryId() {
         return F_ID;
@@ -76,7 +78,7 @@ public class MapPortableHook implements PortableHook {
 
     public PortableFactory createFactory() {
         return new PortableFactory() {
-            final ConstructorFunction<Integer, Portable> constructors[] = new ConstructorFunction[EXECUTE_ON_KEYS + 1];
+            final ConstructorFunction<Integer, Portable> constructors[] = new ConstructorFunction[INVALIDATION_EVENT + 1];
 
             {
                 constructors[GET] = new ConstructorFunction<Integer, Portable>() {
@@ -318,6 +320,16 @@ public class MapPortableHook implements PortableHook {
                         return new MapExecuteOnKeysRequest();
                     }
                 };
+                constructors[ADD_NEAR_CACHE_ENTRY_LISTENER] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAddNearCacheEntryListenerRequest();
+                    }
+                };
+                constructors[INVALIDATION_EVENT] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new PortableInvalidationEvent();
+                    }
+                };
 
 
             }
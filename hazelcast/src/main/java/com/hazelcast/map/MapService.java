@@ -67,7 +67,7 @@ import java.util.concurrent.atomic.AtomicReference;
 /**
  * @author enesakar 1/17/13
  */
-public class MapService implements ManagedService, MigrationAwareService,
+public class MapService implements ManagedService, ChunkedMigrationAwareService, ReplicaDigestAwareService,
         TransactionalService, RemoteService, EventPublishingService<EventData, EntryListener>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService {
 
@@ -338,10 +338,59 @@ public class MapService implements ManagedService, MigrationAwareService,
 
     public Operation prepareReplicationOperation(PartitionReplicationEvent event) {
         final PartitionContainer container = partitionContainers[event.getPartitionId()];
-        final MapReplicationOperation operation = new MapReplicationOperation(this, container, event.getPartitionId(), event.getReplicaIndex());
+        final MapReplicationOperation operation = new MapReplicationOperation(this, container, event);
         return operation.isEmpty() ? null : operation;
     }
 
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, int chunkSize) {
+        final PartitionContainer container = partitionContainers[event.getPartitionId()];
+        return new MapReplicationChunkIterator(this, container, event, chunkSize);
+    }
+
+    public void digestReplica(int partitionId, int replicaIndex, long[] digests) {
+        final PartitionContainer container = partitionContainers[partitionId];
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (recordStore.getMapContainer().getMapConfig().getTotalBackupCount() < replicaIndex) {
+                continue;
+            }
+            final String name = recordStore.getName();
+            for (Record record : recordStore.getReadonlyRecordMap().values()) {
+                // binary values are hashed as stored, only object values are serialized
+                final Object value = record.getValue();
+                final int valueHash = value instanceof Data ? value.hashCode() : toData(value).hashCode();
+                ReplicaDigests.update(digests, name, record.getKey(), valueHash);
+            }
+        }
+    }
+
+    public void clearReplicaRanges(int partitionId, boolean[] keyRanges) {
+        final PartitionContainer container = partitionContainers[partitionId];
+        for (RecordStore recordStore : container.getMaps().values()) {
+            final SizeEstimator sizeEstimator = recordStore.getSizeEstimator();
+            for (Record record : new ArrayList<Record>(recordStore.getReadonlyRecordMap().values())) {
+                final Data key = record.getKey();
+                if (keyRanges[ReplicaDigests.getKeyRange(key, keyRanges.length)]) {
+                    sizeEstimator.add(-sizeEstimator.getCost(record));
+                    recordStore.deleteRecord(key);
+                }
+            }
+        }
+    }
+
+    public void clearReplicaKeys(int partitionId, Collection<Data> keys) {
+        final PartitionContainer container = partitionContainers[partitionId];
+        for (RecordStore recordStore : container.getMaps().values()) {
+            final SizeEstimator sizeEstimator = recordStore.getSizeEstimator();
+            for (Data key : keys) {
+                final Record record = recordStore.getRecord(key);
+                if (record != null) {
+                    sizeEstimator.add(-sizeEstimator.getCost(record));
+                    recordStore.deleteRecord(key);
+                }
+            }
+        }
+    }
+
     public void commitMigration(PartitionMigrationEvent event) {
         migrateIndex(event);
         if (event.getMigrationEndpoint() == MigrationEndpoint.SOURCE) {
@@ -127,6 +127,7 @@ public class NearCache {
                             for (CacheRecord record : records) {
                                 cache.remove(record.key);
                                 updateSizeEstimator(-calculateCost(record));
+                                stats.incrementEvictions();
                                 if (++i > evictSize)
                                     break;
                             }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.client;
+
+import com.hazelcast.client.CallableClientRequest;
+import com.hazelcast.client.ClientEndpoint;
+import com.hazelcast.client.ClientEngine;
+import com.hazelcast.client.SecureRequest;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryListener;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.DataAwareEntryEvent;
+import com.hazelcast.map.EntryEventFilter;
+import com.hazelcast.map.MapPortableHook;
+import com.hazelcast.map.MapService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.NodeEngine;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers a listener for a client near cache. Instead of full entry events the client
+ * only receives the keys that changed, collected into batches when
+ * {@link GroupProperties#MAP_INVALIDATION_BATCH_ENABLED} is set.
+ */
+public class MapAddNearCacheEntryListenerRequest extends CallableClientRequest implements Portable, SecureRequest {
+
+    private String name;
+
+    public MapAddNearCacheEntryListenerRequest() {
+    }
+
+    public MapAddNearCacheEntryListenerRequest(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Object call() {
+        final ClientEndpoint endpoint = getEndpoint();
+        final MapService mapService = getService();
+        final NodeEngine nodeEngine = mapService.getNodeEngine();
+        final GroupProperties groupProperties = nodeEngine.getGroupProperties();
+
+        final int batchSize = groupProperties.MAP_INVALIDATION_BATCH_ENABLED.getBoolean()
+                ? Math.max(1, groupProperties.MAP_INVALIDATION_BATCH_SIZE.getInteger()) : 1;
+        final InvalidationListener listener = new InvalidationListener(endpoint, getClientEngine(), batchSize);
+        final String registrationId = mapService.addEventListener(listener, new EntryEventFilter(false, null), name);
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, name, registrationId);
+
+        if (batchSize > 1) {
+            final long frequency = Math.max(1, groupProperties.MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS.getLong());
+            listener.flushTask = nodeEngine.getExecutionService().scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    if (endpoint.live() && isRegistered(nodeEngine, registrationId)) {
+                        listener.flush();
+                    } else if (listener.flushTask != null) {
+                        listener.flushTask.cancel(false);
+                    }
+                }
+            }, frequency, frequency, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    private boolean isRegistered(NodeEngine nodeEngine, String registrationId) {
+        for (EventRegistration registration : nodeEngine.getEventService().getRegistrations(MapService.SERVICE_NAME, name)) {
+            if (registration.getId().equals(registrationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    public int getClassId() {
+        return MapPortableHook.ADD_NEAR_CACHE_ENTRY_LISTENER;
+    }
+
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeUTF("name", name);
+    }
+
+    public void readPortable(PortableReader reader) throws IOException {
+        name = reader.readUTF("name");
+    }
+
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_LISTEN);
+    }
+
+    private static class InvalidationListener implements EntryListener<Object, Object> {
+
+        private final ClientEndpoint endpoint;
+        private final ClientEngine clientEngine;
+        private final int batchSize;
+        private List<Data> keys;
+        private volatile ScheduledFuture<?> flushTask;
+
+        InvalidationListener(ClientEndpoint endpoint, ClientEngine clientEngine, int batchSize) {
+            this.endpoint = endpoint;
+            this.clientEngine = clientEngine;
+            this.batchSize = batchSize;
+            this.keys = new ArrayList<Data>(batchSize);
+        }
+
+        private void invalidate(EntryEvent<Object, Object> event) {
+            if (!endpoint.live()) {
+                return;
+            }
+            final Data key = event instanceof DataAwareEntryEvent
+                    ? ((DataAwareEntryEvent) event).getKeyData() : clientEngine.toData(event.getKey());
+            if (batchSize == 1) {
+                clientEngine.sendResponse(endpoint, new PortableInvalidationEvent(key));
+                return;
+            }
+            List<Data> batch = null;
+            synchronized (this) {
+                keys.add(key);
+                if (keys.size() >= batchSize) {
+                    batch = keys;
+                    keys = new ArrayList<Data>(batchSize);
+                }
+            }
+            if (batch != null) {
+                clientEngine.sendResponse(endpoint, new PortableInvalidationEvent(batch));
+            }
+        }
+
+        void flush() {
+            List<Data> batch;
+            synchronized (this) {
+                if (keys.isEmpty()) {
+                    return;
+                }
+                batch = keys;
+                keys = new ArrayList<Data>(batchSize);
+            }
+            clientEngine.sendResponse(endpoint, new PortableInvalidationEvent(batch));
+        }
+
+        public void entryAdded(EntryEvent<Object, Object> event) {
+            invalidate(event);
+        }
+
+        public void entryRemoved(EntryEvent<Object, Object> event) {
+            invalidate(event);
+        }
+
+        public void entryUpdated(EntryEvent<Object, Object> event) {
+            invalidate(event);
+        }
+
+        public void entryEvicted(EntryEvent<Object, Object> event) {
+            invalidate(event);
+        }
+    }
+}
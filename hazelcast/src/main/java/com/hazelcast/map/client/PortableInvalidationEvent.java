@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.client;
+
+import com.hazelcast.map.MapPortableHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Invalidation sent to a client near cache, carrying only the keys that changed.
+ */
+public class PortableInvalidationEvent implements Portable {
+
+    private List<Data> keys;
+
+    public PortableInvalidationEvent() {
+    }
+
+    public PortableInvalidationEvent(Data key) {
+        this.keys = Collections.singletonList(key);
+    }
+
+    public PortableInvalidationEvent(List<Data> keys) {
+        this.keys = keys;
+    }
+
+    public List<Data> getKeys() {
+        return keys;
+    }
+
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    public int getClassId() {
+        return MapPortableHook.INVALIDATION_EVENT;
+    }
+
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeInt("s", keys.size());
+        final ObjectDataOutput out = writer.getRawDataOutput();
+        for (Data key : keys) {
+            key.writeData(out);
+        }
+    }
+
+    public void readPortable(PortableReader reader) throws IOException {
+        int size = reader.readInt("s");
+        keys = new ArrayList<Data>(size);
+        final ObjectDataInput in = reader.getRawDataInput();
+        for (int i = 0; i < size; i++) {
+            Data key = new Data();
+            key.readData(in);
+            keys.add(key);
+        }
+    }
+}
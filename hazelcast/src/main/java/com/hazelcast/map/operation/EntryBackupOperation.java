@@ -18,6 +18,7 @@ package com.hazelcast.map.operation;
 
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.record.Record;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -50,7 +51,16 @@ public class EntryBackupOperation extends KeyBasedMapOperation implements Backup
         if (mapEntry.getValue() != null) {
             Map.Entry<Object, Object> entry = new AbstractMap.SimpleEntry<Object, Object>(mapService.toObject(dataKey), mapService.toObject(mapEntry.getValue()));
             entryProcessor.processBackup(entry);
-            recordStore.put(new AbstractMap.SimpleImmutableEntry<Data, Object>(dataKey, entry.getValue()));
+            if (entry.getValue() == null) {
+                // the processor removed the entry on the primary
+                Record record = recordStore.getRecord(dataKey);
+                if (record != null) {
+                    recordStore.getSizeEstimator().add(-recordStore.getSizeEstimator().getCost(record));
+                    recordStore.deleteRecord(dataKey);
+                }
+            } else {
+                recordStore.put(new AbstractMap.SimpleImmutableEntry<Data, Object>(dataKey, entry.getValue()));
+            }
         }
     }
 
@@ -25,13 +25,14 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.BackupOperation;
+import com.hazelcast.spi.KeyBasedOperation;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionAwareOperation;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 
 import java.io.IOException;
 
-public abstract class KeyBasedMapOperation extends Operation implements PartitionAwareOperation {
+public abstract class KeyBasedMapOperation extends Operation implements PartitionAwareOperation, KeyBasedOperation {
 
     protected String name;
     protected Data dataKey;
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.operation;
+
+import com.hazelcast.map.MapContainer;
+import com.hazelcast.map.MapService;
+import com.hazelcast.map.PartitionContainer;
+import com.hazelcast.map.RecordStore;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.map.record.RecordReplicationInfo;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Creates {@link MapReplicationOperation}s of a partition replica, each carrying at most <tt>chunkSize</tt> records.
+ * <p/>
+ * Record stores are walked lazily, so only the records of the chunk being created are copied.
+ * Initial load states of the maps are sent with the last chunk. Records excluded by the replication event
+ * are skipped.
+ */
+public class MapReplicationChunkIterator implements Iterator<Operation> {
+
+    private final MapService mapService;
+    private final PartitionReplicationEvent event;
+    private final int chunkSize;
+    private final LinkedList<RecordStore> recordStores = new LinkedList<RecordStore>();
+    private final Map<String, Boolean> mapInitialLoadInfo = new HashMap<String, Boolean>();
+    private Iterator<Map.Entry<Data, Record>> records = Collections.<Map.Entry<Data, Record>>emptySet().iterator();
+    private RecordStore recordStore;
+    // next record to replicate, belongs to recordStore
+    private Map.Entry<Data, Record> nextRecord;
+    private boolean loadInfoSent;
+
+    public MapReplicationChunkIterator(MapService mapService, PartitionContainer container,
+                                       PartitionReplicationEvent event, int chunkSize) {
+        this.mapService = mapService;
+        this.event = event;
+        this.chunkSize = chunkSize;
+        final int replicaIndex = event.getReplicaIndex();
+        for (Map.Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
+            final RecordStore store = entry.getValue();
+            final MapContainer mapContainer = store.getMapContainer();
+            if (mapContainer.getMapConfig().getTotalBackupCount() < replicaIndex) {
+                continue;
+            }
+            // adding if initial data is loaded for the only maps that has mapstore behind
+            if (mapContainer.getStore() != null) {
+                mapInitialLoadInfo.put(entry.getKey(), replicaIndex > 0 || store.isLoaded());
+            }
+            recordStores.add(store);
+        }
+        loadInfoSent = mapInitialLoadInfo.isEmpty();
+    }
+
+    public boolean hasNext() {
+        return hasNextRecord() || !loadInfoSent;
+    }
+
+    private boolean hasNextRecord() {
+        while (nextRecord == null) {
+            while (!records.hasNext()) {
+                if (recordStores.isEmpty()) {
+                    return false;
+                }
+                recordStore = recordStores.removeFirst();
+                records = recordStore.getReadonlyRecordMap().entrySet().iterator();
+            }
+            final Map.Entry<Data, Record> entry = records.next();
+            if (event.includesKey(entry.getKey())) {
+                nextRecord = entry;
+            }
+        }
+        return true;
+    }
+
+    public Operation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Map<String, Set<RecordReplicationInfo>> data = new HashMap<String, Set<RecordReplicationInfo>>();
+        int count = 0;
+        while (count < chunkSize && hasNextRecord()) {
+            final String name = recordStore.getName();
+            Set<RecordReplicationInfo> recordSet = data.get(name);
+            if (recordSet == null) {
+                recordSet = new HashSet<RecordReplicationInfo>();
+                data.put(name, recordSet);
+            }
+            final Map.Entry<Data, Record> entry = nextRecord;
+            nextRecord = null;
+            recordSet.add(mapService.createRecordReplicationInfo(recordStore.getMapContainer(), entry.getValue(), entry.getKey()));
+            count++;
+        }
+        Map<String, Boolean> loadInfo = Collections.emptyMap();
+        if (!hasNextRecord()) {
+            loadInfo = mapInitialLoadInfo;
+            loadInfoSent = true;
+        }
+        return new MapReplicationOperation(event.getPartitionId(), event.getReplicaIndex(), data, loadInfo);
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
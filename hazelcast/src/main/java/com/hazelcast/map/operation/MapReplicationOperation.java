@@ -28,6 +28,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.PartitionReplicationEvent;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -47,8 +48,16 @@ public class MapReplicationOperation extends AbstractOperation {
     public MapReplicationOperation() {
     }
 
-    public MapReplicationOperation(MapService mapService, PartitionContainer container, int partitionId, int replicaIndex) {
+    public MapReplicationOperation(int partitionId, int replicaIndex, Map<String, Set<RecordReplicationInfo>> data,
+                                   Map<String, Boolean> mapInitialLoadInfo) {
         this.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        this.data = data;
+        this.mapInitialLoadInfo = mapInitialLoadInfo;
+    }
+
+    public MapReplicationOperation(MapService mapService, PartitionContainer container, PartitionReplicationEvent event) {
+        final int replicaIndex = event.getReplicaIndex();
+        this.setPartitionId(event.getPartitionId()).setReplicaIndex(replicaIndex);
         data = new HashMap<String, Set<RecordReplicationInfo>>(container.getMaps().size());
         mapInitialLoadInfo = new HashMap<String, Boolean>(container.getMaps().size());
         for (Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
@@ -68,6 +77,9 @@ public class MapReplicationOperation extends AbstractOperation {
             Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>();
             for (Entry<Data, Record> recordEntry : recordStore.getReadonlyRecordMap().entrySet()) {
                 Data key = recordEntry.getKey();
+                if (!event.includesKey(key)) {
+                    continue;
+                }
                 Record record = recordEntry.getValue();
                 RecordReplicationInfo recordReplicationInfo;
                 recordReplicationInfo = mapService.createRecordReplicationInfo(mapContainer, record, key);
@@ -43,6 +43,7 @@ import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.map.MapService.SERVICE_NAME;
 
@@ -51,12 +52,23 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
 
     protected static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
+    private static final int MAX_WRITTEN_KEYS = 128;
 
     protected final String name;
     protected final MapConfig mapConfig;
     protected final LocalMapStatsImpl localMapStats;
     protected final LockProxySupport lockSupport;
     protected final PartitioningStrategy partitionStrategy;
+    // spreads gets over the partition replicas allowed by the read replica policy
+    private final AtomicInteger readReplicaCounter = new AtomicInteger();
+    // hashes of the last keys the calling thread wrote, read your writes gets of them are sent to the partition owner.
+    // only hashes are kept so no keys are retained, a collision just sends another get to the owner.
+    private final ThreadLocal<int[]> writtenKeys = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            // the last slot is the index the next hash is written to
+            return new int[MAX_WRITTEN_KEYS + 1];
+        }
+    };
 
     protected MapProxySupport(final String name, final MapService service, NodeEngine nodeEngine) {
         super(nodeEngine, service);
@@ -138,10 +150,17 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
                 }
             }
         }
-        GetOperation operation = new GetOperation(name, key);
-        Data result = (Data) invokeOperation(key, operation);
-        if (nearCacheEnabled) {
-            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        final int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        int replicaIndex = getReadReplicaIndex(key, partitionId, false);
+        Data result = (Data) invokeOperation(key, new GetOperation(name, key), replicaIndex);
+        if (result == null && replicaIndex > 0
+                && mapConfig.getReadReplicaPolicy() == MapConfig.ReadReplicaPolicy.READ_YOUR_WRITES) {
+            // the entry may have been put by another caller, but the backup is not synced yet
+            replicaIndex = 0;
+            result = (Data) invokeOperation(key, new GetOperation(name, key));
+        }
+        // a backup may lag behind, only the owner's value is known to be invalidated on later updates
+        if (nearCacheEnabled && replicaIndex == 0) {
             if (!nodeEngine.getPartitionService().getPartitionOwner(partitionId)
                     .equals(nodeEngine.getClusterService().getThisAddress()) || mapConfig.getNearCacheConfig().isCacheLocalEntries()) {
                 mapService.putNearCache(name, key, result);
@@ -154,7 +173,12 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         final NodeEngine nodeEngine = getNodeEngine();
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         GetOperation operation = new GetOperation(name, key);
+        final int replicaIndex = getReadReplicaIndex(key, partitionId, true);
         try {
+            if (replicaIndex > 0) {
+                return nodeEngine.getOperationService().createInvocationBuilder(SERVICE_NAME, operation, partitionId)
+                        .setReplicaIndex(replicaIndex).invoke();
+            }
             return nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME,operation,partitionId);
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
@@ -182,9 +206,16 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     }
 
     private Object invokeOperation(Data key, KeyBasedMapOperation operation) {
+        return invokeOperation(key, operation, 0);
+    }
+
+    private Object invokeOperation(Data key, KeyBasedMapOperation operation, int replicaIndex) {
         final NodeEngine nodeEngine = getNodeEngine();
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         operation.setThreadId(ThreadUtil.getThreadId());
+        if (operation instanceof BackupAwareOperation) {
+            markWritten(key);
+        }
         try {
             Future f;
             Object o;
@@ -192,6 +223,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
                 long time = System.currentTimeMillis();
                 f = nodeEngine.getOperationService()
                         .createInvocationBuilder(SERVICE_NAME, operation, partitionId)
+                        .setReplicaIndex(replicaIndex)
                         .setResultDeserialized(false)
                         .invoke();
                 o = f.get();
@@ -202,6 +234,12 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
                 else if (operation instanceof GetOperation)
                     localMapStats.incrementGets(System.currentTimeMillis() - time);
 
+            } else if (replicaIndex > 0) {
+                f = nodeEngine.getOperationService()
+                        .createInvocationBuilder(SERVICE_NAME, operation, partitionId)
+                        .setReplicaIndex(replicaIndex)
+                        .invoke();
+                o = f.get();
             } else {
                 f = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
                 o = f.get();
@@ -212,11 +250,69 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         }
     }
 
+    /**
+     * Returns the replica of the partition a get is sent to. Gets are spread round robin over the owner and the
+     * backups the read replica policy of the map allows. A read your writes get may read only sync backups which
+     * acknowledge every update before it completes, and keys the caller wrote are always read from the owner.
+     * Async gets cannot fall back to the owner on a miss, so they are spread only with the eventual policy.
+     * Maps that evict by idle time, LRU or LFU always read from the owner, a get on a backup would not count
+     * as an access to the owner's record.
+     */
+    private int getReadReplicaIndex(Data key, int partitionId, boolean async) {
+        final MapConfig.ReadReplicaPolicy policy = mapConfig.getReadReplicaPolicy();
+        if (policy == MapConfig.ReadReplicaPolicy.OWNER || getService().getMapContainer(name).getStore() != null
+                || mapConfig.getMaxIdleSeconds() > 0 || mapConfig.getEvictionPolicy() != MapConfig.EvictionPolicy.NONE) {
+            return 0;
+        }
+        if (policy == MapConfig.ReadReplicaPolicy.READ_YOUR_WRITES && isWritten(key)) {
+            return 0;
+        }
+        final int backupCount;
+        if (policy == MapConfig.ReadReplicaPolicy.EVENTUAL) {
+            backupCount = mapConfig.getTotalBackupCount();
+        } else if (async) {
+            return 0;
+        } else {
+            final int ackCount = getNodeEngine().getGroupProperties().OPERATION_BACKUP_ACK_COUNT.getInteger();
+            backupCount = ackCount < 0 || ackCount >= mapConfig.getBackupCount() ? mapConfig.getBackupCount() : 0;
+        }
+        if (backupCount == 0) {
+            return 0;
+        }
+        final InternalPartition partition = getNodeEngine().getPartitionService().getPartition(partitionId);
+        int replicaCount = 1;
+        while (replicaCount <= backupCount && partition.getReplicaAddress(replicaCount) != null) {
+            replicaCount++;
+        }
+        return (readReplicaCounter.getAndIncrement() & Integer.MAX_VALUE) % replicaCount;
+    }
+
+    private void markWritten(Data key) {
+        if (mapConfig.getReadReplicaPolicy() == MapConfig.ReadReplicaPolicy.READ_YOUR_WRITES) {
+            final int[] hashes = writtenKeys.get();
+            final int next = hashes[MAX_WRITTEN_KEYS];
+            hashes[next] = key.hashCode();
+            hashes[MAX_WRITTEN_KEYS] = (next + 1) % MAX_WRITTEN_KEYS;
+        }
+    }
+
+    private boolean isWritten(Data key) {
+        final int[] hashes = writtenKeys.get();
+        final int hash = key.hashCode();
+        for (int i = 0; i < MAX_WRITTEN_KEYS; i++) {
+            if (hashes[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected CompletableFuture<Data> putAsyncInternal(final Data key, final Data value, final long ttl, final TimeUnit timeunit) {
         final NodeEngine nodeEngine = getNodeEngine();
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         PutOperation operation = new PutOperation(name, key, value, getTimeInMillis(ttl, timeunit));
         operation.setThreadId(ThreadUtil.getThreadId());
+        markWritten(key);
         try {
             return nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
         } catch (Throwable t) {
@@ -269,6 +365,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         RemoveOperation operation = new RemoveOperation(name, key);
         operation.setThreadId(ThreadUtil.getThreadId());
+        markWritten(key);
         try {
             return nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
         } catch (Throwable t) {
@@ -399,11 +496,10 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
                     if (!entryMap.containsKey(partitionId)) {
                         entryMap.put(partitionId, new MapEntrySet());
                     }
-                    entryMap.get(partitionId).add(new AbstractMap.SimpleImmutableEntry<Data, Data>(mapService.toData(
-                            entry.getKey(),
-                            partitionStrategy),
-                                                                                                   mapService
-                                                                                                           .toData(entry.getValue())));
+                    final Data key = mapService.toData(entry.getKey(), partitionStrategy);
+                    markWritten(key);
+                    entryMap.get(partitionId).add(new AbstractMap.SimpleImmutableEntry<Data, Data>(key,
+                            mapService.toData(entry.getValue())));
                 }
 
                 for (final Map.Entry<Integer, MapEntrySet> entry : entryMap.entrySet()) {
@@ -621,6 +717,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         EntryOperation operation = new EntryOperation(name, key, entryProcessor);
         operation.setThreadId(ThreadUtil.getThreadId());
+        markWritten(key);
         try {
             Future future = nodeEngine.getOperationService()
                     .createInvocationBuilder(SERVICE_NAME, operation, partitionId)
@@ -635,6 +732,9 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         Map result = new HashMap();
         final NodeEngine nodeEngine = getNodeEngine();
         final Collection<Integer> partitionsForKeys = getPartitionsForKeys(keys);
+        for (Data key : keys) {
+            markWritten(key);
+        }
         try {
             MultipleEntryOperationFactory operationFactory = new MultipleEntryOperationFactory(name, keys, entryProcessor);
             Map<Integer, Object> results = nodeEngine.getOperationService()
@@ -659,6 +759,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         EntryOperation operation = new EntryOperation(name, key, entryProcessor);
         operation.setThreadId(ThreadUtil.getThreadId());
+        markWritten(key);
         try {
             if(callback == null)
             {
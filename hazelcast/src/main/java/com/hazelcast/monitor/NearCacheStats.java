@@ -42,6 +42,13 @@ public interface NearCacheStats extends LocalInstanceStats {
      */
     long getMisses();
 
+    /**
+     * Returns the number of entries evicted to keep the cache within its maximum size.
+     *
+     * @return number of evictions.
+     */
+    long getEvictions();
+
     /**
      * Returns the hit/miss ratio  of the locally owned entries.
      *
@@ -20,6 +20,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private long creationTime;
     private AtomicLong hits = new AtomicLong(0);
     private AtomicLong misses = new AtomicLong(0);
+    private AtomicLong evictions = new AtomicLong(0);
 
     public NearCacheStatsImpl() {
         this.creationTime = Clock.currentTimeMillis();
@@ -54,10 +55,19 @@ public class NearCacheStatsImpl implements NearCacheStats {
         return misses.get();
     }
 
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+
     public void setHits(long hits) {
         this.hits.set(hits);
     }
 
+    public void incrementHits() {
+        hits.incrementAndGet();
+    }
+
     public double getRatio() {
         return (double)hits.get() / misses.get()  ;
     }
@@ -73,12 +83,17 @@ public class NearCacheStatsImpl implements NearCacheStats {
         misses.incrementAndGet();
     }
 
+    public void incrementEvictions() {
+        evictions.incrementAndGet();
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeLong(ownedEntryCount);
         out.writeLong(ownedEntryMemoryCost);
         out.writeLong(hits.get());
         out.writeLong(misses.get());
+        out.writeLong(evictions.get());
     }
 
     @Override
@@ -87,6 +102,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         this.ownedEntryMemoryCost = in.readLong();
         this.hits.set(in.readLong());
         this.misses.set(in.readLong());
+        this.evictions.set(in.readLong());
     }
 
 
@@ -98,6 +114,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 ", creationTime=" + creationTime +
                 ", hits=" + hits +
                 ", misses=" + misses +
+                ", evictions=" + evictions +
                 ", ratio=" + getRatio() +
                 '}';
     }
@@ -103,11 +103,11 @@ public class MultiMapContainer {
     public MultiMapWrapper getOrCreateMultiMapWrapper(Data dataKey) {
         MultiMapWrapper wrapper = multiMapWrappers.get(dataKey);
         if (wrapper == null) {
-            Collection<MultiMapRecord> coll;
+            MultiMapRecordCollection coll;
             if (config.getValueCollectionType().equals(MultiMapConfig.ValueCollectionType.SET)) {
-                coll = new HashSet<MultiMapRecord>(10);
+                coll = new MultiMapRecordCollection(false);
             } else if (config.getValueCollectionType().equals(MultiMapConfig.ValueCollectionType.LIST)) {
-                coll = new LinkedList<MultiMapRecord>();
+                coll = new MultiMapRecordCollection(true);
             } else {
                 throw new IllegalArgumentException("No Matching CollectionProxyType!");
             }
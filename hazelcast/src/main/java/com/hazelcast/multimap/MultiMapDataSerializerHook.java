@@ -71,13 +71,26 @@ public class MultiMapDataSerializerHook implements DataSerializerHook {
     public static final int TXN_ROLLBACK = 39;
     public static final int TXN_ROLLBACK_BACKUP = 40;
 
+    public static final int MULTI_GET = 41;
+    public static final int GET_PAGE = 42;
+
 
     public int getFactoryId() {
         return F_ID;
     }
 
     public DataSerializableFactory createFactory() {
-        ConstructorFunction<Integer, IdentifiedDataSerializable> constructors[] = new ConstructorFunction[TXN_ROLLBACK_BACKUP+1];
+        ConstructorFunction<Integer, IdentifiedDataSerializable> constructors[] = new ConstructorFunction[GET_PAGE+1];
+        constructors[ADD_ALL_BACKUP] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PutAllBackupOperation();
+            }
+        };
+        constructors[ADD_ALL] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PutAllOperation();
+            }
+        };
         constructors[CLEAR_BACKUP] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
             public IdentifiedDataSerializable createNew(Integer arg) {
                 return new ClearBackupOperation();
@@ -226,6 +239,16 @@ public class MultiMapDataSerializerHook implements DataSerializerHook {
                 return new TxnRollbackOperation();
             }
         };
+        constructors[MULTI_GET] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MultiGetOperation();
+            }
+        };
+        constructors[GET_PAGE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new GetPageOperation();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -59,7 +59,7 @@ public class MultiMapMigrationOperation extends AbstractOperation {
                 Collection<MultiMapRecord> coll = wrapper.getCollection();
                 out.writeInt(coll.size());
                 String collectionType = MultiMapConfig.ValueCollectionType.SET.name();
-                if (coll instanceof List){
+                if (wrapper.getCollection().allowsDuplicates()) {
                     collectionType = MultiMapConfig.ValueCollectionType.LIST.name();
                 }
                 out.writeUTF(collectionType);
@@ -82,12 +82,8 @@ public class MultiMapMigrationOperation extends AbstractOperation {
                 key.readData(in);
                 int collSize = in.readInt();
                 String collectionType = in.readUTF();
-                Collection<MultiMapRecord> coll;
-                if (collectionType.equals(MultiMapConfig.ValueCollectionType.SET.name())){
-                    coll = new HashSet<MultiMapRecord>();
-                } else {
-                    coll = new LinkedList<MultiMapRecord>();
-                }
+                MultiMapRecordCollection coll = new MultiMapRecordCollection(
+                        collectionType.equals(MultiMapConfig.ValueCollectionType.LIST.name()));
                 for (int k = 0; k < collSize; k++) {
                     MultiMapRecord record = new MultiMapRecord();
                     record.readData(in);
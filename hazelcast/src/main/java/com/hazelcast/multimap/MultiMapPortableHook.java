@@ -55,6 +55,10 @@ public class MultiMapPortableHook implements PortableHook {
     public static final int TXN_MM_VALUE_COUNT = 22;
     public static final int TXN_MM_SIZE = 23;
 
+    public static final int PUT_ALL = 24;
+    public static final int MULTI_GET = 25;
+    public static final int GET_PAGE = 26;
+
 
 
     public int getFactoryId() {
@@ -62,7 +66,7 @@ public class MultiMapPortableHook implements PortableHook {
     }
 
     public PortableFactory createFactory() {
-        ConstructorFunction<Integer, Portable> constructors[] = new ConstructorFunction[TXN_MM_SIZE +1];
+        ConstructorFunction<Integer, Portable> constructors[] = new ConstructorFunction[GET_PAGE + 1];
         constructors[CLEAR] = new ConstructorFunction<Integer, Portable>() {
             public Portable createNew(Integer arg) {
                 return new ClearRequest();
@@ -168,6 +172,21 @@ public class MultiMapPortableHook implements PortableHook {
                 return new TxnMultiMapSizeRequest();
             }
         };
+        constructors[PUT_ALL] = new ConstructorFunction<Integer, Portable>() {
+            public Portable createNew(Integer arg) {
+                return new PutAllRequest();
+            }
+        };
+        constructors[MULTI_GET] = new ConstructorFunction<Integer, Portable>() {
+            public Portable createNew(Integer arg) {
+                return new MultiGetRequest();
+            }
+        };
+        constructors[GET_PAGE] = new ConstructorFunction<Integer, Portable>() {
+            public Portable createNew(Integer arg) {
+                return new GetPageRequest();
+            }
+        };
 
         return new ArrayPortableFactory(constructors);
     }
@@ -21,11 +21,16 @@ import com.hazelcast.config.MultiMapConfig;
 import com.hazelcast.multimap.operations.*;
 import com.hazelcast.multimap.operations.MultiMapOperationFactory.OperationFactoryType;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.PartitionService;
 import com.hazelcast.spi.*;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.ThreadUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -64,6 +69,88 @@ public abstract class MultiMapProxySupport extends AbstractDistributedObject<Mul
         }
     }
 
+    /**
+     * Groups the entries by partition and sends a single operation per partition.
+     */
+    protected void putAllInternal(Map<Data, Collection<Data>> entries) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        final PartitionService partitionService = nodeEngine.getPartitionService();
+        final Map<Integer, Map<Data, Collection<Data>>> entriesPerPartition = new HashMap<Integer, Map<Data, Collection<Data>>>();
+        for (Map.Entry<Data, Collection<Data>> entry : entries.entrySet()) {
+            final Integer partitionId = partitionService.getPartitionId(entry.getKey());
+            Map<Data, Collection<Data>> partitionEntries = entriesPerPartition.get(partitionId);
+            if (partitionEntries == null) {
+                partitionEntries = new HashMap<Data, Collection<Data>>();
+                entriesPerPartition.put(partitionId, partitionEntries);
+            }
+            partitionEntries.put(entry.getKey(), entry.getValue());
+        }
+        try {
+            final long time = System.currentTimeMillis();
+            final List<Future> futures = new ArrayList<Future>(entriesPerPartition.size());
+            for (Map.Entry<Integer, Map<Data, Collection<Data>>> entry : entriesPerPartition.entrySet()) {
+                PutAllOperation operation = new PutAllOperation(name, entry.getValue());
+                futures.add(nodeEngine.getOperationService()
+                        .invokeOnPartition(MultiMapService.SERVICE_NAME, operation, entry.getKey()));
+            }
+            for (Future future : futures) {
+                future.get();
+            }
+            if (config.isStatisticsEnabled()) {
+                getService().getLocalMultiMapStatsImpl(name).incrementPuts(System.currentTimeMillis() - time);
+            }
+        } catch (Throwable throwable) {
+            throw ExceptionUtil.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Groups the keys by partition and sends a single operation per partition.
+     */
+    protected Map<Data, Collection<Data>> getAllInternal(Set<Data> dataKeys) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        final PartitionService partitionService = nodeEngine.getPartitionService();
+        final Map<Integer, Set<Data>> keysPerPartition = new HashMap<Integer, Set<Data>>();
+        for (Data dataKey : dataKeys) {
+            final Integer partitionId = partitionService.getPartitionId(dataKey);
+            Set<Data> partitionKeys = keysPerPartition.get(partitionId);
+            if (partitionKeys == null) {
+                partitionKeys = new HashSet<Data>();
+                keysPerPartition.put(partitionId, partitionKeys);
+            }
+            partitionKeys.add(dataKey);
+        }
+        try {
+            final long time = System.currentTimeMillis();
+            final List<Future> futures = new ArrayList<Future>(keysPerPartition.size());
+            for (Map.Entry<Integer, Set<Data>> entry : keysPerPartition.entrySet()) {
+                MultiGetOperation operation = new MultiGetOperation(name, entry.getValue());
+                futures.add(nodeEngine.getOperationService()
+                        .invokeOnPartition(MultiMapService.SERVICE_NAME, operation, entry.getKey()));
+            }
+            Map<Data, Collection<Data>> map = new HashMap<Data, Collection<Data>>();
+            for (Future future : futures) {
+                EntrySetResponse response = nodeEngine.toObject(future.get());
+                map.putAll(response.getDataMap());
+            }
+            if (config.isStatisticsEnabled()) {
+                getService().getLocalMultiMapStatsImpl(name).incrementGets(System.currentTimeMillis() - time);
+            }
+            return map;
+        } catch (Throwable throwable) {
+            throw ExceptionUtil.rethrow(throwable);
+        }
+    }
+
+    protected MultiMapResponse getPageInternal(Data dataKey, long lastRecordId, int offset, int pageSize) {
+        try {
+            GetPageOperation operation = new GetPageOperation(name, dataKey, lastRecordId, offset, pageSize);
+            return invoke(operation, dataKey);
+        } catch (Throwable throwable) {
+            throw ExceptionUtil.rethrow(throwable);
+        }
+    }
+
     protected Boolean removeInternal(Data dataKey, Data dataValue) {
         try {
             RemoveOperation operation = new RemoveOperation(name, dataKey, getThreadId(), dataValue);
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Value collection of a single multimap key.
+ * <p/>
+ * Records are kept in insertion order in a doubly linked list and are indexed both by record id and by value,
+ * so <tt>contains</tt>, value removal and record id lookups are O(1) regardless of the number of values.
+ * The record id index is a hash table keyed by the primitive id and chained through the list nodes,
+ * so it allocates no key or entry object per value.
+ * With LIST semantics duplicate values are allowed; records sharing a value are chained in list order so that
+ * a value removal always takes the first occurrence, as a {@link java.util.List} would.
+ * <p/>
+ * Not thread-safe, accessed by the partition thread only.
+ */
+public class MultiMapRecordCollection extends AbstractCollection<MultiMapRecord> {
+
+    private final boolean allowDuplicates;
+
+    private static final int INITIAL_ID_TABLE_SIZE = 4;
+
+    // record id -> node, chained through Node#nextById. Length is a power of two.
+    private Node[] idTable = new Node[INITIAL_ID_TABLE_SIZE];
+
+    private int idCount;
+
+    // value -> first node holding an equal value, see MultiMapRecord#equals
+    private final Map<MultiMapRecord, Node> valueIndex = new HashMap<MultiMapRecord, Node>();
+
+    private Node head;
+
+    private Node tail;
+
+    private int size;
+
+    private int modCount;
+
+    public MultiMapRecordCollection(boolean allowDuplicates) {
+        this.allowDuplicates = allowDuplicates;
+    }
+
+    /**
+     * @return true if this collection has LIST semantics, false for SET semantics.
+     */
+    public boolean allowsDuplicates() {
+        return allowDuplicates;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean add(MultiMapRecord record) {
+        final Node first = valueIndex.get(record);
+        if (first != null && !allowDuplicates) {
+            return false;
+        }
+        final Node node = new Node(record);
+        linkLast(node);
+        if (first == null) {
+            valueIndex.put(record, node);
+            node.prevSame = node;
+        } else {
+            // first.prevSame points to the last node of the value chain
+            final Node last = first.prevSame;
+            last.nextSame = node;
+            node.prevSame = last;
+            first.prevSame = node;
+        }
+        putId(node);
+        return true;
+    }
+
+    /**
+     * Inserts the record at the given position, only supported with LIST semantics. O(n).
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void add(int index, MultiMapRecord record) {
+        if (!allowDuplicates) {
+            throw new UnsupportedOperationException("Indexed add is only supported for LIST value collections!");
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(record);
+            return;
+        }
+        Node successor = head;
+        for (int i = 0; i < index; i++) {
+            successor = successor.next;
+        }
+        final Node node = new Node(record);
+        node.prev = successor.prev;
+        node.next = successor;
+        if (successor.prev == null) {
+            head = node;
+        } else {
+            successor.prev.next = node;
+        }
+        successor.prev = node;
+        size++;
+        modCount++;
+        putId(node);
+        rebuildValueChain(record);
+    }
+
+    public boolean contains(Object o) {
+        return o instanceof MultiMapRecord && valueIndex.containsKey(o);
+    }
+
+    public boolean containsRecordId(long recordId) {
+        return getById(recordId) != null;
+    }
+
+    public MultiMapRecord getByRecordId(long recordId) {
+        final Node node = getById(recordId);
+        return node != null ? node.record : null;
+    }
+
+    public boolean remove(Object o) {
+        return o instanceof MultiMapRecord && removeValue((MultiMapRecord) o) != null;
+    }
+
+    /**
+     * Removes the first record holding a value equal to the given record's value.
+     *
+     * @return the removed record or null if there is no such value
+     */
+    public MultiMapRecord removeValue(MultiMapRecord record) {
+        final Node node = valueIndex.get(record);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.record;
+    }
+
+    /**
+     * @return the removed record or null if there is no record with the given id
+     */
+    public MultiMapRecord removeRecordId(long recordId) {
+        final Node node = getById(recordId);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.record;
+    }
+
+    /**
+     * Returns a copy of at most <tt>pageSize</tt> records following the record with id <tt>lastRecordId</tt>.
+     * If there is no such record, e.g. it has been removed since the previous page was read,
+     * the page starts after the first <tt>offset</tt> records instead.
+     *
+     * @param lastRecordId id of the last record of the previous page, -1 for the first page
+     * @param offset       number of records read so far
+     * @param pageSize     maximum number of records to return
+     */
+    public List<MultiMapRecord> getPage(long lastRecordId, int offset, int pageSize) {
+        Node node;
+        final Node last = lastRecordId < 0 ? null : getById(lastRecordId);
+        if (last != null) {
+            node = last.next;
+        } else {
+            node = head;
+            for (int i = 0; i < offset && node != null; i++) {
+                node = node.next;
+            }
+        }
+        final List<MultiMapRecord> page = new ArrayList<MultiMapRecord>(Math.min(pageSize, size));
+        for (; node != null && page.size() < pageSize; node = node.next) {
+            page.add(node.record);
+        }
+        return page;
+    }
+
+    public void clear() {
+        head = tail = null;
+        idTable = new Node[INITIAL_ID_TABLE_SIZE];
+        idCount = 0;
+        valueIndex.clear();
+        size = 0;
+        modCount++;
+    }
+
+    public Iterator<MultiMapRecord> iterator() {
+        return new RecordIterator();
+    }
+
+    private void linkLast(Node node) {
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+            node.prev = tail;
+        }
+        tail = node;
+        size++;
+        modCount++;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        removeId(node);
+        unlinkSame(node);
+        node.prev = node.next = null;
+        size--;
+        modCount++;
+    }
+
+    private void unlinkSame(Node node) {
+        final Node first = valueIndex.get(node.record);
+        if (first == node) {
+            final Node second = node.nextSame;
+            if (second == null) {
+                valueIndex.remove(node.record);
+            } else {
+                second.prevSame = node.prevSame;
+                // re-key so that the index does not keep the removed record reachable
+                valueIndex.remove(node.record);
+                valueIndex.put(second.record, second);
+            }
+        } else {
+            node.prevSame.nextSame = node.nextSame;
+            if (node.nextSame == null) {
+                first.prevSame = node.prevSame;
+            } else {
+                node.nextSame.prevSame = node.prevSame;
+            }
+        }
+        node.prevSame = node.nextSame = null;
+    }
+
+    private static int idBucket(long recordId, int tableLength) {
+        int h = (int) (recordId ^ (recordId >>> 32));
+        h ^= h >>> 16;
+        return h & (tableLength - 1);
+    }
+
+    private Node getById(long recordId) {
+        for (Node node = idTable[idBucket(recordId, idTable.length)]; node != null; node = node.nextById) {
+            if (node.recordId == recordId) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    // replaces the node indexed under the same id, like Map#put
+    private void putId(Node node) {
+        final int bucket = idBucket(node.recordId, idTable.length);
+        Node prev = null;
+        for (Node current = idTable[bucket]; current != null; prev = current, current = current.nextById) {
+            if (current.recordId == node.recordId) {
+                node.nextById = current.nextById;
+                current.nextById = null;
+                if (prev == null) {
+                    idTable[bucket] = node;
+                } else {
+                    prev.nextById = node;
+                }
+                return;
+            }
+        }
+        node.nextById = idTable[bucket];
+        idTable[bucket] = node;
+        if (++idCount > idTable.length - (idTable.length >>> 2)) {
+            resizeIdTable();
+        }
+    }
+
+    // removes the node only if it is the one indexed under its id
+    private void removeId(Node node) {
+        final int bucket = idBucket(node.recordId, idTable.length);
+        Node prev = null;
+        for (Node current = idTable[bucket]; current != null; prev = current, current = current.nextById) {
+            if (current == node) {
+                if (prev == null) {
+                    idTable[bucket] = node.nextById;
+                } else {
+                    prev.nextById = node.nextById;
+                }
+                node.nextById = null;
+                idCount--;
+                return;
+            }
+        }
+    }
+
+    private void resizeIdTable() {
+        final Node[] oldTable = idTable;
+        final Node[] newTable = new Node[oldTable.length << 1];
+        for (Node node : oldTable) {
+            while (node != null) {
+                final Node next = node.nextById;
+                final int bucket = idBucket(node.recordId, newTable.length);
+                node.nextById = newTable[bucket];
+                newTable[bucket] = node;
+                node = next;
+            }
+        }
+        idTable = newTable;
+    }
+
+    private void rebuildValueChain(MultiMapRecord value) {
+        Node first = null;
+        Node last = null;
+        for (Node node = head; node != null; node = node.next) {
+            if (!node.record.equals(value)) {
+                continue;
+            }
+            node.nextSame = null;
+            if (first == null) {
+                first = node;
+            } else {
+                last.nextSame = node;
+                node.prevSame = last;
+            }
+            last = node;
+        }
+        first.prevSame = last;
+        valueIndex.put(first.record, first);
+    }
+
+    private static final class Node {
+
+        final MultiMapRecord record;
+
+        // id of the record when it was added, the key of the record id index
+        final long recordId;
+
+        Node prev;
+
+        Node next;
+
+        // previous node with an equal value; for the first node of a value chain, the last node of the chain
+        Node prevSame;
+
+        Node nextSame;
+
+        // next node in the same record id index bucket
+        Node nextById;
+
+        Node(MultiMapRecord record) {
+            this.record = record;
+            this.recordId = record.getRecordId();
+        }
+    }
+
+    private class RecordIterator implements Iterator<MultiMapRecord> {
+
+        private Node next = head;
+
+        private Node lastReturned;
+
+        private int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public MultiMapRecord next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.record;
+        }
+
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+}
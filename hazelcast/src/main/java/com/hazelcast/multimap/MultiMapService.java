@@ -47,7 +47,7 @@ import java.util.concurrent.ConcurrentMap;
  * @author ali 1/1/13
  */
 public class MultiMapService implements ManagedService, RemoteService,
-        MigrationAwareService, EventPublishingService<MultiMapEvent, EventListener>, TransactionalService {
+        ReplicaDigestAwareService, EventPublishingService<MultiMapEvent, EventListener>, TransactionalService {
 
     public static final String SERVICE_NAME = "hz:impl:multiMapService";
     private final NodeEngine nodeEngine;
@@ -202,7 +202,13 @@ public class MultiMapService implements ManagedService, RemoteService,
             if (container.config.getTotalBackupCount() < replicaIndex) {
                 continue;
             }
-            map.put(name, container.multiMapWrappers);
+            Map<Data, MultiMapWrapper> wrappers = new HashMap<Data, MultiMapWrapper>(container.multiMapWrappers.size());
+            for (Map.Entry<Data, MultiMapWrapper> wrapperEntry : container.multiMapWrappers.entrySet()) {
+                if (event.includesKey(wrapperEntry.getKey())) {
+                    wrappers.put(wrapperEntry.getKey(), wrapperEntry.getValue());
+                }
+            }
+            map.put(name, wrappers);
         }
         if (map.isEmpty()) {
             return null;
@@ -210,6 +216,56 @@ public class MultiMapService implements ManagedService, RemoteService,
         return new MultiMapMigrationOperation(map);
     }
 
+    public void digestReplica(int partitionId, int replicaIndex, long[] digests) {
+        final MultiMapPartitionContainer partitionContainer = partitionContainers[partitionId];
+        if (partitionContainer == null) {
+            return;
+        }
+        for (Map.Entry<String, MultiMapContainer> entry : partitionContainer.containerMap.entrySet()) {
+            String name = entry.getKey();
+            MultiMapContainer container = entry.getValue();
+            if (container.config.getTotalBackupCount() < replicaIndex) {
+                continue;
+            }
+            for (Map.Entry<Data, MultiMapWrapper> wrapperEntry : container.multiMapWrappers.entrySet()) {
+                Data key = wrapperEntry.getKey();
+                for (MultiMapRecord record : wrapperEntry.getValue().getCollection()) {
+                    // values of binary multimaps are hashed as stored, only object values are serialized
+                    final Object value = record.getObject();
+                    final int valueHash = value instanceof Data ? value.hashCode() : nodeEngine.toData(value).hashCode();
+                    ReplicaDigests.update(digests, name, key, record.getRecordId(), valueHash);
+                }
+            }
+        }
+    }
+
+    public void clearReplicaRanges(int partitionId, boolean[] keyRanges) {
+        final MultiMapPartitionContainer partitionContainer = partitionContainers[partitionId];
+        if (partitionContainer == null) {
+            return;
+        }
+        for (MultiMapContainer container : partitionContainer.containerMap.values()) {
+            Iterator<Data> iterator = container.multiMapWrappers.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (keyRanges[ReplicaDigests.getKeyRange(iterator.next(), keyRanges.length)]) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public void clearReplicaKeys(int partitionId, Collection<Data> keys) {
+        final MultiMapPartitionContainer partitionContainer = partitionContainers[partitionId];
+        if (partitionContainer == null) {
+            return;
+        }
+        for (MultiMapContainer container : partitionContainer.containerMap.values()) {
+            for (Data key : keys) {
+                container.multiMapWrappers.remove(key);
+            }
+        }
+    }
+
     public void insertMigratedData(int partitionId, Map<String, Map> map) {
         for (Map.Entry<String, Map> entry : map.entrySet()) {
             String name = entry.getKey();
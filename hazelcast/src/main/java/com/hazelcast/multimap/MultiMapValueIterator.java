@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the values of a single multimap key page by page.
+ * <p/>
+ * Every page is requested with the record id of the last value seen and the number of values read so far,
+ * so the owner can continue right after the last value even if earlier values were removed in the meantime.
+ *
+ * @param <V> value type
+ * @see com.hazelcast.multimap.operations.GetPageOperation
+ */
+public abstract class MultiMapValueIterator<V> implements Iterator<V> {
+
+    private final int pageSize;
+
+    private Iterator<MultiMapRecord> page;
+
+    private long lastRecordId = -1;
+
+    private int offset;
+
+    private boolean lastPage;
+
+    protected MultiMapValueIterator(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size should be positive!");
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Fetches the next page from the owner of the key.
+     */
+    protected abstract Collection<MultiMapRecord> fetchPage(long lastRecordId, int offset, int pageSize);
+
+    /**
+     * Converts the value of a fetched record to its object form.
+     */
+    protected abstract V toObject(Object value);
+
+    public boolean hasNext() {
+        if (page != null && page.hasNext()) {
+            return true;
+        }
+        if (lastPage) {
+            return false;
+        }
+        final Collection<MultiMapRecord> records = fetchPage(lastRecordId, offset, pageSize);
+        lastPage = records.size() < pageSize;
+        page = records.iterator();
+        return page.hasNext();
+    }
+
+    public V next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final MultiMapRecord record = page.next();
+        lastRecordId = record.getRecordId();
+        offset++;
+        return toObject(record.getObject());
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("Values can not be removed through a multimap value iterator!");
+    }
+}
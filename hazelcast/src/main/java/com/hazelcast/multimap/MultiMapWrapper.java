@@ -16,24 +16,22 @@
 
 package com.hazelcast.multimap;
 
-import java.util.Collection;
-
 /**
  * @author ali 3/1/13
  */
 public class MultiMapWrapper {
 
-    private final Collection<MultiMapRecord> collection;
+    private final MultiMapRecordCollection collection;
 
     private int hits;
 
     private long version = -1;
 
-    public MultiMapWrapper(Collection<MultiMapRecord> collection) {
+    public MultiMapWrapper(MultiMapRecordCollection collection) {
         this.collection = collection;
     }
 
-    public Collection<MultiMapRecord> getCollection() {
+    public MultiMapRecordCollection getCollection() {
         return collection;
     }
 
@@ -46,12 +44,7 @@ public class MultiMapWrapper {
     }
 
     public boolean containsRecordId(long recordId){
-        for (MultiMapRecord record: collection){
-            if (record.getRecordId() == recordId){
-                return true;
-            }
-        }
-        return false;
+        return collection.containsRecordId(recordId);
     }
 
     public long getVersion() {
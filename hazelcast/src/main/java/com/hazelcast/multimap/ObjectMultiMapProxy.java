@@ -37,6 +37,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class ObjectMultiMapProxy<K, V> extends MultiMapProxySupport implements MultiMap<K, V>, InitializingObject {
 
+    private static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
+    private static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
+
     public ObjectMultiMapProxy(MultiMapService service, NodeEngine nodeEngine, String name) {
         super(service, nodeEngine, name);
     }
@@ -166,6 +169,64 @@ public class ObjectMultiMapProxy<K, V> extends MultiMapProxySupport implements M
         return countInternal(dataKey);
     }
 
+    public void putAll(Map<? extends K, ? extends Collection<? extends V>> entries) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        Map<Data, Collection<Data>> dataEntries = new HashMap<Data, Collection<Data>>(entries.size());
+        for (Map.Entry<? extends K, ? extends Collection<? extends V>> entry : entries.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new NullPointerException(NULL_KEY_IS_NOT_ALLOWED);
+            }
+            Collection<? extends V> values = entry.getValue();
+            if (values == null) {
+                throw new NullPointerException(NULL_VALUE_IS_NOT_ALLOWED);
+            }
+            Collection<Data> dataValues = new ArrayList<Data>(values.size());
+            for (V value : values) {
+                if (value == null) {
+                    throw new NullPointerException(NULL_VALUE_IS_NOT_ALLOWED);
+                }
+                dataValues.add(nodeEngine.toData(value));
+            }
+            dataEntries.put(nodeEngine.toData(entry.getKey()), dataValues);
+        }
+        putAllInternal(dataEntries);
+    }
+
+    public Map<K, Collection<V>> getAll(Set<K> keys) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        Set<Data> dataKeys = new HashSet<Data>(keys.size());
+        for (K key : keys) {
+            if (key == null) {
+                throw new NullPointerException(NULL_KEY_IS_NOT_ALLOWED);
+            }
+            dataKeys.add(nodeEngine.toData(key));
+        }
+        Map<Data, Collection<Data>> dataMap = getAllInternal(dataKeys);
+        Map<K, Collection<V>> result = new HashMap<K, Collection<V>>(dataMap.size());
+        for (Map.Entry<Data, Collection<Data>> entry : dataMap.entrySet()) {
+            Collection<V> values = new ArrayList<V>(entry.getValue().size());
+            for (Data dataValue : entry.getValue()) {
+                values.add((V) nodeEngine.toObject(dataValue));
+            }
+            result.put((K) nodeEngine.toObject(entry.getKey()), values);
+        }
+        return result;
+    }
+
+    public Iterator<V> valueIterator(K key, int pageSize) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        final Data dataKey = nodeEngine.toData(key);
+        return new MultiMapValueIterator<V>(pageSize) {
+            protected Collection<MultiMapRecord> fetchPage(long lastRecordId, int offset, int pageSize) {
+                return getPageInternal(dataKey, lastRecordId, offset, pageSize).getRecordCollection(nodeEngine);
+            }
+
+            protected V toObject(Object value) {
+                return nodeEngine.toObject(value);
+            }
+        };
+    }
+
     public String addLocalEntryListener(EntryListener<K, V> listener) {
         return getService().addListener(name, listener, null, false, true);
     }
@@ -49,6 +49,14 @@ public class EntrySetResponse implements DataSerializable {
         }
     }
 
+    public EntrySetResponse(Map<Data, Collection<Data>> dataMap) {
+        this.map = dataMap;
+    }
+
+    public Map<Data, Collection<Data>> getDataMap() {
+        return map;
+    }
+
     public Set<Map.Entry<Data, Data>> getDataEntrySet() {
         Set<Map.Entry<Data, Data>> entrySet = new HashSet<Map.Entry<Data, Data>>();
         for (Map.Entry<Data, Collection<Data>> entry : map.entrySet()) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations;
+
+import com.hazelcast.multimap.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapWrapper;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a single page of the values of a key, so that huge value collections can be iterated
+ * without materializing them in one response.
+ *
+ * @see com.hazelcast.multimap.MultiMapRecordCollection#getPage(long, int, int)
+ */
+public class GetPageOperation extends MultiMapKeyBasedOperation {
+
+    private long lastRecordId = -1;
+
+    private int offset;
+
+    private int pageSize;
+
+    public GetPageOperation() {
+    }
+
+    public GetPageOperation(String name, Data dataKey, long lastRecordId, int offset, int pageSize) {
+        super(name, dataKey);
+        this.lastRecordId = lastRecordId;
+        this.offset = offset;
+        this.pageSize = pageSize;
+    }
+
+    public void run() throws Exception {
+        MultiMapWrapper wrapper = getCollectionWrapper();
+        List<MultiMapRecord> page = Collections.emptyList();
+        if (wrapper != null) {
+            if (offset == 0) {
+                wrapper.incrementHit();
+            }
+            page = wrapper.getCollection().getPage(lastRecordId, offset, pageSize);
+        }
+        response = new MultiMapResponse(page);
+    }
+
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(lastRecordId);
+        out.writeInt(offset);
+        out.writeInt(pageSize);
+    }
+
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        lastRecordId = in.readLong();
+        offset = in.readInt();
+        pageSize = in.readInt();
+    }
+
+    public int getId() {
+        return MultiMapDataSerializerHook.GET_PAGE;
+    }
+}
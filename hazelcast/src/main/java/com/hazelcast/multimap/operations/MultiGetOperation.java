@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations;
+
+import com.hazelcast.multimap.MultiMapContainer;
+import com.hazelcast.multimap.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapService;
+import com.hazelcast.multimap.MultiMapWrapper;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the values of many keys of a single partition in one operation, all keys must belong to the partition.
+ */
+public class MultiGetOperation extends MultiMapOperation {
+
+    private Set<Data> keys;
+
+    public MultiGetOperation() {
+    }
+
+    public MultiGetOperation(String name, Set<Data> keys) {
+        super(name);
+        this.keys = keys;
+    }
+
+    public void run() throws Exception {
+        final MultiMapContainer container = getOrCreateContainer();
+        final Map<Data, Collection<MultiMapRecord>> map = new HashMap<Data, Collection<MultiMapRecord>>();
+        for (Data key : keys) {
+            final MultiMapWrapper wrapper = container.getMultiMapWrapper(key);
+            if (wrapper != null) {
+                wrapper.incrementHit();
+                map.put(key, wrapper.getCollection());
+            }
+        }
+        ((MultiMapService) getService()).getLocalMultiMapStatsImpl(name).incrementOtherOperations();
+        response = new EntrySetResponse(map, getNodeEngine());
+    }
+
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(keys.size());
+        for (Data key : keys) {
+            key.writeData(out);
+        }
+    }
+
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        keys = new HashSet<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(IOUtil.readData(in));
+        }
+    }
+
+    public int getId() {
+        return MultiMapDataSerializerHook.MULTI_GET;
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.multimap.MultiMapWrapper;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.KeyBasedOperation;
 import com.hazelcast.spi.PartitionAwareOperation;
 
 import java.io.IOException;
@@ -29,7 +30,7 @@ import java.util.Collection;
 /**
  * @author ali 1/16/13
  */
-public abstract class MultiMapKeyBasedOperation extends MultiMapOperation implements PartitionAwareOperation {
+public abstract class MultiMapKeyBasedOperation extends MultiMapOperation implements PartitionAwareOperation, KeyBasedOperation {
 
     protected Data dataKey;
 
@@ -41,6 +42,10 @@ public abstract class MultiMapKeyBasedOperation extends MultiMapOperation implem
         this.dataKey = dataKey;
     }
 
+    public final Data getKey() {
+        return dataKey;
+    }
+
     public final MultiMapWrapper getOrCreateCollectionWrapper() {
         return getOrCreateContainer().getOrCreateMultiMapWrapper(dataKey);
     }
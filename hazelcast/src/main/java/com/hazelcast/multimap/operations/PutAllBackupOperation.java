@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations;
+
+import com.hazelcast.multimap.MultiMapContainer;
+import com.hazelcast.multimap.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapRecordCollection;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.BackupOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Backup of {@link PutAllOperation}, values are applied with the record ids assigned by the owner.
+ */
+public class PutAllBackupOperation extends MultiMapOperation implements BackupOperation {
+
+    private Map<Data, Collection<MultiMapRecord>> records;
+
+    public PutAllBackupOperation() {
+    }
+
+    public PutAllBackupOperation(String name, Map<Data, Collection<MultiMapRecord>> records) {
+        super(name);
+        this.records = records;
+    }
+
+    public void run() throws Exception {
+        final MultiMapContainer container = getOrCreateContainer();
+        final boolean binary = isBinary();
+        for (Map.Entry<Data, Collection<MultiMapRecord>> entry : records.entrySet()) {
+            final MultiMapRecordCollection coll = container.getOrCreateMultiMapWrapper(entry.getKey()).getCollection();
+            for (MultiMapRecord record : entry.getValue()) {
+                if (!coll.containsRecordId(record.getRecordId())) {
+                    Object value = binary ? record.getObject() : toObject(record.getObject());
+                    coll.add(new MultiMapRecord(record.getRecordId(), value));
+                }
+            }
+        }
+        response = true;
+    }
+
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(records.size());
+        for (Map.Entry<Data, Collection<MultiMapRecord>> entry : records.entrySet()) {
+            entry.getKey().writeData(out);
+            Collection<MultiMapRecord> coll = entry.getValue();
+            out.writeInt(coll.size());
+            for (MultiMapRecord record : coll) {
+                out.writeLong(record.getRecordId());
+                ((Data) record.getObject()).writeData(out);
+            }
+        }
+    }
+
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        records = new HashMap<Data, Collection<MultiMapRecord>>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = IOUtil.readData(in);
+            int recordCount = in.readInt();
+            Collection<MultiMapRecord> coll = new ArrayList<MultiMapRecord>(recordCount);
+            for (int j = 0; j < recordCount; j++) {
+                long recordId = in.readLong();
+                coll.add(new MultiMapRecord(recordId, IOUtil.readData(in)));
+            }
+            records.put(key, coll);
+        }
+    }
+
+    public int getId() {
+        return MultiMapDataSerializerHook.ADD_ALL_BACKUP;
+    }
+}
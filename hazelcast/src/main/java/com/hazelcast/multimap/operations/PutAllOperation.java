@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.multimap.MultiMapContainer;
+import com.hazelcast.multimap.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapRecordCollection;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds the values of many keys of a single partition in one operation, all keys must belong to the partition.
+ * Like {@link com.hazelcast.map.operation.PutAllOperation} it does not wait for key locks.
+ */
+public class PutAllOperation extends MultiMapOperation implements BackupAwareOperation {
+
+    private Map<Data, Collection<Data>> entries;
+
+    private transient Map<Data, Collection<MultiMapRecord>> backupRecords;
+
+    public PutAllOperation() {
+    }
+
+    public PutAllOperation(String name, Map<Data, Collection<Data>> entries) {
+        super(name);
+        this.entries = entries;
+    }
+
+    public void run() throws Exception {
+        final MultiMapContainer container = getOrCreateContainer();
+        final boolean binary = isBinary();
+        backupRecords = new HashMap<Data, Collection<MultiMapRecord>>();
+        for (Map.Entry<Data, Collection<Data>> entry : entries.entrySet()) {
+            final Data dataKey = entry.getKey();
+            final Collection<Data> values = entry.getValue();
+            if (values.isEmpty()) {
+                continue;
+            }
+            final MultiMapRecordCollection coll = container.getOrCreateMultiMapWrapper(dataKey).getCollection();
+            final Collection<MultiMapRecord> added = new ArrayList<MultiMapRecord>(values.size());
+            for (Data value : values) {
+                final long recordId = container.nextId();
+                if (coll.add(new MultiMapRecord(recordId, binary ? value : toObject(value)))) {
+                    added.add(new MultiMapRecord(recordId, value));
+                    publishEvent(EntryEventType.ADDED, dataKey, value);
+                }
+            }
+            if (coll.isEmpty()) {
+                container.remove(dataKey);
+            }
+            if (!added.isEmpty()) {
+                backupRecords.put(dataKey, added);
+            }
+        }
+        response = true;
+    }
+
+    public void afterRun() throws Exception {
+        if (!backupRecords.isEmpty()) {
+            getOrCreateContainer().update();
+        }
+    }
+
+    public boolean shouldBackup() {
+        return !backupRecords.isEmpty();
+    }
+
+    public Operation getBackupOperation() {
+        return new PutAllBackupOperation(name, backupRecords);
+    }
+
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(entries.size());
+        for (Map.Entry<Data, Collection<Data>> entry : entries.entrySet()) {
+            entry.getKey().writeData(out);
+            Collection<Data> values = entry.getValue();
+            out.writeInt(values.size());
+            for (Data value : values) {
+                value.writeData(out);
+            }
+        }
+    }
+
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        entries = new HashMap<Data, Collection<Data>>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = IOUtil.readData(in);
+            int valueCount = in.readInt();
+            Collection<Data> values = new ArrayList<Data>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(IOUtil.readData(in));
+            }
+            entries.put(key, values);
+        }
+    }
+
+    public int getId() {
+        return MultiMapDataSerializerHook.ADD_ALL;
+    }
+}
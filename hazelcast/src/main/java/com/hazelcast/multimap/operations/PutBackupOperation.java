@@ -18,6 +18,7 @@ package com.hazelcast.multimap.operations;
 
 import com.hazelcast.multimap.MultiMapDataSerializerHook;
 import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapRecordCollection;
 import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -25,8 +26,6 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.BackupOperation;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.List;
 
 /**
  * @author ali 1/16/13
@@ -52,12 +51,12 @@ public class PutBackupOperation extends MultiMapKeyBasedOperation implements Bac
     public void run() throws Exception {
 
         MultiMapRecord record = new MultiMapRecord(recordId, isBinary() ? value : toObject(value));
-        Collection<MultiMapRecord> coll = getOrCreateCollectionWrapper().getCollection();
+        MultiMapRecordCollection coll = getOrCreateCollectionWrapper().getCollection();
         if (index == -1) {
             response = coll.add(record);
         } else {
             try {
-                ((List<MultiMapRecord>) coll).add(index, record);
+                coll.add(index, record);
                 response = true;
             } catch (IndexOutOfBoundsException e) {
                 response = e;
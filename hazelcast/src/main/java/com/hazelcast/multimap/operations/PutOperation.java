@@ -19,6 +19,7 @@ package com.hazelcast.multimap.operations;
 import com.hazelcast.multimap.MultiMapContainer;
 import com.hazelcast.multimap.MultiMapDataSerializerHook;
 import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapRecordCollection;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.ObjectDataInput;
@@ -28,8 +29,6 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.List;
 
 /**
  * @author ali 1/16/13
@@ -57,12 +56,12 @@ public class PutOperation extends MultiMapBackupAwareOperation {
         MultiMapContainer container = getOrCreateContainer();
         recordId = container.nextId();
         MultiMapRecord record = new MultiMapRecord(recordId, isBinary() ? value : toObject(value));
-        Collection<MultiMapRecord> coll = container.getOrCreateMultiMapWrapper(dataKey).getCollection();
+        MultiMapRecordCollection coll = container.getOrCreateMultiMapWrapper(dataKey).getCollection();
         if (index == -1) {
             response = coll.add(record);
         } else {
             try {
-                ((List<MultiMapRecord>) coll).add(index, record);
+                coll.add(index, record);
                 response = true;
             } catch (IndexOutOfBoundsException e) {
                 response = e;
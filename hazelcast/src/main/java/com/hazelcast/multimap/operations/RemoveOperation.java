@@ -26,8 +26,6 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.Iterator;
 
 /**
  * @author ali 1/16/13
@@ -54,19 +52,13 @@ public class RemoveOperation extends MultiMapBackupAwareOperation {
         if (wrapper == null) {
             return;
         }
-        Collection<MultiMapRecord> coll = wrapper.getCollection();
-        MultiMapRecord record = new MultiMapRecord(isBinary() ? value : toObject(value));
-        Iterator<MultiMapRecord> iter = coll.iterator();
-        while (iter.hasNext()) {
-            MultiMapRecord r = iter.next();
-            if (r.equals(record)) {
-                iter.remove();
-                recordId = r.getRecordId();
-                response = true;
-                if (coll.isEmpty()) {
-                    remove();
-                }
-                break;
+        MultiMapRecordCollection coll = wrapper.getCollection();
+        MultiMapRecord removed = coll.removeValue(new MultiMapRecord(isBinary() ? value : toObject(value)));
+        if (removed != null) {
+            recordId = removed.getRecordId();
+            response = true;
+            if (coll.isEmpty()) {
+                remove();
             }
         }
     }
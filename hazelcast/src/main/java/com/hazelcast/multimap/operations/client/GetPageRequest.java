@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations.client;
+
+import com.hazelcast.client.RetryableRequest;
+import com.hazelcast.multimap.MultiMapPortableHook;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.operations.GetPageOperation;
+import com.hazelcast.multimap.operations.MultiMapResponse;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+public class GetPageRequest extends MultiMapKeyBasedRequest implements RetryableRequest {
+
+    long lastRecordId = -1;
+
+    int offset;
+
+    int pageSize;
+
+    public GetPageRequest() {
+    }
+
+    public GetPageRequest(String name, Data key, long lastRecordId, int offset, int pageSize) {
+        super(name, key);
+        this.lastRecordId = lastRecordId;
+        this.offset = offset;
+        this.pageSize = pageSize;
+    }
+
+    protected Operation prepareOperation() {
+        return new GetPageOperation(name, key, lastRecordId, offset, pageSize);
+    }
+
+    public int getClassId() {
+        return MultiMapPortableHook.GET_PAGE;
+    }
+
+    protected Object filter(Object response) {
+        if (response instanceof MultiMapResponse) {
+            Collection<MultiMapRecord> coll = ((MultiMapResponse) response).getCollection();
+            Collection<MultiMapRecord> records = new ArrayList<MultiMapRecord>(coll.size());
+            for (MultiMapRecord record : coll) {
+                records.add(new MultiMapRecord(record.getRecordId(), getClientEngine().toData(record.getObject())));
+            }
+            return new MultiMapResponse(records);
+        }
+        return super.filter(response);
+    }
+
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeLong("l", lastRecordId);
+        writer.writeInt("o", offset);
+        writer.writeInt("p", pageSize);
+        super.writePortable(writer);
+    }
+
+    public void readPortable(PortableReader reader) throws IOException {
+        lastRecordId = reader.readLong("l");
+        offset = reader.readInt("o");
+        pageSize = reader.readInt("p");
+        super.readPortable(reader);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations.client;
+
+import com.hazelcast.client.RetryableRequest;
+import com.hazelcast.multimap.MultiMapPortableHook;
+import com.hazelcast.multimap.operations.EntrySetResponse;
+import com.hazelcast.multimap.operations.MultiGetOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class MultiGetRequest extends MultiMapMultiPartitionRequest implements RetryableRequest {
+
+    private Set<Data> keys;
+
+    public MultiGetRequest() {
+    }
+
+    public MultiGetRequest(String name, Set<Data> keys) {
+        super(name);
+        this.keys = keys;
+    }
+
+    protected Collection<Data> getKeys() {
+        return keys;
+    }
+
+    protected Operation createOperation(Set<Data> keys) {
+        return new MultiGetOperation(name, keys);
+    }
+
+    protected Object reduce(Map<Integer, Object> map) {
+        Map<Data, Collection<Data>> result = new HashMap<Data, Collection<Data>>();
+        for (Object obj : map.values()) {
+            if (obj == null) {
+                continue;
+            }
+            EntrySetResponse response = (EntrySetResponse) obj;
+            result.putAll(response.getDataMap());
+        }
+        return new EntrySetResponse(result);
+    }
+
+    public int getClassId() {
+        return MultiMapPortableHook.MULTI_GET;
+    }
+
+    public void writePortable(PortableWriter writer) throws IOException {
+        super.writePortable(writer);
+        writer.writeInt("s", keys.size());
+        final ObjectDataOutput out = writer.getRawDataOutput();
+        for (Data key : keys) {
+            key.writeData(out);
+        }
+    }
+
+    public void readPortable(PortableReader reader) throws IOException {
+        super.readPortable(reader);
+        int size = reader.readInt("s");
+        final ObjectDataInput in = reader.getRawDataInput();
+        keys = new HashSet<Data>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = new Data();
+            key.readData(in);
+            keys.add(key);
+        }
+    }
+}
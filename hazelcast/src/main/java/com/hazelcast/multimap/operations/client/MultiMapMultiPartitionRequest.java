@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations.client;
+
+import com.hazelcast.client.CallableClientRequest;
+import com.hazelcast.client.SecureRequest;
+import com.hazelcast.multimap.MultiMapPortableHook;
+import com.hazelcast.multimap.MultiMapService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MultiMapPermission;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * Base class of the requests on a set of keys. Keys are grouped by partition and each partition
+ * is sent a single operation carrying only its own keys.
+ */
+public abstract class MultiMapMultiPartitionRequest extends CallableClientRequest implements Portable, SecureRequest {
+
+    String name;
+
+    protected MultiMapMultiPartitionRequest() {
+    }
+
+    protected MultiMapMultiPartitionRequest(String name) {
+        this.name = name;
+    }
+
+    protected abstract Collection<Data> getKeys();
+
+    /**
+     * Creates the operation of a single partition.
+     *
+     * @param keys keys of the request owned by the partition
+     */
+    protected abstract Operation createOperation(Set<Data> keys);
+
+    protected abstract Object reduce(Map<Integer, Object> map);
+
+    public Object call() throws Exception {
+        final MultiMapService service = getService();
+        final NodeEngine nodeEngine = service.getNodeEngine();
+        final PartitionService partitionService = nodeEngine.getPartitionService();
+        final Map<Integer, Set<Data>> keysPerPartition = new HashMap<Integer, Set<Data>>();
+        for (Data key : getKeys()) {
+            final Integer partitionId = partitionService.getPartitionId(key);
+            Set<Data> partitionKeys = keysPerPartition.get(partitionId);
+            if (partitionKeys == null) {
+                partitionKeys = new HashSet<Data>();
+                keysPerPartition.put(partitionId, partitionKeys);
+            }
+            partitionKeys.add(key);
+        }
+        final Map<Integer, Future> futures = new HashMap<Integer, Future>(keysPerPartition.size());
+        for (Map.Entry<Integer, Set<Data>> entry : keysPerPartition.entrySet()) {
+            final Operation op = createOperation(entry.getValue());
+            op.setCallerUuid(getEndpoint().getUuid());
+            futures.put(entry.getKey(), nodeEngine.getOperationService()
+                    .invokeOnPartition(MultiMapService.SERVICE_NAME, op, entry.getKey()));
+        }
+        final Map<Integer, Object> results = new HashMap<Integer, Object>(futures.size());
+        for (Map.Entry<Integer, Future> entry : futures.entrySet()) {
+            results.put(entry.getKey(), nodeEngine.toObject(entry.getValue().get()));
+        }
+        return reduce(results);
+    }
+
+    public String getServiceName() {
+        return MultiMapService.SERVICE_NAME;
+    }
+
+    public int getFactoryId() {
+        return MultiMapPortableHook.F_ID;
+    }
+
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeUTF("n", name);
+    }
+
+    public void readPortable(PortableReader reader) throws IOException {
+        name = reader.readUTF("n");
+    }
+
+    public Permission getRequiredPermission() {
+        return new MultiMapPermission(name, ActionConstants.ACTION_READ);
+    }
+}
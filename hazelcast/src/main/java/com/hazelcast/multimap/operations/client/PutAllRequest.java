@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.multimap.operations.client;
+
+import com.hazelcast.multimap.MultiMapPortableHook;
+import com.hazelcast.multimap.operations.PutAllOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MultiMapPermission;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class PutAllRequest extends MultiMapMultiPartitionRequest {
+
+    private Map<Data, Collection<Data>> entries;
+
+    public PutAllRequest() {
+    }
+
+    public PutAllRequest(String name, Map<Data, Collection<Data>> entries) {
+        super(name);
+        this.entries = entries;
+    }
+
+    protected Collection<Data> getKeys() {
+        return entries.keySet();
+    }
+
+    protected Operation createOperation(Set<Data> keys) {
+        final Map<Data, Collection<Data>> partitionEntries = new HashMap<Data, Collection<Data>>(keys.size());
+        for (Data key : keys) {
+            partitionEntries.put(key, entries.get(key));
+        }
+        return new PutAllOperation(name, partitionEntries);
+    }
+
+    protected Object reduce(Map<Integer, Object> map) {
+        return true;
+    }
+
+    public int getClassId() {
+        return MultiMapPortableHook.PUT_ALL;
+    }
+
+    public void writePortable(PortableWriter writer) throws IOException {
+        super.writePortable(writer);
+        writer.writeInt("s", entries.size());
+        final ObjectDataOutput out = writer.getRawDataOutput();
+        for (Map.Entry<Data, Collection<Data>> entry : entries.entrySet()) {
+            entry.getKey().writeData(out);
+            Collection<Data> values = entry.getValue();
+            out.writeInt(values.size());
+            for (Data value : values) {
+                value.writeData(out);
+            }
+        }
+    }
+
+    public void readPortable(PortableReader reader) throws IOException {
+        super.readPortable(reader);
+        int size = reader.readInt("s");
+        final ObjectDataInput in = reader.getRawDataInput();
+        entries = new HashMap<Data, Collection<Data>>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = new Data();
+            key.readData(in);
+            int valueCount = in.readInt();
+            Collection<Data> values = new ArrayList<Data>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                Data value = new Data();
+                value.readData(in);
+                values.add(value);
+            }
+            entries.put(key, values);
+        }
+    }
+
+    public Permission getRequiredPermission() {
+        return new MultiMapPermission(name, ActionConstants.ACTION_PUT);
+    }
+}
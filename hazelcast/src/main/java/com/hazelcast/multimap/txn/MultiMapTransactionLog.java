@@ -23,6 +23,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.transaction.impl.KeyAwareTransactionLog;
+import com.hazelcast.transaction.impl.PartitionAwareTransactionLog;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.io.IOException;
@@ -35,7 +36,7 @@ import java.util.concurrent.Future;
 /**
  * @author ali 3/29/13
  */
-public class MultiMapTransactionLog implements KeyAwareTransactionLog {
+public class MultiMapTransactionLog implements KeyAwareTransactionLog, PartitionAwareTransactionLog {
 
     String name;
     final List<Operation> opList = new LinkedList<Operation>();
@@ -56,35 +57,46 @@ public class MultiMapTransactionLog implements KeyAwareTransactionLog {
     }
 
     public Future prepare(NodeEngine nodeEngine) {
-        TxnPrepareOperation operation = new TxnPrepareOperation(name, key, ttl, threadId);
-        try {
-            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
-            return nodeEngine.getOperationService().invokeOnPartition(MultiMapService.SERVICE_NAME, operation, partitionId);
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
-        }
+        return invoke(nodeEngine, createPrepareOperation());
     }
 
     public Future commit(NodeEngine nodeEngine) {
-        TxnCommitOperation operation = new TxnCommitOperation(name, key, threadId, txVersion, opList);
-        try {
-            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
-            return nodeEngine.getOperationService().invokeOnPartition(MultiMapService.SERVICE_NAME, operation, partitionId);
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
-        }
+        return invoke(nodeEngine, createCommitOperation());
     }
 
     public Future rollback(NodeEngine nodeEngine) {
-        TxnRollbackOperation operation = new TxnRollbackOperation(name, key, threadId);
+        return invoke(nodeEngine, createRollbackOperation());
+    }
+
+    private Future invoke(NodeEngine nodeEngine, Operation operation) {
         try {
-            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+            int partitionId = getPartitionId(nodeEngine);
             return nodeEngine.getOperationService().invokeOnPartition(MultiMapService.SERVICE_NAME, operation, partitionId);
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
         }
     }
 
+    public String getServiceName() {
+        return MultiMapService.SERVICE_NAME;
+    }
+
+    public int getPartitionId(NodeEngine nodeEngine) {
+        return nodeEngine.getPartitionService().getPartitionId(key);
+    }
+
+    public Operation createPrepareOperation() {
+        return new TxnPrepareOperation(name, key, ttl, threadId);
+    }
+
+    public Operation createCommitOperation() {
+        return new TxnCommitOperation(name, key, threadId, txVersion, opList);
+    }
+
+    public Operation createRollbackOperation() {
+        return new TxnRollbackOperation(name, key, threadId);
+    }
+
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
         out.writeInt(opList.size());
@@ -18,7 +18,7 @@ package com.hazelcast.multimap.txn;
 
 import com.hazelcast.multimap.MultiMapContainer;
 import com.hazelcast.multimap.MultiMapDataSerializerHook;
-import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapRecordCollection;
 import com.hazelcast.multimap.MultiMapWrapper;
 import com.hazelcast.multimap.operations.MultiMapKeyBasedOperation;
 import com.hazelcast.nio.ObjectDataInput;
@@ -28,7 +28,6 @@ import com.hazelcast.nio.serialization.Data;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 
 /**
  * @ali 10/18/13
@@ -55,16 +54,9 @@ public class TxnRemoveAllBackupOperation extends MultiMapKeyBasedOperation {
                 return;
             }
         }
-        Collection<MultiMapRecord> coll = wrapper.getCollection();
+        MultiMapRecordCollection coll = wrapper.getCollection();
         for (Long recordId: recordIds){
-            Iterator<MultiMapRecord> iter = coll.iterator();
-            while (iter.hasNext()){
-                MultiMapRecord record = iter.next();
-                if (record.getRecordId() == recordId){
-                    iter.remove();
-                    break;
-                }
-            }
+            coll.removeRecordId(recordId);
         }
         if (coll.isEmpty()) {
             remove();
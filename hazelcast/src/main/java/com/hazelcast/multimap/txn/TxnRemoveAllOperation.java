@@ -29,7 +29,6 @@ import com.hazelcast.util.Clock;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedList;
 
 /**
@@ -63,17 +62,12 @@ public class TxnRemoveAllOperation extends MultiMapKeyBasedOperation implements
                 return;
             }
         }
-        Collection<MultiMapRecord> coll = wrapper.getCollection();
+        MultiMapRecordCollection coll = wrapper.getCollection();
         removed = new LinkedList<MultiMapRecord>();
         for (Long recordId: recordIds){
-            Iterator<MultiMapRecord> iter = coll.iterator();
-            while (iter.hasNext()){
-                MultiMapRecord record = iter.next();
-                if (record.getRecordId() == recordId){
-                    iter.remove();
-                    removed.add(record);
-                    break;
-                }
+            MultiMapRecord record = coll.removeRecordId(recordId);
+            if (record != null){
+                removed.add(record);
             }
         }
         if (coll.isEmpty()) {
@@ -27,8 +27,6 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.Iterator;
 
 /**
  * @author ali 4/5/13
@@ -57,14 +55,8 @@ public class TxnRemoveOperation extends MultiMapKeyBasedOperation implements Bac
             response = false;
             return;
         }
-        Collection<MultiMapRecord> coll = wrapper.getCollection();
-        Iterator<MultiMapRecord> iter = coll.iterator();
-        while (iter.hasNext()){
-            if (iter.next().getRecordId() == recordId){
-                iter.remove();
-                break;
-            }
-        }
+        MultiMapRecordCollection coll = wrapper.getCollection();
+        coll.removeRecordId(recordId);
         if (coll.isEmpty()) {
             remove();
         }
@@ -16,6 +16,8 @@
 
 package com.hazelcast.nio;
 
+import com.hazelcast.ascii.memcache.MemcacheBinaryProtocol;
+import com.hazelcast.nio.ascii.SocketMemcacheBinaryReader;
 import com.hazelcast.nio.ascii.SocketTextReader;
 import com.hazelcast.util.Clock;
 
@@ -102,7 +104,11 @@ final class ReadHandler extends AbstractSelectionHandler implements Runnable {
                 } else {
                     writeHandler.setProtocol(Protocols.TEXT);
                     buffer.put(protocolBuffer.array());
-                    socketReader = new SocketTextReader(connection);
+                    if (protocolBuffer.get(0) == MemcacheBinaryProtocol.REQUEST_MAGIC) {
+                        socketReader = new SocketMemcacheBinaryReader(connection);
+                    } else {
+                        socketReader = new SocketTextReader(connection);
+                    }
                     connection.getConnectionManager().incrementTextConnections();
                 }
             }
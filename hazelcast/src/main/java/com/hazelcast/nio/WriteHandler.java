@@ -178,6 +178,9 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     @Override
     public void shutdown() {
         while (poll() != null) ;
+        if (socketWriter instanceof SocketTextWriter) {
+            ((SocketTextWriter) socketWriter).shutdown();
+        }
     }
 
     long getLastHandle() {
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.ascii;
+
+import com.hazelcast.ascii.NoOpCommand;
+import com.hazelcast.ascii.TextCommand;
+import com.hazelcast.ascii.memcache.BinaryDeleteCommand;
+import com.hazelcast.ascii.memcache.BinaryGetCommand;
+import com.hazelcast.ascii.memcache.BinaryIncrementCommand;
+import com.hazelcast.ascii.memcache.BinaryMultiGetCommand;
+import com.hazelcast.ascii.memcache.BinarySetCommand;
+import com.hazelcast.ascii.memcache.BinaryTouchCommand;
+import com.hazelcast.ascii.memcache.MemcacheBinaryProtocol;
+import com.hazelcast.ascii.memcache.SimpleCommand;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.TcpIpConnection;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.ascii.memcache.MemcacheBinaryProtocol.*;
+
+/**
+ * Reads memcache binary protocol requests and turns them into the same commands the text
+ * protocol uses, so both are served by the same processors and map entries.
+ * <p/>
+ * Consecutive quiet gets (getq/getkq), together with the non-quiet get that usually
+ * terminates such a pipeline, are collected and published as one multi-get.
+ */
+public class SocketMemcacheBinaryReader extends SocketTextReader {
+
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    private final List<BinaryGetCommand> pendingGets = new ArrayList<BinaryGetCommand>();
+    private ByteBuffer extrasAndKey;
+    private byte opcode;
+    private int keyLength;
+    private int extrasLength;
+    private int valueLength;
+    private int opaque;
+    private long cas;
+    private TextCommand command;
+
+    public SocketMemcacheBinaryReader(TcpIpConnection connection) {
+        super(connection);
+    }
+
+    @Override
+    public void read(ByteBuffer inBuffer) {
+        while (inBuffer.hasRemaining()) {
+            doRead(inBuffer);
+        }
+        publishPendingGets();
+    }
+
+    private void doRead(ByteBuffer bb) {
+        if (header.hasRemaining()) {
+            IOUtil.copyToHeapBuffer(bb, header);
+            if (header.hasRemaining()) {
+                return;
+            }
+            if (!readHeader()) {
+                closeConnection();
+                bb.position(bb.limit());
+                return;
+            }
+        }
+        if (command == null) {
+            IOUtil.copyToHeapBuffer(bb, extrasAndKey);
+            if (extrasAndKey.hasRemaining()) {
+                return;
+            }
+            extrasAndKey.flip();
+            command = createCommand();
+        }
+        if (command instanceof BinarySetCommand) {
+            if (!command.readFrom(bb)) {
+                return;
+            }
+        } else if (valueLength > 0) {
+            final int skip = Math.min(valueLength, bb.remaining());
+            bb.position(bb.position() + skip);
+            valueLength -= skip;
+            if (valueLength > 0) {
+                return;
+            }
+        }
+        dispatch(command);
+        command = null;
+        header.clear();
+    }
+
+    private boolean readHeader() {
+        header.flip();
+        if (header.get() != REQUEST_MAGIC) {
+            return false;
+        }
+        opcode = header.get();
+        keyLength = header.getShort() & 0xffff;
+        extrasLength = header.get() & 0xff;
+        // data type and vbucket id
+        header.get();
+        header.getShort();
+        final int totalBodyLength = header.getInt();
+        opaque = header.getInt();
+        cas = header.getLong();
+        if (totalBodyLength < keyLength + extrasLength) {
+            // the frame is malformed, reply with an error and skip its body
+            command = new NoOpCommand(MemcacheBinaryProtocol.response(opcode, opaque, INVALID_ARGUMENTS));
+            valueLength = Math.max(totalBodyLength, 0);
+            return true;
+        }
+        valueLength = totalBodyLength - keyLength - extrasLength;
+        extrasAndKey = ByteBuffer.allocate(extrasLength + keyLength);
+        return true;
+    }
+
+    private TextCommand createCommand() {
+        final int extrasStart = extrasAndKey.position();
+        extrasAndKey.position(extrasStart + extrasLength);
+        final byte[] rawKey = new byte[keyLength];
+        extrasAndKey.get(rawKey);
+        extrasAndKey.position(extrasStart);
+        final String key = encodeKey(rawKey);
+        switch (opcode) {
+            case GET:
+            case GETQ:
+            case GETK:
+            case GETKQ:
+                return new BinaryGetCommand(key, opcode, opaque, rawKey);
+            case SET:
+            case SETQ:
+                return newSetCommand(cas != 0 ? TextCommandType.CAS : TextCommandType.SET, key);
+            case ADD:
+            case ADDQ:
+                return newSetCommand(TextCommandType.ADD, key);
+            case REPLACE:
+            case REPLACEQ:
+                return newSetCommand(cas != 0 ? TextCommandType.CAS : TextCommandType.REPLACE, key);
+            case APPEND:
+            case APPENDQ:
+                return newSetCommand(TextCommandType.APPEND, key);
+            case PREPEND:
+            case PREPENDQ:
+                return newSetCommand(TextCommandType.PREPEND, key);
+            case DELETE:
+            case DELETEQ:
+                return new BinaryDeleteCommand(key, opcode, opaque);
+            case INCREMENT:
+            case INCREMENTQ:
+                return newIncrementCommand(TextCommandType.INCREMENT, key);
+            case DECREMENT:
+            case DECREMENTQ:
+                return newIncrementCommand(TextCommandType.DECREMENT, key);
+            case TOUCH:
+                return new BinaryTouchCommand(key, extrasLength >= 4 ? extrasAndKey.getInt() : 0, opcode, opaque);
+            case QUIT:
+            case QUITQ:
+                return new SimpleCommand(TextCommandType.QUIT);
+            case NOOP:
+                return new NoOpCommand(MemcacheBinaryProtocol.response(opcode, opaque, SUCCESS));
+            case VERSION:
+                return new NoOpCommand(MemcacheBinaryProtocol.versionResponse(opaque));
+            default:
+                return new NoOpCommand(MemcacheBinaryProtocol.response(opcode, opaque, UNKNOWN_COMMAND));
+        }
+    }
+
+    private TextCommand newSetCommand(TextCommandType type, String key) {
+        int flag = 0;
+        int expiration = 0;
+        if (extrasLength >= 8) {
+            flag = extrasAndKey.getInt();
+            expiration = extrasAndKey.getInt();
+        }
+        return new BinarySetCommand(type, key, flag, expiration, valueLength, cas, opcode, opaque);
+    }
+
+    private TextCommand newIncrementCommand(TextCommandType type, String key) {
+        long delta = 0;
+        if (extrasLength >= 8) {
+            delta = extrasAndKey.getLong();
+        }
+        if (delta < 0) {
+            // an unsigned delta beyond the signed range saturates, as the counter itself does
+            delta = Long.MAX_VALUE;
+        }
+        return new BinaryIncrementCommand(type, key, delta, opcode, opaque);
+    }
+
+    private void dispatch(TextCommand command) {
+        if (command == null) {
+            return;
+        }
+        if (command instanceof BinaryGetCommand) {
+            final BinaryGetCommand get = (BinaryGetCommand) command;
+            if (get.isQuiet() || !pendingGets.isEmpty()) {
+                pendingGets.add(get);
+                if (!get.isQuiet()) {
+                    publishPendingGets();
+                }
+                return;
+            }
+        } else {
+            publishPendingGets();
+        }
+        publishRequest(command);
+    }
+
+    private void publishPendingGets() {
+        if (!pendingGets.isEmpty()) {
+            publishRequest(new BinaryMultiGetCommand(new ArrayList<BinaryGetCommand>(pendingGets)));
+            pendingGets.clear();
+        }
+    }
+
+    /**
+     * Processors URL decode keys the way text clients send them, so the characters
+     * the decoder would alter are escaped.
+     */
+    private static String encodeKey(byte[] rawKey) {
+        final String key;
+        try {
+            key = new String(rawKey, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        if (key.indexOf('%') == -1 && key.indexOf('+') == -1) {
+            return key;
+        }
+        return key.replace("%", "%25").replace("+", "%2B");
+    }
+}
@@ -44,12 +44,13 @@ public class SocketTextReader implements TextCommandConstants, SocketReader {
 
     static {
         mapCommandParsers.put("get", new GetCommandParser());
-        mapCommandParsers.put("gets", new GetCommandParser());
+        mapCommandParsers.put("gets", new GetsCommandParser());
         mapCommandParsers.put("set", new SetCommandParser(SET));
         mapCommandParsers.put("add", new SetCommandParser(ADD));
         mapCommandParsers.put("replace", new SetCommandParser(REPLACE));
         mapCommandParsers.put("append", new SetCommandParser(APPEND));
         mapCommandParsers.put("prepend", new SetCommandParser(PREPEND));
+        mapCommandParsers.put("cas", new SetCommandParser(CAS));
         mapCommandParsers.put("touch", new TouchCommandParser(TOUCH));
         mapCommandParsers.put("incr", new IncrementCommandParser(INCREMENT));
         mapCommandParsers.put("decr", new IncrementCommandParser(DECREMENT));
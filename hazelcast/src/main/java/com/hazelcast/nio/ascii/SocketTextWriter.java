@@ -17,44 +17,92 @@
 package com.hazelcast.nio.ascii;
 
 import com.hazelcast.ascii.TextCommand;
+import com.hazelcast.ascii.rest.HttpCommand;
 import com.hazelcast.nio.SocketWriter;
 import com.hazelcast.nio.TcpIpConnection;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class SocketTextWriter implements SocketWriter<TextCommand> {
     private final TcpIpConnection connection;
-    private final Map<Long, TextCommand> responses = new ConcurrentHashMap<Long, TextCommand>(100);
+    private final Map<Long, TextCommand> responses = new HashMap<Long, TextCommand>(100);
     private long currentRequestId = 0;
+    private TextCommand streaming;
+    // streamed responses released to the connection, kept until their whole body is written
+    private final List<HttpCommand> streams = new LinkedList<HttpCommand>();
 
     public SocketTextWriter(TcpIpConnection connection) {
         this.connection = connection;
     }
 
-    public void enqueue(TextCommand response) {
+    /**
+     * Responses may complete on any thread and in any order; they are released to the
+     * connection strictly in request order. A streamed response is enqueued again for each
+     * new part, and the responses behind it wait until its last part is enqueued.
+     */
+    public synchronized void enqueue(TextCommand response) {
         long requestId = response.getRequestId();
         if (requestId == -1) {
             connection.getWriteHandler().enqueueSocketWritable(response);
-        } else {
-            if (currentRequestId == requestId) {
-                connection.getWriteHandler().enqueueSocketWritable(response);
-                currentRequestId++;
-                processWaitingResponses();
-            } else {
-                responses.put(requestId, response);
-            }
+        } else if (currentRequestId == requestId) {
+            release(response);
+            processWaitingResponses();
+        } else if (requestId > currentRequestId) {
+            responses.put(requestId, response);
         }
+        // else: a streamed response already released with its last part, nothing left to write
     }
 
     private void processWaitingResponses() {
-        TextCommand response = responses.remove(currentRequestId);
-        while (response != null) {
-            connection.getWriteHandler().enqueueSocketWritable(response);
+        while (streaming == null) {
+            TextCommand response = responses.remove(currentRequestId);
+            if (response == null) {
+                return;
+            }
+            release(response);
+        }
+    }
+
+    private void release(TextCommand response) {
+        // read before enqueueing: a part added concurrently is enqueued again by its producer
+        boolean complete = response.isResponseComplete();
+        connection.getWriteHandler().enqueueSocketWritable(response);
+        if (complete) {
+            streaming = null;
             currentRequestId++;
-            response = responses.remove(currentRequestId);
+        } else {
+            streaming = response;
+        }
+        for (Iterator<HttpCommand> it = streams.iterator(); it.hasNext(); ) {
+            if (it.next().isBodyWritten()) {
+                it.remove();
+            }
+        }
+        if (!complete && response instanceof HttpCommand && !streams.contains(response)) {
+            streams.add((HttpCommand) response);
+        }
+    }
+
+    /**
+     * Called when the connection is closed, drops the responses still held back.
+     */
+    public synchronized void shutdown() {
+        for (HttpCommand stream : streams) {
+            stream.abortResponse();
+        }
+        streams.clear();
+        streaming = null;
+        for (TextCommand response : responses.values()) {
+            if (response instanceof HttpCommand) {
+                ((HttpCommand) response).abortResponse();
+            }
         }
+        responses.clear();
     }
 
     public boolean write(TextCommand socketWritable, ByteBuffer socketBuffer) throws Exception {
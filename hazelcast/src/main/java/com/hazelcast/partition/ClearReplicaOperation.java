@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.io.IOException;
+import java.util.Collection;
+
+// runs locally...
+// clears the data of a former backup replica. Runs on the partition thread, so a replica sync response
+// of a later sync of the same partition can only be applied after it.
+final class ClearReplicaOperation extends AbstractOperation implements PartitionAwareOperation, MigrationCycleOperation {
+
+    public void run() {
+        final PartitionServiceImpl partitionService = getService();
+        final NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        final InternalPartition partition = partitionService.getPartition(getPartitionId());
+        if (partition.isOwnerOrBackup(nodeEngine.getThisAddress())) {
+            // partition table made this node a replica again
+            return;
+        }
+        final Collection<MigrationAwareService> services = nodeEngine.getServices(MigrationAwareService.class);
+        for (MigrationAwareService service : services) {
+            try {
+                service.clearPartitionReplica(getPartitionId());
+            } catch (Throwable e) {
+                getLogger().warning("Error while clearing partition replica -> " + getPartitionId(), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public boolean validatesTarget() {
+        return false;
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+}
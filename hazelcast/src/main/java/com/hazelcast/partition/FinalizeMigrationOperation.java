@@ -16,6 +16,7 @@
 
 package com.hazelcast.partition;
 
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.AbstractOperation;
@@ -59,6 +60,22 @@ final class FinalizeMigrationOperation extends AbstractOperation implements Part
             partitionService.removeActiveMigration(getPartitionId());
             if (success) {
                 nodeEngine.onPartitionMigrate(migrationInfo);
+                if (endpoint == MigrationEndpoint.SOURCE) {
+                    resyncBackupReplica(partitionService, nodeEngine);
+                }
+            }
+        }
+    }
+
+    // a replica sync of the former owner may have been applied before the migrated data was cleared above,
+    // so if it stays a backup of the partition its replica is copied again.
+    private void resyncBackupReplica(PartitionServiceImpl partitionService, NodeEngineImpl nodeEngine) {
+        final Address thisAddress = nodeEngine.getThisAddress();
+        final InternalPartition partition = partitionService.getPartition(getPartitionId());
+        for (int replicaIndex = 1; replicaIndex < InternalPartition.MAX_REPLICA_COUNT; replicaIndex++) {
+            if (thisAddress.equals(partition.getReplicaAddress(replicaIndex))) {
+                partitionService.syncPartitionReplica(getPartitionId(), replicaIndex, true);
+                return;
             }
         }
     }
@@ -40,16 +40,27 @@ public final class MigrationOperation extends BaseMigrationOperation {
     private byte[] taskData;
     private int taskCount;
     private boolean compressed;
+    private boolean lastChunk = true;
 
     public MigrationOperation() {
     }
 
     public MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions, byte[] taskData, int taskCount, boolean compressed) {
+        this(migrationInfo, replicaVersions, taskData, taskCount, compressed, true);
+    }
+
+    /**
+     * @param lastChunk false if more chunks of the partition data follow this one, partition replica versions
+     *                  are applied only along with the last chunk
+     */
+    public MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions, byte[] taskData, int taskCount,
+                              boolean compressed, boolean lastChunk) {
         super(migrationInfo);
         this.replicaVersions = replicaVersions;
         this.taskCount = taskCount;
         this.taskData = taskData;
         this.compressed = compressed;
+        this.lastChunk = lastChunk;
     }
 
     public void run() throws Exception {
@@ -81,7 +92,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
                             + ", replica: " + getReplicaIndex());
                 }
                 success = runMigrationTasks();
-                if (success) {
+                if (success && lastChunk) {
                     final PartitionServiceImpl partitionService = getService();
                     partitionService.setPartitionReplicaVersions(migrationInfo.getPartitionId(), replicaVersions);
                 }
@@ -98,6 +109,9 @@ public final class MigrationOperation extends BaseMigrationOperation {
                 migrationInfo.doneProcessing();
                 IOUtil.closeResource(in);
             }
+            if (!success) {
+                rollbackMigration();
+            }
         } else {
             getLogger().warning( "Migration is cancelled -> " + migrationInfo);
             success = false;
@@ -112,7 +126,10 @@ public final class MigrationOperation extends BaseMigrationOperation {
         boolean error = false;
         final NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         final PartitionServiceImpl partitionService = getService();
-        partitionService.addActiveMigration(migrationInfo);
+        if (!migrationInfo.equals(partitionService.getActiveMigration(migrationInfo.getPartitionId()))) {
+            // registered by a previous chunk otherwise
+            partitionService.addActiveMigration(migrationInfo);
+        }
 
         for (Operation op : tasks) {
             try {
@@ -134,6 +151,20 @@ public final class MigrationOperation extends BaseMigrationOperation {
         return !error;
     }
 
+    // the source fails the whole migration when a chunk fails, so chunks applied before it are dropped
+    private void rollbackMigration() {
+        final NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        final PartitionMigrationEvent event = new PartitionMigrationEvent(MigrationEndpoint.DESTINATION,
+                migrationInfo.getPartitionId());
+        for (MigrationAwareService service : nodeEngine.getServices(MigrationAwareService.class)) {
+            try {
+                service.rollbackMigration(event);
+            } catch (Throwable e) {
+                getLogger().warning("Error while rolling back migration -> " + event, e);
+            }
+        }
+    }
+
     private static class ErrorResponseHandler implements ResponseHandler {
         public void sendResponse(final Object obj) {
             throw new HazelcastException("Migration operations can not send response!");
@@ -147,6 +178,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
         out.writeBoolean(compressed);
+        out.writeBoolean(lastChunk);
         out.writeInt(taskCount);
         out.writeInt(taskData.length);
         out.write(taskData);
@@ -156,6 +188,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
         compressed = in.readBoolean();
+        lastChunk = in.readBoolean();
         taskCount = in.readInt();
         int size = in.readInt();
         taskData = new byte[size];
@@ -171,6 +204,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
         sb.append(", migration=").append(migrationInfo);
         sb.append(", taskCount=").append(taskCount);
         sb.append(", compressed=").append(compressed);
+        sb.append(", lastChunk=").append(lastChunk);
         sb.append('}');
         return sb.toString();
     }
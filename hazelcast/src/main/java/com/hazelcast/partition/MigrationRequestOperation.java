@@ -20,16 +20,15 @@ import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.nio.Address;
-import com.hazelcast.nio.BufferObjectDataOutput;
-import com.hazelcast.nio.IOUtil;
-import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.*;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -72,7 +71,7 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
             throw new RetryableHazelcastException("Source of migration is not this node! => " + toString());
         }
 
-        PartitionServiceImpl partitionService = getService();
+        final PartitionServiceImpl partitionService = getService();
         InternalPartition partition = partitionService.getPartition(migrationInfo.getPartitionId());
         final Address owner = partition.getOwner();
         if (owner == null) {
@@ -89,46 +88,12 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
                 partitionService.addActiveMigration(migrationInfo);
                 final long[] replicaVersions = partitionService.getPartitionReplicaVersions(migrationInfo.getPartitionId());
                 final long timeout = nodeEngine.getGroupProperties().PARTITION_MIGRATION_TIMEOUT.getLong();
-                final Collection<Operation> tasks = prepareMigrationTasks();
-                if (tasks.size() > 0) {
+                final int chunkSize = nodeEngine.getGroupProperties().PARTITION_MIGRATION_CHUNK_SIZE.getInteger();
+                final ReplicationChunkStream stream = prepareMigrationTasks(chunkSize);
+                if (stream.hasNext()) {
                     returnResponse = false;
-                    final ResponseHandler responseHandler = getResponseHandler();
-                    final SerializationService serializationService = nodeEngine.getSerializationService();
-
-                    nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR).execute(new Runnable() {
-                        public void run() {
-                            final BufferObjectDataOutput out = serializationService.createObjectDataOutput(1024 * 32);
-                            try {
-                                out.writeInt(tasks.size());
-                                for (Operation task : tasks) {
-                                    serializationService.writeObject(out, task);
-                                }
-                                final byte[] data;
-                                boolean compress = nodeEngine.getGroupProperties().PARTITION_MIGRATION_ZIP_ENABLED.getBoolean();
-                                if (compress) {
-                                    data = IOUtil.compress(out.toByteArray());
-                                } else {
-                                    data = out.toByteArray();
-                                }
-                                final MigrationOperation migrationOperation = new MigrationOperation(migrationInfo, replicaVersions, data, tasks.size(), compress);
-                                Future future = nodeEngine.getOperationService().createInvocationBuilder(PartitionServiceImpl.SERVICE_NAME,
-                                        migrationOperation, destination).setTryPauseMillis(1000).setReplicaIndex(getReplicaIndex()).invoke();
-                                Boolean result = (Boolean) nodeEngine.toObject(future.get(timeout, TimeUnit.SECONDS));
-                                migrationInfo.doneProcessing();
-                                responseHandler.sendResponse(result);
-                            } catch (Throwable e) {
-                                responseHandler.sendResponse(Boolean.FALSE);
-                                if (e instanceof ExecutionException) {
-                                    e = e.getCause() != null ? e.getCause() : e;
-                                }
-                                Level level = (e instanceof MemberLeftException || e instanceof InterruptedException)
-                                        || !getNodeEngine().isActive() ? Level.INFO : Level.WARNING;
-                                getLogger().log(level, e.getMessage(), e);
-                            } finally {
-                                IOUtil.closeResource(out);
-                            }
-                        }
-                    });
+                    final boolean compress = nodeEngine.getGroupProperties().PARTITION_MIGRATION_ZIP_ENABLED.getBoolean();
+                    new ChunkSender(stream, replicaVersions, timeout, compress).sendNextChunk();
                 } else {
                     success = true;
                 }
@@ -168,20 +133,145 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         return returnResponse;
     }
 
-    private Collection<Operation> prepareMigrationTasks() {
+    private ReplicationChunkStream prepareMigrationTasks(int chunkSize) {
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         final PartitionReplicationEvent replicationEvent = new PartitionReplicationEvent(migrationInfo.getPartitionId(), 0);
         final PartitionMigrationEvent migrationEvent = new PartitionMigrationEvent(MigrationEndpoint.SOURCE, migrationInfo.getPartitionId());
-        final Collection<Operation> tasks = new LinkedList<Operation>();
-        for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(MigrationAwareService.class)) {
-            MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
-            service.beforeMigration(migrationEvent);
-            final Operation op = service.prepareReplicationOperation(replicationEvent);
-            if (op != null) {
-                op.setServiceName(serviceInfo.getName());
-                tasks.add(op);
+        return new ReplicationChunkStream(nodeEngine, replicationEvent, migrationEvent, chunkSize);
+    }
+
+    /**
+     * Sends the partition data to the destination chunk by chunk.
+     * <p/>
+     * A chunk is created on the partition thread, the only thread which modifies the partition data, and it is
+     * serialized and sent on the async executor. The next chunk is created once the destination has applied
+     * the previous one. If any chunk fails, the whole migration fails and the destination rolls back
+     * the chunks it has applied.
+     */
+    private final class ChunkSender implements Runnable {
+
+        private final ReplicationChunkStream stream;
+        private final long[] replicaVersions;
+        private final long timeout;
+        private final boolean compress;
+        private final ResponseHandler responseHandler;
+
+        // created on the partition thread, sent on the async executor
+        private volatile List<Operation> chunk;
+        private volatile boolean lastChunk;
+        // serialized chunk, not null while the chunk waits for migration bandwidth
+        private volatile byte[] data;
+
+        ChunkSender(ReplicationChunkStream stream, long[] replicaVersions, long timeout, boolean compress) {
+            this.stream = stream;
+            this.replicaVersions = replicaVersions;
+            this.timeout = timeout;
+            this.compress = compress;
+            this.responseHandler = getResponseHandler();
+        }
+
+        // runs on the partition thread
+        void sendNextChunk() {
+            try {
+                if (!migrationInfo.isValid()) {
+                    throw new HazelcastException("Migration is cancelled -> " + migrationInfo);
+                }
+                chunk = stream.next();
+                lastChunk = !stream.hasNext();
+                data = null;
+                getNodeEngine().getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR).execute(this);
+            } catch (Throwable e) {
+                fail(e);
             }
         }
-        return tasks;
+
+        public void run() {
+            final NodeEngine nodeEngine = getNodeEngine();
+            try {
+                final PartitionServiceImpl partitionService = getService();
+                if (data == null) {
+                    data = ReplicationChunkStream.toByteArray(nodeEngine.getSerializationService(), chunk, compress);
+                    final long delay = partitionService.reserveMigrationBandwidth(data.length);
+                    if (delay > 0) {
+                        // re-submitted instead of sleeping, the async executor is shared
+                        nodeEngine.getExecutionService().schedule(new Runnable() {
+                            public void run() {
+                                try {
+                                    getNodeEngine().getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR)
+                                            .execute(ChunkSender.this);
+                                } catch (Throwable e) {
+                                    fail(e);
+                                }
+                            }
+                        }, delay, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                }
+                final MigrationOperation migrationOperation = new MigrationOperation(migrationInfo,
+                        replicaVersions, data, chunk.size(), compress, lastChunk);
+                chunk = null;
+                data = null;
+                Future future = nodeEngine.getOperationService().createInvocationBuilder(PartitionServiceImpl.SERVICE_NAME,
+                        migrationOperation, migrationInfo.getDestination()).setTryPauseMillis(1000)
+                        .setReplicaIndex(getReplicaIndex()).invoke();
+                final Boolean result = (Boolean) nodeEngine.toObject(future.get(timeout, TimeUnit.SECONDS));
+                if (Boolean.TRUE.equals(result) && !lastChunk) {
+                    final NextChunkOperation op = new NextChunkOperation(this);
+                    op.setPartitionId(getPartitionId()).setNodeEngine(nodeEngine).setValidateTarget(false)
+                            .setService(partitionService);
+                    nodeEngine.getOperationService().executeOperation(op);
+                } else {
+                    migrationInfo.doneProcessing();
+                    responseHandler.sendResponse(result);
+                }
+            } catch (Throwable e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable e) {
+            responseHandler.sendResponse(Boolean.FALSE);
+            if (e instanceof ExecutionException) {
+                e = e.getCause() != null ? e.getCause() : e;
+            }
+            Level level = (e instanceof MemberLeftException || e instanceof InterruptedException)
+                    || !getNodeEngine().isActive() ? Level.INFO : Level.WARNING;
+            getLogger().log(level, e.getMessage(), e);
+        }
+    }
+
+    // runs locally, creates the next migration chunk on the partition thread
+    private static final class NextChunkOperation extends AbstractOperation
+            implements PartitionAwareOperation, MigrationCycleOperation {
+
+        private final ChunkSender sender;
+
+        NextChunkOperation(ChunkSender sender) {
+            this.sender = sender;
+        }
+
+        public void run() {
+            sender.sendNextChunk();
+        }
+
+        @Override
+        public boolean returnsResponse() {
+            return false;
+        }
+
+        @Override
+        public boolean validatesTarget() {
+            return false;
+        }
+
+        @Override
+        protected void readInternal(ObjectDataInput in) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void writeInternal(ObjectDataOutput out) throws IOException {
+            throw new UnsupportedOperationException();
+        }
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.util.Clock;
+
+/**
+ * Limits the rate of migration data a member sends, shared by all migrations running on the member.
+ * <p/>
+ * Each chunk reserves the time it takes to send it at the configured rate, right after the
+ * reservation of the previous chunk; callers send the chunk once their reservation starts.
+ */
+final class MigrationThrottle {
+
+    private final long bytesPerSecond;
+
+    // end of the last reservation, guarded by this
+    private long nextSendTime;
+
+    /**
+     * @param kilobytesPerSecond maximum rate, zero or negative for no limit
+     */
+    MigrationThrottle(long kilobytesPerSecond) {
+        this.bytesPerSecond = kilobytesPerSecond * 1024;
+    }
+
+    /**
+     * Reserves sending the given number of bytes.
+     *
+     * @return milliseconds to wait before sending them without exceeding the rate, zero to send them now
+     */
+    long reserve(int bytes) {
+        if (bytesPerSecond <= 0) {
+            return 0;
+        }
+        synchronized (this) {
+            final long now = Clock.currentTimeMillis();
+            final long sendTime = Math.max(now, nextSendTime);
+            nextSendTime = sendTime + bytes * 1000L / bytesPerSecond;
+            return sendTime - now;
+        }
+    }
+}
@@ -46,6 +46,10 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
 
     public static final String SERVICE_NAME = "hz:core:partitionService";
 
+    private static final long REPLICA_SYNC_TIMEOUT_MILLIS = 15000;
+
+    private static final String MIGRATION_EXECUTOR = "hz:migration";
+
     private final Node node;
     private final NodeEngineImpl nodeEngine;
     private final ILogger logger;
@@ -55,9 +59,30 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
     private final AtomicReferenceArray<ReplicaSyncInfo> replicaSyncRequests;
     private final EntryTaskScheduler<Integer, ReplicaSyncInfo> replicaSyncScheduler;
     private final AtomicInteger replicaSyncProcessCount = new AtomicInteger();
+    private final AtomicLong replicaSyncStreamIds = new AtomicLong();
+    // chunked replica syncs this node is the source of, keyed by partition id and replica index.
+    // streams are consumed by partition threads only.
+    private final ConcurrentMap<Integer, ReplicaSyncStream> replicaSyncStreams
+            = new ConcurrentHashMap<Integer, ReplicaSyncStream>();
+    // keys changed on partitions this node owns, created lazily and dropped when the partition owner changes
+    private final AtomicReferenceArray<ReplicaChangeLog> replicaChangeLogs;
+    private final int replicaChangeLogSize;
+    // last completed sync of each backup replica of this node, cleared when the partition owner
+    // or the replica index of this node changes. replica versions are comparable with the owner's
+    // change log only while it is set.
+    private final AtomicReferenceArray<ReplicaSyncInfo> syncedReplicas;
     private final MigrationThread migrationThread;
     private final long partitionMigrationInterval;
     private final long partitionMigrationTimeout;
+    private final int maxParallelMigrations;
+    private final int maxParallelMigrationsPerMember;
+    private final MigrationThrottle migrationThrottle;
+    private final ExecutorService migrationExecutor;
+    // bytes of partition data sent by this member as migration source
+    private final AtomicLong migratedBytes = new AtomicLong();
+    // successful migrations scheduled by this member as master
+    private final AtomicLong completedMigrationCount = new AtomicLong();
+    private final AtomicLong completedMigrationTime = new AtomicLong();
     private final PartitionStateGenerator partitionStateGenerator;
     private final MemberGroupFactory memberGroupFactory;
     private final PartitionServiceProxy proxy;
@@ -103,10 +128,18 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         // partitionMigrationTimeout is 1.5 times of real timeout
         partitionMigrationTimeout = (long) (node.groupProperties.PARTITION_MIGRATION_TIMEOUT.getLong() * 1.5f);
 
+        maxParallelMigrations = Math.max(1, node.groupProperties.PARTITION_MAX_PARALLEL_MIGRATIONS.getInteger());
+        maxParallelMigrationsPerMember = Math.max(1, node.groupProperties.PARTITION_MAX_PARALLEL_MIGRATIONS_PER_MEMBER.getInteger());
+        migrationThrottle = new MigrationThrottle(node.groupProperties.PARTITION_MIGRATION_MAX_BANDWIDTH.getLong());
+        migrationExecutor = nodeEngine.getExecutionService().register(MIGRATION_EXECUTOR, maxParallelMigrations, Integer.MAX_VALUE);
+
         migrationThread = new MigrationThread(node);
         proxy = new PartitionServiceProxy(this);
 
         replicaSyncRequests = new AtomicReferenceArray<ReplicaSyncInfo>(new ReplicaSyncInfo[partitionCount]);
+        replicaChangeLogs = new AtomicReferenceArray<ReplicaChangeLog>(partitionCount);
+        replicaChangeLogSize = node.groupProperties.PARTITION_REPLICA_CHANGE_LOG_SIZE.getInteger();
+        syncedReplicas = new AtomicReferenceArray<ReplicaSyncInfo>(partitionCount);
         replicaSyncScheduler = EntryTaskSchedulerFactory.newScheduler(nodeEngine.getExecutionService().getScheduledExecutor(),
                 new ReplicaSyncEntryProcessor(), ScheduleType.SCHEDULE_IF_NEW);
 
@@ -226,6 +259,12 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         if (deadAddress == null || deadAddress.equals(thisAddress)) {
             return;
         }
+        final Iterator<ReplicaSyncStream> syncStreams = replicaSyncStreams.values().iterator();
+        while (syncStreams.hasNext()) {
+            if (deadAddress.equals(syncStreams.next().target)) {
+                syncStreams.remove();
+            }
+        }
         lock.lock();
         try {
             migrationQueue.clear();
@@ -363,6 +402,15 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
                     }
                 }
             }
+            if (partitionState.getVersion() < stateVersion.get()) {
+                // partition states are processed concurrently, a state published before the current one
+                // would move replicas back to members which may have cleared their data already.
+                if (logger.isFinestEnabled()) {
+                    logger.finest("Ignoring stale partition state, version: " + partitionState.getVersion()
+                            + ", current version: " + stateVersion.get());
+                }
+                return;
+            }
 
             final Set<Address> unknownAddresses = new HashSet<Address>();
             PartitionInfo[] state = partitionState.getPartitions();
@@ -514,6 +562,13 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         return activeMigrations.get(partitionId);
     }
 
+    // true if this node migrated the partition away and has not cleared its partition data yet,
+    // replica sync data must not be applied to that data before it is cleared.
+    boolean isMigrationSourcePending(int partitionId) {
+        final MigrationInfo migrationInfo = activeMigrations.get(partitionId);
+        return migrationInfo != null && node.getThisAddress().equals(migrationInfo.getSource());
+    }
+
     MigrationInfo removeActiveMigration(int partitionId) {
         partitions[partitionId].isMigrating=false;
         return activeMigrations.remove(partitionId);
@@ -547,15 +602,11 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
     }
 
     private void clearPartitionReplica(final int partitionId, final int replicaIndex) {
-        nodeEngine.getExecutionService().execute(ExecutionService.SYSTEM_EXECUTOR, new Runnable() {
-            @Override
-            public void run() {
-                final Collection<MigrationAwareService> services = nodeEngine.getServices(MigrationAwareService.class);
-                for (MigrationAwareService service : services) {
-                    service.clearPartitionReplica(partitionId);
-                }
-            }
-        });
+        // partition table may make this node a replica again, a replica sync triggered by that change
+        // must not be followed by the clear. Sync responses run on the partition thread, so does the clear.
+        final ClearReplicaOperation op = new ClearReplicaOperation();
+        op.setPartitionId(partitionId).setNodeEngine(nodeEngine).setValidateTarget(false).setService(this);
+        nodeEngine.getOperationService().executeOperation(op);
     }
 
     @PrivateApi
@@ -566,7 +617,9 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         final InternalPartitionImpl partitionImpl = getPartition(partitionId);
         final Address target = partitionImpl.getOwner();
         if (target != null) {
-            final ReplicaSyncRequest syncRequest = new ReplicaSyncRequest();
+            // a replica which only fell behind catches up by the owner's change log, forced syncs copy all differences
+            final long replicaVersion = force ? -1 : getSyncedReplicaVersion(partitionId, replicaIndex, target);
+            final ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(replicaVersion);
             syncRequest.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
             final ReplicaSyncInfo currentSyncInfo = replicaSyncRequests.get(partitionId);
             final ReplicaSyncInfo syncInfo = new ReplicaSyncInfo(partitionId, replicaIndex, target);
@@ -591,7 +644,7 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
                     logger.log(level, "Sending sync replica request to -> " + target
                             + "; for partition: " + partitionId + ", replica: " + replicaIndex);
                 }
-                replicaSyncScheduler.schedule(15000, partitionId, syncInfo);
+                replicaSyncScheduler.schedule(REPLICA_SYNC_TIMEOUT_MILLIS, partitionId, syncInfo);
                 nodeEngine.getOperationService().send(syncRequest, target);
             }
         } else {
@@ -600,6 +653,15 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         }
     }
 
+    // returns the replica version the owner's change log can be replayed from, -1 if there is none
+    private long getSyncedReplicaVersion(int partitionId, int replicaIndex, Address owner) {
+        final ReplicaSyncInfo syncInfo = syncedReplicas.get(partitionId);
+        if (syncInfo == null || syncInfo.replicaIndex != replicaIndex || !syncInfo.target.equals(owner)) {
+            return -1;
+        }
+        return replicaVersions[partitionId].get()[replicaIndex - 1];
+    }
+
     @PrivateApi
     public InternalPartition[] getPartitions() {
         //a defensive copy is made to prevent breaking with the old approach, but imho not needed
@@ -699,7 +761,8 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         return false;
     }
     boolean hasOnGoingMigrationLocal() {
-        return !activeMigrations.isEmpty() || !migrationQueue.isEmpty() || shouldWaitMigrationOrBackups(Level.OFF);
+        return !activeMigrations.isEmpty() || !migrationQueue.isEmpty() || migrationThread.getRunningMigrationCount() > 0
+                || shouldWaitMigrationOrBackups(Level.OFF);
     }
 
     private boolean checkReplicaSyncState() {
@@ -810,6 +873,45 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         return replicaVersions[partitionId].incrementAndGet(backupCount);
     }
 
+    // called in operation threads, right after incrementPartitionReplicaVersions
+    @PrivateApi
+    public void logReplicaChange(Operation op, long[] versions, int backupCount) {
+        if (replicaChangeLogSize <= 0) {
+            return;
+        }
+        final int partitionId = op.getPartitionId();
+        ReplicaChangeLog changeLog = replicaChangeLogs.get(partitionId);
+        if (changeLog == null) {
+            changeLog = new ReplicaChangeLog(replicaChangeLogSize);
+            replicaChangeLogs.set(partitionId, changeLog);
+        }
+        logReplicaChange(changeLog, op, versions, backupCount);
+    }
+
+    private void logReplicaChange(ReplicaChangeLog changeLog, Operation op, long[] versions, int backupCount) {
+        if (op instanceof KeyBasedOperation) {
+            changeLog.add(((KeyBasedOperation) op).getKey(), versions, backupCount);
+        } else if (op instanceof CompositeOperation) {
+            for (Operation backedUpOp : ((CompositeOperation) op).getBackedUpOperations()) {
+                logReplicaChange(changeLog, backedUpOp, versions, backupCount);
+            }
+        } else if (op.getService() instanceof ReplicaDigestAwareService) {
+            // keys changed by the operation are unknown, replicas behind this change need a full sync
+            changeLog.truncate(versions);
+        }
+    }
+
+    // called in operation threads
+    // returns keys changed after the given version of the replica, null if the change log does not cover it
+    Set<Data> getReplicaChangedKeys(int partitionId, int replicaIndex, long version) {
+        final ReplicaChangeLog changeLog = replicaChangeLogs.get(partitionId);
+        if (changeLog == null || replicaIndex < 1) {
+            return null;
+        }
+        final long currentVersion = replicaVersions[partitionId].get()[replicaIndex - 1];
+        return changeLog.getChangedKeys(replicaIndex, version, currentVersion);
+    }
+
     // called in operation threads
     @PrivateApi
     public void updatePartitionReplicaVersions(int partitionId, long versions[], int replicaIndex) {
@@ -833,10 +935,63 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
     // called in operation threads
     void finalizeReplicaSync(int partitionId, long[] versions) {
         setPartitionReplicaVersions(partitionId, versions);
+        syncedReplicas.set(partitionId, replicaSyncRequests.get(partitionId));
         replicaSyncRequests.set(partitionId, null);
         replicaSyncScheduler.cancel(partitionId);
     }
 
+    // called in operation threads
+    // ends the ongoing sync without applying replica versions, its data was dropped
+    void cancelReplicaSync(int partitionId, int replicaIndex, Address source) {
+        final ReplicaSyncInfo currentSyncInfo = replicaSyncRequests.get(partitionId);
+        if (currentSyncInfo != null && currentSyncInfo.replicaIndex == replicaIndex
+                && currentSyncInfo.target.equals(source)
+                && replicaSyncRequests.compareAndSet(partitionId, currentSyncInfo, null)) {
+            replicaSyncScheduler.cancel(partitionId);
+        }
+    }
+
+    // called in operation threads
+    // refreshes the timeout of the ongoing sync, returns false if the chunk does not belong to it
+    boolean replicaSyncChunkReceived(int partitionId, int replicaIndex, Address source) {
+        final ReplicaSyncInfo currentSyncInfo = replicaSyncRequests.get(partitionId);
+        if (currentSyncInfo == null || currentSyncInfo.replicaIndex != replicaIndex
+                || !currentSyncInfo.target.equals(source)) {
+            return false;
+        }
+        final ReplicaSyncInfo syncInfo = new ReplicaSyncInfo(partitionId, replicaIndex, source);
+        if (!replicaSyncRequests.compareAndSet(partitionId, currentSyncInfo, syncInfo)) {
+            return false;
+        }
+        replicaSyncScheduler.cancel(partitionId);
+        replicaSyncScheduler.schedule(REPLICA_SYNC_TIMEOUT_MILLIS, partitionId, syncInfo);
+        return true;
+    }
+
+    // called in operation threads
+    // returns the id the replica resumes the stream with, a newer stream of the same replica replaces this one
+    long setReplicaSyncStream(int partitionId, int replicaIndex, Address target, ReplicationChunkStream stream) {
+        final long streamId = replicaSyncStreamIds.incrementAndGet();
+        replicaSyncStreams.put(getReplicaSyncKey(partitionId, replicaIndex), new ReplicaSyncStream(target, stream, streamId));
+        return streamId;
+    }
+
+    // called in operation threads
+    ReplicationChunkStream getReplicaSyncStream(int partitionId, int replicaIndex, Address target, long streamId) {
+        final ReplicaSyncStream syncStream = replicaSyncStreams.get(getReplicaSyncKey(partitionId, replicaIndex));
+        return syncStream != null && syncStream.target.equals(target) && syncStream.streamId == streamId
+                ? syncStream.stream : null;
+    }
+
+    // called in operation threads
+    void removeReplicaSyncStream(int partitionId, int replicaIndex) {
+        replicaSyncStreams.remove(getReplicaSyncKey(partitionId, replicaIndex));
+    }
+
+    private static int getReplicaSyncKey(int partitionId, int replicaIndex) {
+        return partitionId * InternalPartition.MAX_REPLICA_COUNT + replicaIndex;
+    }
+
     void incrementReplicaSyncProcessCount() {
         replicaSyncProcessCount.incrementAndGet();
     }
@@ -887,6 +1042,11 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
             replicaSyncRequests.set(k, null);
         }
         replicaSyncScheduler.cancelAll();
+        replicaSyncStreams.clear();
+        for (int k = 0; k < partitionCount; k++) {
+            replicaChangeLogs.set(k, null);
+            syncedReplicas.set(k, null);
+        }
         lock.lock();
         try {
             initialized = false;
@@ -923,6 +1083,45 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         return migrationQueue.size();
     }
 
+    // migrations started by this member as master and not finished yet
+    public int getRunningMigrationCount() {
+        return migrationThread.getRunningMigrationCount();
+    }
+
+    // successful migrations scheduled by this member as master
+    public long getCompletedMigrationCount() {
+        return completedMigrationCount.get();
+    }
+
+    // bytes of partition data sent by this member as migration source
+    public long getMigratedBytes() {
+        return migratedBytes.get();
+    }
+
+    // based on the average duration of successful migrations, zero if there are no migrations, -1 if not known yet
+    public long getEstimatedMigrationTimeMillis() {
+        final long remaining = migrationQueue.size() + migrationThread.getRunningMigrationCount();
+        if (remaining == 0) {
+            return 0;
+        }
+        final long completed = completedMigrationCount.get();
+        if (completed == 0) {
+            return -1;
+        }
+        final long averageTime = completedMigrationTime.get() / completed;
+        return remaining * averageTime / Math.min(remaining, maxParallelMigrations);
+    }
+
+    /**
+     * Called by migration sources before sending a chunk of partition data.
+     *
+     * @return milliseconds to wait before sending the chunk
+     */
+    long reserveMigrationBandwidth(int bytes) {
+        migratedBytes.addAndGet(bytes);
+        return migrationThrottle.reserve(bytes);
+    }
+
     public PartitionServiceProxy getPartitionServiceProxy() {
         return proxy;
     }
@@ -1133,6 +1332,7 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
     private class Migrator implements Runnable {
         final MigrationInfo migrationInfo;
         final BackupMigrationTask backupTask;
+        volatile boolean succeeded;
 
         Migrator(MigrationInfo migrationInfo, BackupMigrationTask backupTask) {
             this.migrationInfo = migrationInfo;
@@ -1226,6 +1426,7 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
             } finally {
                 lock.unlock();
             }
+            succeeded = true;
             sendMigrationEvent(migrationInfo, MigrationStatus.COMPLETED);
         }
 
@@ -1238,11 +1439,23 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         }
     }
 
+    /**
+     * Runs queued migrations on the migration executor, at most {@link #maxParallelMigrations} at a time
+     * and at most {@link #maxParallelMigrationsPerMember} per source and destination member.
+     * A migration whose members are busy is skipped in favour of the next one in the queue, unless the next one
+     * migrates the same partition; migrations of a partition always run one at a time and in queue order.
+     * Other tasks, e.g. re-partitioning, are run in queue order once all running migrations are finished.
+     */
     private class MigrationThread implements Runnable {
         private final Thread thread;
         private final long sleepTime = Math.max(250L, partitionMigrationInterval);
         private boolean migrating = false;
 
+        // guarded by this
+        private int runningMigrations;
+        private final Map<Address, Integer> runningMigrationsPerMember = new HashMap<Address, Integer>();
+        private final Set<Integer> migratingPartitions = new HashSet<Integer>();
+
         MigrationThread(Node node) {
             thread = new Thread(node.threadGroup, this, node.getThreadNamePrefix("migration"));
         }
@@ -1252,13 +1465,18 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
             try {
                 while (!thread.isInterrupted()) {
                     Runnable r;
-                    while (migrationActive.get() && (r = migrationQueue.poll(1, TimeUnit.SECONDS)) != null) {
-                        safeRun(r);
+                    while (migrationActive.get() && (r = nextTask()) != null) {
+                        if (r instanceof Migrator) {
+                            migrating = true;
+                            startMigration((Migrator) r);
+                        } else {
+                            safeRun(r);
+                        }
                         if (partitionMigrationInterval > 0) {
                             Thread.sleep(partitionMigrationInterval);
                         }
                     }
-                    final boolean hasNoTasks = migrationQueue.isEmpty();
+                    final boolean hasNoTasks = migrationQueue.isEmpty() && getRunningMigrationCount() == 0;
                     if (hasNoTasks) {
                         if (migrating) {
                             migrating = false;
@@ -1279,10 +1497,113 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
             }
         }
 
+        // waits at most one second for a task that can be started
+        private synchronized Runnable nextTask() throws InterruptedException {
+            final long deadline = Clock.currentTimeMillis() + 1000;
+            while (true) {
+                final Runnable task = pollStartableTask();
+                if (task != null) {
+                    return task;
+                }
+                final long waitTime = deadline - Clock.currentTimeMillis();
+                if (waitTime <= 0) {
+                    return null;
+                }
+                // queue offers do not notify, poll it at least every 100 ms
+                wait(Math.min(waitTime, 100));
+            }
+        }
+
+        private Runnable pollStartableTask() {
+            boolean head = true;
+            // partitions of skipped migrations, later migrations of them must not overtake
+            Set<Integer> skippedPartitions = null;
+            for (Iterator<Runnable> iter = migrationQueue.iterator(); iter.hasNext(); head = false) {
+                final Runnable task = iter.next();
+                if (!(task instanceof Migrator)) {
+                    if (head && runningMigrations == 0) {
+                        iter.remove();
+                        return task;
+                    }
+                    return null;
+                }
+                if (runningMigrations >= maxParallelMigrations) {
+                    return null;
+                }
+                final MigrationInfo migrationInfo = ((Migrator) task).migrationInfo;
+                final Integer partitionId = migrationInfo.getPartitionId();
+                if (skippedPartitions != null && skippedPartitions.contains(partitionId)) {
+                    continue;
+                }
+                if (!migratingPartitions.contains(partitionId)
+                        && canMigrate(migrationInfo.getSource()) && canMigrate(migrationInfo.getDestination())) {
+                    iter.remove();
+                    runningMigrations++;
+                    migratingPartitions.add(partitionId);
+                    incrementMemberMigrations(migrationInfo.getSource(), 1);
+                    incrementMemberMigrations(migrationInfo.getDestination(), 1);
+                    return task;
+                }
+                if (skippedPartitions == null) {
+                    skippedPartitions = new HashSet<Integer>();
+                }
+                skippedPartitions.add(partitionId);
+            }
+            return null;
+        }
+
+        private boolean canMigrate(Address member) {
+            final Integer count = runningMigrationsPerMember.get(member);
+            return count == null || count < maxParallelMigrationsPerMember;
+        }
+
+        private void incrementMemberMigrations(Address member, int delta) {
+            final Integer count = runningMigrationsPerMember.get(member);
+            final int newCount = (count != null ? count : 0) + delta;
+            if (newCount > 0) {
+                runningMigrationsPerMember.put(member, newCount);
+            } else {
+                runningMigrationsPerMember.remove(member);
+            }
+        }
+
+        private synchronized void migrationFinished(Migrator migrator) {
+            runningMigrations--;
+            migratingPartitions.remove(migrator.migrationInfo.getPartitionId());
+            incrementMemberMigrations(migrator.migrationInfo.getSource(), -1);
+            incrementMemberMigrations(migrator.migrationInfo.getDestination(), -1);
+            notifyAll();
+        }
+
+        synchronized int getRunningMigrationCount() {
+            return runningMigrations;
+        }
+
+        private void startMigration(final Migrator migrator) {
+            try {
+                migrationExecutor.execute(new Runnable() {
+                    public void run() {
+                        final long start = Clock.currentTimeMillis();
+                        try {
+                            safeRun(migrator);
+                            if (migrator.succeeded) {
+                                completedMigrationTime.addAndGet(Clock.currentTimeMillis() - start);
+                                completedMigrationCount.incrementAndGet();
+                            }
+                        } finally {
+                            migrationFinished(migrator);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                migrationFinished(migrator);
+                logger.finest(e);
+            }
+        }
+
         boolean safeRun(final Runnable r) {
             if (r == null || thread.isInterrupted()) return false;
             try {
-                migrating = (r instanceof Migrator);
                 r.run();
             } catch (Throwable t) {
                 logger.warning( t);
@@ -1469,6 +1790,13 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
 
         @Override
         public void replicaChanged(PartitionReplicaChangeEvent event) {
+            final int partitionId = event.getPartitionId();
+            if (event.getReplicaIndex() == 0) {
+                replicaChangeLogs.set(partitionId, null);
+                syncedReplicas.set(partitionId, null);
+            } else if (thisAddress.equals(event.getOldAddress()) || thisAddress.equals(event.getNewAddress())) {
+                syncedReplicas.set(partitionId, null);
+            }
             if (event.getReplicaIndex() > 0) {
                 // backup replica owner changed!
                 if (thisAddress.equals(event.getOldAddress())) {
@@ -1492,6 +1820,18 @@ public class PartitionServiceImpl implements PartitionService, ManagedService,
         }
     }
 
+    private static class ReplicaSyncStream {
+        final Address target;
+        final ReplicationChunkStream stream;
+        final long streamId;
+
+        ReplicaSyncStream(Address target, ReplicationChunkStream stream, long streamId) {
+            this.target = target;
+            this.stream = stream;
+            this.streamId = streamId;
+        }
+    }
+
     private class ReplicaSyncEntryProcessor implements ScheduledEntryProcessor<Integer, ReplicaSyncInfo> {
         @Override
         public void process(EntryTaskScheduler<Integer, ReplicaSyncInfo> scheduler, Collection<ScheduledEntry<Integer, ReplicaSyncInfo>> entries) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bounded log of the keys changed on a partition owner, tagged with the partition replica versions
+ * of each change.
+ * <p/>
+ * A backup replica which fell behind the owner receives only the current state of the keys changed
+ * since its replica version, as long as the log still covers that version. Changes which cannot be
+ * attributed to a single key truncate the log, so later syncs fall back to a full or digest based copy.
+ * <p/>
+ * Not thread-safe, accessed by the partition thread only.
+ */
+final class ReplicaChangeLog {
+
+    private static final int VERSION_COUNT = InternalPartition.MAX_BACKUP_COUNT;
+
+    private final Data[] keys;
+    private final int[] backupCounts;
+    // versions of the entries, VERSION_COUNT slots per entry
+    private final long[] versions;
+
+    // replica versions before the oldest retained entry, valid only after the first change is logged
+    private final long[] baseVersions = new long[VERSION_COUNT];
+    private boolean initialized;
+
+    private int head;
+    private int size;
+
+    ReplicaChangeLog(int capacity) {
+        keys = new Data[capacity];
+        backupCounts = new int[capacity];
+        versions = new long[capacity * VERSION_COUNT];
+    }
+
+    /**
+     * Logs a change of the given key.
+     *
+     * @param newVersions replica versions after the change
+     * @param backupCount number of replica versions incremented by the change
+     */
+    void add(Data key, long[] newVersions, int backupCount) {
+        if (!initialized) {
+            for (int i = 0; i < VERSION_COUNT; i++) {
+                baseVersions[i] = i < backupCount ? newVersions[i] - 1 : newVersions[i];
+            }
+            initialized = true;
+        }
+        final int capacity = keys.length;
+        int index = head + size;
+        if (size == capacity) {
+            // evict the oldest entry, the log no longer covers versions before it
+            final int offset = head * VERSION_COUNT;
+            for (int i = 0; i < backupCounts[head]; i++) {
+                baseVersions[i] = Math.max(baseVersions[i], versions[offset + i]);
+            }
+            head = (head + 1) % capacity;
+        } else {
+            size++;
+        }
+        index %= capacity;
+        keys[index] = key;
+        backupCounts[index] = backupCount;
+        System.arraycopy(newVersions, 0, versions, index * VERSION_COUNT, backupCount);
+    }
+
+    /**
+     * Drops all entries, a replica is able to catch up by the log only from the given versions on.
+     */
+    void truncate(long[] currentVersions) {
+        for (int i = 0; i < size; i++) {
+            keys[(head + i) % keys.length] = null;
+        }
+        head = 0;
+        size = 0;
+        System.arraycopy(currentVersions, 0, baseVersions, 0, VERSION_COUNT);
+        initialized = true;
+    }
+
+    /**
+     * Returns the keys changed after the given version of a replica.
+     *
+     * @param replicaIndex   index of the replica, greater than zero
+     * @param version        replica version of the replica
+     * @param currentVersion current version of the replica on the owner
+     * @return changed keys, or null if the log does not cover the given version
+     */
+    Set<Data> getChangedKeys(int replicaIndex, long version, long currentVersion) {
+        if (version == currentVersion) {
+            return Collections.emptySet();
+        }
+        final int versionIndex = replicaIndex - 1;
+        if (!initialized || version > currentVersion || version < baseVersions[versionIndex]) {
+            return null;
+        }
+        final Set<Data> changedKeys = new HashSet<Data>();
+        for (int i = 0; i < size; i++) {
+            final int index = (head + i) % keys.length;
+            if (backupCounts[index] >= replicaIndex && versions[index * VERSION_COUNT + versionIndex] > version) {
+                changedKeys.add(keys[index]);
+            }
+        }
+        return changedKeys;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReplicaDigestAwareService;
+import com.hazelcast.spi.UrgentSystemOperation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Sent by the partition owner in reply to a {@link ReplicaSyncRequest}, carrying key range digests
+ * of the partition data of {@link ReplicaDigestAwareService}s.
+ * <p/>
+ * The replica compares them with its own digests, clears the ranges that differ and asks the owner
+ * for the data of these ranges only.
+ */
+public class ReplicaSyncDigests extends Operation implements PartitionAwareOperation, BackupOperation, UrgentSystemOperation {
+
+    private long[] digests;
+
+    public ReplicaSyncDigests() {
+    }
+
+    ReplicaSyncDigests(long[] digests) {
+        this.digests = digests;
+    }
+
+    /**
+     * Computes key range digests of the partition replica.
+     *
+     * @return digests indexed by key range, or null if there is no {@link ReplicaDigestAwareService}
+     */
+    static long[] computeDigests(NodeEngineImpl nodeEngine, int partitionId, int replicaIndex, int rangeCount) {
+        final Collection<ReplicaDigestAwareService> services = nodeEngine.getServices(ReplicaDigestAwareService.class);
+        if (services.isEmpty()) {
+            return null;
+        }
+        final long[] digests = new long[rangeCount];
+        for (ReplicaDigestAwareService service : services) {
+            service.digestReplica(partitionId, replicaIndex, digests);
+        }
+        return digests;
+    }
+
+    public void beforeRun() throws Exception {
+    }
+
+    public void run() throws Exception {
+        final NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        final PartitionServiceImpl partitionService = (PartitionServiceImpl) nodeEngine.getPartitionService();
+        final int partitionId = getPartitionId();
+        final int replicaIndex = getReplicaIndex();
+        final Address source = getCallerAddress();
+        if (partitionService.isMigrationSourcePending(partitionId)) {
+            // the former owner requests the replica again once its migrated data is cleared
+            return;
+        }
+        if (!partitionService.replicaSyncChunkReceived(partitionId, replicaIndex, source)) {
+            return;
+        }
+
+        final long[] localDigests = computeDigests(nodeEngine, partitionId, replicaIndex, digests.length);
+        final boolean[] differingRanges = new boolean[digests.length];
+        int differingCount = 0;
+        for (int i = 0; i < digests.length; i++) {
+            if (localDigests == null || localDigests[i] != digests[i]) {
+                differingRanges[i] = true;
+                differingCount++;
+            }
+        }
+        final int[] keyRanges = new int[differingCount];
+        for (int i = 0, k = 0; i < differingRanges.length; i++) {
+            if (differingRanges[i]) {
+                keyRanges[k++] = i;
+            }
+        }
+
+        final ILogger logger = nodeEngine.getLogger(getClass());
+        if (logger.isFinestEnabled()) {
+            logger.finest("Requesting " + differingCount + " of " + digests.length + " key ranges from -> " + source
+                    + "; for partition: " + partitionId + ", replica: " + replicaIndex);
+        }
+        final ReplicaSyncRequest request = new ReplicaSyncRequest(digests.length, keyRanges);
+        request.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        nodeEngine.getOperationService().send(request, source);
+    }
+
+    public void afterRun() throws Exception {
+    }
+
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    public Object getResponse() {
+        return null;
+    }
+
+    public boolean validatesTarget() {
+        return true;
+    }
+
+    public void logError(Throwable e) {
+        ReplicaErrorLogger.log(e, getLogger());
+    }
+
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeLongArray(digests);
+    }
+
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        digests = in.readLongArray();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("ReplicaSyncDigests");
+        sb.append("{partition=").append(getPartitionId());
+        sb.append(", replica=").append(getReplicaIndex());
+        sb.append(", ranges=").append(digests != null ? digests.length : 0);
+        sb.append('}');
+        return sb.toString();
+    }
+}
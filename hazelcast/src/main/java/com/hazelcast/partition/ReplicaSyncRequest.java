@@ -18,24 +18,51 @@ package com.hazelcast.partition;
 
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.*;
-import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.*;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.logging.Level;
+import java.util.Set;
 
 /**
  * @author mdogan 4/11/13
  */
 public final class ReplicaSyncRequest extends Operation implements PartitionAwareOperation, MigrationCycleOperation {
 
+    // true when the replica asks for the next chunk of an ongoing sync
+    private boolean resume;
+
+    // number of key ranges the replica compared digests of, zero if digests are not compared yet
+    private int rangeCount;
+
+    // key ranges whose digests differ on the replica, only these are copied for digest aware services
+    private int[] keyRanges;
+
+    // replica version to catch up from by the owner's change log, -1 if the replica has no comparable version
+    private long replicaVersion = -1;
+
+    // id of the stream to resume, chunks of a replaced stream must not continue the newer one
+    private long streamId;
+
     public ReplicaSyncRequest() {
     }
 
+    ReplicaSyncRequest(long replicaVersion) {
+        this.replicaVersion = replicaVersion;
+    }
+
+    ReplicaSyncRequest(boolean resume, long streamId) {
+        this.resume = resume;
+        this.streamId = streamId;
+    }
+
+    ReplicaSyncRequest(int rangeCount, int[] keyRanges) {
+        this.rangeCount = rangeCount;
+        this.keyRanges = keyRanges;
+    }
+
     public void beforeRun() throws Exception {
     }
 
@@ -47,42 +74,66 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         final ILogger logger = nodeEngine.getLogger(getClass());
         final int partitionId = getPartitionId();
         final int replicaIndex = getReplicaIndex();
+        final Address target = getCallerAddress();
 
         try {
-            final Collection<ServiceInfo> services = nodeEngine.getServiceInfos(MigrationAwareService.class);
-            final PartitionReplicationEvent event = new PartitionReplicationEvent(partitionId, replicaIndex);
-            final List<Operation> tasks = new LinkedList<Operation>();
-            for (ServiceInfo serviceInfo : services) {
-                MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
-                final Operation op = service.prepareReplicationOperation(event);
-                if (op != null) {
-                    op.setServiceName(serviceInfo.getName());
-                    tasks.add(op);
+            final ReplicationChunkStream stream;
+            Set<Data> changedKeys = null;
+            if (resume) {
+                stream = partitionService.getReplicaSyncStream(partitionId, replicaIndex, target, streamId);
+                if (stream == null) {
+                    if (logger.isFinestEnabled()) {
+                        logger.finest("No ongoing replica sync to resume for partition: " + partitionId
+                                + ", replica: " + replicaIndex + ", target: " + target);
+                    }
+                    return;
+                }
+            } else {
+                if (replicaVersion >= 0) {
+                    changedKeys = partitionService.getReplicaChangedKeys(partitionId, replicaIndex, replicaVersion);
+                }
+                final PartitionReplicationEvent event;
+                if (changedKeys != null) {
+                    if (logger.isFinestEnabled()) {
+                        logger.finest("Sending " + changedKeys.size() + " changed keys to -> " + target
+                                + "; for partition: " + partitionId + ", replica: " + replicaIndex);
+                    }
+                    event = new PartitionReplicationEvent(partitionId, replicaIndex, changedKeys);
+                } else if (rangeCount == 0 && sendDigests(nodeEngine, target)) {
+                    // data is sent when the replica replies with the key ranges that differ
+                    return;
+                } else {
+                    event = new PartitionReplicationEvent(partitionId, replicaIndex, getKeyRangeFlags());
                 }
+                final int chunkSize = nodeEngine.getGroupProperties().PARTITION_MIGRATION_CHUNK_SIZE.getInteger();
+                stream = new ReplicationChunkStream(nodeEngine, event, null, chunkSize);
             }
+
+            // differing key ranges are cleared on the replica along with the first chunk of their data,
+            // so the replica keeps its data if the owner goes away before replying
+            final boolean[] clearedRanges = resume ? null : getKeyRangeFlags();
+            final List<Operation> tasks = stream.next();
+            final boolean lastChunk = !stream.hasNext();
             byte[] data = null;
             if (!tasks.isEmpty()) {
-                final SerializationService serializationService = nodeEngine.getSerializationService();
-                final BufferObjectDataOutput out = serializationService.createObjectDataOutput(1024 * 32);
-                try {
-                    out.writeInt(tasks.size());
-                    for (Operation task : tasks) {
-                        serializationService.writeObject(out, task);
-                    }
-                    data = IOUtil.compress(out.toByteArray());
-                } finally {
-                    IOUtil.closeResource(out);
-                }
+                data = ReplicationChunkStream.toByteArray(nodeEngine.getSerializationService(), tasks, true);
             } else {
                 if (logger.isFinestEnabled()) {
                     logger.finest("No replica data is found for partition: " + partitionId + ", replica: " + replicaIndex + "\n" + partitionService.getPartition(partitionId));
                 }
             }
+            long nextStreamId = streamId;
+            if (lastChunk) {
+                partitionService.removeReplicaSyncStream(partitionId, replicaIndex);
+            } else if (!resume) {
+                // rest of the data is sent when the replica has applied this chunk and asks for the next one
+                nextStreamId = partitionService.setReplicaSyncStream(partitionId, replicaIndex, target, stream);
+            }
 
             final long[] replicaVersions = partitionService.getPartitionReplicaVersions(partitionId);
-            ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(data, replicaVersions);
+            ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(data, replicaVersions, lastChunk, changedKeys,
+                    clearedRanges, nextStreamId);
             syncResponse.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
-            final Address target = getCallerAddress();
             if (logger.isFinestEnabled()) {
                 logger.finest( "Sending sync response to -> " + target + "; for partition: " + partitionId + ", replica: " + replicaIndex);
             }
@@ -93,6 +144,32 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         }
     }
 
+    private boolean sendDigests(NodeEngineImpl nodeEngine, Address target) {
+        final int digestRanges = nodeEngine.getGroupProperties().PARTITION_REPLICA_SYNC_DIGEST_RANGES.getInteger();
+        if (digestRanges <= 0) {
+            return false;
+        }
+        final long[] digests = ReplicaSyncDigests.computeDigests(nodeEngine, getPartitionId(), getReplicaIndex(), digestRanges);
+        if (digests == null) {
+            return false;
+        }
+        final ReplicaSyncDigests syncDigests = new ReplicaSyncDigests(digests);
+        syncDigests.setPartitionId(getPartitionId()).setReplicaIndex(getReplicaIndex());
+        nodeEngine.getOperationService().send(syncDigests, target);
+        return true;
+    }
+
+    private boolean[] getKeyRangeFlags() {
+        if (rangeCount == 0) {
+            return null;
+        }
+        final boolean[] flags = new boolean[rangeCount];
+        for (int keyRange : keyRanges) {
+            flags[keyRange] = true;
+        }
+        return flags;
+    }
+
     public void afterRun() throws Exception {
     }
 
@@ -113,9 +190,23 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
     }
 
     protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeBoolean(resume);
+        out.writeLong(streamId);
+        out.writeLong(replicaVersion);
+        out.writeInt(rangeCount);
+        if (rangeCount > 0) {
+            out.writeIntArray(keyRanges);
+        }
     }
 
     protected void readInternal(ObjectDataInput in) throws IOException {
+        resume = in.readBoolean();
+        streamId = in.readLong();
+        replicaVersion = in.readLong();
+        rangeCount = in.readInt();
+        if (rangeCount > 0) {
+            keyRanges = in.readIntArray();
+        }
     }
 
     @Override
@@ -124,6 +215,11 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         sb.append("ReplicaSyncRequest");
         sb.append("{partition=").append(getPartitionId());
         sb.append(", replica=").append(getReplicaIndex());
+        sb.append(", resume=").append(resume);
+        sb.append(", replicaVersion=").append(replicaVersion);
+        if (rangeCount > 0) {
+            sb.append(", keyRanges=").append(keyRanges.length).append('/').append(rangeCount);
+        }
         sb.append('}');
         return sb.toString();
     }
@@ -17,16 +17,20 @@
 package com.hazelcast.partition;
 
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.*;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.logging.Level;
 
 /**
@@ -36,13 +40,39 @@ public class ReplicaSyncResponse extends Operation implements PartitionAwareOper
 
     private byte[] data;
     private long[] replicaVersions;
+    private boolean lastChunk = true;
+    // keys changed since the replica version of the replica, cleared before the data is applied.
+    // null unless the sync is a catch up by the owner's change log.
+    private Collection<Data> changedKeys;
+    // key ranges whose digests differ on the replica, cleared before the data is applied.
+    // null unless this is the first chunk of a sync by key range digests.
+    private boolean[] clearedRanges;
+    // id of the owner's stream the next chunk is requested from
+    private long streamId;
 
     public ReplicaSyncResponse() {
     }
 
     public ReplicaSyncResponse(byte[] data, long[] replicaVersions) {
+        this(data, replicaVersions, true);
+    }
+
+    /**
+     * @param lastChunk false if more chunks of the replica data follow this one, partition replica versions
+     *                  are applied only along with the last chunk
+     */
+    public ReplicaSyncResponse(byte[] data, long[] replicaVersions, boolean lastChunk) {
+        this(data, replicaVersions, lastChunk, null, null, 0);
+    }
+
+    ReplicaSyncResponse(byte[] data, long[] replicaVersions, boolean lastChunk, Collection<Data> changedKeys,
+                        boolean[] clearedRanges, long streamId) {
         this.data = data;
         this.replicaVersions = replicaVersions;
+        this.lastChunk = lastChunk;
+        this.changedKeys = changedKeys;
+        this.clearedRanges = clearedRanges;
+        this.streamId = streamId;
     }
 
     public void beforeRun() throws Exception {
@@ -54,8 +84,23 @@ public class ReplicaSyncResponse extends Operation implements PartitionAwareOper
         final SerializationService serializationService = nodeEngine.getSerializationService();
         final int partitionId = getPartitionId();
         final int replicaIndex = getReplicaIndex();
+        // the former owner requests the replica again once its migrated data is cleared
+        final boolean dropped = partitionService.isMigrationSourcePending(partitionId);
         BufferObjectDataInput in = null;
         try {
+            if (dropped) {
+                return;
+            }
+            if (changedKeys != null && !changedKeys.isEmpty()) {
+                for (ReplicaDigestAwareService service : nodeEngine.getServices(ReplicaDigestAwareService.class)) {
+                    service.clearReplicaKeys(partitionId, changedKeys);
+                }
+            }
+            if (clearedRanges != null) {
+                for (ReplicaDigestAwareService service : nodeEngine.getServices(ReplicaDigestAwareService.class)) {
+                    service.clearReplicaRanges(partitionId, clearedRanges);
+                }
+            }
             if (data != null) {
                 final ILogger logger = nodeEngine.getLogger(getClass());
                 if (logger.isFinestEnabled()) {
@@ -83,7 +128,24 @@ public class ReplicaSyncResponse extends Operation implements PartitionAwareOper
             }
         } finally {
             IOUtil.closeResource(in);
-            partitionService.finalizeReplicaSync(partitionId, replicaVersions);
+            if (dropped) {
+                partitionService.cancelReplicaSync(partitionId, replicaIndex, getCallerAddress());
+            } else if (lastChunk) {
+                partitionService.finalizeReplicaSync(partitionId, replicaVersions);
+            } else {
+                requestNextChunk(partitionService);
+            }
+        }
+    }
+
+    private void requestNextChunk(PartitionServiceImpl partitionService) {
+        final int partitionId = getPartitionId();
+        final int replicaIndex = getReplicaIndex();
+        final Address source = getCallerAddress();
+        if (partitionService.replicaSyncChunkReceived(partitionId, replicaIndex, source)) {
+            final ReplicaSyncRequest request = new ReplicaSyncRequest(true, streamId);
+            request.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+            getNodeEngine().getOperationService().send(request, source);
         }
     }
 
@@ -128,11 +190,47 @@ public class ReplicaSyncResponse extends Operation implements PartitionAwareOper
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         IOUtil.writeByteArray(out, data);
         out.writeLongArray(replicaVersions);
+        out.writeBoolean(lastChunk);
+        out.writeLong(streamId);
+        if (changedKeys != null) {
+            out.writeInt(changedKeys.size());
+            for (Data key : changedKeys) {
+                key.writeData(out);
+            }
+        } else {
+            out.writeInt(-1);
+        }
+        if (clearedRanges != null) {
+            out.writeInt(clearedRanges.length);
+            for (boolean cleared : clearedRanges) {
+                out.writeBoolean(cleared);
+            }
+        } else {
+            out.writeInt(-1);
+        }
     }
 
     protected void readInternal(ObjectDataInput in) throws IOException {
         data = IOUtil.readByteArray(in);
         replicaVersions = in.readLongArray();
+        lastChunk = in.readBoolean();
+        streamId = in.readLong();
+        final int keyCount = in.readInt();
+        if (keyCount >= 0) {
+            changedKeys = new ArrayList<Data>(keyCount);
+            for (int i = 0; i < keyCount; i++) {
+                final Data key = new Data();
+                key.readData(in);
+                changedKeys.add(key);
+            }
+        }
+        final int rangeCount = in.readInt();
+        if (rangeCount >= 0) {
+            clearedRanges = new boolean[rangeCount];
+            for (int i = 0; i < rangeCount; i++) {
+                clearedRanges[i] = in.readBoolean();
+            }
+        }
     }
 
     @Override
@@ -142,6 +240,7 @@ public class ReplicaSyncResponse extends Operation implements PartitionAwareOper
         sb.append("{partition=").append(getPartitionId());
         sb.append(", replica=").append(getReplicaIndex());
         sb.append(", version=").append(Arrays.toString(replicaVersions));
+        sb.append(", lastChunk=").append(lastChunk);
         sb.append('}');
         return sb.toString();
     }
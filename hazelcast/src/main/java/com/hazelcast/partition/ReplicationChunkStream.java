@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.ChunkedMigrationAwareService;
+import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionMigrationEvent;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ServiceInfo;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Replication data of all migration aware services for a single partition replica, split into chunks.
+ * <p/>
+ * Services implementing {@link ChunkedMigrationAwareService} contribute one chunk per replication operation
+ * they create, operations of the other services are packed into the next chunk. When chunking is disabled
+ * the stream consists of a single chunk holding all replication operations.
+ * <p/>
+ * Services are asked for their data when the stream is created, chunks are created lazily by {@link #next()}.
+ * Not thread-safe.
+ */
+final class ReplicationChunkStream {
+
+    private final List<ServiceStream> streams = new LinkedList<ServiceStream>();
+
+    private final boolean chunked;
+
+    /**
+     * @param migrationEvent if not null, {@link MigrationAwareService#beforeMigration(PartitionMigrationEvent)}
+     *                       is called on each service with this event before its data is requested
+     * @param chunkSize      maximum number of entries per chunk, zero or negative to disable chunking
+     */
+    ReplicationChunkStream(NodeEngineImpl nodeEngine, PartitionReplicationEvent event,
+                           PartitionMigrationEvent migrationEvent, int chunkSize) {
+        this.chunked = chunkSize > 0;
+        for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(MigrationAwareService.class)) {
+            final MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
+            if (migrationEvent != null) {
+                service.beforeMigration(migrationEvent);
+            }
+            if (chunked && service instanceof ChunkedMigrationAwareService) {
+                final Iterator<Operation> chunks
+                        = ((ChunkedMigrationAwareService) service).prepareReplicationChunks(event, chunkSize);
+                streams.add(new ServiceStream(serviceInfo.getName(), chunks, true));
+            } else {
+                final Operation op = service.prepareReplicationOperation(event);
+                if (op != null) {
+                    streams.add(new ServiceStream(serviceInfo.getName(), Collections.singleton(op).iterator(), false));
+                }
+            }
+        }
+    }
+
+    boolean hasNext() {
+        while (!streams.isEmpty()) {
+            if (streams.get(0).operations.hasNext()) {
+                return true;
+            }
+            streams.remove(0);
+        }
+        return false;
+    }
+
+    /**
+     * @return replication operations of the next chunk, empty if the stream is exhausted
+     */
+    List<Operation> next() {
+        final List<Operation> chunk = new ArrayList<Operation>();
+        while (hasNext()) {
+            final ServiceStream stream = streams.get(0);
+            final Operation op = stream.operations.next();
+            op.setServiceName(stream.serviceName);
+            chunk.add(op);
+            if (chunked && stream.chunked) {
+                break;
+            }
+        }
+        return chunk;
+    }
+
+    static byte[] toByteArray(SerializationService serializationService, List<Operation> operations,
+                              boolean compress) throws IOException {
+        final BufferObjectDataOutput out = serializationService.createObjectDataOutput(1024 * 32);
+        try {
+            out.writeInt(operations.size());
+            for (Operation op : operations) {
+                serializationService.writeObject(out, op);
+            }
+            return compress ? IOUtil.compress(out.toByteArray()) : out.toByteArray();
+        } finally {
+            IOUtil.closeResource(out);
+        }
+    }
+
+    private static final class ServiceStream {
+        final String serviceName;
+        final Iterator<Operation> operations;
+        final boolean chunked;
+
+        ServiceStream(String serviceName, Iterator<Operation> operations, boolean chunked) {
+            this.serviceName = serviceName;
+            this.operations = operations;
+            this.chunked = chunked;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.queue.QueueService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.transaction.impl.KeyAwareTransactionLog;
+import com.hazelcast.transaction.impl.PartitionAwareTransactionLog;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.io.IOException;
@@ -30,7 +31,7 @@ import java.util.concurrent.Future;
 /**
  * @author ali 3/25/13
  */
-public class QueueTransactionLog implements KeyAwareTransactionLog {
+public class QueueTransactionLog implements KeyAwareTransactionLog, PartitionAwareTransactionLog {
 
     long itemId;
     String name;
@@ -50,26 +51,18 @@ public class QueueTransactionLog implements KeyAwareTransactionLog {
     }
 
     public Future prepare(NodeEngine nodeEngine) {
-        boolean pollOperation = op instanceof TxnPollOperation;
-        TxnPrepareOperation operation = new TxnPrepareOperation(name, itemId, pollOperation, transactionId);
-        try {
-            return nodeEngine.getOperationService().invokeOnPartition(QueueService.SERVICE_NAME, operation, partitionId);
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
-        }
+        return invoke(nodeEngine, createPrepareOperation());
     }
 
     public Future commit(NodeEngine nodeEngine) {
-        try {
-            return nodeEngine.getOperationService().invokeOnPartition(QueueService.SERVICE_NAME, op, partitionId);
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
-        }
+        return invoke(nodeEngine, createCommitOperation());
     }
 
     public Future rollback(NodeEngine nodeEngine) {
-        boolean pollOperation = op instanceof TxnPollOperation;
-        TxnRollbackOperation operation = new TxnRollbackOperation(name, itemId, pollOperation);
+        return invoke(nodeEngine, createRollbackOperation());
+    }
+
+    private Future invoke(NodeEngine nodeEngine, Operation operation) {
         try {
             return nodeEngine.getOperationService().invokeOnPartition(QueueService.SERVICE_NAME, operation, partitionId);
         } catch (Throwable t) {
@@ -77,6 +70,28 @@ public class QueueTransactionLog implements KeyAwareTransactionLog {
         }
     }
 
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    public int getPartitionId(NodeEngine nodeEngine) {
+        return partitionId;
+    }
+
+    public Operation createPrepareOperation() {
+        boolean pollOperation = op instanceof TxnPollOperation;
+        return new TxnPrepareOperation(name, itemId, pollOperation, transactionId);
+    }
+
+    public Operation createCommitOperation() {
+        return op;
+    }
+
+    public Operation createRollbackOperation() {
+        boolean pollOperation = op instanceof TxnPollOperation;
+        return new TxnRollbackOperation(name, itemId, pollOperation);
+    }
+
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(transactionId);
         out.writeLong(itemId);
@@ -16,12 +16,15 @@
 
 package com.hazelcast.replicatedmap.messages;
 
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.replicatedmap.operation.ReplicatedMapDataSerializerHook;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class MultiReplicationMessage implements IdentifiedDataSerializable {
 
@@ -47,20 +50,34 @@ public class MultiReplicationMessage implements IdentifiedDataSerializable {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
+        // members of all vector clocks and origins are written once, messages refer to them by index
+        Map<Address, Integer> memberIndexes = new LinkedHashMap<Address, Integer>();
+        for (ReplicationMessage replicationMessage : replicationMessages) {
+            replicationMessage.collectMembers(memberIndexes);
+        }
+        out.writeInt(memberIndexes.size());
+        for (Address member : memberIndexes.keySet()) {
+            member.writeData(out);
+        }
         out.writeInt(replicationMessages.length);
         for (int i = 0; i < replicationMessages.length; i++) {
-            replicationMessages[i].writeData(out);
+            replicationMessages[i].writeData(out, memberIndexes);
         }
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         name = in.readUTF();
+        Address[] memberTable = new Address[in.readInt()];
+        for (int i = 0; i < memberTable.length; i++) {
+            memberTable[i] = new Address();
+            memberTable[i].readData(in);
+        }
         int length = in.readInt();
         replicationMessages = new ReplicationMessage[length];
         for (int i = 0; i < length; i++) {
             ReplicationMessage replicationMessage = new ReplicationMessage();
-            replicationMessage.readData(in);
+            replicationMessage.readData(in, name, memberTable);
             replicationMessages[i] = replicationMessage;
         }
     }
@@ -18,6 +18,7 @@ package com.hazelcast.replicatedmap.messages;
 
 import com.hazelcast.core.Member;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -25,6 +26,7 @@ import com.hazelcast.replicatedmap.operation.ReplicatedMapDataSerializerHook;
 import com.hazelcast.replicatedmap.record.Vector;
 
 import java.io.IOException;
+import java.util.Map;
 
 public class ReplicationMessage<K, V> implements IdentifiedDataSerializable {
 
@@ -86,7 +88,8 @@ public class ReplicationMessage<K, V> implements IdentifiedDataSerializable {
         out.writeObject(key);
         out.writeObject(value);
         vector.writeData(out);
-        origin.writeData(out);
+        // only the address of the origin is needed to tell members apart
+        getOriginAddress().writeData(out);
         out.writeInt(updateHash);
         out.writeLong(ttlMillis);
     }
@@ -97,12 +100,48 @@ public class ReplicationMessage<K, V> implements IdentifiedDataSerializable {
         value = (V) in.readObject();
         vector = new Vector();
         vector.readData(in);
-        origin = new MemberImpl();
-        origin.readData(in);
+        Address originAddress = new Address();
+        originAddress.readData(in);
+        origin = new MemberImpl(originAddress, false);
         updateHash = in.readInt();
         ttlMillis = in.readLong();
     }
 
+    void collectMembers(Map<Address, Integer> memberIndexes) {
+        vector.collectMembers(memberIndexes);
+        final Address originAddress = getOriginAddress();
+        if (!memberIndexes.containsKey(originAddress)) {
+            memberIndexes.put(originAddress, memberIndexes.size());
+        }
+    }
+
+    /**
+     * Writes this message without its name, referring to members by their index in the given member table.
+     */
+    void writeData(ObjectDataOutput out, Map<Address, Integer> memberIndexes) throws IOException {
+        out.writeObject(key);
+        out.writeObject(value);
+        vector.writeData(out, memberIndexes);
+        out.writeInt(memberIndexes.get(getOriginAddress()));
+        out.writeInt(updateHash);
+        out.writeLong(ttlMillis);
+    }
+
+    void readData(ObjectDataInput in, String name, Address[] memberTable) throws IOException {
+        this.name = name;
+        key = (K) in.readObject();
+        value = (V) in.readObject();
+        vector = new Vector();
+        vector.readData(in, memberTable);
+        origin = new MemberImpl(memberTable[in.readInt()], false);
+        updateHash = in.readInt();
+        ttlMillis = in.readLong();
+    }
+
+    private Address getOriginAddress() {
+        return ((MemberImpl) origin).getAddress();
+    }
+
     @Override
     public int getFactoryId() {
         return ReplicatedMapDataSerializerHook.F_ID;
@@ -50,8 +50,6 @@ import java.util.concurrent.locks.ReentrantLock;
 public abstract class AbstractReplicatedRecordStore<K, V>
         implements ReplicatedRecordStore, InitializingObject, ReplicationChannel {
 
-    private static final int MAX_MESSAGE_CACHE_SIZE = 1000; // TODO: this constant may be configurable...
-
     protected final ConcurrentMap<K, ReplicatedRecord<K, V>> storage = new ConcurrentHashMap<K, ReplicatedRecord<K, V>>();
 
     private final LocalReplicatedMapStatsImpl mapStats = new LocalReplicatedMapStatsImpl();
@@ -61,11 +59,15 @@ public abstract class AbstractReplicatedRecordStore<K, V>
     private final Condition waitForLoadedCondition = waitForLoadedLock.newCondition();
     private final Random memberRandomizer = new Random(-System.currentTimeMillis());
 
-    private final List<ReplicationMessage> replicationMessageCache = new ArrayList<ReplicationMessage>();
-    private final Lock replicationMessageCacheLock = new ReentrantLock();
+    // updates waiting to be replicated, sent in batches of up to replicationBatchSize messages
+    private final Queue<ReplicationMessage> replicationMessageQueue = new ConcurrentLinkedQueue<ReplicationMessage>();
+    private final AtomicInteger replicationMessageQueueSize = new AtomicInteger();
+    private final AtomicBoolean replicationFlushScheduled = new AtomicBoolean(false);
+    private final int replicationBatchSize;
 
     private final String name;
     private final Member localMember;
+    private final Address localAddress;
     private final int localMemberHash;
     private final NodeEngine nodeEngine;
     private final EventService eventService;
@@ -89,12 +91,15 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         this.name = name;
         this.nodeEngine = nodeEngine;
         this.localMember = nodeEngine.getLocalMember();
+        this.localAddress = nodeEngine.getThisAddress();
         this.localMemberHash = localMember.getUuid().hashCode();
         this.eventService = nodeEngine.getEventService();
         this.executionService = nodeEngine.getExecutionService();
         this.replicatedMapService = replicatedMapService;
         this.replicatedMapConfig = replicatedMapService.getReplicatedMapConfig(name);
         this.executorService = getExecutorService(nodeEngine, replicatedMapConfig);
+        this.replicationBatchSize = Math.max(1,
+                nodeEngine.getGroupProperties().REPLICATED_MAP_REPLICATION_BATCH_SIZE.getInteger());
         this.ttlEvictionScheduler = EntryTaskSchedulerFactory.newScheduler(
                 nodeEngine.getExecutionService().getScheduledExecutor(),
                 new ReplicatedMapEvictionProcessor(nodeEngine, replicatedMapService, name), ScheduleType.POSTPONE);
@@ -133,7 +138,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
                 current.setValue(null, 0, -1);
                 incrementClock(vector);
                 publishReplicatedMessage(new ReplicationMessage(
-                        name, key, null, vector, localMember, localMemberHash, -1));
+                        name, key, null, Vector.copyVector(vector), localMember, localMemberHash, -1));
             }
             cancelTtlEntry(marshalledKey);
         }
@@ -207,7 +212,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
             }
 
             incrementClock(vector);
-            publishReplicatedMessage(new ReplicationMessage(name, key, value, vector,
+            publishReplicatedMessage(new ReplicationMessage(name, key, value, Vector.copyVector(vector),
                     localMember, localMemberHash, ttlMillis));
         }
         Object unmarshalledOldValue = unmarshallValue(oldValue);
@@ -334,19 +339,12 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         if (replicatedMapConfig.getReplicationDelayMillis() == 0) {
             distributeReplicationMessage(message, false);
         } else {
-            replicationMessageCacheLock.lock();
-            try {
-                replicationMessageCache.add(message);
-                if (replicationMessageCache.size() == 1) {
-                    executorService.schedule(new ReplicationCachedSenderTask(),
-                            replicatedMapConfig.getReplicationDelayMillis(), TimeUnit.MILLISECONDS);
-                } else {
-                    if (replicationMessageCache.size() > MAX_MESSAGE_CACHE_SIZE) {
-                        processMessageCache();
-                    }
-                }
-            } finally {
-                replicationMessageCacheLock.unlock();
+            replicationMessageQueue.offer(message);
+            if (replicationMessageQueueSize.incrementAndGet() >= replicationBatchSize) {
+                processMessageCache();
+            } else if (replicationFlushScheduled.compareAndSet(false, true)) {
+                executorService.schedule(new ReplicationCachedSenderTask(),
+                        replicatedMapConfig.getReplicationDelayMillis(), TimeUnit.MILLISECONDS);
             }
         }
     }
@@ -494,12 +492,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
     }
 
     protected void incrementClock(Vector vector) {
-        final AtomicInteger clock = vector.clocks.get(localMember);
-        if (clock != null) {
-            clock.incrementAndGet();
-        } else {
-            vector.clocks.put(localMember, new AtomicInteger(1));
-        }
+        vector.incrementClock(localAddress);
     }
 
     protected Object getMutex(final Object key) {
@@ -592,9 +585,9 @@ public abstract class AbstractReplicatedRecordStore<K, V>
                     if (localEntry.getLatestUpdateHash() >= update.getUpdateHash()) {
                         applyTheUpdate(update, localEntry);
                     } else {
-                        applyVector(updateVector, currentVector);
+                        currentVector.applyVector(updateVector);
                         publishReplicatedMessage(new ReplicationMessage(name, update.getKey(), localEntry.getValue(),
-                                currentVector, localMember, localEntry.getLatestUpdateHash(), update.getTtlMillis()));
+                                Vector.copyVector(currentVector), localMember, localEntry.getLatestUpdateHash(), update.getTtlMillis()));
                     }
                 }
             }
@@ -608,7 +601,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         V marshalledValue = (V) marshallValue(update.getValue());
         long ttlMillis = update.getTtlMillis();
         Object oldValue = localEntry.setValue(marshalledValue, update.getUpdateHash(), ttlMillis);
-        applyVector(remoteVector, localVector);
+        localVector.applyVector(remoteVector);
         if (ttlMillis > 0) {
             scheduleTtlEntry(ttlMillis, marshalledKey, null);
         } else {
@@ -617,22 +610,6 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         fireEntryListenerEvent(update.getKey(), unmarshallValue(oldValue), update.getValue());
     }
 
-    private void applyVector(Vector update, Vector current) {
-        for (Member m : update.clocks.keySet()) {
-            final AtomicInteger currentClock = current.clocks.get(m);
-            final AtomicInteger updateClock = update.clocks.get(m);
-            if (smaller(currentClock, updateClock)) {
-                current.clocks.put(m, new AtomicInteger(updateClock.get()));
-            }
-        }
-    }
-
-    private boolean smaller(AtomicInteger int1, AtomicInteger int2) {
-        int i1 = int1 == null ? 0 : int1.get();
-        int i2 = int2 == null ? 0 : int2.get();
-        return i1 < i2;
-    }
-
     private ScheduledExecutorService getExecutorService(NodeEngine nodeEngine,
                                                         ReplicatedMapConfig replicatedMapConfig) {
         ScheduledExecutorService es = replicatedMapConfig.getReplicatorExecutorService();
@@ -694,24 +671,31 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         }
     }
 
+    /**
+     * Sends the queued updates in batches of at most replicationBatchSize messages. Concurrent callers
+     * drain the queue together, each sending the messages it polled.
+     */
     private void processMessageCache() {
-        ReplicationMessage[] replicationMessages = null;
-        replicationMessageCacheLock.lock();
-        try {
-            final int size = replicationMessageCache.size();
-            if (size > 0) {
-                replicationMessages = replicationMessageCache.toArray(new ReplicationMessage[size]);
-                replicationMessageCache.clear();
+        List<ReplicationMessage> batch = new ArrayList<ReplicationMessage>();
+        ReplicationMessage message;
+        while ((message = replicationMessageQueue.poll()) != null) {
+            replicationMessageQueueSize.decrementAndGet();
+            batch.add(message);
+            if (batch.size() == replicationBatchSize) {
+                sendReplicationBatch(batch);
+                batch.clear();
             }
-        } finally {
-            replicationMessageCacheLock.unlock();
         }
-        if (replicationMessages != null) {
-            MultiReplicationMessage message = new MultiReplicationMessage(name, replicationMessages);
-            distributeReplicationMessage(message, false);
+        if (!batch.isEmpty()) {
+            sendReplicationBatch(batch);
         }
     }
 
+    private void sendReplicationBatch(List<ReplicationMessage> batch) {
+        ReplicationMessage[] replicationMessages = batch.toArray(new ReplicationMessage[batch.size()]);
+        distributeReplicationMessage(new MultiReplicationMessage(name, replicationMessages), false);
+    }
+
     private class RemoteFillupTask implements Runnable {
 
         private final OperationService operationService = nodeEngine.getOperationService();
@@ -777,6 +761,8 @@ public abstract class AbstractReplicatedRecordStore<K, V>
 
         @Override
         public void run() {
+            // updates queued from now on schedule the next flush
+            replicationFlushScheduled.set(false);
             processMessageCache();
         }
     }
@@ -16,46 +16,129 @@
 
 package com.hazelcast.replicatedmap.record;
 
-import com.hazelcast.core.Member;
-import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.replicatedmap.operation.ReplicatedMapDataSerializerHook;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Vector clock of a replicated record, holding a clock per member address in two parallel arrays.
+ * <p/>
+ * Vectors are not thread-safe; a record's vector is only accessed while holding the mutex of its key,
+ * and replication messages carry a copy of it. Inside a {@link com.hazelcast.replicatedmap.messages.MultiReplicationMessage}
+ * members are written once and vectors refer to them by their index.
+ */
 public class Vector implements IdentifiedDataSerializable {
 
-    final Map<Member, AtomicInteger> clocks;
+    private static final Address[] EMPTY_MEMBERS = new Address[0];
+    private static final long[] EMPTY_CLOCKS = new long[0];
+
+    private Address[] members = EMPTY_MEMBERS;
+    private long[] clocks = EMPTY_CLOCKS;
 
     public Vector() {
-        clocks = new ConcurrentHashMap<Member, AtomicInteger>();
+    }
+
+    public long getClock(Address member) {
+        final int index = indexOf(member);
+        return index < 0 ? 0 : clocks[index];
+    }
+
+    void incrementClock(Address member) {
+        final int index = indexOf(member);
+        if (index < 0) {
+            add(member, 1);
+        } else {
+            clocks[index]++;
+        }
+    }
+
+    /**
+     * Raises each clock of this vector to the clock of the given vector, if it is lower.
+     */
+    void applyVector(Vector update) {
+        for (int i = 0; i < update.members.length; i++) {
+            final int index = indexOf(update.members[i]);
+            if (index < 0) {
+                add(update.members[i], update.clocks[i]);
+            } else if (clocks[index] < update.clocks[i]) {
+                clocks[index] = update.clocks[i];
+            }
+        }
+    }
+
+    private int indexOf(Address member) {
+        for (int i = 0; i < members.length; i++) {
+            if (members[i].equals(member)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void add(Address member, long clock) {
+        final int size = members.length;
+        members = Arrays.copyOf(members, size + 1);
+        clocks = Arrays.copyOf(clocks, size + 1);
+        members[size] = member;
+        clocks[size] = clock;
     }
 
     @Override
     public void writeData(ObjectDataOutput dataOutput) throws IOException {
-        dataOutput.writeInt(clocks.size());
-        for (Entry<Member, AtomicInteger> entry : clocks.entrySet()) {
-            entry.getKey().writeData(dataOutput);
-            dataOutput.writeInt(entry.getValue().get());
+        dataOutput.writeInt(members.length);
+        for (int i = 0; i < members.length; i++) {
+            members[i].writeData(dataOutput);
+            dataOutput.writeLong(clocks[i]);
         }
     }
 
     @Override
     public void readData(ObjectDataInput dataInput) throws IOException {
-        int size = dataInput.readInt();
+        final int size = dataInput.readInt();
+        members = new Address[size];
+        clocks = new long[size];
         for (int i = 0; i < size; i++) {
-            Member m = new MemberImpl();
-            m.readData(dataInput);
-            int clock = dataInput.readInt();
-            clocks.put(m, new AtomicInteger(clock));
+            members[i] = new Address();
+            members[i].readData(dataInput);
+            clocks[i] = dataInput.readLong();
+        }
+    }
+
+    /**
+     * Adds the members of this vector missing in the given member table, indexed in order of appearance.
+     */
+    public void collectMembers(Map<Address, Integer> memberIndexes) {
+        for (Address member : members) {
+            if (!memberIndexes.containsKey(member)) {
+                memberIndexes.put(member, memberIndexes.size());
+            }
+        }
+    }
+
+    /**
+     * Writes the clocks with the indexes of their members in the given member table.
+     */
+    public void writeData(ObjectDataOutput dataOutput, Map<Address, Integer> memberIndexes) throws IOException {
+        dataOutput.writeInt(members.length);
+        for (int i = 0; i < members.length; i++) {
+            dataOutput.writeInt(memberIndexes.get(members[i]));
+            dataOutput.writeLong(clocks[i]);
+        }
+    }
+
+    public void readData(ObjectDataInput dataInput, Address[] memberTable) throws IOException {
+        final int size = dataInput.readInt();
+        members = new Address[size];
+        clocks = new long[size];
+        for (int i = 0; i < size; i++) {
+            members[i] = memberTable[dataInput.readInt()];
+            clocks[i] = dataInput.readLong();
         }
     }
 
@@ -71,30 +154,28 @@ public class Vector implements IdentifiedDataSerializable {
 
     @Override
     public String toString() {
-        return "Vector{" +
-                "clocks=" + clocks +
-                '}';
+        final StringBuilder sb = new StringBuilder("Vector{clocks={");
+        for (int i = 0; i < members.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(members[i]).append('=').append(clocks[i]);
+        }
+        return sb.append("}}").toString();
     }
 
-    static Vector copyVector(Vector vector) {
+    public static Vector copyVector(Vector vector) {
         Vector copy = new Vector();
-        Map<Member, AtomicInteger> clocks = copy.clocks;
-        for (Entry<Member, AtomicInteger> entry : vector.clocks.entrySet()) {
-            MemberImpl member = new MemberImpl((MemberImpl) entry.getKey());
-            AtomicInteger value = new AtomicInteger(entry.getValue().intValue());
-            clocks.put(member, value);
-        }
+        copy.members = vector.members.clone();
+        copy.clocks = vector.clocks.clone();
         return copy;
     }
 
     public static boolean happenedBefore(Vector x, Vector y) {
-        Set<Member> members = new HashSet<Member>(x.clocks.keySet());
-        members.addAll(y.clocks.keySet());
-
         boolean hasLesser = false;
-        for (Member m : members) {
-            int xi = x.clocks.get(m) != null ? x.clocks.get(m).get() : 0;
-            int yi = y.clocks.get(m) != null ? y.clocks.get(m).get() : 0;
+        for (int i = 0; i < x.members.length; i++) {
+            final long xi = x.clocks[i];
+            final long yi = y.getClock(x.members[i]);
             if (xi > yi) {
                 return false;
             }
@@ -102,6 +183,14 @@ public class Vector implements IdentifiedDataSerializable {
                 hasLesser = true;
             }
         }
+        if (!hasLesser) {
+            // a clock of a member only y knows of
+            for (int i = 0; i < y.members.length; i++) {
+                if (y.clocks[i] > 0 && x.indexOf(y.members[i]) < 0) {
+                    return true;
+                }
+            }
+        }
         return hasLesser;
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi;
+
+import java.util.Iterator;
+
+/**
+ * A {@link MigrationAwareService} which is able to replicate its partition data in bounded chunks
+ * instead of a single replication operation.
+ * <p/>
+ * Chunks are pulled one by one and each one is shipped and applied before the next one is created,
+ * so memory used during a migration or replica sync is proportional to the chunk size rather than
+ * to the partition size.
+ *
+ * @see com.hazelcast.instance.GroupProperties#PROP_PARTITION_MIGRATION_CHUNK_SIZE
+ */
+public interface ChunkedMigrationAwareService extends MigrationAwareService {
+
+    /**
+     * Returns replication operations of the partition replica, each one carrying at most
+     * <tt>chunkSize</tt> entries. Operations are created lazily while the iterator is consumed, always
+     * on the partition thread, so they may read the partition data directly;
+     * applying all of them on the destination must have the same effect as applying the operation
+     * returned by {@link #prepareReplicationOperation(PartitionReplicationEvent)}.
+     *
+     * @param event     replication event
+     * @param chunkSize maximum number of entries per operation, always positive
+     * @return iterator of replication operations, empty if there is no data to replicate
+     */
+    Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, int chunkSize);
+}
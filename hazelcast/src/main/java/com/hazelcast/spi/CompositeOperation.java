@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi;
+
+import java.util.Collection;
+
+/**
+ * A {@link BackupAwareOperation} which runs other operations of its partition, possibly of different services,
+ * and backs them up with a single backup operation.
+ * <p/>
+ * The partition owner logs the changes of the backed up operations as if they had been backed up one by one.
+ */
+public interface CompositeOperation extends BackupAwareOperation {
+
+    /**
+     * @return operations whose backup operations are part of the backup operation of this operation
+     */
+    Collection<Operation> getBackedUpOperations();
+
+}
@@ -16,7 +16,10 @@
 
 package com.hazelcast.spi;
 
+import com.hazelcast.nio.serialization.Data;
+
 import java.util.EventObject;
+import java.util.Set;
 
 /**
  * @author mdogan 9/12/12
@@ -27,10 +30,35 @@ public class PartitionReplicationEvent extends EventObject {
 
     private final int replicaIndex;
 
+    private final boolean[] keyRanges;
+
+    private final Set<Data> keys;
+
     public PartitionReplicationEvent(int partitionId, int replicaIndex) {
+        this(partitionId, replicaIndex, null, null);
+    }
+
+    /**
+     * @param keyRanges key ranges to replicate, indexed by {@link ReplicaDigests#getKeyRange(Data, int)}
+     *                  with the array length as range count; null to replicate all keys
+     */
+    public PartitionReplicationEvent(int partitionId, int replicaIndex, boolean[] keyRanges) {
+        this(partitionId, replicaIndex, keyRanges, null);
+    }
+
+    /**
+     * @param keys keys to replicate, null to replicate all keys
+     */
+    public PartitionReplicationEvent(int partitionId, int replicaIndex, Set<Data> keys) {
+        this(partitionId, replicaIndex, null, keys);
+    }
+
+    private PartitionReplicationEvent(int partitionId, int replicaIndex, boolean[] keyRanges, Set<Data> keys) {
         super(partitionId);
         this.partitionId = partitionId;
         this.replicaIndex = replicaIndex;
+        this.keyRanges = keyRanges;
+        this.keys = keys;
     }
 
     public int getPartitionId() {
@@ -41,11 +69,28 @@ public class PartitionReplicationEvent extends EventObject {
         return replicaIndex;
     }
 
+    /**
+     * Returns true if the entry of the given key should be replicated. Only {@link ReplicaDigestAwareService}s
+     * are asked to replicate a subset of their keys, other services always replicate all of their data.
+     */
+    public boolean includesKey(Data key) {
+        if (keyRanges != null) {
+            return keyRanges[ReplicaDigests.getKeyRange(key, keyRanges.length)];
+        }
+        return keys == null || keys.contains(key);
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("PartitionReplicationEvent{");
         sb.append("partitionId=").append(partitionId);
         sb.append(", replicaIndex=").append(replicaIndex);
+        if (keyRanges != null) {
+            sb.append(", keyRanges=").append(keyRanges.length);
+        }
+        if (keys != null) {
+            sb.append(", keys=").append(keys.size());
+        }
         sb.append('}');
         return sb.toString();
     }
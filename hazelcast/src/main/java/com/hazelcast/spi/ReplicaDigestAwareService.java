@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
+
+/**
+ * A {@link MigrationAwareService} whose partition data can be compared between the owner and a backup
+ * replica by key range digests, so that a replica sync transfers only the key ranges that differ.
+ * <p/>
+ * Keys are assigned to ranges by {@link ReplicaDigests#getKeyRange(Data, int)}
+ * and an entry contributes {@link ReplicaDigests#hash(String, Data, int)}
+ * to the digest of its range. Digests are sums, so they do not depend on iteration order.
+ * <p/>
+ * A replica sync may also be restricted to the keys changed since the replica fell behind the owner,
+ * see {@link KeyBasedOperation}. In both cases {@link PartitionReplicationEvent#includesKey(Data)}
+ * must be honored while preparing replication operations.
+ *
+ * @see com.hazelcast.instance.GroupProperties#PROP_PARTITION_REPLICA_SYNC_DIGEST_RANGES
+ */
+public interface ReplicaDigestAwareService extends MigrationAwareService {
+
+    /**
+     * Adds digests of the entries of the partition replica to the given array, one slot per key range.
+     * Called on the partition thread.
+     *
+     * @param partitionId  partition id
+     * @param replicaIndex replica index, data not replicated to this index must be skipped
+     * @param digests      digests of key ranges, length of the array is the number of ranges
+     */
+    void digestReplica(int partitionId, int replicaIndex, long[] digests);
+
+    /**
+     * Removes the entries of the partition replica belonging to the given key ranges, before the data
+     * of these ranges is copied from the partition owner. Called on the partition thread.
+     *
+     * @param partitionId partition id
+     * @param keyRanges   ranges to clear, indexed by key range
+     */
+    void clearReplicaRanges(int partitionId, boolean[] keyRanges);
+
+    /**
+     * Removes the entries of the given keys from the partition replica, before their current state is
+     * copied from the partition owner. Called on the partition thread.
+     *
+     * @param partitionId partition id
+     * @param keys        keys to clear
+     */
+    void clearReplicaKeys(int partitionId, Collection<Data> keys);
+}
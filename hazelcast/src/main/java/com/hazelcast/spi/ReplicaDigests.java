@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi;
+
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Hash functions used to compute key range digests of partition replicas.
+ *
+ * @see ReplicaDigestAwareService
+ */
+public final class ReplicaDigests {
+
+    private ReplicaDigests() {
+    }
+
+    /**
+     * Returns the key range of the given key. {@link Data#hashCode()} is a plain buffer hash,
+     * so it is mixed first to spread keys of a partition evenly over the ranges.
+     */
+    public static int getKeyRange(Data key, int rangeCount) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % rangeCount;
+    }
+
+    /**
+     * Returns the digest contribution of a single entry.
+     *
+     * @param name      name of the data structure holding the entry
+     * @param key       key of the entry
+     * @param valueHash hash of the serialized value of the entry
+     */
+    public static long hash(String name, Data key, int valueHash) {
+        long h = name.hashCode() * 0x9e3779b97f4a7c15L;
+        h ^= ((long) key.hashCode() << 32) | (valueHash & 0xffffffffL);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Returns the digest contribution of a single value of a multi valued entry, bound to the id of the value.
+     *
+     * @param name      name of the data structure holding the entry
+     * @param key       key of the entry
+     * @param valueId   id of the value within the entry
+     * @param valueHash hash of the serialized value
+     */
+    public static long hash(String name, Data key, long valueId, int valueHash) {
+        long h = hash(name, key, valueHash) ^ (valueId * 0x9e3779b97f4a7c15L);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Adds the digest contribution of an entry to the digest of its key range.
+     */
+    public static void update(long[] digests, String name, Data key, int valueHash) {
+        digests[getKeyRange(key, digests.length)] += hash(name, key, valueHash);
+    }
+
+    /**
+     * Adds the digest contribution of a single value of a multi valued entry to the digest of its key range.
+     */
+    public static void update(long[] digests, String name, Data key, long valueId, int valueHash) {
+        digests[getKeyRange(key, digests.length)] += hash(name, key, valueId, valueHash);
+    }
+}
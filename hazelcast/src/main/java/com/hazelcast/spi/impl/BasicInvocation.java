@@ -174,6 +174,7 @@ abstract class BasicInvocation implements Callback<Object>, BackupCompletionCall
         invokeCount = 0;
         potentialResponse = null;
         expectedBackupCount = -1;
+        backupTimeoutTime = Long.MAX_VALUE;
         doInvoke();
     }
 
@@ -234,8 +235,12 @@ abstract class BasicInvocation implements Callback<Object>, BackupCompletionCall
         if (response instanceof Response && op instanceof BackupAwareOperation) {
             final Response resp = (Response) response;
             if (resp.backupCount > 0) {
-                waitForBackups(resp.backupCount, 5, TimeUnit.SECONDS, resp);
-                return;
+                final BasicOperationService operationService = (BasicOperationService) nodeEngine.operationService;
+                final int backupAckCount = operationService.getBackupAckCount(resp.backupCount);
+                if (backupAckCount > 0) {
+                    waitForBackups(backupAckCount, operationService.getBackupTimeoutMillis(), resp);
+                    return;
+                }
             }
         }
 
@@ -347,6 +352,8 @@ abstract class BasicInvocation implements Callback<Object>, BackupCompletionCall
     private volatile int availableBackups;
     private volatile Response potentialResponse;
     private volatile int expectedBackupCount;
+    // time when waiting for backups times out, checked by the operation service
+    private volatile long backupTimeoutTime = Long.MAX_VALUE;
 
     @Override
     public void signalOneBackupComplete() {
@@ -357,37 +364,48 @@ abstract class BasicInvocation implements Callback<Object>, BackupCompletionCall
                 return;
             }
 
-            if (expectedBackupCount != availableBackups) {
+            if (availableBackups < expectedBackupCount) {
                 return;
             }
 
             if (potentialResponse != null) {
                 invocationFuture.set(potentialResponse);
+                potentialResponse = null;
             }
         }
     }
 
-    private void waitForBackups(int backupCount, long timeout, TimeUnit unit, Response response) {
+    private void waitForBackups(int backupCount, long timeoutMillis, Response response) {
         synchronized (this) {
             this.expectedBackupCount = backupCount;
 
-            if (availableBackups == expectedBackupCount) {
+            if (availableBackups >= expectedBackupCount) {
                 invocationFuture.set(response);
                 return;
             }
 
             this.potentialResponse = response;
+            this.backupTimeoutTime = Clock.currentTimeMillis() + timeoutMillis;
         }
+    }
 
-        nodeEngine.getExecutionService().schedule(new ScheduledTaskRunner(getAsyncExecutor(), new Runnable() {
+    // called periodically by operation service while the invocation is registered for backups
+    void checkBackupTimeout(long now) {
+        if (backupTimeoutTime > now) {
+            return;
+        }
+        synchronized (this) {
+            if (backupTimeoutTime > now) {
+                return;
+            }
+            backupTimeoutTime = Long.MAX_VALUE;
+            if (potentialResponse == null || availableBackups >= expectedBackupCount) {
+                return;
+            }
+        }
+        getAsyncExecutor().execute(new Runnable() {
             @Override
             public void run() {
-                synchronized (BasicInvocation.this) {
-                    if (expectedBackupCount == availableBackups) {
-                        return;
-                    }
-                }
-
                 if (nodeEngine.getClusterService().getMember(target) != null) {
                     synchronized (BasicInvocation.this) {
                         if (BasicInvocation.this.potentialResponse != null) {
@@ -400,7 +418,7 @@ abstract class BasicInvocation implements Callback<Object>, BackupCompletionCall
 
                 resetAndReInvoke();
             }
-        }), timeout, unit);
+        });
     }
 
     public static class IsStillExecuting extends AbstractOperation {
@@ -87,6 +87,8 @@ final class BasicOperationService implements InternalOperationService {
     private final ConcurrentLinkedQueue defaultOperationUrgentQueue;
     private final ExecutorService responseExecutor;
     private final long defaultCallTimeout;
+    private final long backupTimeoutMillis;
+    private final int backupAckCount;
     private final Map<RemoteCallKey, RemoteCallKey> executingCalls;
     private final ConcurrentMap<Long, BackupCompletionCallback> backupCalls;
     private final int operationThreadCount;
@@ -100,6 +102,8 @@ final class BasicOperationService implements InternalOperationService {
         this.node = nodeEngine.getNode();
         this.logger = node.getLogger(OperationService.class.getName());
         defaultCallTimeout = node.getGroupProperties().OPERATION_CALL_TIMEOUT_MILLIS.getLong();
+        backupTimeoutMillis = node.getGroupProperties().OPERATION_BACKUP_TIMEOUT_MILLIS.getLong();
+        backupAckCount = node.getGroupProperties().OPERATION_BACKUP_ACK_COUNT.getInteger();
         final int coreSize = Runtime.getRuntime().availableProcessors();
         final boolean reallyMultiCore = coreSize >= 8;
         final int concurrencyLevel = reallyMultiCore ? coreSize * 4 : 16;
@@ -139,6 +143,9 @@ final class BasicOperationService implements InternalOperationService {
         backupCalls = new ConcurrentHashMap<Long, BackupCompletionCallback>(1000, 0.75f, concurrencyLevel);
         backupScheduler = EntryTaskSchedulerFactory.newScheduler(executionService.getScheduledExecutor(),
                 new ScheduledBackupProcessor(), ScheduleType.SCHEDULE_IF_NEW);
+        final long backupTimeoutCheckPeriod = Math.max(Math.min(backupTimeoutMillis, 1000), 1);
+        executionService.scheduleWithFixedDelay(new BackupTimeoutChecker(),
+                backupTimeoutCheckPeriod, backupTimeoutCheckPeriod, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -472,6 +479,7 @@ final class BasicOperationService implements InternalOperationService {
             final String serviceName = op.getServiceName();
             final int partitionId = op.getPartitionId();
             final long[] replicaVersions = partitionService.incrementPartitionReplicaVersions(partitionId, totalBackupCount);
+            partitionService.logReplicaChange(op, replicaVersions, totalBackupCount);
             final InternalPartition partition = partitionService.getPartition(partitionId);
             for (int replicaIndex = 1; replicaIndex <= totalBackupCount; replicaIndex++) {
                 final Operation backupOp = backupAwareOp.getBackupOperation();
@@ -508,6 +516,22 @@ final class BasicOperationService implements InternalOperationService {
         backupScheduler.schedule(500, key, new ScheduledBackup(backup, partitionId, replicaIndex));
     }
 
+    /**
+     * Finds invocations whose backup acknowledgements are overdue. Invocations waiting for backups are
+     * already registered in <tt>backupCalls</tt>, so a single periodic sweep replaces a timeout task per invocation.
+     */
+    private class BackupTimeoutChecker implements Runnable {
+
+        public void run() {
+            final long now = Clock.currentTimeMillis();
+            for (BackupCompletionCallback callback : backupCalls.values()) {
+                if (callback instanceof BasicInvocation) {
+                    ((BasicInvocation) callback).checkBackupTimeout(now);
+                }
+            }
+        }
+    }
+
     private class ScheduledBackupProcessor implements ScheduledEntryProcessor<Object, ScheduledBackup> {
 
         public void process(EntryTaskScheduler<Object, ScheduledBackup> scheduler, Collection<ScheduledEntry<Object, ScheduledBackup>> scheduledEntries) {
@@ -741,6 +765,19 @@ final class BasicOperationService implements InternalOperationService {
         backupCalls.remove(callId);
     }
 
+    @PrivateApi
+    long getBackupTimeoutMillis() {
+        return backupTimeoutMillis;
+    }
+
+    /**
+     * Returns the number of backup acknowledgements to wait for, out of the given number of sync backups.
+     */
+    @PrivateApi
+    int getBackupAckCount(int syncBackupCount) {
+        return backupAckCount < 0 ? syncBackupCount : Math.min(backupAckCount, syncBackupCount);
+    }
+
     @PrivateApi
     long getDefaultCallTimeout() {
         return defaultCallTimeout;
@@ -32,14 +32,20 @@ import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.executor.SingleExecutorThreadFactory;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.logging.Level;
 
 class WaitNotifyServiceImpl implements WaitNotifyService {
 
-    private final ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> mapWaitingOps = new ConcurrentHashMap<WaitNotifyKey, Queue<WaitingOp>>(100);
-    private final DelayQueue delayQueue = new DelayQueue();
+    private static final long TIMEOUT_TICK_MILLIS = 10;
+    private static final int TIMEOUT_WHEEL_SIZE = 512;
+
+    // waiting ops of a key run and are notified on the partition thread of the key,
+    // so each partition has its own map
+    private final ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>>[] partitionWaitingOps;
+    private final WaitTimeoutWheel timeoutWheel;
     private final ExecutorService expirationService;
     private final Future expirationTask;
     private final NodeEngineImpl nodeEngine;
@@ -50,55 +56,50 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
         final Node node = nodeEngine.getNode();
         logger = node.getLogger(WaitNotifyService.class.getName());
 
+        final int partitionCount = node.getGroupProperties().PARTITION_COUNT.getInteger();
+        partitionWaitingOps = new ConcurrentMap[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionWaitingOps[i] = new ConcurrentHashMap<WaitNotifyKey, Queue<WaitingOp>>();
+        }
+
+        timeoutWheel = new WaitTimeoutWheel(this, logger, TIMEOUT_TICK_MILLIS, TIMEOUT_WHEEL_SIZE);
         expirationService = Executors.newSingleThreadExecutor(
                 new SingleExecutorThreadFactory(node.threadGroup, node.getConfigClassLoader(), node.getThreadNamePrefix("wait-notify")));
+        expirationTask = expirationService.submit(timeoutWheel);
+    }
 
-        expirationTask = expirationService.submit(new Runnable() {
-            public void run() {
-                while (true) {
-                    if (Thread.interrupted()) {
-                        return;
-                    }
-                    try {
-                        long waitTime = 1000;
-                        while (waitTime > 0) {
-                            long begin = System.currentTimeMillis();
-                            WaitingOp waitingOp = (WaitingOp) delayQueue.poll(waitTime, TimeUnit.MILLISECONDS);
-                            if (waitingOp != null) {
-                                if (waitingOp.isValid()) {
-                                    invalidate(waitingOp);
-                                }
-                            }
-                            long end = System.currentTimeMillis();
-                            waitTime -= (end - begin);
-                            if (waitTime > 1000) {
-                                waitTime = 1000;
-                            }
-                        }
-                        for (Queue<WaitingOp> q : mapWaitingOps.values()) {
-                            for (WaitingOp waitingOp : q) {
-                                if (Thread.interrupted()) {
-                                    return;
-                                }
-                                if (waitingOp.isValid()) {
-                                    if (waitingOp.needsInvalidation()) {
-                                        invalidate(waitingOp);
-                                    }
-                                }
-                            }
-                        }
-                    } catch (InterruptedException e) {
-                        return;
-                    } catch (Throwable t) {
-                        logger.warning(t);
-                    }
-                }
+    private void invalidate(final WaitingOp waitingOp) {
+        nodeEngine.getOperationService().executeOperation(waitingOp);
+    }
+
+    // called by timeout wheel when wait timeout or call timeout of the op is reached
+    void onTimeout(WaitingOp waitingOp) {
+        if (waitingOp.needsInvalidation()) {
+            invalidate(waitingOp);
+        } else {
+            // call timeout is measured in cluster time, which may lag behind
+            scheduleTimeout(waitingOp);
+        }
+    }
+
+    private void scheduleTimeout(WaitingOp waitingOp) {
+        long deadline = waitingOp.expirationTime < 0 ? Long.MAX_VALUE : waitingOp.expirationTime;
+        final Operation op = waitingOp.getOperation();
+        if (op.returnsResponse() && op.getCallId() != 0) {
+            final long callExpireTime = op.getInvocationTime() + op.getCallTimeout();
+            if (callExpireTime > 0 && callExpireTime < Long.MAX_VALUE) {
+                final long localCallExpireTime = callExpireTime - nodeEngine.getClusterTime() + Clock.currentTimeMillis();
+                deadline = Math.min(deadline, localCallExpireTime);
             }
-        });
+        }
+        if (deadline < Long.MAX_VALUE) {
+            waitingOp.timeoutDeadline = deadline;
+            timeoutWheel.schedule(waitingOp);
+        }
     }
 
-    private void invalidate(final WaitingOp waitingOp) throws Exception {
-        nodeEngine.getOperationService().executeOperation(waitingOp);
+    private ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> getWaitingOps(Operation op) {
+        return partitionWaitingOps[op.getPartitionId()];
     }
 
     private final ConstructorFunction<WaitNotifyKey, Queue<WaitingOp>> waitQueueConstructor
@@ -111,20 +112,19 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
     // runs after queue lock
     public void await(WaitSupport waitSupport) {
         final WaitNotifyKey key = waitSupport.getWaitKey();
-        final Queue<WaitingOp> q = ConcurrencyUtil.getOrPutIfAbsent(mapWaitingOps, key, waitQueueConstructor);
-        long timeout = waitSupport.getWaitTimeoutMillis();
-        WaitingOp waitingOp = new WaitingOp(q, waitSupport);
+        final ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps = getWaitingOps((Operation) waitSupport);
+        final Queue<WaitingOp> q = ConcurrencyUtil.getOrPutIfAbsent(waitingOps, key, waitQueueConstructor);
+        WaitingOp waitingOp = new WaitingOp(waitingOps, key, q, waitSupport);
         waitingOp.setNodeEngine(nodeEngine);
-        if (timeout > -1 && timeout < 1500) {
-            delayQueue.offer(waitingOp);
-        }
         q.offer(waitingOp);
+        scheduleTimeout(waitingOp);
     }
 
     // runs after queue lock
     public void notify(Notifier notifier) {
         WaitNotifyKey key = notifier.getNotifiedKey();
-        Queue<WaitingOp> q = mapWaitingOps.get(key);
+        final ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps = getWaitingOps((Operation) notifier);
+        Queue<WaitingOp> q = waitingOps.get(key);
         if (q == null) return;
         WaitingOp waitingOp = q.peek();
         while (waitingOp != null) {
@@ -147,6 +147,8 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
             q.poll(); // consume
             waitingOp = q.peek();
         }
+        // waiting ops of the key are only added on this partition thread
+        waitingOps.remove(key, q);
     }
 
     // invalidated waiting ops will removed from queue eventually by notifiers.
@@ -159,12 +161,14 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
     }
 
     private void invalidateWaitingOps(String callerUuid) {
-        for (Queue<WaitingOp> q : mapWaitingOps.values()) {
-            for (WaitingOp waitingOp : q) {
-                if (waitingOp.isValid()) {
-                    Operation op = waitingOp.getOperation();
-                    if (callerUuid.equals(op.getCallerUuid())) {
-                        waitingOp.setValid(false);
+        for (ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps : partitionWaitingOps) {
+            for (Queue<WaitingOp> q : waitingOps.values()) {
+                for (WaitingOp waitingOp : q) {
+                    if (waitingOp.isValid()) {
+                        Operation op = waitingOp.getOperation();
+                        if (callerUuid.equals(op.getCallerUuid())) {
+                            waitingOp.setValid(false);
+                        }
                     }
                 }
             }
@@ -175,7 +179,7 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
     void onPartitionMigrate(Address thisAddress, MigrationInfo migrationInfo) {
         if (thisAddress.equals(migrationInfo.getSource())) {
             int partitionId = migrationInfo.getPartitionId();
-            for (Queue<WaitingOp> q : mapWaitingOps.values()) {
+            for (Queue<WaitingOp> q : partitionWaitingOps[partitionId].values()) {
                 Iterator<WaitingOp> it = q.iterator();
                 while (it.hasNext()) {
                     if (Thread.interrupted()) {
@@ -184,13 +188,11 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
                     WaitingOp waitingOp = it.next();
                     if (waitingOp.isValid()) {
                         Operation op = waitingOp.getOperation();
-                        if (partitionId == op.getPartitionId()) {
-                            waitingOp.setValid(false);
-                            PartitionMigratingException pme = new PartitionMigratingException(thisAddress,
-                                    partitionId, op.getClass().getName(), op.getServiceName());
-                            op.getResponseHandler().sendResponse(pme);
-                            it.remove();
-                        }
+                        waitingOp.setValid(false);
+                        PartitionMigratingException pme = new PartitionMigratingException(thisAddress,
+                                partitionId, op.getClass().getName(), op.getServiceName());
+                        op.getResponseHandler().sendResponse(pme);
+                        it.remove();
                     }
                 }
             }
@@ -198,13 +200,16 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
     }
 
     public void cancelWaitingOps(String serviceName, Object objectId, Throwable cause) {
-        for (Queue<WaitingOp> q : mapWaitingOps.values()) {
-            for (WaitingOp waitingOp : q) {
-                if (waitingOp.isValid()) {
-                    WaitNotifyKey wnk = waitingOp.waitSupport.getWaitKey();
-                    if (serviceName.equals(wnk.getServiceName())
-                            && objectId.equals(wnk.getObjectName())) {
-                        waitingOp.cancel(cause);
+        for (ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps : partitionWaitingOps) {
+            for (Map.Entry<WaitNotifyKey, Queue<WaitingOp>> entry : waitingOps.entrySet()) {
+                final WaitNotifyKey wnk = entry.getKey();
+                if (serviceName.equals(wnk.getServiceName())
+                        && objectId.equals(wnk.getObjectName())) {
+                    for (WaitingOp waitingOp : entry.getValue()) {
+                        if (waitingOp.isValid()) {
+                            waitingOp.cancel(cause);
+                            invalidate(waitingOp);
+                        }
                     }
                 }
             }
@@ -217,36 +222,47 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
         expirationService.shutdown();
         final Object response = new HazelcastInstanceNotActiveException();
         final Address thisAddress = nodeEngine.getThisAddress();
-        for (Queue<WaitingOp> q : mapWaitingOps.values()) {
-            for (WaitingOp waitingOp : q) {
-                if (waitingOp.isValid()) {
-                    final Operation op = waitingOp.getOperation();
-                    // only for local invocations, remote ones will be expired via #onMemberLeft()
-                    if (thisAddress.equals(op.getCallerAddress())) {
-                        try {
-                            op.getResponseHandler().sendResponse(response);
-                        } catch (Exception e) {
-                            logger.finest("While sending HazelcastInstanceNotActiveException response...", e);
+        for (ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps : partitionWaitingOps) {
+            for (Queue<WaitingOp> q : waitingOps.values()) {
+                for (WaitingOp waitingOp : q) {
+                    if (waitingOp.isValid()) {
+                        final Operation op = waitingOp.getOperation();
+                        // only for local invocations, remote ones will be expired via #onMemberLeft()
+                        if (thisAddress.equals(op.getCallerAddress())) {
+                            try {
+                                op.getResponseHandler().sendResponse(response);
+                            } catch (Exception e) {
+                                logger.finest("While sending HazelcastInstanceNotActiveException response...", e);
+                            }
                         }
                     }
                 }
+                q.clear();
             }
-            q.clear();
+            waitingOps.clear();
         }
-        mapWaitingOps.clear();
     }
 
-    static class WaitingOp extends AbstractOperation implements Delayed, PartitionAwareOperation {
+    static class WaitingOp extends AbstractOperation implements PartitionAwareOperation {
+        final ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps;
+        final WaitNotifyKey key;
         final Queue<WaitingOp> queue;
         final Operation op;
         final WaitSupport waitSupport;
         final long expirationTime;
         volatile boolean valid = true;
         volatile Throwable error = null;
+        // earliest of wait and call timeouts in local time, set before scheduling on the timeout wheel
+        long timeoutDeadline;
+        // next op in the same timeout wheel bucket
+        WaitingOp nextTimeout;
 
-        WaitingOp(Queue<WaitingOp> queue, WaitSupport waitSupport) {
+        WaitingOp(ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps, WaitNotifyKey key,
+                  Queue<WaitingOp> queue, WaitSupport waitSupport) {
             this.op = (Operation) waitSupport;
             this.waitSupport = waitSupport;
+            this.waitingOps = waitingOps;
+            this.key = key;
             this.queue = queue;
             this.expirationTime = waitSupport.getWaitTimeoutMillis() < 0 ? -1
                     : Clock.currentTimeMillis() + waitSupport.getWaitTimeoutMillis();
@@ -290,36 +306,30 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
             return waitSupport.shouldWait();
         }
 
-        public long getDelay(TimeUnit unit) {
-            return unit.convert(expirationTime - Clock.currentTimeMillis(), TimeUnit.MILLISECONDS);
-        }
-
-        public int compareTo(Delayed other) {
-            if (other == this) // compare zero ONLY if same object
-                return 0;
-            long d = (getDelay(TimeUnit.NANOSECONDS) -
-                    other.getDelay(TimeUnit.NANOSECONDS));
-            return (d == 0) ? 0 : ((d < 0) ? -1 : 1);
-        }
-
-        public boolean equals(Object o){
-            if(o!=null && o instanceof Delayed){
-                return this.compareTo((Delayed)o)==0;
-            }
-            return false;
-        }
-
         @Override
         public void run() throws Exception {
             if (valid) {
-                if (isCancelled() && queue.remove(this)) {
+                if (isCancelled() && remove()) {
                     op.getResponseHandler().sendResponse(error);
-                } else if (isExpired() && queue.remove(this)) {
+                } else if (isExpired() && remove()) {
                     waitSupport.onWaitExpire();
                 }
             }
         }
 
+        // ops mostly time out in arrival order, so this op is usually the head of the queue
+        private boolean remove() {
+            if (!queue.remove(this)) {
+                return false;
+            }
+            valid = false;
+            // runs on partition thread, where waiting ops of the key are added
+            if (queue.isEmpty()) {
+                waitingOps.remove(key, queue);
+            }
+            return true;
+        }
+
         public void logError(Throwable e) {
             final ILogger logger = getLogger();
             if (e instanceof RetryableException) {
@@ -368,11 +378,13 @@ class WaitNotifyServiceImpl implements WaitNotifyService {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("WaitNotifyService{");
-        sb.append("delayQueue=" + delayQueue.size());
+        sb.append("timeouts=" + timeoutWheel.size());
         sb.append(" \n[");
-        for (Queue<WaitingOp> ScheduledOps : mapWaitingOps.values()) {
-            sb.append("\t");
-            sb.append(ScheduledOps.size() + ", ");
+        for (ConcurrentMap<WaitNotifyKey, Queue<WaitingOp>> waitingOps : partitionWaitingOps) {
+            for (Queue<WaitingOp> ScheduledOps : waitingOps.values()) {
+                sb.append("\t");
+                sb.append(ScheduledOps.size() + ", ");
+            }
         }
         sb.append("]\n}");
         return sb.toString();
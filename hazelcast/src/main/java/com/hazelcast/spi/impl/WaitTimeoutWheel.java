@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.WaitNotifyServiceImpl.WaitingOp;
+import com.hazelcast.util.Clock;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel firing the timeouts of waiting operations.
+ * <p/>
+ * Scheduling an op is a lock-free offer; the wheel thread moves scheduled ops into the bucket of their
+ * deadline tick and on every tick visits only the ops of the current bucket, so the cost per op is constant
+ * regardless of how many ops are waiting. Ops are linked into their buckets through
+ * {@link WaitingOp#nextTimeout}, buckets are accessed only by the wheel thread. The thread parks while
+ * no timeout is scheduled.
+ */
+final class WaitTimeoutWheel implements Runnable {
+
+    private final WaitNotifyServiceImpl waitNotifyService;
+    private final ILogger logger;
+    private final Queue<WaitingOp> scheduledOps = new ConcurrentLinkedQueue<WaitingOp>();
+    private final WaitingOp[] buckets;
+    private final int mask;
+    private final long tickMillis;
+    private final long startTime;
+    private final Object idleMonitor = new Object();
+    private volatile boolean idle;
+    private volatile int size;
+    // last tick whose bucket is processed, accessed only by wheel thread
+    private long lastTick;
+
+    WaitTimeoutWheel(WaitNotifyServiceImpl waitNotifyService, ILogger logger, long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two! -> " + wheelSize);
+        }
+        this.waitNotifyService = waitNotifyService;
+        this.logger = logger;
+        this.tickMillis = tickMillis;
+        this.buckets = new WaitingOp[wheelSize];
+        this.mask = wheelSize - 1;
+        this.startTime = Clock.currentTimeMillis();
+    }
+
+    /**
+     * Schedules the op to be passed to {@link WaitNotifyServiceImpl#onTimeout(WaitingOp)}
+     * once its {@link WaitingOp#timeoutDeadline} is reached.
+     */
+    void schedule(WaitingOp waitingOp) {
+        scheduledOps.offer(waitingOp);
+        if (idle) {
+            synchronized (idleMonitor) {
+                idleMonitor.notifyAll();
+            }
+        }
+    }
+
+    int size() {
+        return size + scheduledOps.size();
+    }
+
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final long tick = (Clock.currentTimeMillis() - startTime) / tickMillis;
+                transferScheduledOps();
+                expireBuckets(tick);
+                awaitNextTick(tick);
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private void transferScheduledOps() {
+        WaitingOp waitingOp;
+        while ((waitingOp = scheduledOps.poll()) != null) {
+            final long deadlineTick = deadlineTick(waitingOp);
+            if (deadlineTick <= lastTick) {
+                fire(waitingOp);
+            } else {
+                final int index = (int) (deadlineTick & mask);
+                waitingOp.nextTimeout = buckets[index];
+                buckets[index] = waitingOp;
+                size++;
+            }
+        }
+    }
+
+    private void expireBuckets(long tick) {
+        if (size == 0) {
+            lastTick = Math.max(lastTick, tick);
+            return;
+        }
+        // when behind by more than a round, visiting every bucket once is enough
+        final long lastBucketTick = Math.min(tick, lastTick + buckets.length);
+        for (long t = lastTick + 1; t <= lastBucketTick; t++) {
+            expireBucket((int) (t & mask), tick);
+        }
+        lastTick = Math.max(lastTick, tick);
+    }
+
+    private void expireBucket(int index, long tick) {
+        WaitingOp waitingOp = buckets[index];
+        WaitingOp remaining = null;
+        while (waitingOp != null) {
+            final WaitingOp next = waitingOp.nextTimeout;
+            if (!waitingOp.isValid() || deadlineTick(waitingOp) <= tick) {
+                waitingOp.nextTimeout = null;
+                size--;
+                fire(waitingOp);
+            } else {
+                // deadline is in one of the next rounds
+                waitingOp.nextTimeout = remaining;
+                remaining = waitingOp;
+            }
+            waitingOp = next;
+        }
+        buckets[index] = remaining;
+    }
+
+    private void fire(WaitingOp waitingOp) {
+        if (!waitingOp.isValid()) {
+            return;
+        }
+        try {
+            waitNotifyService.onTimeout(waitingOp);
+        } catch (Throwable t) {
+            logger.warning(t);
+        }
+    }
+
+    private void awaitNextTick(long tick) throws InterruptedException {
+        if (size == 0) {
+            synchronized (idleMonitor) {
+                idle = true;
+                try {
+                    while (scheduledOps.isEmpty()) {
+                        idleMonitor.wait();
+                    }
+                } finally {
+                    idle = false;
+                }
+            }
+            return;
+        }
+        final long sleepMillis = startTime + (tick + 1) * tickMillis - Clock.currentTimeMillis();
+        if (sleepMillis > 0) {
+            Thread.sleep(sleepMillis);
+        }
+    }
+
+    // rounded up, so the deadline is passed once its tick is reached
+    private long deadlineTick(WaitingOp waitingOp) {
+        return (waitingOp.timeoutDeadline - startTime + tickMillis - 1) / tickMillis;
+    }
+}
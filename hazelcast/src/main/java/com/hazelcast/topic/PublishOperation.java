@@ -56,6 +56,10 @@ public class PublishOperation extends AbstractNamedOperation {
         TopicService service = getService();
         final Member publishingMember = getNodeEngine().getClusterService().getMember(getCallerAddress());
         TopicEvent topicEvent = new TopicEvent(name, message, publishingMember);
+        if (service.isPublisherOrderingEnabled(name)) {
+            service.publishOrderedEvent(name, topicEvent);
+            return;
+        }
         final EventService eventService = getNodeEngine().getEventService();
         final Collection<EventRegistration> registrations = eventService.getRegistrations(TopicService.SERVICE_NAME, name);
         final Lock lock = service.getOrderLock(name);
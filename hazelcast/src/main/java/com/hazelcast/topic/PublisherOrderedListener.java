@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic;
+
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.ConcurrencyUtil;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps a {@link MessageListener} of a publisher ordered topic and re-orders incoming
+ * {@link TopicEvent}s by their publisher sequence.
+ * <p/>
+ * Events of a single publisher may arrive on any event thread and in any order. Each one is parked in the
+ * publisher's buffer and whichever thread wins the buffer's drain flag delivers all consecutive events,
+ * so messages of one publisher are never delivered concurrently or out of order while messages of
+ * different publishers are delivered in parallel. No locks are taken on this path.
+ * <p/>
+ * Duplicate and already passed sequences are dropped. A gap in the sequence is skipped once it has
+ * been waited on for {@link #MAX_GAP_WAIT_MILLIS} or too many events are parked behind it.
+ */
+final class PublisherOrderedListener {
+
+    /**
+     * Maximum number of events parked for a single publisher before a sequence gap is skipped.
+     * Gaps appear when events are dropped, e.g. on event queue overload.
+     */
+    static final int MAX_PENDING_EVENTS = 1000;
+
+    /**
+     * Maximum time a sequence gap holds back the events parked behind it.
+     */
+    static final long MAX_GAP_WAIT_MILLIS = 5000;
+
+    /**
+     * Time the first event of a publisher that joined the listener mid-stream is held back, so that
+     * its older events still in flight are delivered before it instead of being dropped as stale.
+     */
+    static final long FIRST_EVENT_WAIT_MILLIS = 100;
+
+    private final TopicService topicService;
+
+    private final MessageListener listener;
+
+    private final ExecutionService executionService;
+
+    private final ILogger logger;
+
+    private final ConcurrentMap<String, PublisherBuffer> buffers = new ConcurrentHashMap<String, PublisherBuffer>();
+
+    private final ConstructorFunction<String, PublisherBuffer> bufferConstructor
+            = new ConstructorFunction<String, PublisherBuffer>() {
+        public PublisherBuffer createNew(String publisherUuid) {
+            return new PublisherBuffer();
+        }
+    };
+
+    PublisherOrderedListener(TopicService topicService, MessageListener listener, ExecutionService executionService,
+                             ILogger logger) {
+        this.topicService = topicService;
+        this.listener = listener;
+        this.executionService = executionService;
+        this.logger = logger;
+    }
+
+    MessageListener getListener() {
+        return listener;
+    }
+
+    void onEvent(TopicEvent event) {
+        if (event.sequence == TopicEvent.NO_SEQUENCE || event.sequencerUuid == null) {
+            topicService.deliver(event, listener);
+            return;
+        }
+        final PublisherBuffer buffer = ConcurrencyUtil.getOrPutIfAbsent(buffers, event.sequencerUuid, bufferConstructor);
+        buffer.offer(event);
+    }
+
+    void publisherRemoved(String publisherUuid) {
+        buffers.remove(publisherUuid);
+    }
+
+    private class PublisherBuffer implements Runnable {
+
+        private final ConcurrentSkipListMap<Long, TopicEvent> pending = new ConcurrentSkipListMap<Long, TopicEvent>();
+
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        private final AtomicBoolean gapCheckScheduled = new AtomicBoolean(false);
+
+        // sequence of the next event to deliver, -1 until the first event of the publisher is seen.
+        // only written while holding the drain flag.
+        private volatile long nextSequence = TopicEvent.NO_SEQUENCE;
+
+        // time the current gap was first seen, -1 when there is no gap. only accessed while holding the drain flag.
+        private long gapStartTime = -1;
+
+        void offer(TopicEvent event) {
+            final long next = nextSequence;
+            if (next != TopicEvent.NO_SEQUENCE && event.sequence < next) {
+                dropped(event, "stale");
+                return;
+            }
+            if (pending.putIfAbsent(event.sequence, event) != null) {
+                dropped(event, "duplicate");
+                return;
+            }
+            pendingCount.incrementAndGet();
+            tryDrain();
+        }
+
+        // scheduled while a gap holds back parked events
+        public void run() {
+            gapCheckScheduled.set(false);
+            tryDrain();
+        }
+
+        private void tryDrain() {
+            do {
+                if (!draining.compareAndSet(false, true)) {
+                    // the thread holding the flag re-checks the buffer before it leaves
+                    return;
+                }
+                try {
+                    drain();
+                } finally {
+                    draining.set(false);
+                }
+            } while (isDeliverable());
+        }
+
+        private boolean isDeliverable() {
+            final Map.Entry<Long, TopicEvent> first = pending.firstEntry();
+            return first != null && first.getKey() <= expectedSequence();
+        }
+
+        // a publisher's sequence starts at 0, later events of a publisher seen for the first time may
+        // still have older ones in flight on other event threads
+        private long expectedSequence() {
+            return nextSequence == TopicEvent.NO_SEQUENCE ? 0 : nextSequence;
+        }
+
+        private void drain() {
+            Map.Entry<Long, TopicEvent> first;
+            while ((first = pending.firstEntry()) != null) {
+                final long sequence = first.getKey();
+                if (sequence > expectedSequence() && !skipGap(first.getValue())) {
+                    return;
+                }
+                pending.remove(sequence);
+                pendingCount.decrementAndGet();
+                if (sequence < nextSequence) {
+                    // parked before the gap in front of it was skipped
+                    dropped(first.getValue(), "stale");
+                    continue;
+                }
+                nextSequence = sequence + 1;
+                gapStartTime = -1;
+                try {
+                    topicService.deliver(first.getValue(), listener);
+                } catch (Throwable t) {
+                    // keep draining, a failing listener must not stall the rest of the publisher's messages
+                    logger.warning("Error while delivering " + first.getValue(), t);
+                }
+            }
+        }
+
+        private boolean skipGap(TopicEvent event) {
+            final long now = Clock.currentTimeMillis();
+            if (gapStartTime == -1) {
+                gapStartTime = now;
+            }
+            final boolean firstEvent = nextSequence == TopicEvent.NO_SEQUENCE;
+            final long maxWait = firstEvent ? FIRST_EVENT_WAIT_MILLIS : MAX_GAP_WAIT_MILLIS;
+            if (pendingCount.get() > MAX_PENDING_EVENTS || now - gapStartTime >= maxWait) {
+                if (!firstEvent) {
+                    logger.warning("Skipping missing topic messages " + nextSequence + " to " + (event.sequence - 1)
+                            + " of publisher " + event.sequencerUuid);
+                }
+                nextSequence = event.sequence;
+                return true;
+            }
+            if (gapCheckScheduled.compareAndSet(false, true)) {
+                executionService.schedule(this, maxWait - (now - gapStartTime), TimeUnit.MILLISECONDS);
+            }
+            return false;
+        }
+
+        private void dropped(TopicEvent event, String reason) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("Dropping " + reason + " " + event);
+            }
+        }
+    }
+}
@@ -34,10 +34,15 @@ import java.io.IOException;
  */
 public class TopicEvent implements DataSerializable {
 
+    public static final long NO_SEQUENCE = -1L;
+
     public String name;
     public long publishTime;
     public Member publishingMember;
     public Data data;
+    public long sequence = NO_SEQUENCE;
+    // uuid of the member that assigned the sequence, it is not always the publishing member
+    public String sequencerUuid;
 
     public TopicEvent() {
     }
@@ -54,6 +59,8 @@ public class TopicEvent implements DataSerializable {
         out.writeLong(publishTime);
         out.writeObject(publishingMember);
         IOUtil.writeNullableData(out, data);
+        out.writeLong(sequence);
+        out.writeUTF(sequencerUuid);
     }
 
     public void readData(ObjectDataInput in) throws IOException {
@@ -61,6 +68,8 @@ public class TopicEvent implements DataSerializable {
         publishTime = in.readLong();
         publishingMember = in.readObject();
         data = IOUtil.readNullableData(in);
+        sequence = in.readLong();
+        sequencerUuid = in.readUTF();
     }
 
     @Override
@@ -69,6 +78,8 @@ public class TopicEvent implements DataSerializable {
                 "name='" + name + '\'' +
                 ", publishTime=" + publishTime +
                 ", publishingMember=" + publishingMember +
+                ", sequence=" + sequence +
+                ", sequencerUuid=" + sequencerUuid +
                 '}';
     }
 }
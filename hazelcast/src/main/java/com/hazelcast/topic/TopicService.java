@@ -21,6 +21,7 @@ import com.hazelcast.core.Message;
 import com.hazelcast.core.MessageListener;
 import com.hazelcast.monitor.impl.LocalTopicStatsImpl;
 import com.hazelcast.spi.*;
+import com.hazelcast.topic.proxy.PublisherOrderedTopicProxy;
 import com.hazelcast.topic.proxy.TopicProxy;
 import com.hazelcast.topic.proxy.TotalOrderedTopicProxy;
 import com.hazelcast.util.ConcurrencyUtil;
@@ -30,6 +31,7 @@ import java.util.Collection;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -38,7 +40,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * Date: 12/26/12
  * Time: 1:50 PM
  */
-public class TopicService implements ManagedService, RemoteService, EventPublishingService {
+public class TopicService implements ManagedService, RemoteService, EventPublishingService, MembershipAwareService {
 
     public static final String SERVICE_NAME = "hz:impl:topicService";
     private final Lock[] orderingLocks = new Lock[1000];
@@ -52,6 +54,17 @@ public class TopicService implements ManagedService, RemoteService, EventPublish
         }
     };
 
+    // never cleared, the sequence of a topic must grow monotonically for as long as the member's uuid lives
+    private final ConcurrentMap<String, AtomicLong> publishSequences = new ConcurrentHashMap<String, AtomicLong>();
+
+    private final ConstructorFunction<String, AtomicLong> publishSequenceConstructorFunction = new ConstructorFunction<String, AtomicLong>() {
+        public AtomicLong createNew(String topicName) {
+            return new AtomicLong();
+        }
+    };
+
+    private final ConcurrentMap<String, PublisherOrderedListener> orderedListeners = new ConcurrentHashMap<String, PublisherOrderedListener>();
+
     public void init(NodeEngine nodeEngine, Properties properties) {
         this.nodeEngine = nodeEngine;
         for (int i = 0; i < orderingLocks.length; i++) {
@@ -61,6 +74,9 @@ public class TopicService implements ManagedService, RemoteService, EventPublish
 
     public void reset() {
         statsMap.clear();
+        // publish sequences are kept, restarting them under the same member uuid would make receivers
+        // drop the next messages of this member as already delivered
+        orderedListeners.clear();
     }
 
     public void shutdown(boolean terminate) {
@@ -77,6 +93,8 @@ public class TopicService implements ManagedService, RemoteService, EventPublish
         TopicConfig topicConfig = nodeEngine.getConfig().findTopicConfig(name);
         if (topicConfig.isGlobalOrderingEnabled())
             proxy = new TotalOrderedTopicProxy(name, nodeEngine, this);
+        else if (topicConfig.isPublisherOrderingEnabled())
+            proxy = new PublisherOrderedTopicProxy(name, nodeEngine, this);
         else
             proxy = new TopicProxy(name, nodeEngine, this);
         return proxy;
@@ -84,13 +102,37 @@ public class TopicService implements ManagedService, RemoteService, EventPublish
 
     public void destroyDistributedObject(String objectId) {
         statsMap.remove(objectId);
+        // the publish sequence is kept, a topic re-created under the same name continues it
     }
 
     public void dispatchEvent(Object event, Object listener) {
         TopicEvent topicEvent = (TopicEvent) event;
+        if (listener instanceof PublisherOrderedListener) {
+            ((PublisherOrderedListener) listener).onEvent(topicEvent);
+        } else {
+            deliver(topicEvent, (MessageListener) listener);
+        }
+    }
+
+    void deliver(TopicEvent topicEvent, MessageListener listener) {
         Message message = new Message(topicEvent.name, nodeEngine.toObject(topicEvent.data), topicEvent.publishTime, topicEvent.publishingMember);
         incrementReceivedMessages(topicEvent.name);
-        ((MessageListener) listener).onMessage(message);
+        listener.onMessage(message);
+    }
+
+    public void memberAdded(MembershipServiceEvent event) {
+    }
+
+    public void memberRemoved(MembershipServiceEvent event) {
+        final String uuid = event.getMember().getUuid();
+        for (PublisherOrderedListener listener : orderedListeners.values()) {
+            listener.publisherRemoved(uuid);
+        }
+    }
+
+    public boolean isPublisherOrderingEnabled(String name) {
+        TopicConfig topicConfig = nodeEngine.getConfig().findTopicConfig(name);
+        return !topicConfig.isGlobalOrderingEnabled() && topicConfig.isPublisherOrderingEnabled();
     }
 
     public LocalTopicStatsImpl getLocalTopicStats(String name) {
@@ -111,14 +153,38 @@ public class TopicService implements ManagedService, RemoteService, EventPublish
         eventService.publishEvent(TopicService.SERVICE_NAME, registrations, event, name.hashCode());
     }
 
+    /**
+     * Publishes an event stamped with this member's uuid and its next sequence number for the topic.
+     * Messages of clients are sequenced by the member that publishes them on their behalf.
+     * Consecutive events are spread over the event threads; receivers restore the per-publisher
+     * order using the sequence, see {@link PublisherOrderedListener}.
+     */
+    public void publishOrderedEvent(String name, TopicEvent event) {
+        final long sequence = ConcurrencyUtil.getOrPutIfAbsent(publishSequences, name, publishSequenceConstructorFunction)
+                .getAndIncrement();
+        event.sequence = sequence;
+        event.sequencerUuid = nodeEngine.getLocalMember().getUuid();
+        EventService eventService = nodeEngine.getEventService();
+        Collection<EventRegistration> registrations = eventService.getRegistrations(TopicService.SERVICE_NAME, name);
+        eventService.publishEvent(TopicService.SERVICE_NAME, registrations, event, (int) sequence);
+    }
+
     public String addMessageListener(String name, MessageListener listener){
         EventService eventService = nodeEngine.getEventService();
+        if (isPublisherOrderingEnabled(name)) {
+            final PublisherOrderedListener orderedListener = new PublisherOrderedListener(this, listener,
+                    nodeEngine.getExecutionService(), nodeEngine.getLogger(PublisherOrderedListener.class));
+            EventRegistration eventRegistration = eventService.registerListener(TopicService.SERVICE_NAME, name, orderedListener);
+            orderedListeners.put(eventRegistration.getId(), orderedListener);
+            return eventRegistration.getId();
+        }
         EventRegistration eventRegistration = eventService.registerListener(TopicService.SERVICE_NAME, name, listener);
         return eventRegistration.getId();
     }
 
     public boolean removeMessageListener(String name, String registrationId) {
         EventService eventService = nodeEngine.getEventService();
+        orderedListeners.remove(registrationId);
         return eventService.deregisterListener(TopicService.SERVICE_NAME, name, registrationId);
     }
 
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.proxy;
+
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.topic.TopicEvent;
+import com.hazelcast.topic.TopicService;
+
+/**
+ * Topic proxy which guarantees per-publisher FIFO delivery without serializing publishers on a lock
+ * or a partition thread. Messages are sequenced locally and re-ordered by the receiving members.
+ */
+public class PublisherOrderedTopicProxy extends TopicProxy {
+
+    public PublisherOrderedTopicProxy(String name, NodeEngine nodeEngine, TopicService service) {
+        super(name, nodeEngine, service);
+    }
+
+    @Override
+    public void publish(Object message) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        TopicEvent topicEvent = new TopicEvent(getName(), nodeEngine.toData(message), nodeEngine.getLocalMember());
+        final TopicService service = (TopicService) getService();
+        service.incrementPublishes(getName());
+        service.publishOrderedEvent(getName(), topicEvent);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the {@link PartitionTxBatchOperation}s of partitions owned by the target member, so a transaction
+ * sends a single operation per member and phase. Batches are invoked on their partitions locally and fail
+ * this operation if any of them fails. The response is sent once all batches have completed, no operation
+ * thread waits for them.
+ */
+public final class MemberTxBatchOperation extends Operation {
+
+    private final List<Operation> batches = new ArrayList<Operation>();
+
+    public MemberTxBatchOperation() {
+    }
+
+    MemberTxBatchOperation(List<PartitionTxBatchOperation> batches) {
+        this.batches.addAll(batches);
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+    }
+
+    @Override
+    public void run() throws Exception {
+        final OperationService operationService = getNodeEngine().getOperationService();
+        final BatchCallback callback = new BatchCallback(batches.size());
+        for (Operation batch : batches) {
+            batch.setCallerUuid(getCallerUuid());
+            operationService.<Object>invokeOnPartition(TransactionManagerServiceImpl.SERVICE_NAME,
+                    batch, batch.getPartitionId()).andThen(callback);
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public Object getResponse() {
+        return null;
+    }
+
+    @Override
+    public ExceptionAction onException(Throwable throwable) {
+        // the transaction invokes the batches on their partitions one by one instead
+        if (throwable instanceof MemberLeftException || throwable instanceof TargetNotMemberException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onException(throwable);
+    }
+
+    // sends the response when the last batch completes, the first failure of a batch fails the operation
+    private final class BatchCallback implements ExecutionCallback<Object> {
+
+        private final AtomicInteger pending;
+        private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+        BatchCallback(int batchCount) {
+            pending = new AtomicInteger(batchCount);
+        }
+
+        public void onResponse(Object response) {
+            done();
+        }
+
+        public void onFailure(Throwable t) {
+            error.compareAndSet(null, t);
+            done();
+        }
+
+        private void done() {
+            if (pending.decrementAndGet() == 0) {
+                final Throwable t = error.get();
+                getResponseHandler().sendResponse(t != null ? t : Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        PartitionTxBatchOperation.writeOperations(out, batches);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        PartitionTxBatchOperation.readOperations(in, batches);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the backup operations of a {@link PartitionTxBatchOperation}. A backup replica runs only the backup
+ * operations whose backup count covers its replica index, and records the batch as run on this replica.
+ */
+public final class PartitionTxBatchBackupOperation extends Operation implements BackupOperation, PartitionAwareOperation {
+
+    private final List<Operation> backupOperations = new ArrayList<Operation>();
+    private int[] backupCounts;
+    private String batchId;
+
+    public PartitionTxBatchBackupOperation() {
+    }
+
+    PartitionTxBatchBackupOperation(String batchId, List<Operation> backupOperations, int[] backupCounts) {
+        this.batchId = batchId;
+        this.backupOperations.addAll(backupOperations);
+        this.backupCounts = backupCounts;
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+    }
+
+    @Override
+    public void run() throws Exception {
+        final int replicaIndex = getReplicaIndex();
+        for (int i = 0; i < backupOperations.size(); i++) {
+            if (backupCounts[i] < replicaIndex) {
+                continue;
+            }
+            final Operation op = backupOperations.get(i);
+            op.setNodeEngine(getNodeEngine()).setPartitionId(getPartitionId()).setReplicaIndex(replicaIndex)
+                    .setResponseHandler(getResponseHandler()).setCallerUuid(getCallerUuid());
+            try {
+                op.beforeRun();
+                op.run();
+                op.afterRun();
+            } catch (Exception e) {
+                getLogger().warning("Error while running transaction backup operation " + op, e);
+            }
+        }
+        final TransactionManagerServiceImpl txManagerService = getService();
+        txManagerService.markTxBatchApplied(getPartitionId(), batchId);
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public Object getResponse() {
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(batchId);
+        PartitionTxBatchOperation.writeOperations(out, backupOperations);
+        out.writeIntArray(backupCounts);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        batchId = in.readUTF();
+        PartitionTxBatchOperation.readOperations(in, backupOperations);
+        backupCounts = in.readIntArray();
+    }
+}
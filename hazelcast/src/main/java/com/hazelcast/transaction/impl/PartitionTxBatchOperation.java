@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.CompositeOperation;
+import com.hazelcast.spi.Notifier;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationAccessor;
+import com.hazelcast.spi.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the transaction log operations of a single partition.
+ * <p/>
+ * Prepare operations run first and fail the whole batch, so with both prepare and commit operations
+ * the batch commits a transaction touching a single partition in one phase: either all prepare operations
+ * succeed and the commit operations run, or nothing is committed. Failures of the other operations fail
+ * the batch only if it is fail-fast, otherwise they are logged and the remaining operations run.
+ * <p/>
+ * Backup operations of all operations are sent in a single {@link PartitionTxBatchBackupOperation}.
+ * <p/>
+ * A batch runs at most once on a partition replica, a batch sent again after its target left the cluster
+ * is skipped by the promoted backup which already ran its backup.
+ */
+public final class PartitionTxBatchOperation extends Operation implements PartitionAwareOperation, CompositeOperation {
+
+    private final List<Operation> prepareOperations = new ArrayList<Operation>();
+    private final List<Operation> operations = new ArrayList<Operation>();
+    private boolean failFast;
+    // unique per transaction and phase
+    private String batchId;
+
+    private transient List<Operation> backedUpOperations;
+    private transient List<Operation> backupOperations;
+    private transient List<Integer> backupCounts;
+    private transient int syncBackupCount;
+    private transient int totalBackupCount;
+    private transient boolean applied;
+
+    public PartitionTxBatchOperation() {
+    }
+
+    PartitionTxBatchOperation(int partitionId, String batchId, boolean failFast) {
+        this.batchId = batchId;
+        this.failFast = failFast;
+        setPartitionId(partitionId);
+    }
+
+    void addPrepareOperation(Operation op, String serviceName) {
+        prepareOperations.add(op.setServiceName(serviceName));
+    }
+
+    void addOperation(Operation op, String serviceName) {
+        operations.add(op.setServiceName(serviceName));
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+        backedUpOperations = new ArrayList<Operation>();
+        backupOperations = new ArrayList<Operation>();
+        backupCounts = new ArrayList<Integer>();
+        syncBackupCount = 0;
+        totalBackupCount = 0;
+        final TransactionManagerServiceImpl txManagerService = getService();
+        applied = txManagerService.isTxBatchApplied(getPartitionId(), batchId);
+        if (applied) {
+            return;
+        }
+        for (Operation op : prepareOperations) {
+            initOperation(op);
+        }
+        for (Operation op : operations) {
+            initOperation(op);
+        }
+    }
+
+    private void initOperation(Operation op) throws Exception {
+        op.setNodeEngine(getNodeEngine()).setPartitionId(getPartitionId()).setReplicaIndex(getReplicaIndex())
+                .setResponseHandler(getResponseHandler());
+        if (op.getCallerUuid() == null) {
+            op.setCallerUuid(getCallerUuid());
+        }
+        OperationAccessor.setCallerAddress(op, getCallerAddress());
+        op.beforeRun();
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (applied) {
+            getLogger().finest("Skipping transaction batch " + batchId + ", it already ran on partition " + getPartitionId());
+            return;
+        }
+        for (Operation op : prepareOperations) {
+            runOperation(op);
+        }
+        final ILogger logger = getLogger();
+        for (Operation op : operations) {
+            try {
+                runOperation(op);
+            } catch (Exception e) {
+                if (failFast) {
+                    throw e;
+                }
+                logger.warning("Error while running transaction operation " + op, e);
+            }
+        }
+        final TransactionManagerServiceImpl txManagerService = getService();
+        txManagerService.markTxBatchApplied(getPartitionId(), batchId);
+    }
+
+    private void runOperation(Operation op) throws Exception {
+        op.run();
+        collectBackup(op);
+        op.afterRun();
+        if (op instanceof Notifier && ((Notifier) op).shouldNotify()) {
+            getNodeEngine().getWaitNotifyService().notify((Notifier) op);
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return true;
+    }
+
+    private void collectBackup(Operation op) {
+        if (!(op instanceof BackupAwareOperation)) {
+            return;
+        }
+        final BackupAwareOperation backupAwareOp = (BackupAwareOperation) op;
+        if (!backupAwareOp.shouldBackup()) {
+            return;
+        }
+        final Operation backupOp = backupAwareOp.getBackupOperation();
+        backupOp.setServiceName(op.getServiceName());
+        final int backupCount = backupAwareOp.getSyncBackupCount() + backupAwareOp.getAsyncBackupCount();
+        backedUpOperations.add(op);
+        backupOperations.add(backupOp);
+        backupCounts.add(backupCount);
+        syncBackupCount = Math.max(syncBackupCount, backupAwareOp.getSyncBackupCount());
+        totalBackupCount = Math.max(totalBackupCount, backupCount);
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !backupOperations.isEmpty();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return syncBackupCount;
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return totalBackupCount - syncBackupCount;
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        final int[] counts = new int[backupCounts.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = backupCounts.get(i);
+        }
+        return new PartitionTxBatchBackupOperation(batchId, backupOperations, counts);
+    }
+
+    @Override
+    public Collection<Operation> getBackedUpOperations() {
+        return backedUpOperations;
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(batchId);
+        out.writeBoolean(failFast);
+        writeOperations(out, prepareOperations);
+        writeOperations(out, operations);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        batchId = in.readUTF();
+        failFast = in.readBoolean();
+        readOperations(in, prepareOperations);
+        readOperations(in, operations);
+    }
+
+    static void writeOperations(ObjectDataOutput out, List<Operation> ops) throws IOException {
+        out.writeInt(ops.size());
+        for (Operation op : ops) {
+            out.writeObject(op);
+        }
+    }
+
+    static void readOperations(ObjectDataInput in, List<Operation> ops) throws IOException {
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            ops.add((Operation) in.readObject());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionTxBatchOperation{batchId=" + batchId
+                + ", partitionId=" + getPartitionId()
+                + ", prepareOperations=" + prepareOperations.size()
+                + ", operations=" + operations.size()
+                + ", failFast=" + failFast + '}';
+    }
+}
@@ -29,14 +29,16 @@ import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.UuidUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.hazelcast.transaction.TransactionOptions.TransactionType;
 import static com.hazelcast.transaction.impl.Transaction.State.*;
@@ -59,6 +61,8 @@ final class TransactionImpl implements Transaction, TransactionSupport {
     private State state = NO_TXN;
     private long startTime = 0L;
     private Address[] backupAddresses;
+    // all logs are on a single partition, the transaction is prepared and committed by a single operation
+    private boolean onePhaseCommit;
 
     public TransactionImpl(TransactionManagerServiceImpl transactionManagerService, NodeEngine nodeEngine,
                            TransactionOptions options, String txOwnerUuid) {
@@ -188,12 +192,15 @@ final class TransactionImpl implements Transaction, TransactionSupport {
         }
         checkThread();
         checkTimeout();
+        if (isSinglePartition()) {
+            // prepared together with the commit, nothing can fail between prepare and commit
+            onePhaseCommit = true;
+            state = PREPARED;
+            return;
+        }
         try {
-            final List<Future> futures = new ArrayList<Future>(txLogs.size());
             state = PREPARING;
-            for (TransactionLog txLog : txLogs) {
-                futures.add(txLog.prepare(nodeEngine));
-            }
+            final List<Future> futures = invokeTxLogs(txLogs, Phase.PREPARE);
             for (Future future : futures) {
                 future.get(timeoutMillis, TimeUnit.MILLISECONDS);
             }
@@ -231,16 +238,19 @@ final class TransactionImpl implements Transaction, TransactionSupport {
         checkThread();
         checkTimeout();
         try {
-            final List<Future> futures = new ArrayList<Future>(txLogs.size());
             state = COMMITTING;
-            for (TransactionLog txLog : txLogs) {
-                futures.add(txLog.commit(nodeEngine));
-            }
-            for (Future future : futures) {
-                try {
-                    future.get(5, TimeUnit.MINUTES);
-                } catch (Throwable e) {
-                    nodeEngine.getLogger(getClass()).warning("Error during commit!", e);
+            if (onePhaseCommit) {
+                // fails if preparing fails, nothing is committed then
+                for (Future future : invokeTxLogs(txLogs, Phase.ONE_PHASE_COMMIT)) {
+                    future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                }
+            } else {
+                for (Future future : invokeTxLogs(txLogs, Phase.COMMIT)) {
+                    try {
+                        future.get(5, TimeUnit.MINUTES);
+                    } catch (Throwable e) {
+                        nodeEngine.getLogger(getClass()).warning("Error during commit!", e);
+                    }
                 }
             }
             state = COMMITTED;
@@ -290,11 +300,9 @@ final class TransactionImpl implements Transaction, TransactionSupport {
                 futures.clear();
             }
 
-            final ListIterator<TransactionLog> iter = txLogs.listIterator(txLogs.size());
-            while (iter.hasPrevious()) {
-                final TransactionLog txLog = iter.previous();
-                futures.add(txLog.rollback(nodeEngine));
-            }
+            final List<TransactionLog> reversedTxLogs = new ArrayList<TransactionLog>(txLogs);
+            Collections.reverse(reversedTxLogs);
+            futures.addAll(invokeTxLogs(reversedTxLogs, Phase.ROLLBACK));
             for (Future future : futures) {
                 try {
                     future.get(5, TimeUnit.MINUTES);
@@ -312,6 +320,103 @@ final class TransactionImpl implements Transaction, TransactionSupport {
         }
     }
 
+    private boolean isSinglePartition() {
+        if (transactionType != TransactionType.TWO_PHASE || txLogs.isEmpty()) {
+            return false;
+        }
+        int partitionId = -1;
+        for (TransactionLog txLog : txLogs) {
+            if (!(txLog instanceof PartitionAwareTransactionLog)) {
+                return false;
+            }
+            final int logPartitionId = ((PartitionAwareTransactionLog) txLog).getPartitionId(nodeEngine);
+            if (partitionId != -1 && partitionId != logPartitionId) {
+                return false;
+            }
+            partitionId = logPartitionId;
+        }
+        return true;
+    }
+
+    /**
+     * Invokes the given phase of the transaction logs. Logs of the same partition are run by a single
+     * {@link PartitionTxBatchOperation}, the batches of partitions owned by the same member are sent in
+     * a single {@link MemberTxBatchOperation}. Other logs are invoked one by one.
+     */
+    private List<Future> invokeTxLogs(List<TransactionLog> logs, Phase phase) {
+        final List<Future> futures = new ArrayList<Future>();
+        final Map<Integer, PartitionTxBatchOperation> batches = new LinkedHashMap<Integer, PartitionTxBatchOperation>();
+        for (TransactionLog txLog : logs) {
+            if (txLog instanceof PartitionAwareTransactionLog) {
+                final PartitionAwareTransactionLog log = (PartitionAwareTransactionLog) txLog;
+                final int partitionId = log.getPartitionId(nodeEngine);
+                PartitionTxBatchOperation batch = batches.get(partitionId);
+                if (batch == null) {
+                    batch = new PartitionTxBatchOperation(partitionId, txnId + ':' + phase, phase == Phase.PREPARE);
+                    batches.put(partitionId, batch);
+                }
+                addToBatch(batch, log, phase);
+            } else if (phase == Phase.PREPARE) {
+                futures.add(txLog.prepare(nodeEngine));
+            } else if (phase == Phase.ROLLBACK) {
+                futures.add(txLog.rollback(nodeEngine));
+            } else {
+                futures.add(txLog.commit(nodeEngine));
+            }
+        }
+        final Map<Address, List<PartitionTxBatchOperation>> memberBatches
+                = new HashMap<Address, List<PartitionTxBatchOperation>>();
+        for (PartitionTxBatchOperation batch : batches.values()) {
+            final Address owner = nodeEngine.getPartitionService().getPartitionOwner(batch.getPartitionId());
+            List<PartitionTxBatchOperation> ownerBatches = memberBatches.get(owner);
+            if (ownerBatches == null) {
+                ownerBatches = new ArrayList<PartitionTxBatchOperation>();
+                memberBatches.put(owner, ownerBatches);
+            }
+            ownerBatches.add(batch);
+        }
+        final OperationService operationService = nodeEngine.getOperationService();
+        for (Map.Entry<Address, List<PartitionTxBatchOperation>> entry : memberBatches.entrySet()) {
+            final List<PartitionTxBatchOperation> ownerBatches = entry.getValue();
+            if (entry.getKey() == null || ownerBatches.size() == 1) {
+                for (PartitionTxBatchOperation batch : ownerBatches) {
+                    futures.add(invokeOnPartition(batch));
+                }
+            } else {
+                final Future f = operationService.invokeOnTarget(TransactionManagerServiceImpl.SERVICE_NAME,
+                        new MemberTxBatchOperation(ownerBatches), entry.getKey());
+                futures.add(new MemberTxBatchFuture(f, ownerBatches));
+            }
+        }
+        return futures;
+    }
+
+    private static void addToBatch(PartitionTxBatchOperation batch, PartitionAwareTransactionLog log, Phase phase) {
+        final String serviceName = log.getServiceName();
+        switch (phase) {
+            case PREPARE:
+                batch.addOperation(log.createPrepareOperation(), serviceName);
+                break;
+            case COMMIT:
+                batch.addOperation(log.createCommitOperation(), serviceName);
+                break;
+            case ONE_PHASE_COMMIT:
+                batch.addPrepareOperation(log.createPrepareOperation(), serviceName);
+                batch.addOperation(log.createCommitOperation(), serviceName);
+                break;
+            case ROLLBACK:
+                batch.addOperation(log.createRollbackOperation(), serviceName);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase: " + phase);
+        }
+    }
+
+    private Future invokeOnPartition(PartitionTxBatchOperation batch) {
+        return nodeEngine.getOperationService().invokeOnPartition(TransactionManagerServiceImpl.SERVICE_NAME,
+                batch, batch.getPartitionId());
+    }
+
     private void purgeTxBackups() {
         if (durability > 0 && transactionType.equals(TransactionType.TWO_PHASE)) {
             final OperationService operationService = nodeEngine.getOperationService();
@@ -336,6 +441,69 @@ final class TransactionImpl implements Transaction, TransactionSupport {
         return timeoutMillis;
     }
 
+    private enum Phase {
+        PREPARE, COMMIT, ONE_PHASE_COMMIT, ROLLBACK
+    }
+
+    /**
+     * Future of the batches sent to their owner in a single operation. If the owner leaves the cluster
+     * before responding, the batches are invoked on their partitions one by one. Batches the owner already
+     * ran are skipped by the promoted backups, see {@link PartitionTxBatchOperation}.
+     */
+    private final class MemberTxBatchFuture implements Future {
+
+        private final Future future;
+        private final List<PartitionTxBatchOperation> batches;
+
+        MemberTxBatchFuture(Future future, List<PartitionTxBatchOperation> batches) {
+            this.future = future;
+            this.batches = batches;
+        }
+
+        public Object get() throws InterruptedException, ExecutionException {
+            try {
+                return get(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new ExecutionException(e);
+            }
+        }
+
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            try {
+                return future.get(timeout, unit);
+            } catch (MemberLeftException e) {
+                nodeEngine.getLogger(Transaction.class).warning("Member left while running tx batch: " + e);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof MemberLeftException || e.getCause() instanceof TargetNotMemberException)) {
+                    throw e;
+                }
+                nodeEngine.getLogger(Transaction.class).warning("Member left while running tx batch: " + e.getCause());
+            } catch (TargetNotMemberException e) {
+                nodeEngine.getLogger(Transaction.class).warning("Member left while running tx batch: " + e);
+            }
+            final List<Future> futures = new ArrayList<Future>(batches.size());
+            for (PartitionTxBatchOperation batch : batches) {
+                futures.add(invokeOnPartition(batch));
+            }
+            for (Future f : futures) {
+                f.get(timeout, unit);
+            }
+            return Boolean.TRUE;
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return false;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -40,12 +40,18 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
 
     public static final String SERVICE_NAME = "hz:core:txManagerService";
 
+    // number of batches remembered per partition, see isTxBatchApplied
+    private static final int MAX_APPLIED_TX_BATCHES = 100;
+
     private final NodeEngineImpl nodeEngine;
 
     private final ILogger logger;
 
     private final ConcurrentMap<String, TxBackupLog> txBackupLogs = new ConcurrentHashMap<String, TxBackupLog>();
 
+    // ids of the last transaction batches run on each partition, only accessed by the partition threads
+    private AppliedTxBatches[] appliedTxBatches;
+
     public TransactionManagerServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
         logger = nodeEngine.getLogger(TransactionManagerService.class);
@@ -85,6 +91,7 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
     }
 
     public void init(NodeEngine nodeEngine, Properties properties) {
+        appliedTxBatches = new AppliedTxBatches[nodeEngine.getPartitionService().getPartitionCount()];
     }
 
     public void reset() {
@@ -196,6 +203,32 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
         txBackupLogs.remove(txnId);
     }
 
+    /**
+     * Returns true if the transaction batch already ran on this replica of the partition. A batch is sent again
+     * when its target leaves the cluster before responding, the promoted backup must not run it a second time.
+     * Only the last batches of a partition are remembered.
+     */
+    boolean isTxBatchApplied(int partitionId, String batchId) {
+        final AppliedTxBatches batches = appliedTxBatches[partitionId];
+        return batches != null && batches.containsKey(batchId);
+    }
+
+    void markTxBatchApplied(int partitionId, String batchId) {
+        AppliedTxBatches batches = appliedTxBatches[partitionId];
+        if (batches == null) {
+            batches = new AppliedTxBatches();
+            appliedTxBatches[partitionId] = batches;
+        }
+        batches.put(batchId, Boolean.TRUE);
+    }
+
+    private static class AppliedTxBatches extends LinkedHashMap<String, Boolean> {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_APPLIED_TX_BATCHES;
+        }
+    }
+
     private static class TxBackupLog {
         private final List<TransactionLog> txLogs;
         private final String callerUuid;
@@ -124,11 +124,31 @@ public class DelegatingFuture<V> implements CompletableFuture<V> {
 
     @Override
     public void andThen(ExecutionCallback<V> callback) {
-        future.andThen(callback);
+        future.andThen(new DelegatingExecutionCallback(callback));
     }
 
     @Override
     public void andThen(ExecutionCallback<V> callback, Executor executor) {
-        future.andThen(callback, executor);
+        future.andThen(new DelegatingExecutionCallback(callback), executor);
+    }
+
+    /**
+     * Converts the raw response of the delegate future the same way {@link #get()} does,
+     * so callbacks never observe serialized {@link Data}.
+     */
+    private class DelegatingExecutionCallback implements ExecutionCallback<Object> {
+        private final ExecutionCallback<V> callback;
+
+        DelegatingExecutionCallback(ExecutionCallback<V> callback) {
+            this.callback = callback;
+        }
+
+        public void onResponse(Object response) {
+            callback.onResponse(getResult(response));
+        }
+
+        public void onFailure(Throwable t) {
+            callback.onFailure(t);
+        }
     }
 }
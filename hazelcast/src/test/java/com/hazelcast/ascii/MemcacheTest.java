@@ -16,14 +16,19 @@
 
 package com.hazelcast.ascii;
 
+import com.hazelcast.ascii.memcache.MemcacheBinaryProtocol;
+import com.hazelcast.ascii.memcache.MemcacheCommandProcessor;
 import com.hazelcast.ascii.memcache.MemcacheEntry;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.XmlConfigBuilder;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.SlowTest;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
 import net.spy.memcached.ConnectionFactory;
 import net.spy.memcached.ConnectionFactoryBuilder;
 import net.spy.memcached.FailureMode;
@@ -33,8 +38,14 @@ import org.junit.*;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -63,6 +74,14 @@ public class MemcacheTest {
         return new MemcachedClient(factory, addresses);
     }
 
+    public MemcachedClient getBinaryMemcacheClient(HazelcastInstance instance) throws IOException {
+        final LinkedList<InetSocketAddress> addresses = new LinkedList<InetSocketAddress>();
+        addresses.add(instance.getCluster().getLocalMember().getInetSocketAddress());
+        final ConnectionFactory factory = new ConnectionFactoryBuilder().setProtocol(ConnectionFactoryBuilder.Protocol.BINARY)
+                .setOpTimeout(60 * 60 * 60).setDaemon(true).setFailureMode(FailureMode.Retry).build();
+        return new MemcachedClient(factory, addresses);
+    }
+
     @Test
     public void testMemcacheSimple() throws IOException, ExecutionException, InterruptedException {
         final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
@@ -136,6 +155,37 @@ public class MemcacheTest {
         }
     }
 
+    @Test
+    public void testMemcacheBinaryProtocol() throws IOException, ExecutionException, InterruptedException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        MemcachedClient client = getBinaryMemcacheClient(instance);
+        try {
+            for (int i = 0; i < 100; i++) {
+                final OperationFuture<Boolean> future = client.set(String.valueOf(i), 0, i);
+                Assert.assertEquals(Boolean.TRUE, future.get());
+            }
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(i, client.get(String.valueOf(i)));
+            }
+            Assert.assertEquals(Boolean.FALSE, client.add("0", 0, 1).get());
+            Assert.assertEquals(Boolean.FALSE, client.replace("100", 0, 1).get());
+            Assert.assertEquals(Boolean.TRUE, client.delete("99").get());
+            Assert.assertEquals(Boolean.FALSE, client.delete("99").get());
+
+            final LinkedList<String> keys = new LinkedList<String>();
+            for (int i = 0; i < 110; i++) {
+                keys.add(String.valueOf(i));
+            }
+            final Map<String, Object> bulk = client.getBulk(keys);
+            Assert.assertEquals(99, bulk.size());
+            for (int i = 0; i < 99; i++) {
+                Assert.assertEquals(i, bulk.get(String.valueOf(i)));
+            }
+        } finally {
+            client.shutdown();
+        }
+    }
+
     @Test
     public void testMemcacheWithIMap() throws IOException, InterruptedException, ExecutionException {
         final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
@@ -201,6 +251,23 @@ public class MemcacheTest {
         }
     }
 
+    @Test
+    public void testMemcacheCas() throws IOException, ExecutionException, InterruptedException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        MemcachedClient client = getMemcacheClient(instance);
+        try {
+            client.set("key", 0, "value").get();
+            final CASValue<Object> casValue = client.gets("key");
+            Assert.assertEquals("value", casValue.getValue());
+            Assert.assertEquals(CASResponse.OK, client.cas("key", casValue.getCas(), "value2"));
+            Assert.assertEquals(CASResponse.EXISTS, client.cas("key", casValue.getCas(), "value3"));
+            Assert.assertEquals(CASResponse.NOT_FOUND, client.cas("missing", casValue.getCas(), "value3"));
+            Assert.assertEquals("value2", client.get("key"));
+        } finally {
+            client.shutdown();
+        }
+    }
+
     @Test
     public void testMemcacheAppendPrepend() throws IOException, ExecutionException, InterruptedException {
         final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
@@ -226,6 +293,171 @@ public class MemcacheTest {
         }
     }
 
+    @Test
+    public void testMemcachePipelinedResponsesInOrder() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final Socket socket = new Socket();
+        socket.connect(instance.getCluster().getLocalMember().getInetSocketAddress());
+        socket.setSoTimeout(30000);
+        try {
+            final StringBuilder requests = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                final String value = "value" + i;
+                requests.append("set key").append(i).append(" 0 0 ").append(value.length()).append("\r\n")
+                        .append(value).append("\r\n");
+                requests.append("get key").append(i).append("\r\n");
+                requests.append("delete key").append(i).append("\r\n");
+                requests.append("get key").append(i).append("\r\n");
+            }
+            socket.getOutputStream().write(requests.toString().getBytes("UTF-8"));
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+            for (int i = 0; i < 100; i++) {
+                final String value = "value" + i;
+                Assert.assertEquals("STORED", reader.readLine());
+                Assert.assertEquals("VALUE key" + i + " 0 " + value.length(), reader.readLine());
+                Assert.assertEquals(value, reader.readLine());
+                Assert.assertEquals("END", reader.readLine());
+                Assert.assertEquals("DELETED", reader.readLine());
+                Assert.assertEquals("END", reader.readLine());
+            }
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testMemcacheIncrementPastByteBoundaries() throws IOException {
+        for (long value : new long[]{255, 256, 2047, 2048, 65535, 65536, Integer.MAX_VALUE + 1L, Long.MAX_VALUE}) {
+            Assert.assertEquals(value, MemcacheCommandProcessor.byteArrayToLong(MemcacheCommandProcessor.longToByteArray(value)));
+        }
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final IMap<String, MemcacheEntry> map = instance.getMap("hz_memcache_default");
+        map.put("counter", new MemcacheEntry("counter", MemcacheCommandProcessor.longToByteArray(2047), 0));
+        final Socket socket = new Socket();
+        socket.connect(instance.getCluster().getLocalMember().getInetSocketAddress());
+        socket.setSoTimeout(30000);
+        try {
+            final OutputStream out = socket.getOutputStream();
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+            out.write("incr counter 1\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("2048", reader.readLine());
+            out.write("incr counter 2147483647\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("2147485695", reader.readLine());
+            out.write("decr counter 2147483647\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("2048", reader.readLine());
+            Assert.assertEquals(2048, MemcacheCommandProcessor.byteArrayToLong(map.get("counter").getValue()));
+            out.write("decr counter 4096\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("0", reader.readLine());
+            out.write("incr missing 1\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("NOT_FOUND", reader.readLine());
+            out.write("decr missing 1\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("NOT_FOUND", reader.readLine());
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testMemcacheBinaryIncrementWithLongDelta() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final IMap<String, MemcacheEntry> map = instance.getMap("hz_memcache_default");
+        map.put("counter", new MemcacheEntry("counter", MemcacheCommandProcessor.longToByteArray(5), 0));
+        final Socket socket = new Socket();
+        socket.connect(instance.getCluster().getLocalMember().getInetSocketAddress());
+        socket.setSoTimeout(30000);
+        try {
+            final ByteBuffer extras = ByteBuffer.allocate(20);
+            extras.putLong(1L << 32);
+            socket.getOutputStream().write(binaryRequest(MemcacheBinaryProtocol.INCREMENT, 1, extras.array(),
+                    "counter".getBytes("UTF-8"), 0));
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            final ByteBuffer response = readBinaryResponse(in, MemcacheBinaryProtocol.SUCCESS, 1);
+            Assert.assertEquals((1L << 32) + 5, response.getLong());
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testMemcacheBinaryRejectsShortBody() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final Socket socket = new Socket();
+        socket.connect(instance.getCluster().getLocalMember().getInetSocketAddress());
+        socket.setSoTimeout(30000);
+        try {
+            // declares a 10 byte key but only a 4 byte body
+            final byte[] malformed = binaryRequest(MemcacheBinaryProtocol.GET, 1, new byte[0], "key!".getBytes("UTF-8"), 0);
+            malformed[3] = 10;
+            final OutputStream out = socket.getOutputStream();
+            out.write(malformed);
+            out.write(binaryRequest(MemcacheBinaryProtocol.NOOP, 2, new byte[0], new byte[0], 0));
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            readBinaryResponse(in, MemcacheBinaryProtocol.INVALID_ARGUMENTS, 1);
+            readBinaryResponse(in, MemcacheBinaryProtocol.SUCCESS, 2);
+        } finally {
+            socket.close();
+        }
+    }
+
+    private static byte[] binaryRequest(byte opcode, int opaque, byte[] extras, byte[] key, int valueLength) {
+        final ByteBuffer request = ByteBuffer.allocate(MemcacheBinaryProtocol.HEADER_SIZE + extras.length + key.length);
+        request.put(MemcacheBinaryProtocol.REQUEST_MAGIC);
+        request.put(opcode);
+        request.putShort((short) key.length);
+        request.put((byte) extras.length);
+        request.put((byte) 0);
+        request.putShort((short) 0);
+        request.putInt(extras.length + key.length + valueLength);
+        request.putInt(opaque);
+        request.putLong(0);
+        request.put(extras);
+        request.put(key);
+        return request.array();
+    }
+
+    /**
+     * Reads one response, checks its header and returns its body.
+     */
+    private static ByteBuffer readBinaryResponse(DataInputStream in, short status, int opaque) throws IOException {
+        Assert.assertEquals(MemcacheBinaryProtocol.RESPONSE_MAGIC, in.readByte());
+        in.readByte();
+        final int keyLength = in.readShort();
+        final int extrasLength = in.readByte();
+        in.readByte();
+        Assert.assertEquals(status, in.readShort());
+        final byte[] body = new byte[in.readInt()];
+        Assert.assertEquals(opaque, in.readInt());
+        in.readLong();
+        in.readFully(body);
+        final ByteBuffer buffer = ByteBuffer.wrap(body);
+        buffer.position(keyLength + extrasLength);
+        return buffer;
+    }
+
+    @Test
+    public void testMemcacheTouchCancelsExpirationOnBackup() throws IOException, InterruptedException {
+        final HazelcastInstance instance1 = Hazelcast.newHazelcastInstance(config);
+        final HazelcastInstance instance2 = Hazelcast.newHazelcastInstance(config);
+        final Socket socket = new Socket();
+        socket.connect(instance1.getCluster().getLocalMember().getInetSocketAddress());
+        socket.setSoTimeout(30000);
+        try {
+            final OutputStream out = socket.getOutputStream();
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+            out.write("set touched 0 3 5\r\nvalue\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("STORED", reader.readLine());
+            out.write("touch touched 0\r\n".getBytes("UTF-8"));
+            Assert.assertEquals("TOUCHED", reader.readLine());
+        } finally {
+            socket.close();
+        }
+        final Member owner = instance1.getPartitionService().getPartition("touched").getOwner();
+        final HazelcastInstance backup = owner.localMember() ? instance2 : instance1;
+        (owner.localMember() ? instance1 : instance2).getLifecycleService().shutdown();
+        Thread.sleep(5000);
+        Assert.assertTrue(backup.getMap("hz_memcache_default").containsKey("touched"));
+    }
+
     @Test
     public void testQuit() throws IOException {
         final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
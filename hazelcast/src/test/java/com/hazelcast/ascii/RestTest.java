@@ -28,6 +28,7 @@ import org.junit.runner.RunWith;
 
 import java.io.*;
 import java.net.HttpURLConnection;
+import java.net.Socket;
 import java.net.URL;
 
 /**
@@ -94,6 +95,167 @@ public class RestTest {
         }
     }
 
+    @Test
+    public void testRestBulk() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final HTTPCommunicator communicator = new HTTPCommunicator(instance);
+        final String name = "testRestBulk";
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            String value = String.valueOf(i * 10);
+            body.append("VALUE key").append(i).append(' ').append(value.length()).append(" text/plain\r\n");
+            body.append(value).append("\r\n");
+        }
+        communicator.putAll(name, body.toString());
+        Assert.assertEquals(250, instance.getMap(name).size());
+        Assert.assertEquals("20", communicator.get(name, "key2"));
+
+        String entries = communicator.getBulk("maps/" + name + "?keys=key1,key7,missing");
+        Assert.assertEquals(2, countFrames(entries, "VALUE "));
+        Assert.assertTrue(entries.contains("VALUE key7 2 text/plain\r\n70\r\n"));
+        Assert.assertEquals(250, countFrames(communicator.getBulk("maps/" + name), "VALUE "));
+
+        for (int i = 0; i < 150; i++) {
+            instance.getQueue(name).offer(String.valueOf(i));
+        }
+        Assert.assertEquals(100, countFrames(communicator.getBulk("queues/" + name + "?max=100"), "ITEM "));
+        Assert.assertEquals(50, countFrames(communicator.getBulk("queues/" + name), "ITEM "));
+        Assert.assertEquals(0, instance.getQueue(name).size());
+    }
+
+    @Test
+    public void testRestKeepAlivePipelining() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final HTTPCommunicator communicator = new HTTPCommunicator(instance);
+        final String name = "testRestKeepAlivePipelining";
+        for (int i = 0; i < 250; i++) {
+            communicator.put(name, "key" + i, String.valueOf(i * 10));
+        }
+        Socket socket = communicator.openSocket();
+        try {
+            String path = "/hazelcast/rest/maps/" + name;
+            String requests = "GET " + path + "/key1 HTTP/1.1\r\n\r\n"
+                    + "GET " + path + " HTTP/1.1\r\n\r\n"
+                    + "GET " + path + "/key2 HTTP/1.1\r\n\r\n"
+                    + "GET " + path + "/missing HTTP/1.1\r\n\r\n";
+            socket.getOutputStream().write(requests.getBytes("UTF-8"));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            Assert.assertEquals("10", readResponse(in, 200));
+            Assert.assertEquals(250, countFrames(readResponse(in, 200), "VALUE "));
+            Assert.assertEquals("20", readResponse(in, 200));
+            Assert.assertEquals("", readResponse(in, 204));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testRestChunkedRequestBody() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final HTTPCommunicator communicator = new HTTPCommunicator(instance);
+        final String name = "testRestChunkedRequestBody";
+        Socket socket = communicator.openSocket();
+        try {
+            String path = "/hazelcast/rest/maps/" + name + "/key";
+            String requests = "POST " + path + " HTTP/1.1\r\n"
+                    + "Content-Type: text/plain\r\n"
+                    + "Transfer-Encoding: chunked\r\n\r\n"
+                    + "5\r\nhello\r\n"
+                    + "6\r\n world\r\n"
+                    + "0\r\n\r\n";
+            socket.getOutputStream().write(requests.getBytes("UTF-8"));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            Assert.assertEquals("", readResponse(in, 204));
+            // the connection is kept alive after the chunked body
+            socket.getOutputStream().write(("GET " + path + " HTTP/1.1\r\n\r\n").getBytes("UTF-8"));
+            Assert.assertEquals("hello world", readResponse(in, 200));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testRestLargeValueIsChunked() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final HTTPCommunicator communicator = new HTTPCommunicator(instance);
+        final String name = "testRestLargeValueIsChunked";
+        StringBuilder value = new StringBuilder();
+        while (value.length() < 200000) {
+            value.append(value.length() % 10);
+        }
+        communicator.put(name, "key", value.toString());
+        Socket socket = communicator.openSocket();
+        try {
+            socket.getOutputStream().write(("GET /hazelcast/rest/maps/" + name + "/key HTTP/1.1\r\n\r\n").getBytes("UTF-8"));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            Assert.assertEquals(value.toString(), readResponse(in, 200));
+        } finally {
+            socket.close();
+        }
+        HttpURLConnection urlConnection = (HttpURLConnection) (new URL(communicator.address + "maps/" + name + "/key")).openConnection();
+        Assert.assertEquals("chunked", urlConnection.getHeaderField("Transfer-Encoding"));
+        urlConnection.disconnect();
+    }
+
+    /**
+     * Reads one response off a kept-alive connection and returns its decoded body.
+     */
+    private static String readResponse(DataInputStream in, int expectedStatus) throws IOException {
+        String statusLine = readLine(in);
+        Assert.assertTrue(statusLine, statusLine.startsWith("HTTP/1.1 " + expectedStatus));
+        int contentLength = 0;
+        boolean chunked = false;
+        String header;
+        while ((header = readLine(in)).length() > 0) {
+            String lower = header.toLowerCase();
+            if (lower.startsWith("content-length:")) {
+                contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+            } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                chunked = true;
+            }
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (chunked) {
+            int size;
+            while ((size = Integer.parseInt(readLine(in).trim(), 16)) > 0) {
+                byte[] chunk = new byte[size];
+                in.readFully(chunk);
+                body.write(chunk);
+                Assert.assertEquals("", readLine(in));
+            }
+            Assert.assertEquals("", readLine(in));
+        } else {
+            byte[] data = new byte[contentLength];
+            in.readFully(data);
+            body.write(data);
+        }
+        return body.toString("UTF-8");
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("connection closed after: " + line);
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private static int countFrames(String body, String keyword) {
+        int count = 0;
+        for (String line : body.split("\r\n")) {
+            if (line.startsWith(keyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private class HTTPCommunicator {
 
         final HazelcastInstance instance;
@@ -104,6 +266,13 @@ public class RestTest {
             address = "http:/" + instance.getCluster().getLocalMember().getInetSocketAddress().toString() + "/hazelcast/rest/";
         }
 
+        public Socket openSocket() throws IOException {
+            Socket socket = new Socket();
+            socket.connect(instance.getCluster().getLocalMember().getInetSocketAddress());
+            socket.setSoTimeout(30000);
+            return socket;
+        }
+
         public String poll(String queueName, long timeout) {
             String url = address + "queues/" + queueName + "/" + String.valueOf(timeout);
             String result = null;
@@ -205,6 +374,31 @@ public class RestTest {
             return builder.toString();
         }
 
+        public void putAll(String mapName, String frames) throws IOException {
+            String url = address + "maps/" + mapName;
+            HttpURLConnection urlConnection = (HttpURLConnection) (new URL(url)).openConnection();
+            urlConnection.setRequestMethod("PUT");
+            urlConnection.setDoOutput(true);
+            urlConnection.setUseCaches(false);
+            OutputStream out = urlConnection.getOutputStream();
+            out.write(frames.getBytes("UTF-8"));
+            out.close();
+            Assert.assertEquals(HttpURLConnection.HTTP_NO_CONTENT, urlConnection.getResponseCode());
+        }
+
+        public String getBulk(String path) throws IOException {
+            HttpURLConnection urlConnection = (HttpURLConnection) (new URL(address + path)).openConnection();
+            InputStream in = urlConnection.getInputStream();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+            in.close();
+            return body.toString("UTF-8");
+        }
+
         public String deleteAll(String mapName) throws IOException {
 
             String url = address + "maps/" + mapName;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.hazelcast.core.IMap;
+import org.junit.*;
+import org.junit.rules.TestRule;
+
+import java.util.concurrent.TimeUnit;
+
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "benchmark-lock")
+@BenchmarkHistoryChart(filePrefix = "benchmark-lock-history", labelWith = LabelType.CUSTOM_KEY, maxRuns = 20)
+public class LockBenchmark {
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static HazelcastInstance hazelcastInstance;
+    private ILock lock;
+    private IMap<Object, Object> map;
+
+    @BeforeClass
+    public static void beforeClass() {
+        hazelcastInstance = Hazelcast.newHazelcastInstance();
+    }
+
+    @Before
+    public void before(){
+        lock = hazelcastInstance.getLock("lock");
+        map = hazelcastInstance.getMap("lockMap");
+    }
+
+    @After
+    public void after(){
+        lock.destroy();
+        map.destroy();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void lockUnlock() throws Exception {
+        long startMs = System.currentTimeMillis();
+        int iterations = 1000000;
+        for(int k=0;k<iterations;k++){
+            if(k%100000==0){
+                System.out.println("At: "+k);
+            }
+            lock.lock();
+            lock.unlock();
+        }
+        long durationMs = System.currentTimeMillis()-startMs;
+        double performance = (iterations*1000d)/durationMs;
+        System.out.println("Performance: " + performance);
+    }
+
+    @Test
+    public void reentrantLockUnlock() throws Exception {
+        for(int k=0;k<500000;k++){
+            lock.lock();
+            lock.lock();
+            lock.unlock();
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void mapLockUnlockDistinctKeys() throws Exception {
+        long startMs = System.currentTimeMillis();
+        int iterations = 1000000;
+        for(int k=0;k<iterations;k++){
+            if(k%100000==0){
+                System.out.println("At: "+k);
+            }
+            map.lock(k);
+            map.unlock(k);
+        }
+        long durationMs = System.currentTimeMillis()-startMs;
+        double performance = (iterations*1000d)/durationMs;
+        System.out.println("Performance: " + performance);
+    }
+
+    @Test
+    public void mapLockWithLeaseUnlockDistinctKeys() throws Exception {
+        for(int k=0;k<500000;k++){
+            map.lock(k, 1, TimeUnit.MINUTES);
+            map.unlock(k);
+        }
+    }
+}
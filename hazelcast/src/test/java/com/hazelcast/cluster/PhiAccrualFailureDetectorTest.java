@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cluster;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PhiAccrualFailureDetectorTest extends HazelcastTestSupport {
+
+    private MemberImpl member;
+
+    @Before
+    public void setUp() throws Exception {
+        member = new MemberImpl(new Address("127.0.0.1", 5701), false);
+    }
+
+    @Test
+    public void testMemberIsAliveWithRegularHeartbeats() {
+        final FailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10, 0, 100);
+        long now = 0;
+        for (int i = 0; i < 50; i++) {
+            detector.heartbeat(member, now);
+            now += 100;
+        }
+        assertTrue(detector.isAlive(member, now));
+        assertTrue(detector.isAlive(member, now + 50));
+    }
+
+    @Test
+    public void testMemberIsSuspectedAfterMissingHeartbeats() {
+        final FailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10, 0, 100);
+        long now = 0;
+        for (int i = 0; i < 50; i++) {
+            detector.heartbeat(member, now);
+            now += 100;
+        }
+        final long lastHeartbeat = now - 100;
+        assertTrue(detector.suspicionLevel(member, lastHeartbeat + 150) < detector.suspicionLevel(member, lastHeartbeat + 300));
+        assertFalse(detector.isAlive(member, lastHeartbeat + 1000));
+    }
+
+    @Test
+    public void testAcceptablePauseDelaysSuspicion() {
+        final FailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10, 3000, 100);
+        long now = 0;
+        for (int i = 0; i < 50; i++) {
+            detector.heartbeat(member, now);
+            now += 100;
+        }
+        final long lastHeartbeat = now - 100;
+        assertTrue(detector.isAlive(member, lastHeartbeat + 2000));
+        assertFalse(detector.isAlive(member, lastHeartbeat + 5000));
+    }
+
+    @Test
+    public void testIrregularHeartbeatsToleratedLonger() {
+        final FailureDetector regular = new PhiAccrualFailureDetector(8, 100, 10, 0, 100);
+        final FailureDetector irregular = new PhiAccrualFailureDetector(8, 100, 10, 0, 100);
+        long regularTime = 0;
+        long irregularTime = 0;
+        for (int i = 0; i < 50; i++) {
+            regular.heartbeat(member, regularTime);
+            irregular.heartbeat(member, irregularTime);
+            regularTime += 100;
+            irregularTime += i % 2 == 0 ? 20 : 180;
+        }
+        assertTrue(irregular.suspicionLevel(member, irregularTime + 300)
+                < regular.suspicionLevel(member, regularTime + 300));
+    }
+
+    @Test
+    public void testNewMemberIsTrackedFromFirstCheck() {
+        final FailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10, 0, 1000);
+        assertTrue(detector.isAlive(member, 10000));
+        assertTrue(detector.isAlive(member, 10500));
+        assertFalse(detector.isAlive(member, 20000));
+    }
+
+    @Test
+    public void testRemovedMemberStartsOver() {
+        final FailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10, 0, 100);
+        detector.heartbeat(member, 0);
+        assertFalse(detector.isAlive(member, 10000));
+        detector.remove(member);
+        assertTrue(detector.isAlive(member, 10000));
+    }
+
+    @Test
+    public void testPhi() {
+        assertEquals(0.0, PhiAccrualFailureDetector.phi(0, 1000, 100), 0.01);
+        assertEquals(0.3, PhiAccrualFailureDetector.phi(1000, 1000, 100), 0.01);
+        assertTrue(PhiAccrualFailureDetector.phi(1200, 1000, 100) > 1);
+        assertTrue(PhiAccrualFailureDetector.phi(2000, 1000, 100) > 8);
+    }
+
+    @Test
+    public void testClusterWithSubSecondHeartbeats() throws Exception {
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_HEARTBEAT_FAILURE_DETECTOR_TYPE, "phi-accrual");
+        config.setProperty(GroupProperties.PROP_HEARTBEAT_INTERVAL_MILLIS, "100");
+        config.setProperty(GroupProperties.PROP_HEARTBEAT_PHI_ACCRUAL_ACCEPTABLE_PAUSE_MILLIS, "500");
+        config.setProperty(GroupProperties.PROP_HEARTBEAT_PHI_ACCRUAL_SAMPLE_SIZE, "10");
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        final HazelcastInstance h1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance h2 = factory.newHazelcastInstance(config);
+        final HazelcastInstance h3 = factory.newHazelcastInstance(config);
+        final PhiAccrualFailureDetector detector = (PhiAccrualFailureDetector) getNode(h1).clusterService.getFailureDetector();
+        final Address address2 = getNode(h2).getThisAddress();
+        final Address address3 = getNode(h3).getThisAddress();
+
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertTrue(detector.heartbeatCount(address2) > 20);
+                assertTrue(detector.heartbeatCount(address3) > 20);
+            }
+        });
+        // the master gets a single heartbeat per interval from each member
+        assertTrue(detector.meanIntervalMillis(address2) > 75);
+        assertTrue(detector.meanIntervalMillis(address3) > 75);
+        assertEquals(3, h1.getCluster().getMembers().size());
+        assertEquals(3, h2.getCluster().getMembers().size());
+        assertEquals(3, h3.getCluster().getMembers().size());
+    }
+}
@@ -19,7 +19,10 @@ package com.hazelcast.concurrent.lock;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.*;
 import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -180,6 +183,27 @@ public class LockTest extends HazelcastTestSupport {
         lock.lock();
     }
 
+    @Test
+    public void testLockTableIsFreedOnUnlock() throws InterruptedException {
+        final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(1);
+        final HazelcastInstance instance = nodeFactory.newHazelcastInstance(new Config());
+        final IMap<Integer, Integer> map = instance.getMap("testLockTableIsFreedOnUnlock");
+        final LockService lockService = getNode(instance).nodeEngine.getService(LockService.SERVICE_NAME);
+        for (int i = 0; i < 1000; i++) {
+            map.lock(i);
+            map.lock(i);
+            map.unlock(i);
+            assertTrue(map.isLocked(i));
+            map.unlock(i);
+        }
+        assertTrue(lockService.getAllLocks().isEmpty());
+
+        map.lock(-1, 1, TimeUnit.SECONDS);
+        assertTrue(map.isLocked(-1));
+        Thread.sleep(2000);
+        assertFalse(map.isLocked(-1));
+    }
+
     @Test(expected = IllegalMonitorStateException.class)
     public void testIllegalUnlock() {
         final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(1);
@@ -289,6 +313,80 @@ public class LockTest extends HazelcastTestSupport {
         Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void testLeaseEvictionCancelledAfterReentrantLockWithoutLease() throws Exception {
+        final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(1);
+        final HazelcastInstance instance = nodeFactory.newHazelcastInstance(new Config());
+        final ILock lock = instance.getLock("testLeaseEvictionCancelledAfterReentrantLockWithoutLease");
+
+        lock.lock(2, TimeUnit.SECONDS);
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+        assertFalse(lock.isLocked());
+
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                lock.lock();
+                locked.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                lock.unlock();
+            }
+        });
+        t.start();
+        assertTrue(locked.await(30, TimeUnit.SECONDS));
+        // the lease of the first owner must not evict the lock of the new owner
+        sleepSeconds(3);
+        assertTrue(lock.isLocked());
+        release.countDown();
+        t.join();
+    }
+
+    @Test
+    public void testLeaseEvictionCancelledAfterLockIsReplicated() throws Exception {
+        final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(1);
+        final HazelcastInstance instance = nodeFactory.newHazelcastInstance(new Config());
+        final String name = "testLeaseEvictionCancelledAfterLockIsReplicated";
+        final ILock lock = instance.getLock(name);
+        lock.lock(2, TimeUnit.SECONDS);
+
+        // replaces the lock with a replicated copy, as a migration or a promotion does
+        final NodeEngineImpl nodeEngine = getNode(instance).nodeEngine;
+        final int partitionId = nodeEngine.getPartitionService().getPartitionId(nodeEngine.toData(name));
+        final LockServiceImpl service = nodeEngine.getService(LockServiceImpl.SERVICE_NAME);
+        final Operation replication = service.prepareReplicationOperation(new PartitionReplicationEvent(partitionId, 0));
+        final Operation replicated = (Operation) nodeEngine.toObject(nodeEngine.toData(replication));
+        replicated.setNodeEngine(nodeEngine).setPartitionId(partitionId).setService(service);
+        replicated.run();
+        lock.unlock();
+
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                lock.lock();
+                locked.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                lock.unlock();
+            }
+        });
+        t.start();
+        assertTrue(locked.await(30, TimeUnit.SECONDS));
+        // the lease scheduled before the replication must not evict the lock of the new owner
+        sleepSeconds(3);
+        assertTrue(lock.isLocked());
+        release.countDown();
+        t.join();
+    }
+
     @Test
     public void testLockCount() throws Exception {
         final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
@@ -350,6 +448,54 @@ public class LockTest extends HazelcastTestSupport {
     }
 
 
+    @Test(timeout = 100000)
+    public void testTryLockTimeoutsExpireWhileLongWaiterGetsLock() throws Exception {
+        final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        final Config config = new Config();
+        final HazelcastInstance h1 = nodeFactory.newHazelcastInstance(config);
+        final HazelcastInstance h2 = nodeFactory.newHazelcastInstance(config);
+        final ILock lock = h1.getLock("testTryLockTimeouts");
+        lock.lock();
+
+        final int threadCount = 40;
+        final CountDownLatch timedOut = new CountDownLatch(threadCount);
+        final AtomicInteger acquired = new AtomicInteger();
+        for (int i = 0; i < threadCount; i++) {
+            final HazelcastInstance instance = i % 2 == 0 ? h1 : h2;
+            final long timeout = 100 + 10 * i;
+            new Thread() {
+                public void run() {
+                    try {
+                        if (instance.getLock("testTryLockTimeouts").tryLock(timeout, TimeUnit.MILLISECONDS)) {
+                            acquired.incrementAndGet();
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        timedOut.countDown();
+                    }
+                }
+            }.start();
+        }
+        final CountDownLatch longWaiterLocked = new CountDownLatch(1);
+        new Thread() {
+            public void run() {
+                try {
+                    final ILock lock2 = h2.getLock("testTryLockTimeouts");
+                    if (lock2.tryLock(60, TimeUnit.SECONDS)) {
+                        longWaiterLocked.countDown();
+                        lock2.unlock();
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }.start();
+
+        assertTrue(timedOut.await(10, TimeUnit.SECONDS));
+        assertEquals(0, acquired.get());
+        lock.unlock();
+        assertTrue(longWaiterLocked.await(10, TimeUnit.SECONDS));
+    }
+
     @Test
     public void testLockConditionSimpleUsage() throws InterruptedException {
         final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
@@ -222,6 +222,19 @@ public class XMLConfigBuilderTest {
         assertTrue(mapConfig.getMaxSizeConfig().getMaxSizePolicy().equals(MaxSizeConfig.MaxSizePolicy.PER_PARTITION));
     }
 
+    @Test
+    public void readMapReadReplicaPolicy() {
+        String xml =
+                "<hazelcast>\n" +
+                        "<map name=\"balanced\">" +
+                        "<read-replica-policy>read_your_writes</read-replica-policy>" +
+                        "</map>" +
+                        "</hazelcast>";
+        final Config config = buildConfig(xml);
+        assertEquals(MapConfig.ReadReplicaPolicy.READ_YOUR_WRITES, config.getMapConfig("balanced").getReadReplicaPolicy());
+        assertEquals(MapConfig.ReadReplicaPolicy.OWNER, config.getMapConfig("default").getReadReplicaPolicy());
+    }
+
 
     @Test
     public void testManagementCenterConfig() {
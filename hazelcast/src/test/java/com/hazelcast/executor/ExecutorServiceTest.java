@@ -23,8 +23,10 @@ import com.hazelcast.core.CompletableFuture;
 import com.hazelcast.instance.HazelcastInstanceImpl;
 import com.hazelcast.instance.HazelcastInstanceProxy;
 import com.hazelcast.monitor.LocalExecutorStats;
+import com.hazelcast.nio.Address;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -614,6 +616,73 @@ public class ExecutorServiceTest extends HazelcastTestSupport {
             assertEquals(futures.get(i).get(), BasicTestTask.RESULT);
         }
     }
+
+    @Test
+    public void testLoadBalancedInvokeAllAndSubmit() throws Exception {
+        final String name = "testLoadBalancedInvokeAllAndSubmit";
+        final Config config = new Config();
+        config.getExecutorConfig(name).setLoadBalancingEnabled(true).setPartitionThreadExecutionEnabled(true);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance[] instances = factory.newInstances(config);
+        final IExecutorService executor = instances[0].getExecutorService(name);
+
+        final int count = ExecutorServiceProxy.MAX_BATCH_SIZE * 3;
+        final List<Callable<String>> tasks = new ArrayList<Callable<String>>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(i % 10 == 0 ? new PartitionAwareTestTask(i) : new BasicTestTask());
+        }
+        final List<Future<String>> futures = executor.invokeAll(tasks);
+        assertEquals(count, futures.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 10 == 0 ? String.valueOf(i) : BasicTestTask.RESULT, futures.get(i).get());
+        }
+
+        assertEquals(BasicTestTask.RESULT, executor.submit(new BasicTestTask()).get());
+        assertEquals(BasicTestTask.RESULT, executor.submitToKeyOwner(new BasicTestTask(), "key").get());
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.submit(new BasicTestTask(), new ExecutionCallback<String>() {
+            public void onResponse(String response) {
+                if (BasicTestTask.RESULT.equals(response)) {
+                    latch.countDown();
+                }
+            }
+
+            public void onFailure(Throwable t) {
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLoadBalancingForgetsLeftMembers() throws Exception {
+        final String name = "testLoadBalancingForgetsLeftMembers";
+        final Config config = new Config();
+        config.getExecutorConfig(name).setLoadBalancingEnabled(true);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        final HazelcastInstance instance = factory.newHazelcastInstance(config);
+        final HazelcastInstance leaving = factory.newHazelcastInstance(config);
+        instance.getExecutorService(name);
+        final DistributedExecutorService service = getNode(instance).nodeEngine.getService(DistributedExecutorService.SERVICE_NAME);
+        final LeastLoadedMemberSelector selector = service.getMemberSelector(name);
+        final Field loadsField = LeastLoadedMemberSelector.class.getDeclaredField("loads");
+        loadsField.setAccessible(true);
+        final Map loads = (Map) loadsField.get(selector);
+
+        final Address leftAddress = getNode(leaving).getThisAddress();
+        selector.tasksSent(leftAddress, 1000);
+        leaving.getLifecycleService().shutdown();
+        // a new member keeps the member count unchanged
+        factory.newHazelcastInstance(config);
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertFalse(loads.containsKey(leftAddress));
+            }
+        });
+        selector.tasksCompleted(leftAddress, 1000);
+        assertFalse(loads.containsKey(leftAddress));
+        assertEquals(BasicTestTask.RESULT, instance.getExecutorService(name).submit(new BasicTestTask()).get());
+    }
+
     @Test
     public void testInvokeAllTimeoutCancelled() throws Exception {
         ExecutorService executor = createSingleNodeExecutorService("testInvokeAll");
@@ -1283,6 +1352,23 @@ public class ExecutorServiceTest extends HazelcastTestSupport {
         }
     }
 
+    public static class PartitionAwareTestTask implements Callable<String>, Serializable, PartitionAware {
+
+        private final int key;
+
+        public PartitionAwareTestTask(int key) {
+            this.key = key;
+        }
+
+        public String call() throws Exception {
+            return String.valueOf(key);
+        }
+
+        public Object getPartitionKey() {
+            return key;
+        }
+    }
+
     public static class CancellationAwareTask implements Callable<Boolean>, Serializable {
 
         long sleepTime = 10000;
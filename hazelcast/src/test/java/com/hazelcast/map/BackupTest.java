@@ -24,6 +24,7 @@ import com.hazelcast.core.LifecycleListener;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.TestUtil;
 import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.partition.PartitionServiceImpl;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -34,11 +35,14 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static org.junit.Assert.assertEquals;
@@ -84,6 +88,160 @@ public class BackupTest extends HazelcastTestSupport {
         assertEquals(size, m4.size());
     }
 
+    @Test
+    public void testChunkedMigrationAndReplicaSync() throws Exception {
+        final int size = 10000;
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "31");
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CHUNK_SIZE, "7");
+        config.getMapConfig(MAP_NAME).setStatisticsEnabled(true);
+
+        final HazelcastInstance[] instances = new HazelcastInstance[3];
+        instances[0] = nodeFactory.newHazelcastInstance(config);
+        IMap m1 = instances[0].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            m1.put(i, i);
+        }
+        instances[1] = nodeFactory.newHazelcastInstance(config);
+        instances[2] = nodeFactory.newHazelcastInstance(config);
+        checkMapSizes(size, 1, instances);
+
+        TestUtil.terminateInstance(instances[0]);
+        instances[0] = null;
+        checkMapSizes(size, 1, instances);
+        TestUtil.terminateInstance(instances[1]);
+        instances[1] = null;
+        checkMapSizes(size, 1, instances);
+
+        IMap m3 = instances[2].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, m3.get(i));
+        }
+    }
+
+    @Test
+    public void testChunkedMigrationWithConcurrentUpdates() throws Exception {
+        final int size = 10000;
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "31");
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CHUNK_SIZE, "7");
+
+        final HazelcastInstance[] instances = new HazelcastInstance[3];
+        instances[0] = nodeFactory.newHazelcastInstance(config);
+        final IMap<Integer, Integer> m1 = instances[0].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            m1.put(i, 0);
+        }
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread updater = new Thread() {
+            public void run() {
+                for (int round = 1; running.get(); round++) {
+                    for (int i = 0; i < size; i += 100) {
+                        m1.put(i, round);
+                    }
+                }
+            }
+        };
+        updater.start();
+        instances[1] = nodeFactory.newHazelcastInstance(config);
+        instances[2] = nodeFactory.newHazelcastInstance(config);
+        running.set(false);
+        updater.join();
+        checkMapSizes(size, 1, instances);
+
+        final Map<Integer, Integer> expected = new HashMap<Integer, Integer>(m1.getAll(m1.keySet()));
+        TestUtil.terminateInstance(instances[0]);
+        instances[0] = null;
+        checkMapSizes(size, 1, instances);
+        final IMap<Integer, Integer> m3 = instances[2].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected.get(i), m3.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelMigrations() throws Exception {
+        final int size = 10000;
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(4);
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "271");
+        config.setProperty(GroupProperties.PROP_PARTITION_MAX_PARALLEL_MIGRATIONS, "8");
+        config.setProperty(GroupProperties.PROP_PARTITION_MAX_PARALLEL_MIGRATIONS_PER_MEMBER, "4");
+        config.getMapConfig(MAP_NAME).setStatisticsEnabled(true);
+
+        final HazelcastInstance[] instances = new HazelcastInstance[4];
+        instances[0] = nodeFactory.newHazelcastInstance(config);
+        IMap m1 = instances[0].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            m1.put(i, i);
+        }
+        for (int i = 1; i < instances.length; i++) {
+            instances[i] = nodeFactory.newHazelcastInstance(config);
+        }
+        checkMapSizes(size, 1, instances);
+
+        final PartitionServiceImpl partitionService = TestUtil.getNode(instances[0]).getPartitionService();
+        assertTrue(partitionService.getCompletedMigrationCount() > 0);
+        assertTrue(partitionService.getMigratedBytes() > 0);
+        assertEquals(0, partitionService.getMigrationQueueSize());
+        assertEquals(0, partitionService.getRunningMigrationCount());
+        assertEquals(0, partitionService.getEstimatedMigrationTimeMillis());
+    }
+
+    @Test
+    public void testMigrationBandwidthLimit() throws Exception {
+        final int size = 10000;
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "31");
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CHUNK_SIZE, "100");
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_MAX_BANDWIDTH, "64");
+
+        final HazelcastInstance[] instances = new HazelcastInstance[2];
+        instances[0] = nodeFactory.newHazelcastInstance(config);
+        IMap m1 = instances[0].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            m1.put(i, i);
+        }
+        instances[1] = nodeFactory.newHazelcastInstance(config);
+        checkMapSizes(size, 1, instances);
+
+        final PartitionServiceImpl partitionService = TestUtil.getNode(instances[0]).getPartitionService();
+        assertTrue(partitionService.getMigratedBytes() > 0);
+        assertEquals(0, partitionService.getRunningMigrationCount());
+        TestUtil.terminateInstance(instances[0]);
+        IMap m2 = instances[1].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, m2.get(i));
+        }
+    }
+
+    @Test
+    public void testBackupAckCount() throws Exception {
+        final int size = 1000;
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_OPERATION_BACKUP_ACK_COUNT, "1");
+        config.getMapConfig(MAP_NAME).setBackupCount(2).setStatisticsEnabled(true);
+
+        final HazelcastInstance[] instances = nodeFactory.newInstances(config);
+        IMap m1 = instances[0].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            m1.put(i, i);
+        }
+        // second sync backup is not waited for, but still applied
+        checkMapSizes(size, 2, instances);
+
+        TestUtil.terminateInstance(instances[0]);
+        instances[0] = null;
+        IMap m2 = instances[1].getMap(MAP_NAME);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, m2.get(i));
+        }
+    }
+
     @Test
     public void testGracefulShutdown2() throws Exception {
         Config config = new Config();
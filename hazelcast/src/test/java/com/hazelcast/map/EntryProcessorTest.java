@@ -236,6 +236,27 @@ public class EntryProcessorTest extends HazelcastTestSupport {
         assertEquals(1, map.size());
     }
 
+    @Test
+    public void testBackupEntryRemovedByEntryProcessor() throws InterruptedException {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        Config cfg = new Config();
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(cfg);
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(cfg);
+        IMap<Integer, Integer> map = instance1.getMap("testBackupEntryRemovedByEntryProcessor");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map.executeOnKey(i, new RemoveEntryProcessor());
+        }
+        instance1.getLifecycleService().shutdown();
+        IMap<Integer, Integer> map2 = instance2.getMap("testBackupEntryRemovedByEntryProcessor");
+        assertEquals(50, map2.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : (Object) i, map2.get(i));
+        }
+    }
+
 
     private static class IncrementorEntryProcessor extends AbstractEntryProcessor implements DataSerializable {
         IncrementorEntryProcessor() {
@@ -31,8 +31,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -103,6 +105,100 @@ public class MapTransactionTest extends HazelcastTestSupport {
         assertEquals("value6", h4.getMap("default").get("1"));
     }
 
+    @Test
+    public void testTxnCommitOnSinglePartition() throws TransactionException {
+        Config config = new Config();
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance h1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance h2 = factory.newHazelcastInstance(config);
+        final PartitionService partitionService = h1.getPartitionService();
+        final int partitionId = partitionService.getPartition(0).getPartitionId();
+        final List<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; keys.size() < 10; i++) {
+            if (partitionService.getPartition(i).getPartitionId() == partitionId) {
+                keys.add(i);
+            }
+        }
+        h1.getMap("default").put(keys.get(0), "old");
+
+        boolean b = h1.executeTransaction(options, new TransactionalTask<Boolean>() {
+            public Boolean execute(TransactionalTaskContext context) throws TransactionException {
+                final TransactionalMap<Object, Object> txMap = context.getMap("default");
+                final TransactionalMultiMap<Object, Object> txMultiMap = context.getMultiMap("default");
+                txMap.remove(keys.get(0));
+                for (Integer key : keys.subList(1, keys.size())) {
+                    txMap.put(key, "value" + key);
+                }
+                for (Integer key : keys) {
+                    txMultiMap.put(key, key);
+                }
+                return true;
+            }
+        });
+        assertTrue(b);
+
+        final IMap<Object, Object> map = h2.getMap("default");
+        for (Integer key : keys) {
+            assertEquals(key.equals(keys.get(0)) ? null : "value" + key, map.get(key));
+            assertFalse(map.isLocked(key));
+            assertEquals(1, h2.getMultiMap("default").valueCount(key));
+        }
+
+        // backups are committed as well
+        (partitionService.getPartition(partitionId).getOwner().localMember() ? h1 : h2).getLifecycleService().shutdown();
+        final HazelcastInstance remaining = h1.getLifecycleService().isRunning() ? h1 : h2;
+        assertEquals(keys.size() - 1, remaining.getMap("default").size());
+        assertEquals(keys.size(), remaining.getMultiMap("default").size());
+    }
+
+    @Test
+    public void testTxnCommitAndRollbackOnManyPartitions() throws TransactionException {
+        Config config = new Config();
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        final HazelcastInstance h1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance h2 = factory.newHazelcastInstance(config);
+        final HazelcastInstance h3 = factory.newHazelcastInstance(config);
+        final int count = 50;
+
+        boolean b = h1.executeTransaction(options, new TransactionalTask<Boolean>() {
+            public Boolean execute(TransactionalTaskContext context) throws TransactionException {
+                final TransactionalMap<Object, Object> txMap = context.getMap("default");
+                for (int i = 0; i < count; i++) {
+                    txMap.put(i, "value" + i);
+                }
+                return true;
+            }
+        });
+        assertTrue(b);
+
+        try {
+            h2.executeTransaction(options, new TransactionalTask<Boolean>() {
+                public Boolean execute(TransactionalTaskContext context) throws TransactionException {
+                    final TransactionalMap<Object, Object> txMap = context.getMap("default");
+                    for (int i = 0; i < count; i++) {
+                        txMap.put(i, "rolledBack" + i);
+                    }
+                    throw new TransactionException("rollback");
+                }
+            });
+            fail("Transaction should have been rolled back!");
+        } catch (TransactionException expected) {
+        }
+
+        final IMap<Object, Object> map = h3.getMap("default");
+        for (int i = 0; i < count; i++) {
+            assertEquals("value" + i, map.get(i));
+            assertFalse(map.isLocked(i));
+        }
+
+        // backups are committed as well
+        h1.getLifecycleService().shutdown();
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("value" + i, map.get(i));
+        }
+    }
+
     @Test
     public void testTxnCommit() throws TransactionException {
         Config config = new Config();
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.Node;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartition;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ReadReplicaPolicyTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "ReadReplicaPolicyTest";
+
+    @Test
+    public void testOwnerPolicyReadsOwner() {
+        final Set<Object> values = readWithStaleBackup(MapConfig.ReadReplicaPolicy.OWNER);
+        assertEquals(1, values.size());
+        assertEquals("value", values.iterator().next());
+    }
+
+    @Test
+    public void testEventualPolicyReadsBackups() {
+        final Set<Object> values = readWithStaleBackup(MapConfig.ReadReplicaPolicy.EVENTUAL);
+        assertEquals(2, values.size());
+    }
+
+    @Test
+    public void testMaxIdleMapReadsOwner() {
+        final Config config = newConfig(MapConfig.ReadReplicaPolicy.EVENTUAL);
+        config.getMapConfig(MAP_NAME).setMaxIdleSeconds(100);
+        final Set<Object> values = readWithStaleBackup(config);
+        assertEquals(1, values.size());
+        assertEquals("value", values.iterator().next());
+    }
+
+    @Test
+    public void testLruEvictedMapReadsOwner() {
+        final Config config = newConfig(MapConfig.ReadReplicaPolicy.EVENTUAL);
+        config.getMapConfig(MAP_NAME).setEvictionPolicy(MapConfig.EvictionPolicy.LRU);
+        final Set<Object> values = readWithStaleBackup(config);
+        assertEquals(1, values.size());
+        assertEquals("value", values.iterator().next());
+    }
+
+    @Test
+    public void testReadYourWritesPolicyReadsOwnerOnBackupMiss() {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance[] instances = factory.newInstances(newConfig(MapConfig.ReadReplicaPolicy.READ_YOUR_WRITES));
+        final IMap<Object, Object> map = instances[0].getMap(MAP_NAME);
+        map.put("key", "value");
+        getBackupRecordStore(instances, "key").remove(toData(instances[0], "key"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value", map.get("key"));
+        }
+        map.remove("key");
+        assertNull(map.get("key"));
+    }
+
+    @Test
+    public void testReadYourWritesPolicyReadsOwnerForWrittenKeys() {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance[] instances = factory.newInstances(newConfig(MapConfig.ReadReplicaPolicy.READ_YOUR_WRITES));
+        final IMap<Object, Object> map = instances[0].getMap(MAP_NAME);
+        map.put("key", "value");
+        instances[1].getMap(MAP_NAME).put("other", "value");
+        getBackupRecordStore(instances, "key").put(toData(instances[0], "key"), toData(instances[0], "stale"), -1);
+        getBackupRecordStore(instances, "other").put(toData(instances[0], "other"), toData(instances[0], "stale"), -1);
+        final Set<Object> values = new HashSet<Object>();
+        final Set<Object> otherValues = new HashSet<Object>();
+        for (int i = 0; i < 10; i++) {
+            values.add(map.get("key"));
+            otherValues.add(map.get("other"));
+        }
+        assertEquals(1, values.size());
+        assertEquals("value", values.iterator().next());
+        // keys written by others are still spread over the backups
+        assertEquals(2, otherValues.size());
+    }
+
+    @Test
+    public void testBackupReadsDoNotFillNearCache() {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final Config config = newConfig(MapConfig.ReadReplicaPolicy.EVENTUAL);
+        config.getMapConfig(MAP_NAME).setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true));
+        final HazelcastInstance[] instances = factory.newInstances(config);
+        final IMap<Object, Object> map = instances[0].getMap(MAP_NAME);
+        map.put("key", "value");
+        getBackupRecordStore(instances, "key").put(toData(instances[0], "key"), toData(instances[0], "stale"), -1);
+        // moves the round robin on, so the next get is sent to the backup
+        map.get("missing");
+        assertEquals("stale", map.get("key"));
+        assertEquals("value", map.get("key"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value", map.get("key"));
+        }
+    }
+
+    // puts an entry, changes its value on the backup behind the owner's back and reads it repeatedly
+    private Set<Object> readWithStaleBackup(MapConfig.ReadReplicaPolicy policy) {
+        return readWithStaleBackup(newConfig(policy));
+    }
+
+    private Set<Object> readWithStaleBackup(Config config) {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance[] instances = factory.newInstances(config);
+        final IMap<Object, Object> map = instances[0].getMap(MAP_NAME);
+        map.put("key", "value");
+        getBackupRecordStore(instances, "key").put(toData(instances[0], "key"), toData(instances[0], "stale"), -1);
+        final Set<Object> values = new HashSet<Object>();
+        for (int i = 0; i < 10; i++) {
+            values.add(map.get("key"));
+        }
+        return values;
+    }
+
+    private static Config newConfig(MapConfig.ReadReplicaPolicy policy) {
+        final Config config = new Config();
+        config.getMapConfig(MAP_NAME).setBackupCount(1).setReadReplicaPolicy(policy);
+        return config;
+    }
+
+    private static RecordStore getBackupRecordStore(HazelcastInstance[] instances, Object key) {
+        final Node node = TestUtil.getNode(instances[0]);
+        final int partitionId = node.getPartitionService().getPartitionId(toData(instances[0], key));
+        final InternalPartition partition = node.getPartitionService().getPartition(partitionId);
+        for (HazelcastInstance instance : instances) {
+            final Node backupNode = TestUtil.getNode(instance);
+            if (backupNode.getThisAddress().equals(partition.getReplicaAddress(1))) {
+                final MapService mapService = backupNode.nodeEngine.getService(MapService.SERVICE_NAME);
+                return mapService.getRecordStore(partitionId, MAP_NAME);
+            }
+        }
+        throw new IllegalStateException("No backup of partition " + partitionId);
+    }
+
+    private static Data toData(HazelcastInstance instance, Object object) {
+        return TestUtil.getNode(instance).getSerializationService().toData(object);
+    }
+}
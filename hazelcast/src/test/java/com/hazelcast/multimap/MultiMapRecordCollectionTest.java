@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MultiMapRecordCollectionTest {
+
+    @Test
+    public void testSetSemantics() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(false);
+        assertTrue(coll.add(new MultiMapRecord(1, "a")));
+        assertTrue(coll.add(new MultiMapRecord(2, "b")));
+        assertFalse(coll.add(new MultiMapRecord(3, "a")));
+        assertEquals(2, coll.size());
+        assertTrue(coll.contains(new MultiMapRecord("a")));
+        assertFalse(coll.containsRecordId(3));
+        assertEquals(Arrays.asList("a", "b"), values(coll));
+    }
+
+    @Test
+    public void testListSemantics_removeFirstOccurrence() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(true);
+        coll.add(new MultiMapRecord(1, "a"));
+        coll.add(new MultiMapRecord(2, "b"));
+        coll.add(new MultiMapRecord(3, "a"));
+        coll.add(new MultiMapRecord(4, "a"));
+        assertEquals(4, coll.size());
+
+        assertEquals(1, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+        assertEquals(3, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+        assertEquals(Arrays.asList("b", "a"), values(coll));
+        assertEquals(4, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+        assertNull(coll.removeValue(new MultiMapRecord("a")));
+        assertFalse(coll.contains(new MultiMapRecord("a")));
+    }
+
+    @Test
+    public void testRemoveRecordId() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(true);
+        coll.add(new MultiMapRecord(1, "a"));
+        coll.add(new MultiMapRecord(2, "a"));
+        coll.add(new MultiMapRecord(3, "a"));
+
+        assertEquals("a", coll.removeRecordId(2).getObject());
+        assertNull(coll.removeRecordId(2));
+        assertFalse(coll.containsRecordId(2));
+        assertEquals(1, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+        assertEquals(3, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+        assertTrue(coll.isEmpty());
+    }
+
+    @Test
+    public void testRecordIdIndexResize() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(true);
+        for (long id = 0; id < 1000; id++) {
+            coll.add(new MultiMapRecord(id << 32 | id, id));
+        }
+        for (long id = 0; id < 1000; id += 2) {
+            assertEquals(id, coll.removeRecordId(id << 32 | id).getObject());
+        }
+        assertEquals(500, coll.size());
+        for (long id = 0; id < 1000; id++) {
+            assertEquals(id % 2 == 1, coll.containsRecordId(id << 32 | id));
+        }
+        coll.clear();
+        assertFalse(coll.containsRecordId(1L << 32 | 1));
+        coll.add(new MultiMapRecord(7, "a"));
+        assertEquals("a", coll.getByRecordId(7).getObject());
+    }
+
+    @Test
+    public void testIndexedAdd_keepsFirstOccurrenceOrder() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(true);
+        coll.add(new MultiMapRecord(1, "a"));
+        coll.add(new MultiMapRecord(2, "b"));
+        coll.add(0, new MultiMapRecord(3, "a"));
+        assertEquals(Arrays.asList("a", "a", "b"), values(coll));
+        assertEquals(3, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+        assertEquals(1, coll.removeValue(new MultiMapRecord("a")).getRecordId());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexedAdd_outOfBounds() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(true);
+        coll.add(1, new MultiMapRecord(1, "a"));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        MultiMapRecordCollection coll = new MultiMapRecordCollection(true);
+        for (int i = 0; i < 10; i++) {
+            coll.add(new MultiMapRecord(i, i % 2));
+        }
+        Iterator<MultiMapRecord> iterator = coll.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getRecordId() % 3 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(6, coll.size());
+        assertFalse(coll.containsRecordId(3));
+        assertEquals(1, coll.removeValue(new MultiMapRecord(1)).getRecordId());
+        assertEquals(2, coll.removeValue(new MultiMapRecord(0)).getRecordId());
+    }
+
+    private static List<Object> values(MultiMapRecordCollection coll) {
+        List<Object> values = new ArrayList<Object>();
+        for (MultiMapRecord record : coll) {
+            values.add(record.getObject());
+        }
+        return values;
+    }
+}
@@ -123,6 +123,63 @@ public class MultiMapTest extends HazelcastTestSupport {
         assertEquals(iter.next(), "key2_value1");
     }
 
+    @Test
+    public void testPutAllGetAllAndValueIterator() {
+        Config config = new Config();
+        final String name = "bulkMM";
+        config.getMultiMapConfig(name).setValueCollectionType(MultiMapConfig.ValueCollectionType.LIST);
+        final int insCount = 3;
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(insCount);
+        final HazelcastInstance[] instances = factory.newInstances(config);
+
+        Map<String, Collection<Integer>> entries = new HashMap<String, Collection<Integer>>();
+        for (int i = 0; i < 10; i++) {
+            List<Integer> values = new ArrayList<Integer>();
+            for (int j = 0; j < i; j++) {
+                values.add(j);
+            }
+            entries.put("key" + i, values);
+        }
+        getMultiMap(instances, name).putAll(entries);
+        assertEquals(45, getMultiMap(instances, name).size());
+
+        Map<String, Collection<Integer>> result = getMultiMap(instances, name).getAll(entries.keySet());
+        assertEquals(9, result.size());
+        assertFalse(result.containsKey("key0"));
+        for (int i = 1; i < 10; i++) {
+            assertEquals(entries.get("key" + i), result.get("key" + i));
+        }
+
+        MultiMap<String, Integer> multiMap = getMultiMap(instances, name);
+        for (int i = 0; i < 100; i++) {
+            multiMap.put("big", i);
+        }
+        Iterator<Integer> iterator = multiMap.valueIterator("big", 7);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(i, iterator.next().intValue());
+            if (i == 50) {
+                // values already read are removed while iterating
+                multiMap.remove("big", 0);
+                multiMap.remove("big", 49);
+            }
+        }
+        assertFalse(iterator.hasNext());
+        assertFalse(multiMap.valueIterator("none", 7).hasNext());
+
+        try {
+            multiMap.putAll(Collections.singletonMap("nullValue", Arrays.asList(1, null)));
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        try {
+            multiMap.getAll(new HashSet<String>(Arrays.asList("key1", null)));
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        assertEquals(0, multiMap.valueCount("nullValue"));
+    }
+
     /**
      * test localKeySet, keySet, entrySet, values and contains methods
      */
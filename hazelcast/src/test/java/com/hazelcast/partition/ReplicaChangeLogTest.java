@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.map.MapService;
+import com.hazelcast.map.RecordStore;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ReplicaChangeLogTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 11;
+
+    @Test
+    public void testChangedKeys() {
+        final ReplicaChangeLog changeLog = new ReplicaChangeLog(4);
+        final long[] versions = new long[InternalPartition.MAX_BACKUP_COUNT];
+        final Data[] keys = new Data[6];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = TestUtil.toData(i);
+        }
+        assertNull(changeLog.getChangedKeys(1, 0, 1));
+        assertEquals(Collections.<Data>emptySet(), changeLog.getChangedKeys(1, 0, 0));
+
+        // versions: 1 -> [1, 1], 2 -> [2, 1], 3 -> [3, 2]
+        changeLog.add(keys[0], increment(versions, 2), 2);
+        changeLog.add(keys[1], increment(versions, 1), 1);
+        changeLog.add(keys[2], increment(versions, 2), 2);
+        assertEquals(setOf(keys[1], keys[2]), changeLog.getChangedKeys(1, 1, 3));
+        assertEquals(setOf(keys[0], keys[1], keys[2]), changeLog.getChangedKeys(1, 0, 3));
+        assertEquals(setOf(keys[2]), changeLog.getChangedKeys(2, 1, 2));
+        assertNull(changeLog.getChangedKeys(1, 4, 3));
+
+        // evicts the change of keys[0], replicas older than it can not catch up anymore
+        changeLog.add(keys[3], increment(versions, 1), 1);
+        changeLog.add(keys[4], increment(versions, 1), 1);
+        assertNull(changeLog.getChangedKeys(1, 0, 5));
+        assertNull(changeLog.getChangedKeys(2, 0, 2));
+        assertEquals(setOf(keys[1], keys[2], keys[3], keys[4]), changeLog.getChangedKeys(1, 1, 5));
+        assertEquals(setOf(keys[2]), changeLog.getChangedKeys(2, 1, 2));
+
+        changeLog.truncate(versions);
+        assertNull(changeLog.getChangedKeys(1, 4, 5));
+        changeLog.add(keys[5], increment(versions, 1), 1);
+        assertEquals(setOf(keys[5]), changeLog.getChangedKeys(1, 5, 6));
+    }
+
+    @Test
+    public void testReplicaCatchesUpByChangedKeys() throws Exception {
+        // unchanged entries are not copied again, so the lost entry stays lost
+        testReplicaCatchUp(256, false);
+    }
+
+    @Test
+    public void testReplicaSyncFallsBackWhenChangeLogIsTruncated() throws Exception {
+        testReplicaCatchUp(4, true);
+    }
+
+    private void testReplicaCatchUp(int changeLogSize, final boolean fullSync) throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, String.valueOf(PARTITION_COUNT));
+        config.setProperty(GroupProperties.PROP_PARTITION_REPLICA_CHANGE_LOG_SIZE, String.valueOf(changeLogSize));
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        warmUpPartitions(hz1, hz2);
+
+        final Node node = TestUtil.getNode(hz2);
+        final PartitionServiceImpl partitionService = (PartitionServiceImpl) node.getPartitionService();
+        final MapService mapService = node.nodeEngine.getService(MapService.SERVICE_NAME);
+        int partitionId = 0;
+        while (node.getThisAddress().equals(partitionService.getPartitionOwner(partitionId))) {
+            partitionId++;
+        }
+        final List<Data> keys = new ArrayList<Data>();
+        final IMap<Integer, Integer> map = hz1.getMap("map");
+        for (int i = 0; keys.size() < 20; i++) {
+            Data key = node.nodeEngine.toData(i);
+            if (partitionService.getPartitionId(key) == partitionId) {
+                keys.add(key);
+                map.put(i, i);
+            }
+        }
+        final RecordStore recordStore = mapService.getRecordStore(partitionId, "map");
+
+        // completes a sync first, replica versions are comparable with the owner's change log only after it
+        long[] versions = Arrays.copyOf(partitionService.getPartitionReplicaVersions(partitionId),
+                InternalPartition.MAX_BACKUP_COUNT);
+        map.put((Integer) node.nodeEngine.toObject(keys.get(0)), 0);
+        recordStore.deleteRecord(keys.get(0));
+        partitionService.setPartitionReplicaVersions(partitionId, versions);
+        partitionService.syncPartitionReplica(partitionId, 1, true);
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertNotNull(recordStore.getRecord(keys.get(0)));
+            }
+        });
+
+        // the replica misses the backups of ten updates and loses an unchanged entry
+        versions = Arrays.copyOf(partitionService.getPartitionReplicaVersions(partitionId),
+                InternalPartition.MAX_BACKUP_COUNT);
+        final List<Data> changedKeys = keys.subList(10, 20);
+        for (Data key : changedKeys) {
+            int value = (Integer) node.nodeEngine.toObject(key);
+            map.put(value, -value);
+        }
+        for (Data key : changedKeys) {
+            recordStore.getRecord(key).setValue(key);
+        }
+        recordStore.deleteRecord(keys.get(1));
+        partitionService.setPartitionReplicaVersions(partitionId, versions);
+
+        partitionService.syncPartitionReplica(partitionId, 1, false);
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                for (Data key : changedKeys) {
+                    int value = (Integer) node.nodeEngine.toObject(key);
+                    assertEquals(-value, node.nodeEngine.toObject(recordStore.getRecord(key).getValue()));
+                }
+            }
+        });
+        final Record lostRecord = recordStore.getRecord(keys.get(1));
+        if (fullSync) {
+            assertNotNull(lostRecord);
+        } else {
+            assertNull(lostRecord);
+        }
+    }
+
+    private static long[] increment(long[] versions, int backupCount) {
+        for (int i = 0; i < backupCount; i++) {
+            versions[i]++;
+        }
+        return versions;
+    }
+
+    private static Set<Data> setOf(Data... keys) {
+        return new HashSet<Data>(Arrays.asList(keys));
+    }
+}
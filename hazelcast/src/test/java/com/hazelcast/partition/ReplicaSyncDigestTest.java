@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MultiMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.map.MapService;
+import com.hazelcast.map.RecordStore;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.multimap.MultiMapRecord;
+import com.hazelcast.multimap.MultiMapService;
+import com.hazelcast.multimap.MultiMapWrapper;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ReplicaSyncDigestTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 11;
+    private static final int SIZE = 1000;
+    private static final int STALE_SIZE = 100;
+
+    @Test
+    public void testReplicaSyncRepairsDifferingKeyRanges() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, String.valueOf(PARTITION_COUNT));
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        warmUpPartitions(hz1, hz2);
+
+        IMap<Integer, Integer> map = hz1.getMap("map");
+        MultiMap<Integer, Integer> multiMap = hz1.getMultiMap("multimap");
+        for (int i = 0; i < SIZE; i++) {
+            map.put(i, i);
+            multiMap.put(i, i);
+            multiMap.put(i, SIZE + i);
+        }
+
+        // diverge backups on the second member: lost, modified and stale entries
+        final Node node = TestUtil.getNode(hz2);
+        final PartitionServiceImpl partitionService = (PartitionServiceImpl) node.getPartitionService();
+        final MapService mapService = node.nodeEngine.getService(MapService.SERVICE_NAME);
+        final MultiMapService multiMapService = node.nodeEngine.getService(MultiMapService.SERVICE_NAME);
+        for (int i = 0; i < SIZE + STALE_SIZE; i++) {
+            Data key = node.nodeEngine.toData(i);
+            int partitionId = partitionService.getPartitionId(key);
+            if (isOwner(node, partitionId)) {
+                continue;
+            }
+            RecordStore recordStore = mapService.getRecordStore(partitionId, "map");
+            if (i >= SIZE) {
+                recordStore.put(key, node.nodeEngine.toData(-1), -1);
+            } else if (i % 50 == 0) {
+                recordStore.deleteRecord(key);
+            } else if (i % 50 == 1) {
+                recordStore.getRecord(key).setValue(node.nodeEngine.toData(-1));
+            } else if (i % 50 == 2) {
+                multiMapService.getOrCreateCollectionContainer(partitionId, "multimap").remove(key);
+            } else if (i % 50 == 3) {
+                // same values under different record ids, later removals by record id would miss them
+                for (MultiMapRecord record : multiMapService.getOrCreateCollectionContainer(partitionId, "multimap")
+                        .getMultiMapWrapper(key).getCollection()) {
+                    record.setRecordId(-record.getRecordId() - 1);
+                }
+            }
+        }
+        for (int partitionId = 0; partitionId < PARTITION_COUNT; partitionId++) {
+            if (!isOwner(node, partitionId)) {
+                partitionService.syncPartitionReplica(partitionId, 1, true);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                for (int i = 0; i < SIZE + STALE_SIZE; i++) {
+                    Data key = node.nodeEngine.toData(i);
+                    int partitionId = partitionService.getPartitionId(key);
+                    if (isOwner(node, partitionId)) {
+                        continue;
+                    }
+                    Record record = mapService.getRecordStore(partitionId, "map").getRecord(key);
+                    MultiMapWrapper wrapper = multiMapService.getOrCreateCollectionContainer(partitionId, "multimap")
+                            .getMultiMapWrapper(key);
+                    if (i >= SIZE) {
+                        assertNull(record);
+                    } else {
+                        assertNotNull(record);
+                        assertEquals(i, node.nodeEngine.toObject(record.getValue()));
+                        assertNotNull(wrapper);
+                        assertEquals(2, wrapper.getCollection().size());
+                        for (MultiMapRecord multiMapRecord : wrapper.getCollection()) {
+                            assertTrue(multiMapRecord.getRecordId() >= 0);
+                        }
+                    }
+                }
+            }
+        });
+
+        TestUtil.terminateInstance(hz1);
+        IMap<Integer, Integer> map2 = hz2.getMap("map");
+        MultiMap<Integer, Integer> multiMap2 = hz2.getMultiMap("multimap");
+        assertEquals(SIZE, map2.size());
+        assertEquals(2 * SIZE, multiMap2.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(Integer.valueOf(i), map2.get(i));
+            assertEquals(2, multiMap2.get(i).size());
+        }
+    }
+
+    private static boolean isOwner(Node node, int partitionId) {
+        return node.getThisAddress().equals(node.getPartitionService().getPartitionOwner(partitionId));
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.config.EntryListenerConfig;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.ListenerConfig;
 import com.hazelcast.core.*;
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.TestUtil;
 import com.hazelcast.replicatedmap.messages.MultiReplicationMessage;
 import com.hazelcast.replicatedmap.messages.ReplicationMessage;
@@ -1939,6 +1940,45 @@ public class ReplicatedMapTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void putsReplicatedInSizeLimitedBatches() throws Exception {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+        Config cfg = new Config();
+        cfg.setProperty(GroupProperties.PROP_REPLICATED_MAP_REPLICATION_BATCH_SIZE, "7");
+        cfg.getReplicatedMapConfig("default").setInMemoryFormat(InMemoryFormat.BINARY);
+        cfg.getReplicatedMapConfig("default").setReplicationDelayMillis(100);
+
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(cfg);
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(cfg);
+        HazelcastInstance instance3 = nodeFactory.newHazelcastInstance(cfg);
+
+        final ReplicatedMap<Object, Object> mapA = instance1.getReplicatedMap("default");
+        final ReplicatedMap<Object, Object> mapB = instance2.getReplicatedMap("default");
+        final ReplicatedMap<Object, Object> mapC = instance3.getReplicatedMap("default");
+
+        for (int i = 0; i < 500; i++) {
+            mapA.put(i, i + "A");
+            mapB.put(i + 500, i + "B");
+        }
+        for (int i = 0; i < 100; i++) {
+            mapC.put(i, i + "C");
+        }
+
+        HazelcastTestSupport.assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertEquals(1000, mapA.size());
+                assertEquals(1000, mapB.size());
+                assertEquals(1000, mapC.size());
+                for (int i = 0; i < 1000; i++) {
+                    String expected = i < 100 ? i + "C" : i < 500 ? i + "A" : (i - 500) + "B";
+                    assertEquals(expected, mapA.get(i));
+                    assertEquals(expected, mapB.get(i));
+                    assertEquals(expected, mapC.get(i));
+                }
+            }
+        });
+    }
+
     abstract public class GatedThread extends Thread {
         private final CyclicBarrier gate;
 
@@ -24,10 +24,12 @@ import com.hazelcast.core.Member;
 import com.hazelcast.core.Message;
 import com.hazelcast.core.MessageListener;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.instance.TestUtil;
 import com.hazelcast.monitor.impl.LocalTopicStatsImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -252,6 +254,143 @@ public class TopicTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testPublisherOrderedListenerDropsDuplicatesAndSkipsGaps() throws Exception {
+        final HazelcastInstance hz = createHazelcastInstanceFactory(1).newHazelcastInstance();
+        final NodeEngineImpl nodeEngine = TestUtil.getNode(hz).nodeEngine;
+        final TopicService topicService = nodeEngine.getService(TopicService.SERVICE_NAME);
+        final List<String> received = new CopyOnWriteArrayList<String>();
+        final PublisherOrderedListener listener = new PublisherOrderedListener(topicService, new MessageListener<String>() {
+            public void onMessage(Message<String> message) {
+                received.add(message.getMessageObject());
+            }
+        }, nodeEngine.getExecutionService(), nodeEngine.getLogger(PublisherOrderedListener.class));
+
+        final String publisher = UuidUtil.buildRandomUuidString();
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 0, "a"));
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 2, "c"));
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 2, "c-duplicate"));
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 1, "b"));
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 0, "a-stale"));
+        assertEquals(Arrays.asList("a", "b", "c"), received);
+
+        // sequence 3 never arrives, 4 is delivered once the gap is given up on
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 4, "e"));
+        assertEquals(3, received.size());
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertEquals(Arrays.asList("a", "b", "c", "e"), received);
+            }
+        });
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 3, "d-late"));
+        listener.onEvent(sequencedEvent(nodeEngine, publisher, 5, "f"));
+        assertEquals(Arrays.asList("a", "b", "c", "e", "f"), received);
+    }
+
+    @Test
+    public void testPublisherOrderedTopicSurvivesServiceReset() throws Exception {
+        final Config config = new Config();
+        config.getTopicConfig("default").setPublisherOrderingEnabled(true);
+        final HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        final List<String> received = new CopyOnWriteArrayList<String>();
+        instances[1].<String>getTopic("default").addMessageListener(new MessageListener<String>() {
+            public void onMessage(Message<String> message) {
+                received.add(message.getMessageObject());
+            }
+        });
+        final ITopic<String> topic = instances[0].getTopic("default");
+        topic.publish("a");
+        topic.publish("b");
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertEquals(Arrays.asList("a", "b"), received);
+            }
+        });
+
+        // the publisher keeps its uuid, so its sequence must not restart
+        final TopicService topicService = TestUtil.getNode(instances[0]).nodeEngine.getService(TopicService.SERVICE_NAME);
+        topicService.reset();
+        topic.publish("c");
+        assertTrueEventually(new AssertTask() {
+            public void run() {
+                assertEquals(Arrays.asList("a", "b", "c"), received);
+            }
+        });
+    }
+
+    private static TopicEvent sequencedEvent(NodeEngineImpl nodeEngine, String publisher, long sequence, String message) {
+        final TopicEvent event = new TopicEvent("default", nodeEngine.toData(message), nodeEngine.getLocalMember());
+        event.sequence = sequence;
+        event.sequencerUuid = publisher;
+        return event;
+    }
+
+    @Test
+    public void testTopicPublisherOrder() throws Exception {
+        final int k = 3;
+        final int count = 1000;
+        final CountDownLatch startLatch = new CountDownLatch(k);
+        final CountDownLatch messageLatch = new CountDownLatch(k * k * count);
+        final Config config = new Config();
+        config.getTopicConfig("default").setPublisherOrderingEnabled(true);
+
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(k);
+        final HazelcastInstance[] instances = factory.newInstances(config);
+        final List<TestMessage>[] messageLists = new List[k];
+        for (int i = 0; i < k; i++) {
+            messageLists[i] = new CopyOnWriteArrayList<TestMessage>();
+        }
+
+        ExecutorService ex = Executors.newFixedThreadPool(k);
+        for (int i = 0; i < k; i++) {
+            final int finalI = i;
+            ex.execute(new Runnable() {
+                public void run() {
+                    final List<TestMessage> messages = messageLists[finalI];
+                    HazelcastInstance hz = instances[finalI];
+                    ITopic<TestMessage> topic = hz.getTopic("default");
+                    topic.addMessageListener(new MessageListener<TestMessage>() {
+                        public void onMessage(Message<TestMessage> message) {
+                            messages.add(message.getMessageObject());
+                            messageLatch.countDown();
+                        }
+                    });
+
+                    startLatch.countDown();
+                    try {
+                        startLatch.await(1, TimeUnit.MINUTES);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                        return;
+                    }
+
+                    Member localMember = hz.getCluster().getLocalMember();
+                    for (int j = 0; j < count; j++) {
+                        topic.publish(new TestMessage(localMember, String.valueOf(j)));
+                    }
+                }
+            });
+        }
+
+        try {
+            assertTrue(messageLatch.await(5, TimeUnit.MINUTES));
+            for (int i = 0; i < k; i++) {
+                for (int p = 0; p < k; p++) {
+                    final Member publisher = instances[p].getCluster().getLocalMember();
+                    int expected = 0;
+                    for (TestMessage message : messageLists[i]) {
+                        if (publisher.getUuid().equals(message.publisher.getUuid())) {
+                            assertEquals(String.valueOf(expected++), message.data);
+                        }
+                    }
+                    assertEquals(count, expected);
+                }
+            }
+        } finally {
+            ex.shutdownNow();
+        }
+    }
+
     static class TestMessage implements DataSerializable {
         Member publisher;
         String data;
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class PartitionTxBatchOperationTest extends HazelcastTestSupport {
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    private static final AtomicInteger BACKUP_RUNS = new AtomicInteger();
+
+    @Before
+    public void reset() {
+        RUNS.set(0);
+        BACKUP_RUNS.set(0);
+    }
+
+    @Test
+    public void testBatchRunsOnceOnPartition() throws Exception {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(1);
+        final HazelcastInstance hz = factory.newHazelcastInstance(new Config());
+        final NodeEngine nodeEngine = TestUtil.getNode(hz).nodeEngine;
+
+        invoke(nodeEngine, newBatch("txn:COMMIT", false));
+        invoke(nodeEngine, newBatch("txn:COMMIT", false));
+        assertEquals(1, RUNS.get());
+
+        invoke(nodeEngine, newBatch("txn:ROLLBACK", false));
+        assertEquals(2, RUNS.get());
+    }
+
+    @Test
+    public void testOnePhaseCommitBacksUpPrepareOperations() throws Exception {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance hz = factory.newHazelcastInstance(new Config());
+        factory.newHazelcastInstance(new Config());
+        final NodeEngine nodeEngine = TestUtil.getNode(hz).nodeEngine;
+
+        final PartitionTxBatchOperation batch = newBatch("txn:ONE_PHASE_COMMIT", true);
+        batch.addPrepareOperation(new BackupAwareCountingOperation(), TransactionManagerServiceImpl.SERVICE_NAME);
+        invoke(nodeEngine, batch);
+        assertEquals(2, RUNS.get());
+        assertEquals(1, BACKUP_RUNS.get());
+    }
+
+    private static PartitionTxBatchOperation newBatch(String batchId, boolean failFast) {
+        final PartitionTxBatchOperation batch = new PartitionTxBatchOperation(0, batchId, failFast);
+        batch.addOperation(new CountingOperation(), TransactionManagerServiceImpl.SERVICE_NAME);
+        return batch;
+    }
+
+    private static void invoke(NodeEngine nodeEngine, PartitionTxBatchOperation batch) throws Exception {
+        nodeEngine.getOperationService().invokeOnPartition(TransactionManagerServiceImpl.SERVICE_NAME, batch, 0).get();
+    }
+
+    public static class CountingOperation extends AbstractOperation {
+        public void run() throws Exception {
+            RUNS.incrementAndGet();
+        }
+    }
+
+    public static class BackupCountingOperation extends AbstractOperation {
+        public void run() throws Exception {
+            BACKUP_RUNS.incrementAndGet();
+        }
+    }
+
+    public static class BackupAwareCountingOperation extends CountingOperation implements BackupAwareOperation {
+        public boolean shouldBackup() {
+            return true;
+        }
+
+        public int getSyncBackupCount() {
+            return 1;
+        }
+
+        public int getAsyncBackupCount() {
+            return 0;
+        }
+
+        public Operation getBackupOperation() {
+            return new BackupCountingOperation();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.executor;
+
+import com.hazelcast.core.CompletableFuture;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class DelegatingFutureTest extends HazelcastTestSupport {
+
+    @Test
+    public void testAndThenPassesDeserializedValue() throws InterruptedException {
+        final HazelcastInstance instance = createHazelcastInstanceFactory(1).newHazelcastInstance(null);
+        final IMap<String, String> map = instance.getMap("testAndThenPassesDeserializedValue");
+        map.put("key", "value");
+        final BlockingQueue<Object> responses = new LinkedBlockingQueue<Object>();
+
+        ((CompletableFuture<String>) map.getAsync("key")).andThen(new QueueingCallback(responses));
+        assertEquals("value", responses.poll(30, TimeUnit.SECONDS));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ((CompletableFuture<String>) map.putAsync("key", "value2")).andThen(new QueueingCallback(responses), executor);
+            assertEquals("value", responses.poll(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+
+        ((CompletableFuture<String>) map.removeAsync("key")).andThen(new QueueingCallback(responses));
+        assertEquals("value2", responses.poll(30, TimeUnit.SECONDS));
+    }
+
+    private static class QueueingCallback implements ExecutionCallback<String> {
+
+        private final BlockingQueue<Object> responses;
+
+        QueueingCallback(BlockingQueue<Object> responses) {
+            this.responses = responses;
+        }
+
+        public void onResponse(String response) {
+            responses.offer(response);
+        }
+
+        public void onFailure(Throwable t) {
+            responses.offer(t);
+        }
+    }
+}